@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+#
+# Comparación de memoria y latencia entre el binario nativo y la JVM
+# Ambos arrancan sobre H2 en memoria con los mismos parámetros.
+#
+# Uso: native-vs-jvm.sh <binario nativo> <jar ejecutable> <fichero.csv>
+#
+set -euo pipefail
+
+NATIVE_BINARY="$1"
+JAR="$2"
+RESULTS="$3"
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+
+H2_ARGS="--spring.profiles.active=test"
+H2_ARGS="$H2_ARGS --spring.datasource.url=jdbc:h2:mem:personas;DB_CLOSE_DELAY=-1"
+H2_ARGS="$H2_ARGS --spring.datasource.driver-class-name=org.h2.Driver"
+H2_ARGS="$H2_ARGS --spring.datasource.username=sa --spring.datasource.password="
+H2_ARGS="$H2_ARGS --spring.jpa.hibernate.ddl-auto=create-drop"
+H2_ARGS="$H2_ARGS --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+
+export STARTUP_BENCHMARK_LATENCY_REQUESTS="${STARTUP_BENCHMARK_LATENCY_REQUESTS:-200}"
+
+"$SCRIPT_DIR/startup-benchmark.sh" "java -jar $JAR $H2_ARGS" "$RESULTS" jvm-h2
+"$SCRIPT_DIR/startup-benchmark.sh" "$NATIVE_BINARY $H2_ARGS" "$RESULTS" native-h2
+
+echo "Resultados en $RESULTS"
@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+#
+# Benchmark de arranque del servicio de personas
+# Lanza la aplicación, mide el tiempo hasta la primera petición atendida y el RSS
+# del proceso en ese momento, y añade una fila al CSV de resultados.
+#
+# Uso: startup-benchmark.sh "<comando de arranque>" <fichero.csv> <etiqueta> [ejecuciones]
+#
+# Con STARTUP_BENCHMARK_LATENCY_REQUESTS=N se lanzan además N peticiones
+# GET /api/v1/personas tras el arranque y se registran los percentiles 50 y 99.
+#
+set -euo pipefail
+
+COMMAND="$1"
+RESULTS="$2"
+LABEL="$3"
+RUNS="${4:-${STARTUP_BENCHMARK_RUNS:-3}}"
+PORT="${STARTUP_BENCHMARK_PORT:-18080}"
+URL="http://localhost:${PORT}/personas-api/actuator/info"
+TIMEOUT_SECONDS="${STARTUP_BENCHMARK_TIMEOUT:-120}"
+LATENCY_REQUESTS="${STARTUP_BENCHMARK_LATENCY_REQUESTS:-0}"
+LATENCY_URL="http://localhost:${PORT}/personas-api/api/v1/personas"
+
+if [ ! -f "$RESULTS" ]; then
+    echo "fecha,etiqueta,ejecucion,primera_peticion_ms,rss_kb,latencia_p50_ms,latencia_p99_ms,rss_tras_carga_kb" > "$RESULTS"
+fi
+
+# Percentil sobre una lista de tiempos en segundos (uno por línea), en milisegundos
+percentile() {
+    sort -n | awk -v p="$1" '{ v[NR] = $1 } END { i = int((NR * p + 99) / 100); if (i < 1) i = 1; printf "%.2f", v[i] * 1000 }'
+}
+
+for run in $(seq 1 "$RUNS"); do
+    start_ns=$(date +%s%N)
+    # shellcheck disable=SC2086
+    $COMMAND --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+
+    first_request_ms=""
+    deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+    while [ "$(date +%s)" -lt "$deadline" ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "La aplicación terminó antes de atender peticiones" >&2
+            exit 1
+        fi
+        status=$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)
+        if [ "$status" != "000" ]; then
+            first_request_ms=$(( ($(date +%s%N) - start_ns) / 1000000 ))
+            break
+        fi
+        sleep 0.01
+    done
+
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status" 2> /dev/null || echo "")
+
+    p50=""
+    p99=""
+    rss_loaded_kb=""
+    if [ -n "$first_request_ms" ] && [ "$LATENCY_REQUESTS" -gt 0 ]; then
+        timings=$(for _ in $(seq 1 "$LATENCY_REQUESTS"); do
+            curl -s -o /dev/null -w '%{time_total}\n' "$LATENCY_URL"
+        done)
+        p50=$(echo "$timings" | percentile 50)
+        p99=$(echo "$timings" | percentile 99)
+        rss_loaded_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status" 2> /dev/null || echo "")
+    fi
+
+    kill "$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+
+    if [ -z "$first_request_ms" ]; then
+        echo "Sin respuesta en ${TIMEOUT_SECONDS}s" >&2
+        exit 1
+    fi
+
+    echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),${LABEL},${run},${first_request_ms},${rss_kb},${p50},${p99},${rss_loaded_kb}" >> "$RESULTS"
+    echo "[${LABEL}] ejecución ${run}: primera petición en ${first_request_ms} ms, RSS ${rss_kb} kB"
+    if [ -n "$p50" ]; then
+        echo "[${LABEL}] ejecución ${run}: latencia p50 ${p50} ms, p99 ${p99} ms, RSS tras carga ${rss_loaded_kb} kB"
+    fi
+done
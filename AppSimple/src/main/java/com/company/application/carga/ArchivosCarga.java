@@ -0,0 +1,23 @@
+package com.company.application.carga;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Puerto de acceso a los archivos de una importación
+ */
+public interface ArchivosCarga {
+
+    /**
+     * Abre el archivo de entrada a partir de una posición devuelta por {@link FuenteRegistros#posicion()}
+     *
+     * @param posicion bytes ya procesados (0 para empezar desde el principio)
+     * @param linea    línea del último registro procesado, para numerar los siguientes
+     */
+    FuenteRegistros abrir(Path archivo, long posicion, long linea) throws IOException;
+
+    /**
+     * Abre el informe de errores añadiendo al final si ya existe
+     */
+    InformeErrores abrirInforme(Path destino) throws IOException;
+}
@@ -0,0 +1,368 @@
+package com.company.application.carga;
+
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Telefono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de deduplicación aproximada de registros de carga
+ * Hace una pasada de sorted neighbourhood por cada clave de bloque (prefijo del
+ * apellido normalizado, dominio del email y sufijo del teléfono): ordena los
+ * registros por la clave y compara cada uno con los siguientes dentro de la
+ * ventana y del mismo bloque. Las coincidencias se unen en grupos que se
+ * fusionan en un solo registro. Todo el trabajo se reparte en el ForkJoinPool
+ * recibido, de modo que el coste es O(n log n) y escala con los núcleos.
+ */
+public class DeduplicationEngine {
+
+    // Pesos de cada campo en la similitud; solo cuentan los presentes en ambos registros
+    private static final double PESO_NOMBRE = 0.25;
+    private static final double PESO_APELLIDO = 0.30;
+    private static final double PESO_TELEFONO = 0.25;
+    private static final double PESO_EMAIL = 0.20;
+    // Mismo sufijo pero distinto número
+    private static final double SIMILITUD_SUFIJO_TELEFONO = 0.8;
+    // Dígitos mínimos para considerar que un número contiene al otro
+    private static final int DIGITOS_MINIMOS_TELEFONO = 7;
+    // Registros por tarea de comparación antes de dividir
+    private static final int UMBRAL_TAREA = 4_096;
+    // Por debajo de cualquier carácter de un texto plegado
+    private static final char SEPARADOR = '\u0001';
+
+    private final ForkJoinPool pool;
+    private final ParametrosDeduplicacion parametros;
+
+    public DeduplicationEngine(ForkJoinPool pool, ParametrosDeduplicacion parametros) {
+        this.pool = pool;
+        this.parametros = parametros;
+    }
+
+    /**
+     * Pasadas de sorted neighbourhood: clave de bloque y orden dentro del bloque
+     */
+    enum Pasada {
+        APELLIDO(h -> h.bloqueApellido, h -> h.apellido + SEPARADOR + h.nombre),
+        EMAIL(h -> h.dominio, h -> h.local),
+        TELEFONO(h -> h.sufijoTelefono, h -> h.apellido);
+
+        private final Function<Huella, String> bloque;
+        private final Function<Huella, String> ordenEnBloque;
+
+        Pasada(Function<Huella, String> bloque, Function<Huella, String> ordenEnBloque) {
+            this.bloque = bloque;
+            this.ordenEnBloque = ordenEnBloque;
+        }
+
+        /**
+         * Clave de orden de la pasada, o null si el registro no tiene clave de bloque
+         */
+        ClaveOrden clave(Huella huella) {
+            String valorBloque = bloque.apply(huella);
+            if (valorBloque == null) {
+                return null;
+            }
+            return new ClaveOrden(valorBloque + SEPARADOR + ordenEnBloque.apply(huella), valorBloque.length(), huella);
+        }
+    }
+
+    /**
+     * Clave precalculada de una pasada: el bloque es un prefijo de la clave, así
+     * que ordenar por la clave deja cada bloque contiguo. Solo vive durante la pasada.
+     */
+    static final class ClaveOrden implements Comparable<ClaveOrden> {
+
+        final String valor;
+        final int largoBloque;
+        final Huella huella;
+
+        ClaveOrden(String valor, int largoBloque, Huella huella) {
+            this.valor = valor;
+            this.largoBloque = largoBloque;
+            this.huella = huella;
+        }
+
+        boolean mismoBloque(ClaveOrden otra) {
+            return largoBloque == otra.largoBloque && valor.regionMatches(0, otra.valor, 0, largoBloque);
+        }
+
+        @Override
+        public int compareTo(ClaveOrden otra) {
+            return valor.compareTo(otra.valor);
+        }
+    }
+
+    /**
+     * Agrupa y fusiona los registros que corresponden a la misma persona
+     */
+    public ResultadoDeduplicacion deduplicar(List<RegistroCarga> registros) {
+        RegistroCarga[] datos = registros.toArray(new RegistroCarga[0]);
+        return pool.submit(() -> ejecutar(datos)).join();
+    }
+
+    private ResultadoDeduplicacion ejecutar(RegistroCarga[] datos) {
+        int n = datos.length;
+
+        long inicio = System.nanoTime();
+        Huella[] huellas = new Huella[n];
+        IntStream.range(0, n).parallel().forEach(i -> huellas[i] = Huella.de(i, datos[i], parametros));
+        long finNormalizacion = System.nanoTime();
+
+        UnionFindConcurrente grupos = new UnionFindConcurrente(n);
+        LongAdder coincidencias = new LongAdder();
+        Map<String, Long> comparacionesPorPasada = new LinkedHashMap<>();
+        for (Pasada pasada : Pasada.values()) {
+            // La ordenación es estable: a igual clave se mantiene el orden de aparición
+            ClaveOrden[] ordenadas = Arrays.stream(huellas)
+                    .parallel()
+                    .map(pasada::clave)
+                    .filter(clave -> clave != null)
+                    .toArray(ClaveOrden[]::new);
+            Arrays.parallelSort(ordenadas);
+
+            LongAdder comparaciones = new LongAdder();
+            new VentanaTask(ordenadas, 0, ordenadas.length, grupos, comparaciones, coincidencias).invoke();
+            comparacionesPorPasada.put(pasada.name().toLowerCase(Locale.ROOT), comparaciones.sum());
+        }
+        long finComparacion = System.nanoTime();
+
+        return agrupar(datos, grupos, comparacionesPorPasada, coincidencias.sum(),
+                nanosAMillis(finNormalizacion - inicio), nanosAMillis(finComparacion - finNormalizacion),
+                finComparacion);
+    }
+
+    private ResultadoDeduplicacion agrupar(RegistroCarga[] datos, UnionFindConcurrente grupos,
+                                           Map<String, Long> comparacionesPorPasada, long coincidencias,
+                                           long msNormalizacion, long msComparacion, long inicioAgrupacion) {
+        int n = datos.length;
+
+        // (raíz, índice) ordenados: cada grupo queda contiguo y con sus miembros en orden de aparición
+        long[] pares = new long[n];
+        IntStream.range(0, n).parallel().forEach(i -> pares[i] = ((long) grupos.raiz(i) << 32) | i);
+        Arrays.parallelSort(pares);
+
+        // Posiciones donde empieza cada grupo, más n como cierre del último
+        int[] iniciosDeGrupo = IntStream.rangeClosed(0, n)
+                .parallel()
+                .filter(i -> i == 0 || i == n || raiz(pares[i]) != raiz(pares[i - 1]))
+                .toArray();
+
+        RegistroCarga[] salidaPorRaiz = new RegistroCarga[n];
+        List<GrupoDuplicados> duplicados = IntStream.range(0, iniciosDeGrupo.length - 1)
+                .parallel()
+                .mapToObj(g -> {
+                    int desde = iniciosDeGrupo[g];
+                    int hasta = iniciosDeGrupo[g + 1];
+                    int raiz = raiz(pares[desde]);
+                    if (hasta - desde == 1) {
+                        salidaPorRaiz[raiz] = datos[raiz];
+                        return null;
+                    }
+                    List<RegistroCarga> miembros = new ArrayList<>(hasta - desde);
+                    for (int i = desde; i < hasta; i++) {
+                        miembros.add(datos[(int) pares[i]]);
+                    }
+                    GrupoDuplicados grupo = new GrupoDuplicados(fusionar(miembros), miembros);
+                    salidaPorRaiz[raiz] = grupo.getFusionado();
+                    return grupo;
+                })
+                .filter(grupo -> grupo != null)
+                .collect(Collectors.toList());
+
+        List<RegistroCarga> registros = Arrays.stream(salidaPorRaiz)
+                .parallel()
+                .filter(registro -> registro != null)
+                .collect(Collectors.toList());
+
+        int mayorGrupo = duplicados.stream().mapToInt(GrupoDuplicados::getTamano).max().orElse(n > 0 ? 1 : 0);
+        InformeDeduplicacion informe = new InformeDeduplicacion(n, registros.size(), duplicados.size(), mayorGrupo,
+                comparacionesPorPasada, coincidencias, pool.getParallelism(),
+                msNormalizacion, msComparacion, nanosAMillis(System.nanoTime() - inicioAgrupacion));
+        return new ResultadoDeduplicacion(registros, duplicados, informe);
+    }
+
+    /**
+     * Compara cada registro con los siguientes de la ventana dentro del mismo bloque
+     */
+    private final class VentanaTask extends RecursiveAction {
+
+        private final ClaveOrden[] ordenadas;
+        private final int desde;
+        private final int hasta;
+        private final UnionFindConcurrente grupos;
+        private final LongAdder comparaciones;
+        private final LongAdder coincidencias;
+
+        VentanaTask(ClaveOrden[] ordenadas, int desde, int hasta, UnionFindConcurrente grupos,
+                    LongAdder comparaciones, LongAdder coincidencias) {
+            this.ordenadas = ordenadas;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.grupos = grupos;
+            this.comparaciones = comparaciones;
+            this.coincidencias = coincidencias;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new VentanaTask(ordenadas, desde, medio, grupos, comparaciones, coincidencias),
+                        new VentanaTask(ordenadas, medio, hasta, grupos, comparaciones, coincidencias));
+                return;
+            }
+
+            long comparadas = 0;
+            long unidas = 0;
+            int ventana = parametros.getVentana();
+            for (int i = desde; i < hasta; i++) {
+                ClaveOrden clave = ordenadas[i];
+                Huella actual = clave.huella;
+                int limite = Math.min(ordenadas.length, i + ventana);
+                // La ventana puede cruzar el final del tramo: las comparaciones solo miran hacia delante
+                for (int j = i + 1; j < limite; j++) {
+                    if (!clave.mismoBloque(ordenadas[j])) {
+                        break;
+                    }
+                    Huella vecina = ordenadas[j].huella;
+                    if (grupos.mismoGrupo(actual.indice, vecina.indice)) {
+                        continue;
+                    }
+                    comparadas++;
+                    if (coinciden(actual, vecina)) {
+                        grupos.unir(actual.indice, vecina.indice);
+                        unidas++;
+                    }
+                }
+            }
+            comparaciones.add(comparadas);
+            coincidencias.add(unidas);
+        }
+    }
+
+    /**
+     * Decide si dos registros son la misma persona
+     * El mismo email basta: es único en la tabla y no podrían guardarse ambos.
+     */
+    boolean coinciden(Huella a, Huella b) {
+        if (a.email != null && a.email.equals(b.email)) {
+            return true;
+        }
+        return similitud(a, b) >= parametros.getUmbral();
+    }
+
+    double similitud(Huella a, Huella b) {
+        double puntos = 0;
+        double pesos = 0;
+        if (!a.nombre.isEmpty() && !b.nombre.isEmpty()) {
+            puntos += PESO_NOMBRE * Similitud.jaroWinkler(a.nombre, b.nombre);
+            pesos += PESO_NOMBRE;
+        }
+        if (!a.apellido.isEmpty() && !b.apellido.isEmpty()) {
+            puntos += PESO_APELLIDO * Similitud.jaroWinkler(a.apellido, b.apellido);
+            pesos += PESO_APELLIDO;
+        }
+        // Cota superior con teléfono y email perfectos: si ni así llega al umbral, no se calculan
+        if ((puntos + PESO_TELEFONO + PESO_EMAIL) / (pesos + PESO_TELEFONO + PESO_EMAIL) < parametros.getUmbral()) {
+            return 0;
+        }
+        if (a.telefono != null && b.telefono != null) {
+            double telefono = mismoNumero(a.telefono, b.telefono) ? 1
+                    : a.sufijoTelefono != null && a.sufijoTelefono.equals(b.sufijoTelefono) ? SIMILITUD_SUFIJO_TELEFONO
+                    : 0;
+            puntos += PESO_TELEFONO * telefono;
+            pesos += PESO_TELEFONO;
+        }
+        // Con dominios distintos la parte local no aporta evidencia en ningún sentido
+        if (a.local != null && b.local != null && a.dominio != null && a.dominio.equals(b.dominio)) {
+            puntos += PESO_EMAIL * Similitud.jaroWinkler(a.local, b.local);
+            pesos += PESO_EMAIL;
+        }
+        // Sin al menos dos campos comparables no hay evidencia suficiente
+        return pesos < PESO_NOMBRE + PESO_APELLIDO ? 0 : puntos / pesos;
+    }
+
+    // Iguales, o uno es el otro con prefijo de país o de área delante
+    private static boolean mismoNumero(String a, String b) {
+        if (a.length() < DIGITOS_MINIMOS_TELEFONO || b.length() < DIGITOS_MINIMOS_TELEFONO) {
+            return a.equals(b);
+        }
+        return a.length() >= b.length() ? a.endsWith(b) : b.endsWith(a);
+    }
+
+    /**
+     * Fusiona un grupo campo a campo con el valor más repetido
+     * Las variantes de un mismo valor (mayúsculas, tildes, formato del teléfono)
+     * cuentan juntas. De los textos se conserva la variante más informativa; el
+     * email y el teléfono salen en su forma normalizada.
+     */
+    static RegistroCarga fusionar(List<RegistroCarga> miembros) {
+        return new RegistroCarga(
+                miembros.get(0).getLinea(),
+                masFrecuente(miembros, RegistroCarga::getNombre, Similitud::plegar, false),
+                masFrecuente(miembros, RegistroCarga::getApellido, Similitud::plegar, false),
+                masFrecuente(miembros, RegistroCarga::getEmail, Email::normalizar, true),
+                masFrecuente(miembros, RegistroCarga::getTelefono, Telefono::normalizar, true),
+                masFrecuente(miembros, RegistroCarga::getDireccion, Similitud::plegar, false));
+    }
+
+    private static String masFrecuente(List<RegistroCarga> miembros, Function<RegistroCarga, String> campo,
+                                       Function<String, String> normalizacion, boolean normalizado) {
+        Map<String, List<String>> variantes = new HashMap<>();
+        String mejorClave = null;
+        for (RegistroCarga miembro : miembros) {
+            String valor = campo.apply(miembro);
+            if (valor == null || valor.isBlank()) {
+                continue;
+            }
+            String clave = normalizacion.apply(valor.strip());
+            List<String> valores = variantes.computeIfAbsent(clave, k -> new ArrayList<>());
+            valores.add(valor.strip());
+            // En empate gana la primera variante que alcanzó esa frecuencia
+            if (mejorClave == null || valores.size() > variantes.get(mejorClave).size()) {
+                mejorClave = clave;
+            }
+        }
+        if (mejorClave == null || normalizado) {
+            return mejorClave;
+        }
+        return variantes.get(mejorClave).stream()
+                .max(Comparator.comparingInt(DeduplicationEngine::informacion))
+                .orElse(null);
+    }
+
+    // Caracteres no ASCII (tildes, eñes) y mayúsculas: prefiere "Pérez" a "perez"
+    private static int informacion(String valor) {
+        int puntos = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c > 0x7F) {
+                puntos += 2;
+            } else if (Character.isUpperCase(c)) {
+                puntos++;
+            }
+        }
+        return puntos;
+    }
+
+    private static int raiz(long par) {
+        return (int) (par >>> 32);
+    }
+
+    private static long nanosAMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.application.carga;
+
+/**
+ * Error de validación de un campo de un registro de carga
+ */
+public final class ErrorCampo {
+
+    private final String campo;
+    private final String mensaje;
+
+    public ErrorCampo(String campo, String mensaje) {
+        this.campo = campo;
+        this.mensaje = mensaje;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    @Override
+    public String toString() {
+        return campo + ": " + mensaje;
+    }
+}
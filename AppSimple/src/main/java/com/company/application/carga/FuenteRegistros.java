@@ -0,0 +1,22 @@
+package com.company.application.carga;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Registros de un archivo de carga leídos en orden
+ * Expone la posición del último registro devuelto para guardarla como punto de
+ * control y reabrir el archivo desde ahí.
+ */
+public interface FuenteRegistros extends Iterator<RegistroCarga>, Closeable {
+
+    /**
+     * Posición en bytes justo después del último registro devuelto
+     */
+    long posicion();
+
+    /**
+     * Línea del archivo del último registro devuelto
+     */
+    long linea();
+}
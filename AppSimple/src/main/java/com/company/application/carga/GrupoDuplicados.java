@@ -0,0 +1,42 @@
+package com.company.application.carga;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Registros de la carga que corresponden a la misma persona y su fusión
+ */
+public final class GrupoDuplicados {
+
+    private final RegistroCarga fusionado;
+    private final List<RegistroCarga> miembros;
+
+    GrupoDuplicados(RegistroCarga fusionado, List<RegistroCarga> miembros) {
+        this.fusionado = fusionado;
+        this.miembros = List.copyOf(miembros);
+    }
+
+    /**
+     * Registro resultante; conserva la línea de la primera aparición
+     */
+    public RegistroCarga getFusionado() {
+        return fusionado;
+    }
+
+    /**
+     * Registros originales en orden de aparición
+     */
+    public List<RegistroCarga> getMiembros() {
+        return miembros;
+    }
+
+    public List<Long> getLineas() {
+        return miembros.stream()
+                .map(RegistroCarga::getLinea)
+                .collect(Collectors.toList());
+    }
+
+    public int getTamano() {
+        return miembros.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.application.carga;
+
+import com.company.domain.valueobject.Email;
+
+/**
+ * Forma normalizada de un registro, calculada una sola vez para todas las pasadas
+ */
+final class Huella {
+
+    final int indice;
+    final String nombre;
+    final String apellido;
+    final String bloqueApellido;
+    final String email;
+    final String dominio;
+    final String local;
+    final String telefono;
+    final String sufijoTelefono;
+
+    private Huella(int indice, RegistroCarga registro, ParametrosDeduplicacion parametros) {
+        this.indice = indice;
+        this.nombre = Similitud.plegar(registro.getNombre());
+        this.apellido = Similitud.plegar(registro.getApellido());
+        this.bloqueApellido = apellido.isEmpty()
+                ? null
+                : apellido.substring(0, Math.min(parametros.getPrefijoApellido(), apellido.length()));
+
+        String normalizado = registro.getEmail() == null ? "" : Email.normalizar(registro.getEmail());
+        int arroba = normalizado.lastIndexOf('@');
+        this.email = normalizado.isEmpty() ? null : normalizado;
+        this.local = arroba > 0 ? normalizado.substring(0, arroba) : null;
+        this.dominio = arroba > 0 && arroba < normalizado.length() - 1 ? normalizado.substring(arroba + 1) : null;
+
+        // Mismos separadores que Telefono; además se ignora el + del prefijo internacional
+        String limpio = registro.getTelefono() == null ? "" : Similitud.digitos(registro.getTelefono());
+        this.telefono = limpio.isEmpty() ? null : limpio;
+        this.sufijoTelefono = limpio.length() >= parametros.getSufijoTelefono()
+                ? limpio.substring(limpio.length() - parametros.getSufijoTelefono())
+                : null;
+    }
+
+    static Huella de(int indice, RegistroCarga registro, ParametrosDeduplicacion parametros) {
+        return new Huella(indice, registro, parametros);
+    }
+}
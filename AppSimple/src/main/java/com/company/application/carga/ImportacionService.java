@@ -0,0 +1,345 @@
+package com.company.application.carga;
+
+import com.company.domain.entity.Importacion;
+import com.company.domain.entity.Persona;
+import com.company.domain.port.ImportacionRepository;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Telefono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de importaciones masivas reanudables
+ * Cada importación lee el archivo por lotes y los pasa por validación,
+ * deduplicación y control de emails ya registrados. Las personas de un lote se
+ * insertan en la misma transacción que el punto de control, así que tras una
+ * caída la importación continúa justo después del último lote confirmado sin
+ * repetir filas. Las filas rechazadas se escriben en el informe de errores antes
+ * de confirmar su lote: tras una caída pueden aparecer repetidas, nunca perderse.
+ * Con varias instancias, cada nodo reclama la importación con una actualización
+ * condicional antes de ejecutarla y renueva el arriendo en cada punto de control;
+ * si el nodo cae, otro la continúa cuando vence el arriendo. Un nodo que pierde
+ * el arriendo no puede confirmar más lotes: su punto de control lleva una
+ * versión atrasada y la transacción del lote se deshace.
+ */
+public class ImportacionService {
+
+    private static final int LONGITUD_MAXIMA_ERROR = 500;
+    private static final List<Importacion.Estado> PENDIENTES =
+            List.of(Importacion.Estado.PENDIENTE, Importacion.Estado.EN_CURSO);
+
+    private final ImportacionRepository importacionRepository;
+    private final PersonaRepository personaRepository;
+    private final EmailUniquenessChecker emailChecker;
+    private final PersonaChangeNotifier changeNotifier;
+    private final UnidadDeTrabajo unidadDeTrabajo;
+    private final ArchivosCarga archivos;
+    private final ExecutorService ejecutor;
+    private final ParametrosImportacion parametros;
+
+    private final Set<Long> enEjecucion = ConcurrentHashMap.newKeySet();
+    private volatile boolean detenido;
+    private ScheduledExecutorService vigilante;
+
+    public ImportacionService(ImportacionRepository importacionRepository, PersonaRepository personaRepository,
+                              EmailUniquenessChecker emailChecker, PersonaChangeNotifier changeNotifier,
+                              UnidadDeTrabajo unidadDeTrabajo, ArchivosCarga archivos, ExecutorService ejecutor,
+                              ParametrosImportacion parametros) {
+        this.importacionRepository = importacionRepository;
+        this.personaRepository = personaRepository;
+        this.emailChecker = emailChecker;
+        this.changeNotifier = changeNotifier;
+        this.unidadDeTrabajo = unidadDeTrabajo;
+        this.archivos = archivos;
+        this.ejecutor = ejecutor;
+        this.parametros = parametros;
+    }
+
+    /**
+     * Registra una importación y la lanza en segundo plano
+     *
+     * @param archivo     ruta relativa al directorio de entrada
+     * @param paralelismo hilos de validación y deduplicación; null para el valor por defecto
+     * @param tamanoLote  filas por transacción; null para el valor por defecto
+     */
+    public Importacion iniciar(String archivo, Integer paralelismo, Integer tamanoLote) {
+        Path ruta = resolverEntrada(archivo);
+        long bytes;
+        try {
+            bytes = Files.size(ruta);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No se puede leer el archivo de la importación", e);
+        }
+        Importacion importacion = importacionRepository.save(new Importacion(
+                ruta.toString(),
+                paralelismo != null ? paralelismo : parametros.getParalelismo(),
+                tamanoLote != null ? tamanoLote : parametros.getTamanoLote(),
+                bytes,
+                Instant.now()));
+        lanzar(importacion.getId());
+        return importacion;
+    }
+
+    public Optional<Importacion> obtener(Long id) {
+        return importacionRepository.findById(id);
+    }
+
+    /**
+     * Relanza una importación fallida o interrumpida desde su último punto de control
+     */
+    public Optional<Importacion> reanudar(Long id) {
+        Optional<Importacion> importacion = importacionRepository.findById(id);
+        importacion.ifPresent(actual -> {
+            if (actual.getEstado() == Importacion.Estado.COMPLETADA) {
+                throw new IllegalArgumentException("La importación ya está completada");
+            }
+            if (actual.isArrendadaPorOtro(parametros.getNodo(), Instant.now())) {
+                throw new IllegalArgumentException("La importación se está ejecutando en otro nodo");
+            }
+            lanzar(id);
+        });
+        return importacion;
+    }
+
+    /**
+     * Relanza las importaciones a medias que no ejecuta ningún nodo
+     * Se salta las que otro nodo tiene arrendadas; si dos nodos lanzan la misma,
+     * solo la ejecuta el que la reclama primero.
+     *
+     * @return cantidad de importaciones relanzadas
+     */
+    public int reanudarPendientes() {
+        if (detenido) {
+            return 0;
+        }
+        Instant ahora = Instant.now();
+        int lanzadas = 0;
+        for (Importacion importacion : importacionRepository.findByEstadoIn(PENDIENTES)) {
+            if (!importacion.isArrendadaPorOtro(parametros.getNodo(), ahora) && lanzar(importacion.getId())) {
+                lanzadas++;
+            }
+        }
+        return lanzadas;
+    }
+
+    /**
+     * Busca cada periodo de arriendo las importaciones que dejó a medias un nodo caído
+     */
+    public synchronized void vigilar() {
+        if (detenido || vigilante != null) {
+            return;
+        }
+        vigilante = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "importacion-vigilante");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = parametros.getArriendo().toMillis();
+        vigilante.scheduleWithFixedDelay(this::reanudarPendientesSinFallar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ruta del informe de errores de una importación
+     */
+    public Path informe(Long id) {
+        return parametros.getDirectorioInformes().resolve("importacion-" + id + "-errores.csv");
+    }
+
+    /**
+     * Detiene las importaciones al terminar el lote en curso; quedan EN_CURSO y se reanudan al arrancar
+     */
+    public void detener() throws InterruptedException {
+        detenido = true;
+        synchronized (this) {
+            if (vigilante != null) {
+                vigilante.shutdownNow();
+            }
+        }
+        ejecutor.shutdown();
+        ejecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return false si la importación ya se está ejecutando en este nodo
+     */
+    private boolean lanzar(Long id) {
+        if (!enEjecucion.add(id)) {
+            return false;
+        }
+        try {
+            ejecutor.execute(() -> ejecutar(id));
+            return true;
+        } catch (RejectedExecutionException e) {
+            enEjecucion.remove(id);
+            throw new IllegalArgumentException("El servicio de importaciones se está deteniendo", e);
+        }
+    }
+
+    private void reanudarPendientesSinFallar() {
+        try {
+            reanudarPendientes();
+        } catch (RuntimeException e) {
+            // Se reintenta en el siguiente periodo
+        }
+    }
+
+    private void ejecutar(Long id) {
+        ForkJoinPool pool = null;
+        try {
+            Instant ahora = Instant.now();
+            if (!importacionRepository.reclamar(id, parametros.getNodo(), ahora, ahora.plus(parametros.getArriendo()))) {
+                return;
+            }
+            Importacion importacion = importacionRepository.findById(id).orElseThrow();
+            importacion.iniciarEjecucion(ahora);
+            importacion.renovarArriendo(ahora.plus(parametros.getArriendo()));
+            importacion = importacionRepository.save(importacion);
+            pool = new ForkJoinPool(importacion.getParalelismo());
+            Etapas etapas = new Etapas(
+                    new ValidationPipeline(pool, parametros.getTamanoBloqueValidacion()),
+                    new DeduplicationEngine(pool, parametros.getDeduplicacion()));
+
+            Files.createDirectories(parametros.getDirectorioInformes());
+            try (FuenteRegistros fuente = archivos.abrir(
+                    Path.of(importacion.getArchivo()), importacion.getPosicion(), importacion.getLinea());
+                 InformeErrores informe = archivos.abrirInforme(informe(id))) {
+                while (fuente.hasNext()) {
+                    if (detenido) {
+                        // Queda EN_CURSO y sin dueño: otro nodo puede continuarla sin esperar al arriendo
+                        importacion.liberarArriendo();
+                        importacionRepository.save(importacion);
+                        return;
+                    }
+                    importacion = procesarLote(importacion, fuente, etapas, informe);
+                }
+            }
+            importacion.completar(Instant.now());
+            importacion.liberarArriendo();
+            importacionRepository.save(importacion);
+        } catch (IOException | RuntimeException e) {
+            // El punto de control en memoria puede ir por delante del confirmado: se parte del guardado.
+            // Si otro nodo la reclamó (arriendo vencido), el fallo es haberla perdido y no se toca su estado.
+            importacionRepository.findById(id)
+                    .filter(guardada -> guardada.getEstado() != Importacion.Estado.COMPLETADA)
+                    .filter(guardada -> parametros.getNodo().equals(guardada.getPropietario()))
+                    .ifPresent(guardada -> {
+                        guardada.fallar(describir(e), Instant.now());
+                        guardada.liberarArriendo();
+                        importacionRepository.save(guardada);
+                    });
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            enEjecucion.remove(id);
+        }
+    }
+
+    private Importacion procesarLote(Importacion importacion, FuenteRegistros fuente, Etapas etapas,
+                                     InformeErrores informe) throws IOException {
+        List<RegistroCarga> lote = new ArrayList<>(importacion.getTamanoLote());
+        while (lote.size() < importacion.getTamanoLote() && fuente.hasNext()) {
+            lote.add(fuente.next());
+        }
+
+        List<RegistroCarga> validos = new ArrayList<>(lote.size());
+        ResumenValidacion validacion = etapas.validacion.validar(lote.iterator(), validos::add, informe);
+        List<RegistroCarga> unicos = etapas.deduplicacion.deduplicar(validos).getRegistros();
+
+        // Emails repetidos que la deduplicación no fusionó (personas distintas) y emails ya registrados
+        Map<Email, RegistroCarga> porEmail = new LinkedHashMap<>();
+        long repetidos = 0;
+        for (RegistroCarga registro : unicos) {
+            if (porEmail.putIfAbsent(new Email(registro.getEmail()), registro) != null) {
+                informe.accept(rechazo(registro, "Email repetido en la carga"));
+                repetidos++;
+            }
+        }
+        long existentes = 0;
+        Set<Email> registrados = emailChecker.existentes(porEmail.keySet());
+        List<Persona> nuevas = new ArrayList<>(porEmail.size());
+        for (Map.Entry<Email, RegistroCarga> entrada : porEmail.entrySet()) {
+            RegistroCarga registro = entrada.getValue();
+            if (registrados.contains(entrada.getKey())) {
+                informe.accept(rechazo(registro, "Ya existe una persona con ese email"));
+                existentes++;
+            } else {
+                nuevas.add(new Persona(registro.getNombre(), registro.getApellido(), entrada.getKey(),
+                        new Telefono(registro.getTelefono()), registro.getDireccion()));
+            }
+        }
+        informe.flush();
+
+        importacion.registrarLote(fuente.posicion(), fuente.linea(), lote.size(), nuevas.size(),
+                validacion.getInvalidos(), validos.size() - unicos.size(), existentes, repetidos,
+                Instant.now());
+        importacion.renovarArriendo(Instant.now().plus(parametros.getArriendo()));
+        Importacion puntoDeControl = importacion;
+        List<Persona> guardadas = new ArrayList<>();
+        Importacion guardada = unidadDeTrabajo.ejecutar(() -> {
+            guardadas.addAll(personaRepository.saveAll(nuevas));
+            return importacionRepository.save(puntoDeControl);
+        });
+        guardadas.forEach(changeNotifier::changed);
+        return guardada;
+    }
+
+    private Path resolverEntrada(String archivo) {
+        if (archivo == null || archivo.isBlank()) {
+            throw new IllegalArgumentException("El archivo de la importación no puede estar vacío");
+        }
+        Path directorio = parametros.getDirectorioEntrada();
+        Path ruta = directorio.resolve(archivo).normalize();
+        try {
+            if (!ruta.startsWith(directorio) || !Files.isRegularFile(ruta)
+                    || !ruta.toRealPath().startsWith(directorio.toRealPath())) {
+                throw new IllegalArgumentException("El archivo no existe en el directorio de importaciones");
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("El archivo no existe en el directorio de importaciones", e);
+        }
+        return ruta;
+    }
+
+    private static RegistroInvalido rechazo(RegistroCarga registro, String mensaje) {
+        return new RegistroInvalido(registro, List.of(new ErrorCampo("email", mensaje)));
+    }
+
+    private static String describir(Exception e) {
+        String descripcion = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+        return descripcion.length() > LONGITUD_MAXIMA_ERROR
+                ? descripcion.substring(0, LONGITUD_MAXIMA_ERROR)
+                : descripcion;
+    }
+
+    private static final class Etapas {
+
+        private final ValidationPipeline validacion;
+        private final DeduplicationEngine deduplicacion;
+
+        Etapas(ValidationPipeline validacion, DeduplicationEngine deduplicacion) {
+            this.validacion = validacion;
+            this.deduplicacion = deduplicacion;
+        }
+    }
+}
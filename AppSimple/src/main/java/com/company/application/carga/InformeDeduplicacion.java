@@ -0,0 +1,114 @@
+package com.company.application.carga;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Informe de una ejecución del motor de deduplicación
+ */
+public final class InformeDeduplicacion {
+
+    private final int registrosEntrada;
+    private final int registrosSalida;
+    private final int grupos;
+    private final int mayorGrupo;
+    private final Map<String, Long> comparacionesPorPasada;
+    private final long coincidencias;
+    private final int paralelismo;
+    private final long msNormalizacion;
+    private final long msComparacion;
+    private final long msAgrupacion;
+
+    InformeDeduplicacion(int registrosEntrada, int registrosSalida, int grupos, int mayorGrupo,
+                         Map<String, Long> comparacionesPorPasada, long coincidencias, int paralelismo,
+                         long msNormalizacion, long msComparacion, long msAgrupacion) {
+        this.registrosEntrada = registrosEntrada;
+        this.registrosSalida = registrosSalida;
+        this.grupos = grupos;
+        this.mayorGrupo = mayorGrupo;
+        this.comparacionesPorPasada = Collections.unmodifiableMap(comparacionesPorPasada);
+        this.coincidencias = coincidencias;
+        this.paralelismo = paralelismo;
+        this.msNormalizacion = msNormalizacion;
+        this.msComparacion = msComparacion;
+        this.msAgrupacion = msAgrupacion;
+    }
+
+    public int getRegistrosEntrada() {
+        return registrosEntrada;
+    }
+
+    public int getRegistrosSalida() {
+        return registrosSalida;
+    }
+
+    /**
+     * Registros eliminados al fusionar grupos
+     */
+    public int getDuplicadosEliminados() {
+        return registrosEntrada - registrosSalida;
+    }
+
+    public int getGrupos() {
+        return grupos;
+    }
+
+    public int getMayorGrupo() {
+        return mayorGrupo;
+    }
+
+    public Map<String, Long> getComparacionesPorPasada() {
+        return comparacionesPorPasada;
+    }
+
+    public long getComparaciones() {
+        return comparacionesPorPasada.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getCoincidencias() {
+        return coincidencias;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    public long getMsNormalizacion() {
+        return msNormalizacion;
+    }
+
+    public long getMsComparacion() {
+        return msComparacion;
+    }
+
+    public long getMsAgrupacion() {
+        return msAgrupacion;
+    }
+
+    public long getMsTotal() {
+        return msNormalizacion + msComparacion + msAgrupacion;
+    }
+
+    /**
+     * Resumen legible para logs y salida por consola
+     */
+    public String resumen() {
+        StringBuilder resumen = new StringBuilder()
+                .append(String.format(Locale.ROOT, "Deduplicación: %d registros -> %d (%d duplicados en %d grupos, mayor grupo %d)%n",
+                        registrosEntrada, registrosSalida, getDuplicadosEliminados(), grupos, mayorGrupo))
+                .append(String.format(Locale.ROOT, "Comparaciones: %d, coincidencias: %d, paralelismo: %d%n",
+                        getComparaciones(), coincidencias, paralelismo));
+        comparacionesPorPasada.forEach((pasada, comparaciones) ->
+                resumen.append(String.format(Locale.ROOT, "  pasada %-9s %d comparaciones%n", pasada, comparaciones)));
+        return resumen
+                .append(String.format(Locale.ROOT, "Tiempos (ms): normalización %d, comparación %d, agrupación %d, total %d",
+                        msNormalizacion, msComparacion, msAgrupacion, getMsTotal()))
+                .toString();
+    }
+
+    @Override
+    public String toString() {
+        return resumen();
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.application.carga;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.util.function.Consumer;
+
+/**
+ * Destino de los registros rechazados de una carga
+ */
+public interface InformeErrores extends Consumer<RegistroInvalido>, Flushable, Closeable {
+}
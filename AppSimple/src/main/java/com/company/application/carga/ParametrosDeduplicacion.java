@@ -0,0 +1,57 @@
+package com.company.application.carga;
+
+/**
+ * Parámetros del motor de deduplicación
+ */
+public final class ParametrosDeduplicacion {
+
+    private static final int VENTANA_POR_DEFECTO = 8;
+    private static final double UMBRAL_POR_DEFECTO = 0.88;
+
+    private final int ventana;
+    private final double umbral;
+    private final int prefijoApellido;
+    private final int sufijoTelefono;
+
+    /**
+     * @param ventana         registros vecinos comparados en cada pasada (sorted neighbourhood)
+     * @param umbral          similitud ponderada a partir de la cual dos registros son la misma persona
+     * @param prefijoApellido caracteres del apellido normalizado en la clave de bloque
+     * @param sufijoTelefono  dígitos finales del teléfono en la clave de bloque
+     */
+    public ParametrosDeduplicacion(int ventana, double umbral, int prefijoApellido, int sufijoTelefono) {
+        if (ventana < 2) {
+            throw new IllegalArgumentException("La ventana debe comparar al menos 2 registros");
+        }
+        if (umbral <= 0 || umbral > 1) {
+            throw new IllegalArgumentException("El umbral de similitud debe estar entre 0 y 1");
+        }
+        if (prefijoApellido < 1 || sufijoTelefono < 1) {
+            throw new IllegalArgumentException("Las longitudes de clave deben ser positivas");
+        }
+        this.ventana = ventana;
+        this.umbral = umbral;
+        this.prefijoApellido = prefijoApellido;
+        this.sufijoTelefono = sufijoTelefono;
+    }
+
+    public static ParametrosDeduplicacion porDefecto() {
+        return new ParametrosDeduplicacion(VENTANA_POR_DEFECTO, UMBRAL_POR_DEFECTO, 4, 6);
+    }
+
+    public int getVentana() {
+        return ventana;
+    }
+
+    public double getUmbral() {
+        return umbral;
+    }
+
+    public int getPrefijoApellido() {
+        return prefijoApellido;
+    }
+
+    public int getSufijoTelefono() {
+        return sufijoTelefono;
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.application.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Parámetros de las importaciones
+ */
+public final class ParametrosImportacion {
+
+    private final Path directorioEntrada;
+    private final Path directorioInformes;
+    private final int paralelismo;
+    private final int tamanoLote;
+    private final int tamanoBloqueValidacion;
+    private final ParametrosDeduplicacion deduplicacion;
+    private final String nodo;
+    private final Duration arriendo;
+
+    /**
+     * @param directorioEntrada      único directorio desde el que se aceptan archivos
+     * @param directorioInformes     donde se escriben los informes de errores
+     * @param paralelismo            hilos por importación si la petición no indica otro
+     * @param tamanoLote             filas por transacción y punto de control si la petición no indica otro
+     * @param tamanoBloqueValidacion filas por bloque de validación en paralelo
+     * @param nodo                   identifica a esta instancia como dueña de las importaciones que ejecuta
+     * @param arriendo               tiempo sin puntos de control tras el que otro nodo puede continuarla;
+     *                               debe superar lo que tarda un lote
+     */
+    public ParametrosImportacion(Path directorioEntrada, Path directorioInformes, int paralelismo, int tamanoLote,
+                                 int tamanoBloqueValidacion, ParametrosDeduplicacion deduplicacion,
+                                 String nodo, Duration arriendo) {
+        if (paralelismo < 1 || tamanoLote < 1 || tamanoBloqueValidacion < 1) {
+            throw new IllegalArgumentException("Paralelismo y tamaños de lote y bloque deben ser positivos");
+        }
+        if (nodo == null || nodo.isBlank()) {
+            throw new IllegalArgumentException("El nodo de las importaciones no puede estar vacío");
+        }
+        if (arriendo == null || arriendo.isNegative() || arriendo.isZero()) {
+            throw new IllegalArgumentException("El arriendo de las importaciones debe ser positivo");
+        }
+        this.directorioEntrada = directorioEntrada.toAbsolutePath().normalize();
+        this.directorioInformes = directorioInformes.toAbsolutePath().normalize();
+        this.paralelismo = paralelismo;
+        this.tamanoLote = tamanoLote;
+        this.tamanoBloqueValidacion = tamanoBloqueValidacion;
+        this.deduplicacion = Objects.requireNonNull(deduplicacion);
+        this.nodo = nodo;
+        this.arriendo = arriendo;
+    }
+
+    public Path getDirectorioEntrada() {
+        return directorioEntrada;
+    }
+
+    public Path getDirectorioInformes() {
+        return directorioInformes;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    public int getTamanoLote() {
+        return tamanoLote;
+    }
+
+    public int getTamanoBloqueValidacion() {
+        return tamanoBloqueValidacion;
+    }
+
+    public ParametrosDeduplicacion getDeduplicacion() {
+        return deduplicacion;
+    }
+
+    public String getNodo() {
+        return nodo;
+    }
+
+    public Duration getArriendo() {
+        return arriendo;
+    }
+}
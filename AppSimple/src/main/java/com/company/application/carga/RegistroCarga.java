@@ -0,0 +1,56 @@
+package com.company.application.carga;
+
+/**
+ * Registro de persona tal como llega en un archivo de carga
+ * Los valores no están validados ni normalizados; la línea identifica el
+ * registro en el origen para los informes.
+ */
+public final class RegistroCarga {
+
+    private final long linea;
+    private final String nombre;
+    private final String apellido;
+    private final String email;
+    private final String telefono;
+    private final String direccion;
+
+    public RegistroCarga(long linea, String nombre, String apellido, String email,
+                         String telefono, String direccion) {
+        this.linea = linea;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.email = email;
+        this.telefono = telefono;
+        this.direccion = direccion;
+    }
+
+    public long getLinea() {
+        return linea;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTelefono() {
+        return telefono;
+    }
+
+    public String getDireccion() {
+        return direccion;
+    }
+
+    @Override
+    public String toString() {
+        // Sin datos personales: se usa en logs e informes
+        return "RegistroCarga{linea=" + linea + "}";
+    }
+}
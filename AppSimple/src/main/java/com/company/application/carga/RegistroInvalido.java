@@ -0,0 +1,29 @@
+package com.company.application.carga;
+
+import java.util.List;
+
+/**
+ * Registro de carga rechazado con todos sus errores de campo
+ */
+public final class RegistroInvalido {
+
+    private final RegistroCarga registro;
+    private final List<ErrorCampo> errores;
+
+    public RegistroInvalido(RegistroCarga registro, List<ErrorCampo> errores) {
+        this.registro = registro;
+        this.errores = List.copyOf(errores);
+    }
+
+    public RegistroCarga getRegistro() {
+        return registro;
+    }
+
+    public long getLinea() {
+        return registro.getLinea();
+    }
+
+    public List<ErrorCampo> getErrores() {
+        return errores;
+    }
+}
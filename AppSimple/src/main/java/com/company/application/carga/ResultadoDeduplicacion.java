@@ -0,0 +1,37 @@
+package com.company.application.carga;
+
+import java.util.List;
+
+/**
+ * Salida del motor de deduplicación
+ */
+public final class ResultadoDeduplicacion {
+
+    private final List<RegistroCarga> registros;
+    private final List<GrupoDuplicados> grupos;
+    private final InformeDeduplicacion informe;
+
+    ResultadoDeduplicacion(List<RegistroCarga> registros, List<GrupoDuplicados> grupos, InformeDeduplicacion informe) {
+        this.registros = registros;
+        this.grupos = grupos;
+        this.informe = informe;
+    }
+
+    /**
+     * Un registro por persona (los grupos ya fusionados), en orden de primera aparición
+     */
+    public List<RegistroCarga> getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Grupos de dos o más registros fusionados
+     */
+    public List<GrupoDuplicados> getGrupos() {
+        return grupos;
+    }
+
+    public InformeDeduplicacion getInforme() {
+        return informe;
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.application.carga;
+
+import java.util.Locale;
+
+/**
+ * Totales de una ejecución del pipeline de validación
+ */
+public final class ResumenValidacion {
+
+    private final long leidos;
+    private final long validos;
+    private final long invalidos;
+    private final long erroresCampo;
+    private final long ms;
+
+    ResumenValidacion(long leidos, long validos, long invalidos, long erroresCampo, long ms) {
+        this.leidos = leidos;
+        this.validos = validos;
+        this.invalidos = invalidos;
+        this.erroresCampo = erroresCampo;
+        this.ms = ms;
+    }
+
+    public long getLeidos() {
+        return leidos;
+    }
+
+    public long getValidos() {
+        return validos;
+    }
+
+    public long getInvalidos() {
+        return invalidos;
+    }
+
+    public long getErroresCampo() {
+        return erroresCampo;
+    }
+
+    public long getMs() {
+        return ms;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "Validación: %d registros, %d válidos, %d inválidos (%d errores de campo) en %d ms",
+                leidos, validos, invalidos, erroresCampo, ms);
+    }
+}
@@ -0,0 +1,168 @@
+package com.company.application.carga;
+
+import java.text.Normalizer;
+
+/**
+ * Normalización y similitud de textos para la deduplicación
+ */
+final class Similitud {
+
+    private static final double PREFIJO_ESCALA = 0.1;
+    private static final int PREFIJO_MAXIMO = 4;
+
+    private Similitud() {
+    }
+
+    /**
+     * Pliega un nombre: sin tildes, en minúsculas, solo letras y dígitos separados por un espacio
+     */
+    static String plegar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String base = esAscii(texto) ? texto : Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder plegado = new StringBuilder(base.length());
+        boolean separador = false;
+        for (int i = 0; i < base.length(); i++) {
+            char c = base.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separador && plegado.length() > 0) {
+                    plegado.append(' ');
+                }
+                plegado.append(Character.toLowerCase(c));
+                separador = false;
+            } else {
+                separador = true;
+            }
+        }
+        return plegado.toString();
+    }
+
+    /**
+     * Solo los dígitos del texto (descarta el + y cualquier separador)
+     */
+    static String digitos(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        StringBuilder digitos = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Similitud de Jaro-Winkler entre 0 (nada en común) y 1 (iguales)
+     */
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return a.isEmpty() ? 0 : 1;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        if (a.length() > Long.SIZE || b.length() > Long.SIZE) {
+            return jaroWinklerLargo(a, b);
+        }
+        // Textos cortos (nombres, partes locales de email): los usados caben en una máscara de bits
+        int rango = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        long usadosA = 0;
+        long usadosB = 0;
+
+        int coincidencias = 0;
+        for (int i = 0; i < a.length(); i++) {
+            char c = a.charAt(i);
+            int desde = Math.max(0, i - rango);
+            int hasta = Math.min(b.length(), i + rango + 1);
+            for (int j = desde; j < hasta; j++) {
+                if ((usadosB & (1L << j)) == 0 && c == b.charAt(j)) {
+                    usadosA |= 1L << i;
+                    usadosB |= 1L << j;
+                    coincidencias++;
+                    break;
+                }
+            }
+        }
+        if (coincidencias == 0) {
+            return 0;
+        }
+
+        int transposiciones = 0;
+        long pendientesB = usadosB;
+        for (int i = 0; i < a.length(); i++) {
+            if ((usadosA & (1L << i)) != 0) {
+                int j = Long.numberOfTrailingZeros(pendientesB);
+                pendientesB &= pendientesB - 1;
+                if (a.charAt(i) != b.charAt(j)) {
+                    transposiciones++;
+                }
+            }
+        }
+        return winkler(a, b, coincidencias, transposiciones);
+    }
+
+    private static double jaroWinklerLargo(String a, String b) {
+        int rango = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] usadosA = new boolean[a.length()];
+        boolean[] usadosB = new boolean[b.length()];
+
+        int coincidencias = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int desde = Math.max(0, i - rango);
+            int hasta = Math.min(b.length(), i + rango + 1);
+            for (int j = desde; j < hasta; j++) {
+                if (!usadosB[j] && a.charAt(i) == b.charAt(j)) {
+                    usadosA[i] = true;
+                    usadosB[j] = true;
+                    coincidencias++;
+                    break;
+                }
+            }
+        }
+        if (coincidencias == 0) {
+            return 0;
+        }
+
+        int transposiciones = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (usadosA[i]) {
+                while (!usadosB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transposiciones++;
+                }
+                j++;
+            }
+        }
+        return winkler(a, b, coincidencias, transposiciones);
+    }
+
+    private static double winkler(String a, String b, int coincidencias, int transposiciones) {
+        double m = coincidencias;
+        double jaro = (m / a.length() + m / b.length() + (m - transposiciones / 2.0) / m) / 3;
+
+        int prefijo = 0;
+        int limite = Math.min(PREFIJO_MAXIMO, Math.min(a.length(), b.length()));
+        while (prefijo < limite && a.charAt(prefijo) == b.charAt(prefijo)) {
+            prefijo++;
+        }
+        return jaro + prefijo * PREFIJO_ESCALA * (1 - jaro);
+    }
+
+    private static boolean esAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
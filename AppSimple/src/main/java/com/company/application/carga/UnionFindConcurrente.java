@@ -0,0 +1,54 @@
+package com.company.application.carga;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Conjuntos disjuntos sin bloqueos para agrupar duplicados desde varios hilos
+ * La raíz de cada grupo es siempre su índice menor, es decir, la primera
+ * aparición del registro en la carga.
+ */
+final class UnionFindConcurrente {
+
+    private final AtomicIntegerArray padre;
+
+    UnionFindConcurrente(int tamano) {
+        padre = new AtomicIntegerArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            padre.set(i, i);
+        }
+    }
+
+    int raiz(int i) {
+        int actual = i;
+        while (true) {
+            int p = padre.get(actual);
+            if (p == actual) {
+                return actual;
+            }
+            int abuelo = padre.get(p);
+            // Compresión por mitades: si otro hilo cambió el padre, el CAS falla sin consecuencias
+            padre.compareAndSet(actual, p, abuelo);
+            actual = abuelo;
+        }
+    }
+
+    boolean mismoGrupo(int a, int b) {
+        return raiz(a) == raiz(b);
+    }
+
+    void unir(int a, int b) {
+        while (true) {
+            int ra = raiz(a);
+            int rb = raiz(b);
+            if (ra == rb) {
+                return;
+            }
+            int menor = Math.min(ra, rb);
+            int mayor = Math.max(ra, rb);
+            // Solo enlaza si "mayor" sigue siendo raíz; si no, se reintenta con las raíces nuevas
+            if (padre.compareAndSet(mayor, mayor, menor)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.application.carga;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Telefono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Validación de un registro de carga con las mismas reglas que el dominio
+ * Usa las variantes sin excepciones de Persona, Email y Telefono y reúne todos
+ * los errores del registro; un registro válido no reserva memoria.
+ */
+public final class ValidadorRegistro {
+
+    private ValidadorRegistro() {
+    }
+
+    /**
+     * Errores de campo del registro; lista vacía si es válido
+     */
+    public static List<ErrorCampo> validar(RegistroCarga registro) {
+        List<ErrorCampo> errores = null;
+        errores = agregar(errores, "nombre", Persona.errorNombre(registro.getNombre()));
+        errores = agregar(errores, "apellido", Persona.errorApellido(registro.getApellido()));
+        errores = agregar(errores, "email", Email.error(registro.getEmail()));
+        errores = agregar(errores, "telefono", Telefono.error(registro.getTelefono()));
+        errores = agregar(errores, "direccion", Persona.errorDireccion(registro.getDireccion()));
+        return errores == null ? Collections.emptyList() : errores;
+    }
+
+    private static List<ErrorCampo> agregar(List<ErrorCampo> errores, String campo, String mensaje) {
+        if (mensaje == null) {
+            return errores;
+        }
+        List<ErrorCampo> resultado = errores == null ? new ArrayList<>(2) : errores;
+        resultado.add(new ErrorCampo(campo, mensaje));
+        return resultado;
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.application.carga;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline de validación de cargas por bloques en paralelo
+ * El hilo llamador lee la entrada en bloques y los valida en el ForkJoinPool
+ * con un número acotado de bloques en vuelo. Los resultados se entregan en el
+ * mismo hilo llamador y en el orden de la entrada, así que los consumidores no
+ * necesitan ser thread-safe. Un registro inválido no lanza excepciones: se
+ * reúnen todos sus errores de campo y se envía al consumidor de inválidos.
+ */
+public class ValidationPipeline {
+
+    private final ForkJoinPool pool;
+    private final int tamanoBloque;
+    private final int bloquesEnVuelo;
+
+    public ValidationPipeline(ForkJoinPool pool, int tamanoBloque) {
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+        }
+        this.pool = pool;
+        this.tamanoBloque = tamanoBloque;
+        // Suficientes para ocupar todos los hilos mientras el llamador lee y entrega
+        this.bloquesEnVuelo = pool.getParallelism() * 2;
+    }
+
+    /**
+     * Valida la entrada completa
+     *
+     * @param entrada   registros en el orden del archivo
+     * @param validos   recibe los registros válidos en orden
+     * @param invalidos recibe los registros inválidos con sus errores, en orden
+     */
+    public ResumenValidacion validar(Iterator<RegistroCarga> entrada, Consumer<RegistroCarga> validos,
+                                     Consumer<RegistroInvalido> invalidos) {
+        long inicio = System.nanoTime();
+        ArrayDeque<ForkJoinTask<BloqueValidado>> enVuelo = new ArrayDeque<>(bloquesEnVuelo);
+        Totales totales = new Totales();
+        try {
+            while (entrada.hasNext()) {
+                List<RegistroCarga> bloque = new ArrayList<>(tamanoBloque);
+                while (bloque.size() < tamanoBloque && entrada.hasNext()) {
+                    bloque.add(entrada.next());
+                }
+                enVuelo.add(pool.submit(() -> validarBloque(bloque)));
+                if (enVuelo.size() >= bloquesEnVuelo) {
+                    entregar(enVuelo.poll().join(), validos, invalidos, totales);
+                }
+            }
+            while (!enVuelo.isEmpty()) {
+                entregar(enVuelo.poll().join(), validos, invalidos, totales);
+            }
+        } finally {
+            // Si un consumidor falla no se sigue validando en segundo plano
+            enVuelo.forEach(tarea -> tarea.cancel(true));
+        }
+        return new ResumenValidacion(totales.validos + totales.invalidos, totales.validos, totales.invalidos,
+                totales.erroresCampo, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static BloqueValidado validarBloque(List<RegistroCarga> bloque) {
+        BloqueValidado resultado = new BloqueValidado(bloque.size());
+        for (RegistroCarga registro : bloque) {
+            List<ErrorCampo> errores = ValidadorRegistro.validar(registro);
+            if (errores.isEmpty()) {
+                resultado.validos.add(registro);
+            } else {
+                resultado.invalidos.add(new RegistroInvalido(registro, errores));
+            }
+        }
+        return resultado;
+    }
+
+    private static void entregar(BloqueValidado bloque, Consumer<RegistroCarga> validos,
+                                 Consumer<RegistroInvalido> invalidos, Totales totales) {
+        bloque.validos.forEach(validos);
+        bloque.invalidos.forEach(invalidos);
+        totales.validos += bloque.validos.size();
+        totales.invalidos += bloque.invalidos.size();
+        for (RegistroInvalido invalido : bloque.invalidos) {
+            totales.erroresCampo += invalido.getErrores().size();
+        }
+    }
+
+    private static final class BloqueValidado {
+
+        private final List<RegistroCarga> validos;
+        private final List<RegistroInvalido> invalidos = new ArrayList<>();
+
+        BloqueValidado(int tamano) {
+            this.validos = new ArrayList<>(tamano);
+        }
+    }
+
+    private static final class Totales {
+
+        private long validos;
+        private long invalidos;
+        private long erroresCampo;
+    }
+}
@@ -1,69 +1,131 @@
 package com.company.application.service;
 
 import com.company.application.usecase.ActualizarPersonaUseCase;
+import com.company.application.usecase.AltaPersonas;
 import com.company.application.usecase.CrearPersonaUseCase;
 import com.company.application.usecase.EliminarPersonaUseCase;
 import com.company.application.usecase.ObtenerPersonasUseCase;
+import com.company.application.usecase.ProcesarLoteUseCase;
 import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
 import com.company.domain.port.PersonaRepository;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Pagina;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Servicio de aplicación que orquesta los casos de uso
- * Punto de entrada para las operaciones de negocio relacionadas con Persona
+ * Punto de entrada para las operaciones de negocio relacionadas con Persona.
+ * Las consultas se ejecutan como unidades de trabajo de solo lectura, que
+ * pueden resolverse en una réplica; las altas, cambios y bajas, en la primaria.
  */
 public class PersonaApplicationService {
     
-    private final CrearPersonaUseCase crearPersonaUseCase;
+    private final AltaPersonas altaPersonas;
     private final ObtenerPersonasUseCase obtenerPersonasUseCase;
     private final ActualizarPersonaUseCase actualizarPersonaUseCase;
     private final EliminarPersonaUseCase eliminarPersonaUseCase;
+    private final ProcesarLoteUseCase procesarLoteUseCase;
+    private final UnidadDeTrabajo unidadDeTrabajo;
 
     public PersonaApplicationService(PersonaRepository personaRepository) {
-        this.crearPersonaUseCase = new CrearPersonaUseCase(personaRepository);
+        this(personaRepository, PersonaChangeNotifier.NONE);
+    }
+
+    public PersonaApplicationService(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier) {
+        this(personaRepository, changeNotifier, new EmailUniquenessChecker(personaRepository));
+    }
+
+    public PersonaApplicationService(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                                     EmailUniquenessChecker emailChecker) {
+        this(personaRepository, changeNotifier, emailChecker, UnidadDeTrabajo.DIRECTA);
+    }
+
+    public PersonaApplicationService(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                                     EmailUniquenessChecker emailChecker, UnidadDeTrabajo unidadDeTrabajo) {
+        this(personaRepository, changeNotifier, emailChecker, unidadDeTrabajo,
+                ProcesarLoteUseCase.TAMANO_TRAMO_POR_DEFECTO, ProcesarLoteUseCase.MAXIMO_OPERACIONES_POR_DEFECTO,
+                new CrearPersonaUseCase(personaRepository, changeNotifier, emailChecker));
+    }
+
+    /**
+     * @param altaPersonas confirma las altas individuales, por separado o agrupadas
+     */
+    public PersonaApplicationService(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                                     EmailUniquenessChecker emailChecker, UnidadDeTrabajo unidadDeTrabajo,
+                                     int tamanoTramoLote, int maximoOperacionesLote, AltaPersonas altaPersonas) {
+        this.unidadDeTrabajo = unidadDeTrabajo;
+        this.altaPersonas = Objects.requireNonNull(altaPersonas, "La estrategia de altas no puede ser null");
         this.obtenerPersonasUseCase = new ObtenerPersonasUseCase(personaRepository);
-        this.actualizarPersonaUseCase = new ActualizarPersonaUseCase(personaRepository);
-        this.eliminarPersonaUseCase = new EliminarPersonaUseCase(personaRepository);
+        this.actualizarPersonaUseCase = new ActualizarPersonaUseCase(personaRepository, changeNotifier, emailChecker);
+        this.eliminarPersonaUseCase = new EliminarPersonaUseCase(personaRepository, changeNotifier);
+        this.procesarLoteUseCase = new ProcesarLoteUseCase(personaRepository, changeNotifier, emailChecker,
+                unidadDeTrabajo, tamanoTramoLote, maximoOperacionesLote);
     }
 
     /**
      * Crea una nueva persona
+     * Según la estrategia configurada, comparte transacción con las altas concurrentes.
      */
     public Persona crearPersona(String nombre, String apellido, String email, 
                                String telefono, String direccion) {
         CrearPersonaUseCase.CrearPersonaCommand command = 
             new CrearPersonaUseCase.CrearPersonaCommand(nombre, apellido, email, telefono, direccion);
-        return crearPersonaUseCase.execute(command);
+        return altaPersonas.execute(command);
     }
 
     /**
      * Obtiene todas las personas
      */
     public List<Persona> obtenerTodasLasPersonas() {
-        return obtenerPersonasUseCase.obtenerTodas();
+        return unidadDeTrabajo.ejecutarSoloLectura(obtenerPersonasUseCase::obtenerTodas);
+    }
+
+    /**
+     * Obtiene una página de personas según el criterio de búsqueda
+     */
+    public Pagina<Persona> obtenerPaginaPersonas(CriterioBusqueda criterio) {
+        return unidadDeTrabajo.ejecutarSoloLectura(() -> obtenerPersonasUseCase.obtenerPagina(criterio));
+    }
+
+    /**
+     * Obtiene una porción de personas sin calcular el total
+     */
+    public List<Persona> obtenerPorcionPersonas(CriterioBusqueda criterio) {
+        return unidadDeTrabajo.ejecutarSoloLectura(() -> obtenerPersonasUseCase.obtenerPorcion(criterio));
+    }
+
+    /**
+     * Obtiene el bloque de personas que sigue al ID dado, en orden de ID
+     */
+    public List<Persona> obtenerBloquePersonas(int desdeId, int tamano) {
+        return unidadDeTrabajo.ejecutarSoloLectura(() -> obtenerPersonasUseCase.obtenerBloqueDesde(desdeId, tamano));
     }
 
     /**
      * Obtiene una persona por ID
      */
     public Optional<Persona> obtenerPersonaPorId(Integer id) {
-        return obtenerPersonasUseCase.obtenerPorId(id);
+        return unidadDeTrabajo.ejecutarSoloLectura(() -> obtenerPersonasUseCase.obtenerPorId(id));
     }
 
     /**
      * Busca personas por nombre
      */
     public List<Persona> buscarPersonasPorNombre(String nombre) {
-        return obtenerPersonasUseCase.buscarPorNombre(nombre);
+        return unidadDeTrabajo.ejecutarSoloLectura(() -> obtenerPersonasUseCase.buscarPorNombre(nombre));
     }
 
     /**
      * Busca personas por apellido
      */
     public List<Persona> buscarPersonasPorApellido(String apellido) {
-        return obtenerPersonasUseCase.buscarPorApellido(apellido);
+        return unidadDeTrabajo.ejecutarSoloLectura(() -> obtenerPersonasUseCase.buscarPorApellido(apellido));
     }
 
     /**
@@ -82,4 +144,12 @@ public class PersonaApplicationService {
     public boolean eliminarPersona(Integer id) {
         return eliminarPersonaUseCase.execute(id);
     }
+
+    /**
+     * Aplica un lote ordenado de altas, cambios y bajas con un resultado por operación
+     */
+    public List<ProcesarLoteUseCase.Resultado> procesarLote(List<ProcesarLoteUseCase.Operacion> operaciones,
+                                                          boolean atomico) {
+        return procesarLoteUseCase.execute(operaciones, atomico);
+    }
 }
\ No newline at end of file
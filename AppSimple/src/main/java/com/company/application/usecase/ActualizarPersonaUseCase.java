@@ -1,7 +1,9 @@
 package com.company.application.usecase;
 
 import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
 import com.company.domain.port.PersonaRepository;
+import com.company.domain.service.EmailUniquenessChecker;
 import com.company.domain.valueobject.Email;
 import com.company.domain.valueobject.PersonaId;
 import com.company.domain.valueobject.Telefono;
@@ -14,9 +16,22 @@ import java.util.Optional;
 public class ActualizarPersonaUseCase {
     
     private final PersonaRepository personaRepository;
+    private final PersonaChangeNotifier changeNotifier;
+    private final EmailUniquenessChecker emailChecker;
 
     public ActualizarPersonaUseCase(PersonaRepository personaRepository) {
+        this(personaRepository, PersonaChangeNotifier.NONE);
+    }
+
+    public ActualizarPersonaUseCase(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier) {
+        this(personaRepository, changeNotifier, new EmailUniquenessChecker(personaRepository));
+    }
+
+    public ActualizarPersonaUseCase(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                                    EmailUniquenessChecker emailChecker) {
         this.personaRepository = personaRepository;
+        this.changeNotifier = changeNotifier;
+        this.emailChecker = emailChecker;
     }
 
     public Optional<Persona> execute(ActualizarPersonaCommand command) {
@@ -36,6 +51,9 @@ public class ActualizarPersonaUseCase {
                 // Actualizar email si se proporciona
                 if (command.getEmail() != null && !command.getEmail().isBlank()) {
                     Email nuevoEmail = new Email(command.getEmail());
+                    if (!nuevoEmail.equals(persona.getEmail()) && emailChecker.existe(nuevoEmail)) {
+                        throw new IllegalArgumentException("Ya existe una persona con ese email");
+                    }
                     persona.cambiarEmail(nuevoEmail);
                 }
                 
@@ -45,7 +63,9 @@ public class ActualizarPersonaUseCase {
                     persona.cambiarTelefono(nuevoTelefono);
                 }
                 
-                return personaRepository.update(persona);
+                Persona actualizada = personaRepository.update(persona);
+                changeNotifier.changed(actualizada);
+                return actualizada;
             });
     }
 
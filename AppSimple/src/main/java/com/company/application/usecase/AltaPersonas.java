@@ -0,0 +1,17 @@
+package com.company.application.usecase;
+
+import com.company.domain.entity.Persona;
+
+/**
+ * Estrategia para confirmar las altas individuales
+ * {@link CrearPersonaUseCase} confirma cada alta en su propia transacción y
+ * {@link CrearPersonaGroupCommit} agrupa las concurrentes en una sola; la
+ * configuración elige cuál recibe el servicio de aplicación.
+ */
+public interface AltaPersonas {
+
+    /**
+     * Crea la persona o lanza IllegalArgumentException con el motivo del rechazo
+     */
+    Persona execute(CrearPersonaUseCase.CrearPersonaCommand command);
+}
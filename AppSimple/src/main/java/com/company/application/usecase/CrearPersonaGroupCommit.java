@@ -0,0 +1,241 @@
+package com.company.application.usecase;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Altas concurrentes agrupadas en una sola transacción (group commit)
+ * Cada llamada se encola; la primera de la cola hace de líder: espera a que
+ * termine el grupo anterior, a juntar {@code maximoFilas} altas o a que pase
+ * {@code espera}, y aplica el grupo como un lote de altas no atómico: una
+ * consulta de emails, un INSERT por lotes y un solo commit. Cada llamada recibe
+ * su persona o su propio error, con los mismos mensajes que
+ * {@link CrearPersonaUseCase}, también para emails repetidos dentro del grupo.
+ * Si la transacción del grupo no se confirma, cada llamada repite su alta sola
+ * en su propio hilo, así que un fallo ajeno nunca llega a otra petición.
+ * El grupo se confirma en {@code ejecutorGrupos} mientras el líder espera: así
+ * no hereda el contexto de la petición del líder (su plazo, su presupuesto de
+ * consultas, su compartimento) ni se lo gasta a las demás llamadas. Como mucho
+ * hay {@code maximoGrupos} grupos en curso; con ese máximo alcanzado el líder
+ * sigue juntando altas hasta que termine uno.
+ */
+public class CrearPersonaGroupCommit implements AltaPersonas {
+
+    private final ProcesarLoteUseCase procesarLote;
+    private final CrearPersonaUseCase crearPersona;
+    private final long esperaNanos;
+    private final int maximoFilas;
+    private final int maximoGrupos;
+    private final Runnable trasConfirmar;
+    private final Executor ejecutorGrupos;
+
+    private final Object cerrojo = new Object();
+    private final List<Pendiente> cola = new ArrayList<>();
+    private boolean hayLider;
+    private int gruposEnCurso;
+
+    private final AtomicLong grupos = new AtomicLong();
+    private final AtomicLong agrupadas = new AtomicLong();
+    private final AtomicLong repetidas = new AtomicLong();
+
+    /**
+     * @param espera        tiempo máximo que el líder espera a juntar el grupo
+     * @param maximoFilas   altas por transacción
+     * @param maximoGrupos  grupos confirmándose a la vez; no más que los hilos de {@code ejecutorGrupos}
+     * @param trasConfirmar  se ejecuta en el hilo de cada llamada cuya alta confirmó
+     *                       un grupo, para que el adaptador la anote como escritura
+     * @param ejecutorGrupos hilos sin contexto de petición en los que se confirman los grupos
+     */
+    public CrearPersonaGroupCommit(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                                   EmailUniquenessChecker emailChecker, UnidadDeTrabajo unidadDeTrabajo,
+                                   Duration espera, int maximoFilas, int maximoGrupos, Runnable trasConfirmar,
+                                   Executor ejecutorGrupos) {
+        if (espera.isNegative() || maximoFilas < 1 || maximoGrupos < 1) {
+            throw new IllegalArgumentException(
+                    "La espera no puede ser negativa y los máximos de filas y de grupos deben ser positivos");
+        }
+        this.procesarLote = new ProcesarLoteUseCase(personaRepository, changeNotifier, emailChecker,
+                unidadDeTrabajo, maximoFilas, maximoFilas);
+        this.crearPersona = new CrearPersonaUseCase(personaRepository, changeNotifier, emailChecker);
+        this.esperaNanos = espera.toNanos();
+        this.maximoFilas = maximoFilas;
+        this.maximoGrupos = maximoGrupos;
+        this.trasConfirmar = trasConfirmar;
+        this.ejecutorGrupos = ejecutorGrupos;
+    }
+
+    @Override
+    public Persona execute(CrearPersonaUseCase.CrearPersonaCommand command) {
+        Pendiente propia = new Pendiente(command);
+        List<Pendiente> grupo;
+        boolean interrumpido = false;
+        synchronized (cerrojo) {
+            cola.add(propia);
+            if (!hayLider) {
+                hayLider = true;
+                propia.lider = true;
+            } else if (cola.size() >= maximoFilas) {
+                cerrojo.notifyAll();
+            }
+            // Sin interrupciones: el alta ya está en la cola y puede confirmarla otro hilo
+            while (!propia.terminada && !propia.lider) {
+                try {
+                    cerrojo.wait();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+            grupo = propia.terminada ? null : juntarGrupo();
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        if (grupo != null) {
+            confirmarAparte(grupo);
+        }
+
+        if (propia.error != null) {
+            throw new IllegalArgumentException(propia.error);
+        }
+        if (propia.persona == null) {
+            repetidas.incrementAndGet();
+            return crearPersona.execute(command);
+        }
+        trasConfirmar.run();
+        return propia.persona;
+    }
+
+    // Llamar con el cerrojo; el líder es siempre el primero de la cola
+    private List<Pendiente> juntarGrupo() {
+        long limite = System.nanoTime() + esperaNanos;
+        long restante;
+        boolean interrumpido = false;
+        while (gruposEnCurso > 0 && cola.size() < maximoFilas && (restante = limite - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.timedWait(cerrojo, restante);
+            } catch (InterruptedException e) {
+                interrumpido = true;
+                break;
+            }
+        }
+        // Sin hueco no se abre otro grupo aunque haya pasado la espera; cada grupo que termina avisa
+        while (gruposEnCurso >= maximoGrupos) {
+            try {
+                cerrojo.wait();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pendiente> primeras = cola.subList(0, Math.min(cola.size(), maximoFilas));
+        List<Pendiente> grupo = new ArrayList<>(primeras);
+        primeras.clear();
+        gruposEnCurso++;
+        // Las que no caben forman el siguiente grupo mientras este se confirma
+        if (cola.isEmpty()) {
+            hayLider = false;
+        } else {
+            cola.get(0).lider = true;
+            cerrojo.notifyAll();
+        }
+        return grupo;
+    }
+
+    // El líder espera sin atender interrupciones: las demás llamadas dependen del grupo
+    private void confirmarAparte(List<Pendiente> grupo) {
+        try {
+            CompletableFuture.runAsync(() -> confirmar(grupo), ejecutorGrupos).join();
+        } catch (RejectedExecutionException e) {
+            // Sin hilo para el grupo: cada llamada repite su alta sola
+            repartir(grupo, null);
+        }
+    }
+
+    private void confirmar(List<Pendiente> grupo) {
+        List<ProcesarLoteUseCase.Operacion> operaciones = new ArrayList<>(grupo.size());
+        for (Pendiente pendiente : grupo) {
+            CrearPersonaUseCase.CrearPersonaCommand command = pendiente.command;
+            operaciones.add(new ProcesarLoteUseCase.Operacion(ProcesarLoteUseCase.TipoOperacion.CREAR, null,
+                    command.getNombre(), command.getApellido(), command.getEmail(), command.getTelefono(),
+                    command.getDireccion()));
+        }
+        List<ProcesarLoteUseCase.Resultado> resultados = null;
+        try {
+            resultados = procesarLote.execute(operaciones, false);
+        } catch (RuntimeException e) {
+            // Sin resultados: cada llamada repite su alta sola
+        } finally {
+            repartir(grupo, resultados);
+        }
+        grupos.incrementAndGet();
+        agrupadas.addAndGet(grupo.size());
+    }
+
+    // Sin resultados, las llamadas quedan sin persona ni error y repiten su alta
+    private void repartir(List<Pendiente> grupo, List<ProcesarLoteUseCase.Resultado> resultados) {
+        synchronized (cerrojo) {
+            for (int i = 0; i < grupo.size(); i++) {
+                Pendiente pendiente = grupo.get(i);
+                ProcesarLoteUseCase.Resultado resultado = resultados != null ? resultados.get(i) : null;
+                if (resultado != null && resultado.getEstado() == ProcesarLoteUseCase.Estado.CREADA) {
+                    pendiente.persona = resultado.getPersona();
+                } else if (resultado != null && resultado.getEstado() == ProcesarLoteUseCase.Estado.INVALIDA) {
+                    pendiente.error = resultado.getError();
+                }
+                pendiente.terminada = true;
+            }
+            gruposEnCurso--;
+            cerrojo.notifyAll();
+        }
+    }
+
+    /**
+     * Transacciones de grupo ejecutadas
+     */
+    public long getGrupos() {
+        return grupos.get();
+    }
+
+    /**
+     * Altas que pasaron por un grupo
+     */
+    public long getAgrupadas() {
+        return agrupadas.get();
+    }
+
+    /**
+     * Altas repetidas de una en una porque su grupo no se confirmó
+     */
+    public long getRepetidas() {
+        return repetidas.get();
+    }
+
+    /**
+     * Alta encolada; sus campos se leen y escriben con el cerrojo
+     */
+    private static final class Pendiente {
+        private final CrearPersonaUseCase.CrearPersonaCommand command;
+        private boolean lider;
+        private boolean terminada;
+        private Persona persona;
+        private String error;
+
+        Pendiente(CrearPersonaUseCase.CrearPersonaCommand command) {
+            this.command = command;
+        }
+    }
+}
@@ -1,26 +1,47 @@
 package com.company.application.usecase;
 
 import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
 import com.company.domain.port.PersonaRepository;
+import com.company.domain.service.EmailUniquenessChecker;
 import com.company.domain.valueobject.Email;
 import com.company.domain.valueobject.Telefono;
 
 /**
  * Caso de uso para crear una nueva persona
  */
-public class CrearPersonaUseCase {
+public class CrearPersonaUseCase implements AltaPersonas {
     
     private final PersonaRepository personaRepository;
+    private final PersonaChangeNotifier changeNotifier;
+    private final EmailUniquenessChecker emailChecker;
 
     public CrearPersonaUseCase(PersonaRepository personaRepository) {
+        this(personaRepository, PersonaChangeNotifier.NONE);
+    }
+
+    public CrearPersonaUseCase(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier) {
+        this(personaRepository, changeNotifier, new EmailUniquenessChecker(personaRepository));
+    }
+
+    public CrearPersonaUseCase(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                               EmailUniquenessChecker emailChecker) {
         this.personaRepository = personaRepository;
+        this.changeNotifier = changeNotifier;
+        this.emailChecker = emailChecker;
     }
 
+    @Override
     public Persona execute(CrearPersonaCommand command) {
         // Crear value objects con validación
         Email email = new Email(command.getEmail());
         Telefono telefono = new Telefono(command.getTelefono());
         
+        // Rechazar duplicados antes del INSERT (el mensaje no incluye el email: se registra en logs)
+        if (emailChecker.existe(email)) {
+            throw new IllegalArgumentException("Ya existe una persona con ese email");
+        }
+        
         // Crear entidad de dominio
         Persona persona = new Persona(
             command.getNombre(),
@@ -31,7 +52,9 @@ public class CrearPersonaUseCase {
         );
         
         // Persistir usando el puerto
-        return personaRepository.save(persona);
+        Persona guardada = personaRepository.save(persona);
+        changeNotifier.changed(guardada);
+        return guardada;
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.company.application.usecase;
 
+import com.company.domain.port.PersonaChangeNotifier;
 import com.company.domain.port.PersonaRepository;
 import com.company.domain.valueobject.PersonaId;
 
@@ -9,9 +10,15 @@ import com.company.domain.valueobject.PersonaId;
 public class EliminarPersonaUseCase {
     
     private final PersonaRepository personaRepository;
+    private final PersonaChangeNotifier changeNotifier;
 
     public EliminarPersonaUseCase(PersonaRepository personaRepository) {
+        this(personaRepository, PersonaChangeNotifier.NONE);
+    }
+
+    public EliminarPersonaUseCase(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier) {
         this.personaRepository = personaRepository;
+        this.changeNotifier = changeNotifier;
     }
 
     public boolean execute(Integer id) {
@@ -22,6 +29,7 @@ public class EliminarPersonaUseCase {
         }
         
         personaRepository.deleteById(personaId);
+        changeNotifier.deleted(personaId);
         return true;
     }
 }
\ No newline at end of file
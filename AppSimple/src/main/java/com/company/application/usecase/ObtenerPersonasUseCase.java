@@ -2,6 +2,8 @@ package com.company.application.usecase;
 
 import com.company.domain.entity.Persona;
 import com.company.domain.port.PersonaRepository;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Pagina;
 import com.company.domain.valueobject.PersonaId;
 
 import java.util.List;
@@ -52,4 +54,25 @@ public class ObtenerPersonasUseCase {
         }
         return personaRepository.findByApellidoContaining(apellido.strip());
     }
+
+    /**
+     * Obtiene una página de personas filtrada y ordenada
+     */
+    public Pagina<Persona> obtenerPagina(CriterioBusqueda criterio) {
+        return personaRepository.findPage(criterio);
+    }
+
+    /**
+     * Obtiene una porción de resultados sin calcular el total
+     */
+    public List<Persona> obtenerPorcion(CriterioBusqueda criterio) {
+        return personaRepository.findSlice(criterio);
+    }
+
+    /**
+     * Obtiene el bloque de personas que sigue al ID dado, en orden de ID
+     */
+    public List<Persona> obtenerBloqueDesde(int desdeId, int tamano) {
+        return personaRepository.findBloqueDesde(desdeId, tamano);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,481 @@
+package com.company.application.usecase;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Caso de uso para aplicar un lote ordenado de altas, cambios y bajas
+ * El lote se parte en bloques sin dos operaciones sobre el mismo ID; dentro de un
+ * bloque van primero las bajas, luego los cambios y por último las altas, cada
+ * tipo en un único lote de sentencias, y el resultado es el mismo que en el orden
+ * original. Los emails se comprueban en ese orden, teniendo en cuenta los que el
+ * propio lote ocupa o libera. Los cambios se notifican después de confirmar.
+ * Un lote atómico se valida entero (IDs, datos y emails) antes de la primera
+ * escritura, así que si alguna operación es inválida no se escribe nada.
+ */
+public class ProcesarLoteUseCase {
+
+    public static final int TAMANO_TRAMO_POR_DEFECTO = 500;
+    public static final int MAXIMO_OPERACIONES_POR_DEFECTO = 5_000;
+
+    private static final String EMAIL_DUPLICADO = "Ya existe una persona con ese email";
+    private static final String MODIFICADA = "La persona fue modificada o eliminada por otro proceso";
+
+    public enum TipoOperacion {
+        CREAR, ACTUALIZAR, ELIMINAR
+    }
+
+    public enum Estado {
+        CREADA, ACTUALIZADA, ELIMINADA,
+        NO_ENCONTRADA,
+        INVALIDA,
+        // La transacción de su tramo no pudo confirmarse, o la persona cambió desde que se leyó
+        FALLIDA,
+        // Lote atómico revertido por el fallo de otra operación
+        NO_APLICADA;
+
+        public boolean isCorrecto() {
+            return this == CREADA || this == ACTUALIZADA || this == ELIMINADA;
+        }
+    }
+
+    /**
+     * Operación del lote; en los cambios los campos nulos no se modifican
+     */
+    public static class Operacion {
+        private final TipoOperacion tipo;
+        private final Integer id;
+        private final String nombre;
+        private final String apellido;
+        private final String email;
+        private final String telefono;
+        private final String direccion;
+
+        public Operacion(TipoOperacion tipo, Integer id, String nombre, String apellido, String email,
+                         String telefono, String direccion) {
+            if (tipo == null) {
+                throw new IllegalArgumentException("El tipo de operación es obligatorio");
+            }
+            this.tipo = tipo;
+            this.id = id;
+            this.nombre = nombre;
+            this.apellido = apellido;
+            this.email = email;
+            this.telefono = telefono;
+            this.direccion = direccion;
+        }
+
+        public TipoOperacion getTipo() { return tipo; }
+        public Integer getId() { return id; }
+        public String getNombre() { return nombre; }
+        public String getApellido() { return apellido; }
+        public String getEmail() { return email; }
+        public String getTelefono() { return telefono; }
+        public String getDireccion() { return direccion; }
+    }
+
+    /**
+     * Resultado de una operación, en la misma posición que en el lote
+     */
+    public static class Resultado {
+        private final int indice;
+        private final TipoOperacion tipo;
+        private final Estado estado;
+        private final Persona persona;
+        private final String error;
+        private final RuntimeException causa;
+
+        Resultado(int indice, TipoOperacion tipo, Estado estado, Persona persona, String error,
+                  RuntimeException causa) {
+            this.indice = indice;
+            this.tipo = tipo;
+            this.estado = estado;
+            this.persona = persona;
+            this.error = error;
+            this.causa = causa;
+        }
+
+        public int getIndice() { return indice; }
+        public TipoOperacion getTipo() { return tipo; }
+        public Estado getEstado() { return estado; }
+        /** Persona creada o actualizada; null en el resto */
+        public Persona getPersona() { return persona; }
+        public String getError() { return error; }
+        /** Excepción que impidió confirmar el tramo (solo en FALLIDA; null si la persona cambió) */
+        public RuntimeException getCausa() { return causa; }
+    }
+
+    private final PersonaRepository personaRepository;
+    private final PersonaChangeNotifier changeNotifier;
+    private final EmailUniquenessChecker emailChecker;
+    private final UnidadDeTrabajo unidadDeTrabajo;
+    private final int tamanoTramo;
+    private final int maximoOperaciones;
+
+    public ProcesarLoteUseCase(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                               EmailUniquenessChecker emailChecker, UnidadDeTrabajo unidadDeTrabajo) {
+        this(personaRepository, changeNotifier, emailChecker, unidadDeTrabajo,
+                TAMANO_TRAMO_POR_DEFECTO, MAXIMO_OPERACIONES_POR_DEFECTO);
+    }
+
+    /**
+     * @param tamanoTramo operaciones por transacción en los lotes no atómicos
+     * @param maximoOperaciones operaciones admitidas en un lote
+     */
+    public ProcesarLoteUseCase(PersonaRepository personaRepository, PersonaChangeNotifier changeNotifier,
+                               EmailUniquenessChecker emailChecker, UnidadDeTrabajo unidadDeTrabajo,
+                               int tamanoTramo, int maximoOperaciones) {
+        if (tamanoTramo < 1 || maximoOperaciones < 1) {
+            throw new IllegalArgumentException("El tamaño de tramo y el máximo de operaciones deben ser positivos");
+        }
+        this.personaRepository = personaRepository;
+        this.changeNotifier = changeNotifier;
+        this.emailChecker = emailChecker;
+        this.unidadDeTrabajo = unidadDeTrabajo;
+        this.tamanoTramo = tamanoTramo;
+        this.maximoOperaciones = maximoOperaciones;
+    }
+
+    /**
+     * Aplica el lote
+     *
+     * @param atomico si es true, todo el lote va en una transacción y se revierte
+     *                entero si alguna operación falla; si no, cada tramo de
+     *                {@code tamanoTramo} operaciones se confirma por separado y
+     *                las operaciones inválidas no impiden las demás
+     */
+    public List<Resultado> execute(List<Operacion> operaciones, boolean atomico) {
+        if (operaciones.isEmpty()) {
+            throw new IllegalArgumentException("El lote no tiene operaciones");
+        }
+        if (operaciones.size() > maximoOperaciones) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + maximoOperaciones + " operaciones");
+        }
+        Resultado[] resultados = new Resultado[operaciones.size()];
+        int porTransaccion = atomico ? operaciones.size() : tamanoTramo;
+        for (int desde = 0; desde < operaciones.size(); desde += porTransaccion) {
+            confirmar(operaciones, desde, Math.min(operaciones.size(), desde + porTransaccion), atomico, resultados);
+        }
+        return Arrays.asList(resultados);
+    }
+
+    private void confirmar(List<Operacion> operaciones, int desde, int hasta, boolean atomico,
+                           Resultado[] resultados) {
+        Ejecucion ejecucion = new Ejecucion(resultados, false);
+        try {
+            unidadDeTrabajo.ejecutar(() -> {
+                if (atomico) {
+                    Ejecucion prueba = new Ejecucion(resultados, true);
+                    prueba.aplicar(operaciones, desde, hasta);
+                    if (prueba.fallos > 0) {
+                        throw new LoteRechazado();
+                    }
+                }
+                ejecucion.aplicar(operaciones, desde, hasta);
+                if (atomico && ejecucion.fallos > 0) {
+                    throw new LoteRechazado();
+                }
+                return null;
+            });
+        } catch (LoteRechazado e) {
+            for (int i = desde; i < hasta; i++) {
+                if (resultados[i].getEstado().isCorrecto()) {
+                    resultados[i] = new Resultado(i, resultados[i].getTipo(), Estado.NO_APLICADA, null,
+                            "El lote se revirtió por el fallo de otra operación", null);
+                }
+            }
+            return;
+        } catch (RuntimeException e) {
+            for (int i = desde; i < hasta; i++) {
+                if (resultados[i] == null || resultados[i].getEstado().isCorrecto()) {
+                    resultados[i] = new Resultado(i, operaciones.get(i).getTipo(), Estado.FALLIDA, null,
+                            "No se pudo confirmar el tramo de operaciones", e);
+                }
+            }
+            return;
+        }
+        // Solo lo confirmado llega a las cachés y a las demás instancias
+        for (int i = desde; i < hasta; i++) {
+            Resultado resultado = resultados[i];
+            if (resultado.getEstado() == Estado.ELIMINADA) {
+                changeNotifier.deleted(new PersonaId(operaciones.get(i).getId()));
+            } else if (resultado.getEstado().isCorrecto()) {
+                changeNotifier.changed(resultado.getPersona());
+            }
+        }
+    }
+
+    /**
+     * Estado de una transacción del lote
+     * Simulada, prepara y valida cada bloque sin escribir y recuerda cómo queda
+     * cada persona para que los bloques siguientes la vean así.
+     */
+    private final class Ejecucion {
+
+        private final Resultado[] resultados;
+        private final boolean simulada;
+        // Emails que operaciones anteriores del lote ocupan (true) o liberan (false)
+        private final Map<Email, Boolean> emailsDelLote = new HashMap<>();
+        // Solo al simular: personas cambiadas o eliminadas (null) por bloques anteriores
+        private final Map<Integer, Persona> previstas = new HashMap<>();
+        private int fallos;
+
+        Ejecucion(Resultado[] resultados, boolean simulada) {
+            this.resultados = resultados;
+            this.simulada = simulada;
+        }
+
+        void aplicar(List<Operacion> operaciones, int desde, int hasta) {
+            List<Integer> bloque = new ArrayList<>();
+            Set<Integer> ids = new HashSet<>();
+            for (int i = desde; i < hasta; i++) {
+                Integer id = operaciones.get(i).getTipo() == TipoOperacion.CREAR ? null : operaciones.get(i).getId();
+                if (id != null && !ids.add(id)) {
+                    aplicarBloque(operaciones, bloque);
+                    bloque.clear();
+                    ids.clear();
+                    ids.add(id);
+                }
+                bloque.add(i);
+            }
+            aplicarBloque(operaciones, bloque);
+        }
+
+        private void aplicarBloque(List<Operacion> operaciones, List<Integer> bloque) {
+            Map<Integer, Persona> actuales = leerActuales(operaciones, bloque);
+            Set<Email> existentes = emailChecker.existentes(emailsPedidos(operaciones, bloque));
+
+            List<Integer> bajas = new ArrayList<>();
+            List<Integer> cambios = new ArrayList<>();
+            List<Integer> altas = new ArrayList<>();
+            Map<Integer, Persona> preparadas = new HashMap<>();
+            for (int i : bloque) {
+                Operacion operacion = operaciones.get(i);
+                try {
+                    if (operacion.getTipo() != TipoOperacion.CREAR && operacion.getId() == null) {
+                        throw new IllegalArgumentException("Falta el ID de la persona");
+                    }
+                    Persona actual = operacion.getId() != null ? actuales.get(operacion.getId()) : null;
+                    switch (operacion.getTipo()) {
+                        case CREAR:
+                            Persona nueva = nueva(operacion);
+                            ocupar(nueva.getEmail(), existentes);
+                            preparadas.put(i, nueva);
+                            altas.add(i);
+                            break;
+                        case ACTUALIZAR:
+                            if (actual == null) {
+                                fallar(i, operacion, Estado.NO_ENCONTRADA, "Persona no encontrada");
+                                continue;
+                            }
+                            Email anterior = actual.getEmail();
+                            Persona cambiada = cambiar(actual, operacion, existentes);
+                            if (!cambiada.getEmail().equals(anterior)) {
+                                emailsDelLote.put(anterior, false);
+                            }
+                            preparadas.put(i, cambiada);
+                            cambios.add(i);
+                            break;
+                        default:
+                            if (actual == null) {
+                                fallar(i, operacion, Estado.NO_ENCONTRADA, "Persona no encontrada");
+                                continue;
+                            }
+                            emailsDelLote.put(actual.getEmail(), false);
+                            bajas.add(i);
+                    }
+                } catch (IllegalArgumentException e) {
+                    fallar(i, operacion, Estado.INVALIDA, e.getMessage());
+                }
+            }
+
+            if (simulada) {
+                prever(operaciones, bajas, cambios, altas, preparadas);
+                return;
+            }
+            personaRepository.deleteAllById(bajas.stream()
+                    .map(i -> new PersonaId(operaciones.get(i).getId())).collect(Collectors.toList()));
+            for (int i : bajas) {
+                resultados[i] = new Resultado(i, TipoOperacion.ELIMINAR, Estado.ELIMINADA, null, null, null);
+            }
+            List<Integer> enConflicto = guardar(cambios, preparadas, TipoOperacion.ACTUALIZAR, Estado.ACTUALIZADA,
+                    personaRepository::updateAll);
+            Set<Email> sinLiberar = conservarEmails(operaciones, enConflicto, actuales, preparadas);
+            altas.removeIf(i -> {
+                if (sinLiberar.contains(preparadas.get(i).getEmail())) {
+                    fallar(i, operaciones.get(i), Estado.INVALIDA, EMAIL_DUPLICADO);
+                    return true;
+                }
+                return false;
+            });
+            guardar(altas, preparadas, TipoOperacion.CREAR, Estado.CREADA, personaRepository::saveAll);
+        }
+
+        /**
+         * Un cambio que no se aplicó deja el email como estaba
+         * Devuelve los emails que ese cambio iba a liberar y siguen ocupados.
+         */
+        private Set<Email> conservarEmails(List<Operacion> operaciones, List<Integer> enConflicto,
+                                           Map<Integer, Persona> actuales, Map<Integer, Persona> preparadas) {
+            Set<Email> sinLiberar = new HashSet<>();
+            for (int i : enConflicto) {
+                Email anterior = actuales.get(operaciones.get(i).getId()).getEmail();
+                Email pedido = preparadas.get(i).getEmail();
+                if (!pedido.equals(anterior)) {
+                    emailsDelLote.put(anterior, true);
+                    emailsDelLote.remove(pedido);
+                    sinLiberar.add(anterior);
+                }
+            }
+            return sinLiberar;
+        }
+
+        private void prever(List<Operacion> operaciones, List<Integer> bajas, List<Integer> cambios,
+                            List<Integer> altas, Map<Integer, Persona> preparadas) {
+            for (int i : bajas) {
+                previstas.put(operaciones.get(i).getId(), null);
+                resultados[i] = new Resultado(i, TipoOperacion.ELIMINAR, Estado.ELIMINADA, null, null, null);
+            }
+            for (int i : cambios) {
+                previstas.put(operaciones.get(i).getId(), preparadas.get(i));
+                resultados[i] = new Resultado(i, TipoOperacion.ACTUALIZAR, Estado.ACTUALIZADA, preparadas.get(i),
+                        null, null);
+            }
+            for (int i : altas) {
+                resultados[i] = new Resultado(i, TipoOperacion.CREAR, Estado.CREADA, preparadas.get(i), null, null);
+            }
+        }
+
+        private Map<Integer, Persona> leerActuales(List<Operacion> operaciones, List<Integer> bloque) {
+            List<PersonaId> ids = new ArrayList<>();
+            Map<Integer, Persona> actuales = new HashMap<>();
+            for (int i : bloque) {
+                Operacion operacion = operaciones.get(i);
+                if (operacion.getTipo() == TipoOperacion.CREAR || operacion.getId() == null) {
+                    continue;
+                }
+                if (previstas.containsKey(operacion.getId())) {
+                    Persona prevista = previstas.get(operacion.getId());
+                    if (prevista != null) {
+                        actuales.put(operacion.getId(), prevista);
+                    }
+                } else {
+                    ids.add(new PersonaId(operacion.getId()));
+                }
+            }
+            if (!ids.isEmpty()) {
+                for (Persona persona : personaRepository.findAllById(ids)) {
+                    actuales.put(persona.getId().getValue(), persona);
+                }
+            }
+            return actuales;
+        }
+
+        // Una sola consulta por bloque para todos los emails nuevos (los inválidos se rechazan después)
+        private Set<Email> emailsPedidos(List<Operacion> operaciones, List<Integer> bloque) {
+            Set<Email> pedidos = new LinkedHashSet<>();
+            for (int i : bloque) {
+                String email = operaciones.get(i).getEmail();
+                if (operaciones.get(i).getTipo() != TipoOperacion.ELIMINAR && email != null && !email.isBlank()
+                        && Email.error(email) == null) {
+                    pedidos.add(new Email(email));
+                }
+            }
+            return pedidos;
+        }
+
+        private Persona nueva(Operacion operacion) {
+            return new Persona(operacion.getNombre(), operacion.getApellido(), new Email(operacion.getEmail()),
+                    new Telefono(operacion.getTelefono()), operacion.getDireccion());
+        }
+
+        // Mismas reglas que ActualizarPersonaUseCase, sobre una copia para no tocar la leída si falla
+        private Persona cambiar(Persona actual, Operacion operacion, Set<Email> existentes) {
+            Persona persona = new Persona(actual.getId(), actual.getVersion(), actual.getNombre(),
+                    actual.getApellido(), actual.getEmail(), actual.getTelefono(), actual.getDireccion());
+            if (operacion.getNombre() != null || operacion.getApellido() != null || operacion.getDireccion() != null) {
+                persona.actualizarInformacionPersonal(
+                        operacion.getNombre() != null ? operacion.getNombre() : persona.getNombre(),
+                        operacion.getApellido() != null ? operacion.getApellido() : persona.getApellido(),
+                        operacion.getDireccion() != null ? operacion.getDireccion() : persona.getDireccion());
+            }
+            Telefono telefono = operacion.getTelefono() != null && !operacion.getTelefono().isBlank()
+                    ? new Telefono(operacion.getTelefono()) : null;
+            if (operacion.getEmail() != null && !operacion.getEmail().isBlank()) {
+                Email nuevoEmail = new Email(operacion.getEmail());
+                if (!nuevoEmail.equals(persona.getEmail())) {
+                    ocupar(nuevoEmail, existentes);
+                    persona.cambiarEmail(nuevoEmail);
+                }
+            }
+            if (telefono != null) {
+                persona.cambiarTelefono(telefono);
+            }
+            return persona;
+        }
+
+        private void ocupar(Email email, Set<Email> existentes) {
+            Boolean ocupado = emailsDelLote.get(email);
+            if (ocupado != null ? ocupado : existentes.contains(email)) {
+                throw new IllegalArgumentException(EMAIL_DUPLICADO);
+            }
+            emailsDelLote.put(email, true);
+        }
+
+        // Devuelve las operaciones que no se aplicaron porque la persona cambió desde que se leyó
+        private List<Integer> guardar(List<Integer> indices, Map<Integer, Persona> preparadas, TipoOperacion tipo,
+                                      Estado estado, UnaryOperator<List<Persona>> escritura) {
+            List<Integer> enConflicto = new ArrayList<>();
+            if (indices.isEmpty()) {
+                return enConflicto;
+            }
+            List<Persona> personas = new ArrayList<>(indices.size());
+            for (int i : indices) {
+                personas.add(preparadas.get(i));
+            }
+            List<Persona> guardadas = escritura.apply(personas);
+            for (int j = 0; j < indices.size(); j++) {
+                int i = indices.get(j);
+                if (guardadas.get(j) == null) {
+                    resultados[i] = new Resultado(i, tipo, Estado.FALLIDA, null, MODIFICADA, null);
+                    fallos++;
+                    enConflicto.add(i);
+                } else {
+                    resultados[i] = new Resultado(i, tipo, estado, guardadas.get(j), null, null);
+                }
+            }
+            return enConflicto;
+        }
+
+        private void fallar(int indice, Operacion operacion, Estado estado, String error) {
+            resultados[indice] = new Resultado(indice, operacion.getTipo(), estado, null, error, null);
+            fallos++;
+        }
+    }
+
+    /**
+     * Revierte la transacción de un lote atómico con operaciones fallidas
+     */
+    private static final class LoteRechazado extends RuntimeException {
+        LoteRechazado() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.company.domain.entity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Trabajo de importación masiva de personas desde un archivo
+ * Guarda el punto de control (posición en bytes y línea del último lote
+ * confirmado) junto con los contadores, de modo que una importación
+ * interrumpida continúa desde el último lote confirmado y no repite filas.
+ * Con varias instancias, la ejecuta solo el nodo que la tiene arrendada; el
+ * arriendo se renueva con cada punto de control y, si vence, otro nodo puede
+ * reclamarla y continuarla.
+ */
+public class Importacion {
+
+    public enum Estado {
+        PENDIENTE,
+        EN_CURSO,
+        COMPLETADA,
+        FALLIDA
+    }
+
+    private final Long id;
+    private final String archivo;
+    private final int paralelismo;
+    private final int tamanoLote;
+    private final long bytesTotales;
+    private final Instant creada;
+
+    private Estado estado;
+    // Punto de control: todo lo anterior a la posición está confirmado
+    private long posicion;
+    private long linea;
+    private long lotes;
+
+    private long leidos;
+    private long insertados;
+    private long invalidos;
+    private long fusionados;
+    private long existentes;
+    private long repetidos;
+
+    // Inicio de la ejecución actual (tras una reanudación solo cuenta lo procesado desde entonces)
+    private Instant inicioEjecucion;
+    private long posicionInicioEjecucion;
+    private long leidosInicioEjecucion;
+
+    private Instant actualizada;
+    private Instant finalizada;
+    private String error;
+
+    // Control de concurrencia optimista y arriendo del nodo que la ejecuta
+    private final Long version;
+    private String propietario;
+    private Instant arriendoHasta;
+
+    // Constructor para crear nueva importación (sin ID)
+    public Importacion(String archivo, int paralelismo, int tamanoLote, long bytesTotales, Instant creada) {
+        this(null, archivo, paralelismo, tamanoLote, bytesTotales, creada, Estado.PENDIENTE,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, null, 0, 0, creada, null, null, null, null, null);
+    }
+
+    // Constructor para importación existente
+    public Importacion(Long id, String archivo, int paralelismo, int tamanoLote, long bytesTotales, Instant creada,
+                       Estado estado, long posicion, long linea, long lotes, long leidos, long insertados,
+                       long invalidos, long fusionados, long existentes, long repetidos, Instant inicioEjecucion,
+                       long posicionInicioEjecucion, long leidosInicioEjecucion, Instant actualizada,
+                       Instant finalizada, String error, Long version, String propietario, Instant arriendoHasta) {
+        if (archivo == null || archivo.isBlank()) {
+            throw new IllegalArgumentException("El archivo de la importación no puede estar vacío");
+        }
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser positivo");
+        }
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo");
+        }
+        this.id = id;
+        this.archivo = archivo;
+        this.paralelismo = paralelismo;
+        this.tamanoLote = tamanoLote;
+        this.bytesTotales = bytesTotales;
+        this.creada = Objects.requireNonNull(creada, "La fecha de creación no puede ser null");
+        this.estado = Objects.requireNonNull(estado, "El estado no puede ser null");
+        this.posicion = posicion;
+        this.linea = linea;
+        this.lotes = lotes;
+        this.leidos = leidos;
+        this.insertados = insertados;
+        this.invalidos = invalidos;
+        this.fusionados = fusionados;
+        this.existentes = existentes;
+        this.repetidos = repetidos;
+        this.inicioEjecucion = inicioEjecucion;
+        this.posicionInicioEjecucion = posicionInicioEjecucion;
+        this.leidosInicioEjecucion = leidosInicioEjecucion;
+        this.actualizada = actualizada;
+        this.finalizada = finalizada;
+        this.error = error;
+        this.version = version;
+        this.propietario = propietario;
+        this.arriendoHasta = arriendoHasta;
+    }
+
+    // Métodos de negocio
+    public void iniciarEjecucion(Instant ahora) {
+        if (estado == Estado.COMPLETADA) {
+            throw new IllegalArgumentException("La importación ya está completada");
+        }
+        this.estado = Estado.EN_CURSO;
+        this.error = null;
+        this.inicioEjecucion = ahora;
+        this.posicionInicioEjecucion = posicion;
+        this.leidosInicioEjecucion = leidos;
+        this.actualizada = ahora;
+    }
+
+    /**
+     * Avanza el punto de control con un lote; debe persistirse en la misma transacción que sus filas
+     */
+    public void registrarLote(long posicion, long linea, long leidos, long insertados, long invalidos,
+                              long fusionados, long existentes, long repetidos, Instant ahora) {
+        this.posicion = posicion;
+        this.linea = linea;
+        this.lotes++;
+        this.leidos += leidos;
+        this.insertados += insertados;
+        this.invalidos += invalidos;
+        this.fusionados += fusionados;
+        this.existentes += existentes;
+        this.repetidos += repetidos;
+        this.actualizada = ahora;
+    }
+
+    public void completar(Instant ahora) {
+        this.estado = Estado.COMPLETADA;
+        this.actualizada = ahora;
+        this.finalizada = ahora;
+    }
+
+    /**
+     * Indica si otro nodo la tiene arrendada y el arriendo sigue vigente
+     */
+    public boolean isArrendadaPorOtro(String nodo, Instant ahora) {
+        return propietario != null && !propietario.equals(nodo)
+                && arriendoHasta != null && arriendoHasta.isAfter(ahora);
+    }
+
+    /**
+     * Prolonga el arriendo; se guarda con cada punto de control
+     */
+    public void renovarArriendo(Instant hasta) {
+        this.arriendoHasta = hasta;
+    }
+
+    /**
+     * Suelta el arriendo para que otro nodo pueda continuarla sin esperar a que venza
+     */
+    public void liberarArriendo() {
+        this.propietario = null;
+        this.arriendoHasta = null;
+    }
+
+    public void fallar(String error, Instant ahora) {
+        this.estado = Estado.FALLIDA;
+        this.error = error;
+        this.actualizada = ahora;
+    }
+
+    /**
+     * Filas leídas por segundo en la ejecución actual
+     */
+    public double getFilasPorSegundo(Instant ahora) {
+        long ms = msEjecucion(ahora);
+        return ms > 0 ? (leidos - leidosInicioEjecucion) * 1000.0 / ms : 0;
+    }
+
+    /**
+     * Segundos estimados hasta terminar, según los bytes procesados en la ejecución actual; null si aún no se sabe
+     */
+    public Long getSegundosRestantes(Instant ahora) {
+        if (estado == Estado.COMPLETADA) {
+            return 0L;
+        }
+        long procesados = posicion - posicionInicioEjecucion;
+        long ms = msEjecucion(ahora);
+        if (estado != Estado.EN_CURSO || procesados <= 0 || ms <= 0) {
+            return null;
+        }
+        return (bytesTotales - posicion) * ms / procesados / 1000;
+    }
+
+    /**
+     * Filas rechazadas: inválidas, con un email ya registrado o repetido en el mismo archivo
+     */
+    public long getErrores() {
+        return invalidos + existentes + repetidos;
+    }
+
+    private long msEjecucion(Instant ahora) {
+        if (inicioEjecucion == null) {
+            return 0;
+        }
+        Instant fin = finalizada != null ? finalizada : estado == Estado.EN_CURSO ? ahora : actualizada;
+        return Duration.between(inicioEjecucion, fin).toMillis();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    public int getTamanoLote() {
+        return tamanoLote;
+    }
+
+    public long getBytesTotales() {
+        return bytesTotales;
+    }
+
+    public Instant getCreada() {
+        return creada;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public long getPosicion() {
+        return posicion;
+    }
+
+    public long getLinea() {
+        return linea;
+    }
+
+    public long getLotes() {
+        return lotes;
+    }
+
+    public long getLeidos() {
+        return leidos;
+    }
+
+    public long getInsertados() {
+        return insertados;
+    }
+
+    public long getInvalidos() {
+        return invalidos;
+    }
+
+    public long getFusionados() {
+        return fusionados;
+    }
+
+    public long getExistentes() {
+        return existentes;
+    }
+
+    public long getRepetidos() {
+        return repetidos;
+    }
+
+    public Instant getInicioEjecucion() {
+        return inicioEjecucion;
+    }
+
+    public long getPosicionInicioEjecucion() {
+        return posicionInicioEjecucion;
+    }
+
+    public long getLeidosInicioEjecucion() {
+        return leidosInicioEjecucion;
+    }
+
+    public Instant getActualizada() {
+        return actualizada;
+    }
+
+    public Instant getFinalizada() {
+        return finalizada;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getPropietario() {
+        return propietario;
+    }
+
+    public Instant getArriendoHasta() {
+        return arriendoHasta;
+    }
+
+    @Override
+    public String toString() {
+        return "Importacion{id=" + id + ", estado=" + estado + ", lotes=" + lotes + ", leidos=" + leidos + '}';
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Objects;
 public class Persona {
     
     private final PersonaId id;
+    private final Integer version;
     private String nombre;
     private String apellido;
     private Email email;
@@ -22,6 +23,7 @@ public class Persona {
     // Constructor para crear nueva persona (sin ID)
     public Persona(String nombre, String apellido, Email email, Telefono telefono, String direccion) {
         this.id = null; // Se asignará al persistir
+        this.version = null;
         this.nombre = validarNombre(nombre);
         this.apellido = validarApellido(apellido);
         this.email = email;
@@ -31,7 +33,13 @@ public class Persona {
 
     // Constructor para persona existente (con ID)
     public Persona(PersonaId id, String nombre, String apellido, Email email, Telefono telefono, String direccion) {
+        this(id, null, nombre, apellido, email, telefono, direccion);
+    }
+
+    // Constructor para persona existente con versión de fila (control de concurrencia)
+    public Persona(PersonaId id, Integer version, String nombre, String apellido, Email email, Telefono telefono, String direccion) {
         this.id = Objects.requireNonNull(id, "ID no puede ser null");
+        this.version = version;
         this.nombre = validarNombre(nombre);
         this.apellido = validarApellido(apellido);
         this.email = email;
@@ -60,33 +68,58 @@ public class Persona {
 
     // Validaciones de negocio
     private String validarNombre(String nombre) {
+        lanzarSiError(errorNombre(nombre));
+        return nombre.strip();
+    }
+
+    private String validarApellido(String apellido) {
+        lanzarSiError(errorApellido(apellido));
+        return apellido.strip();
+    }
+
+    private String validarDireccion(String direccion) {
+        lanzarSiError(errorDireccion(direccion));
+        return direccion.strip();
+    }
+
+    private static void lanzarSiError(String error) {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    /**
+     * Reglas de los campos sin lanzar excepciones (cargas masivas)
+     * Devuelven el motivo por el que el valor no es válido, o null si lo es.
+     */
+    public static String errorNombre(String nombre) {
         if (nombre == null || nombre.isBlank()) {
-            throw new IllegalArgumentException("Nombre no puede estar vacío");
+            return "Nombre no puede estar vacío";
         }
         if (nombre.length() > 45) {
-            throw new IllegalArgumentException("Nombre no puede exceder 45 caracteres");
+            return "Nombre no puede exceder 45 caracteres";
         }
-        return nombre.strip();
+        return null;
     }
 
-    private String validarApellido(String apellido) {
+    public static String errorApellido(String apellido) {
         if (apellido == null || apellido.isBlank()) {
-            throw new IllegalArgumentException("Apellido no puede estar vacío");
+            return "Apellido no puede estar vacío";
         }
         if (apellido.length() > 45) {
-            throw new IllegalArgumentException("Apellido no puede exceder 45 caracteres");
+            return "Apellido no puede exceder 45 caracteres";
         }
-        return apellido.strip();
+        return null;
     }
 
-    private String validarDireccion(String direccion) {
+    public static String errorDireccion(String direccion) {
         if (direccion == null || direccion.isBlank()) {
-            throw new IllegalArgumentException("Dirección no puede estar vacía");
+            return "Dirección no puede estar vacía";
         }
         if (direccion.length() > 100) {
-            throw new IllegalArgumentException("Dirección no puede exceder 100 caracteres");
+            return "Dirección no puede exceder 100 caracteres";
         }
-        return direccion.strip();
+        return null;
     }
 
     // Getters
@@ -94,6 +127,10 @@ public class Persona {
         return id;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
     public String getNombre() {
         return nombre;
     }
@@ -0,0 +1,54 @@
+package com.company.domain.port;
+
+import com.company.domain.valueobject.Email;
+
+/**
+ * Puerto del filtro probabilístico de emails registrados
+ * Responde "seguro que no está" o "puede estar": nunca da falsos negativos para
+ * los emails añadidos, pero sí algún falso positivo. No admite borrados.
+ */
+public interface EmailFilter {
+
+    /**
+     * Filtro sin estado que considera posible cualquier email (siempre se consulta la base)
+     */
+    EmailFilter NONE = new EmailFilter() {
+        @Override
+        public boolean mightContain(Email email) {
+            return true;
+        }
+
+        @Override
+        public void add(Email email) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public long size() {
+            return 0;
+        }
+    };
+
+    /**
+     * false si el email seguro que no se ha añadido
+     */
+    boolean mightContain(Email email);
+
+    /**
+     * Añade un email al filtro
+     */
+    void add(Email email);
+
+    /**
+     * Vacía el filtro
+     */
+    void clear();
+
+    /**
+     * Cantidad de emails añadidos desde el último vaciado
+     */
+    long size();
+}
@@ -0,0 +1,38 @@
+package com.company.domain.port;
+
+import com.company.domain.entity.Importacion;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto del repositorio de trabajos de importación
+ */
+public interface ImportacionRepository {
+
+    /**
+     * Guarda una importación nueva o su punto de control
+     */
+    Importacion save(Importacion importacion);
+
+    /**
+     * Busca una importación por su ID
+     */
+    Optional<Importacion> findById(Long id);
+
+    /**
+     * Importaciones en los estados dados, de la más antigua a la más reciente
+     */
+    List<Importacion> findByEstadoIn(List<Importacion.Estado> estados);
+
+    /**
+     * Arrienda la importación al nodo si no la tiene nadie, ya era suya o el arriendo venció
+     * Comprueba y asigna en una sola operación atómica: dos nodos nunca la
+     * reclaman a la vez. Guardar después una copia leída antes de que otro
+     * nodo la reclamara falla por concurrencia optimista.
+     *
+     * @return false si otro nodo la tiene con el arriendo vigente o ya está completada
+     */
+    boolean reclamar(Long id, String nodo, Instant ahora, Instant hasta);
+}
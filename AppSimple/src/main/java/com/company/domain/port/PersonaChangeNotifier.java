@@ -0,0 +1,98 @@
+package com.company.domain.port;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.PersonaId;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puerto de notificación de cambios de Persona
+ * Los casos de uso de escritura lo invocan tras persistir para que las
+ * estructuras derivadas (cachés, índices) se mantengan coherentes
+ */
+public interface PersonaChangeNotifier {
+
+    /**
+     * Notificador que ignora los cambios
+     */
+    PersonaChangeNotifier NONE = new PersonaChangeNotifier() {
+        @Override
+        public void changed(Persona persona) {
+        }
+
+        @Override
+        public void deleted(PersonaId id) {
+        }
+    };
+
+    /**
+     * Una persona se ha creado o modificado; contiene ya su ID y versión persistidos
+     */
+    void changed(Persona persona);
+
+    /**
+     * Una persona se ha eliminado
+     */
+    void deleted(PersonaId id);
+
+    /**
+     * Otra instancia creó o modificó la persona
+     * Solo se conocen su ID y la versión persistida; las estructuras derivadas
+     * descartan lo que tengan de versiones anteriores o lo vuelven a leer.
+     */
+    default void changedElsewhere(PersonaId id, int version) {
+    }
+
+    /**
+     * Otras instancias crearon o modificaron varias personas
+     * Por defecto se avisan una a una; quien tenga que leerlas de la base lo
+     * sobrescribe para leerlas todas en una consulta.
+     */
+    default void changedElsewhere(Map<PersonaId, Integer> versiones) {
+        versiones.forEach(this::changedElsewhere);
+    }
+
+    /**
+     * Pueden haberse perdido cambios de otras instancias
+     * Las estructuras derivadas deben rehacerse o vaciarse por completo.
+     */
+    default void resync() {
+    }
+
+    /**
+     * Combina varios notificadores en uno que los invoca en orden
+     */
+    static PersonaChangeNotifier composite(List<? extends PersonaChangeNotifier> notifiers) {
+        if (notifiers.isEmpty()) {
+            return NONE;
+        }
+        List<PersonaChangeNotifier> copia = List.copyOf(notifiers);
+        return new PersonaChangeNotifier() {
+            @Override
+            public void changed(Persona persona) {
+                copia.forEach(notifier -> notifier.changed(persona));
+            }
+
+            @Override
+            public void deleted(PersonaId id) {
+                copia.forEach(notifier -> notifier.deleted(id));
+            }
+
+            @Override
+            public void changedElsewhere(PersonaId id, int version) {
+                copia.forEach(notifier -> notifier.changedElsewhere(id, version));
+            }
+
+            @Override
+            public void changedElsewhere(Map<PersonaId, Integer> versiones) {
+                copia.forEach(notifier -> notifier.changedElsewhere(versiones));
+            }
+
+            @Override
+            public void resync() {
+                copia.forEach(PersonaChangeNotifier::resync);
+            }
+        };
+    }
+}
@@ -1,10 +1,18 @@
 package com.company.domain.port;
 
 import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Pagina;
 import com.company.domain.valueobject.PersonaId;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Puerto del repositorio de Persona
@@ -17,16 +25,33 @@ public interface PersonaRepository {
      */
     Persona save(Persona persona);
     
+    /**
+     * Guarda varias personas nuevas; devuelve las guardadas en el mismo orden
+     */
+    List<Persona> saveAll(List<Persona> personas);
+    
     /**
      * Actualiza una persona existente
      */
     Persona update(Persona persona);
     
+    /**
+     * Actualiza varias personas en un único lote de sentencias; devuelve las actualizadas en el mismo orden
+     * Cada persona debe traer la versión con la que se leyó: las que cambiaron o se
+     * eliminaron desde entonces no se tocan y vuelven como null, sin impedir el resto.
+     */
+    List<Persona> updateAll(List<Persona> personas);
+    
     /**
      * Busca una persona por su ID
      */
     Optional<Persona> findById(PersonaId id);
     
+    /**
+     * Busca varias personas por ID en una sola consulta; las que no existen no aparecen
+     */
+    List<Persona> findAllById(Collection<PersonaId> ids);
+    
     /**
      * Obtiene todas las personas
      */
@@ -37,6 +62,11 @@ public interface PersonaRepository {
      */
     void deleteById(PersonaId id);
     
+    /**
+     * Elimina varias personas en un único lote de sentencias
+     */
+    void deleteAllById(Collection<PersonaId> ids);
+    
     /**
      * Verifica si existe una persona con el ID dado
      */
@@ -51,4 +81,52 @@ public interface PersonaRepository {
      * Busca personas por apellido (búsqueda parcial)
      */
     List<Persona> findByApellidoContaining(String apellido);
+    
+    /**
+     * Obtiene una página de personas filtrada y ordenada según el criterio
+     */
+    Pagina<Persona> findPage(CriterioBusqueda criterio);
+    
+    /**
+     * Obtiene las personas de una página sin calcular el total de resultados
+     */
+    List<Persona> findSlice(CriterioBusqueda criterio);
+    
+    /**
+     * Obtiene hasta {@code tamano} personas con ID mayor que el dado, en orden de ID
+     * Pagina por clave: el coste no crece con lo ya recorrido y las altas y bajas
+     * concurrentes no desplazan las filas pendientes.
+     */
+    List<Persona> findBloqueDesde(int desdeId, int tamano);
+    
+    /**
+     * Verifica si existe una persona con el email dado
+     */
+    boolean existsByEmail(Email email);
+    
+    /**
+     * Devuelve cuáles de los emails dados ya están registrados (una consulta por lote)
+     */
+    Set<Email> findExistingEmails(Collection<Email> emails);
+    
+    /**
+     * Recorre todos los emails registrados, por bloques y sin cargar las personas completas
+     */
+    void forEachEmail(Consumer<Email> consumidor);
+    
+    /**
+     * Recorre todas las personas por bloques, en orden de ID
+     */
+    void forEachPersona(Consumer<Persona> consumidor);
+    
+    /**
+     * Recorre las personas creadas o modificadas desde el instante dado, por bloques
+     */
+    void forEachModifiedSince(Instant desde, Consumer<Persona> consumidor);
+    
+    /**
+     * Recorre todas las personas por bloques, en orden de ID, junto con su instante de alta
+     * El instante es null en las filas heredadas que no lo registraron.
+     */
+    void forEachPersonaConAlta(BiConsumer<Persona, Instant> consumidor);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.company.domain.port;
+
+import java.util.function.Supplier;
+
+/**
+ * Puerto de unidad de trabajo
+ * Ejecuta varias operaciones de repositorio como una sola transacción: o se
+ * confirman todas o ninguna.
+ */
+public interface UnidadDeTrabajo {
+
+    /**
+     * Ejecuta cada operación sin transacción propia (tests y adaptadores en memoria)
+     */
+    UnidadDeTrabajo DIRECTA = new UnidadDeTrabajo() {
+        @Override
+        public <T> T ejecutar(Supplier<T> operacion) {
+            return operacion.get();
+        }
+    };
+
+    /**
+     * Ejecuta la operación en una transacción y devuelve su resultado
+     */
+    <T> T ejecutar(Supplier<T> operacion);
+
+    /**
+     * Ejecuta una operación que solo lee
+     * El adaptador puede resolverla en una transacción de solo lectura contra
+     * una réplica, así que puede no ver escrituras muy recientes de otras sesiones.
+     */
+    default <T> T ejecutarSoloLectura(Supplier<T> operacion) {
+        return ejecutar(operacion);
+    }
+}
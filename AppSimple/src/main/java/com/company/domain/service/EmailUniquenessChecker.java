@@ -0,0 +1,174 @@
+package com.company.domain.service;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.EmailFilter;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Control de unicidad de email previo al INSERT
+ * El filtro en memoria descarta sin consultar la base los emails que seguro son
+ * nuevos; solo los posibles duplicados se verifican contra el repositorio, en
+ * lotes cuando se comprueban varios a la vez. La restricción UNIQUE de la tabla
+ * sigue siendo la garantía final ante altas concurrentes del mismo email.
+ */
+public class EmailUniquenessChecker implements PersonaChangeNotifier {
+
+    static final int LOTE_VERIFICACION = 500;
+
+    private final PersonaRepository personaRepository;
+    private final EmailFilter filtro;
+    // Mientras se reconstruye el filtro todos los emails se verifican en la base
+    private volatile boolean listo;
+
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong verificados = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+
+    public EmailUniquenessChecker(PersonaRepository personaRepository) {
+        this(personaRepository, EmailFilter.NONE);
+    }
+
+    public EmailUniquenessChecker(PersonaRepository personaRepository, EmailFilter filtro) {
+        this.personaRepository = personaRepository;
+        this.filtro = filtro;
+    }
+
+    /**
+     * Indica si ya existe una persona con el email
+     */
+    public boolean existe(Email email) {
+        // Sin filtro listo se verifica todo y un email nuevo no es un falso positivo
+        boolean filtrado = listo;
+        if (filtrado && descartable(email)) {
+            return false;
+        }
+        verificados.incrementAndGet();
+        boolean existe = personaRepository.existsByEmail(email);
+        if (!existe && filtrado) {
+            falsosPositivos.incrementAndGet();
+        }
+        return existe;
+    }
+
+    /**
+     * Devuelve cuáles de los emails ya existen, verificando solo los posibles duplicados
+     */
+    public Set<Email> existentes(Collection<Email> emails) {
+        boolean filtrado = listo;
+        List<Email> candidatos = new ArrayList<>();
+        for (Email email : emails) {
+            if (!filtrado || !descartable(email)) {
+                candidatos.add(email);
+            }
+        }
+
+        Set<Email> existentes = new HashSet<>();
+        for (int desde = 0; desde < candidatos.size(); desde += LOTE_VERIFICACION) {
+            List<Email> lote = candidatos.subList(desde, Math.min(desde + LOTE_VERIFICACION, candidatos.size()));
+            existentes.addAll(personaRepository.findExistingEmails(lote));
+        }
+        verificados.addAndGet(candidatos.size());
+        if (filtrado) {
+            falsosPositivos.addAndGet(candidatos.size() - existentes.size());
+        }
+        return existentes;
+    }
+
+    /**
+     * Vuelve a cargar el filtro con todos los emails registrados
+     * Las altas concurrentes se siguen añadiendo al filtro durante la carga.
+     *
+     * @return cantidad de emails cargados
+     */
+    public long reconstruir() {
+        return reconstruir(personaRepository::forEachEmail);
+    }
+
+    /**
+     * Vuelve a cargar el filtro con los emails que entrega la fuente
+     * Permite cargarlo desde un snapshot más los cambios posteriores en lugar de
+     * recorrer toda la tabla; la fuente debe cubrir todos los emails registrados.
+     *
+     * @return cantidad de emails cargados
+     */
+    public synchronized long reconstruir(Consumer<Consumer<Email>> fuente) {
+        listo = false;
+        filtro.clear();
+        AtomicLong cargados = new AtomicLong();
+        fuente.accept(email -> {
+            filtro.add(email);
+            cargados.incrementAndGet();
+        });
+        listo = true;
+        return cargados.get();
+    }
+
+    @Override
+    public void changed(Persona persona) {
+        if (persona.getEmail() != null) {
+            filtro.add(persona.getEmail());
+        }
+    }
+
+    @Override
+    public void deleted(PersonaId id) {
+        // El filtro no admite borrados: el email queda como posible duplicado y se verifica en la base
+    }
+
+    /**
+     * El aviso no trae el email: se lee la persona para añadirlo al filtro
+     */
+    @Override
+    public void changedElsewhere(PersonaId id, int version) {
+        personaRepository.findById(id).ifPresent(this::changed);
+    }
+
+    /**
+     * Lee en una sola consulta todas las personas del aviso
+     */
+    @Override
+    public void changedElsewhere(Map<PersonaId, Integer> versiones) {
+        personaRepository.findAllById(versiones.keySet()).forEach(this::changed);
+    }
+
+    @Override
+    public void resync() {
+        reconstruir();
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    public long getVerificados() {
+        return verificados.get();
+    }
+
+    public long getFalsosPositivos() {
+        return falsosPositivos.get();
+    }
+
+    private boolean descartable(Email email) {
+        if (!filtro.mightContain(email)) {
+            descartados.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+}
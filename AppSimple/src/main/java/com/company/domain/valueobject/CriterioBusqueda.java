@@ -0,0 +1,123 @@
+package com.company.domain.valueobject;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Value Object con los criterios de una consulta paginada de personas
+ * Normaliza página, tamaño, orden y texto de búsqueda para que la consulta
+ * pueda delegarse íntegramente al repositorio
+ */
+public final class CriterioBusqueda {
+
+    public static final int TAMANO_POR_DEFECTO = 25;
+    public static final int TAMANO_MAXIMO = 500;
+    public static final List<String> CAMPOS_ORDENABLES = List.of("id", "nombre", "apellido", "email");
+
+    private final int pagina;
+    private final int tamano;
+    private final String campoOrden;
+    private final boolean ascendente;
+    private final String texto;
+
+    public CriterioBusqueda(int pagina, int tamano, String campoOrden, boolean ascendente, String texto) {
+        if (pagina < 0) {
+            throw new IllegalArgumentException("La página no puede ser negativa");
+        }
+        if (tamano < 1 || tamano > TAMANO_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO);
+        }
+        if (!CAMPOS_ORDENABLES.contains(campoOrden)) {
+            throw new IllegalArgumentException("Campo de orden no soportado: " + campoOrden);
+        }
+        this.pagina = pagina;
+        this.tamano = tamano;
+        this.campoOrden = campoOrden;
+        this.ascendente = ascendente;
+        this.texto = texto == null || texto.isBlank() ? null : texto.strip();
+    }
+
+    /**
+     * Construye el criterio a partir de parámetros de entrada sin validar
+     * Los valores fuera de rango se ajustan en lugar de rechazarse.
+     * El orden usa el formato {@code campo[,asc|desc]}
+     */
+    public static CriterioBusqueda de(Integer pagina, Integer tamano, String orden, String texto) {
+        int paginaNormalizada = pagina == null ? 0 : Math.max(0, pagina);
+        int tamanoNormalizado = tamano == null ? TAMANO_POR_DEFECTO : Math.min(TAMANO_MAXIMO, Math.max(1, tamano));
+
+        String campo = "id";
+        boolean ascendente = true;
+        if (orden != null && !orden.isBlank()) {
+            String[] partes = orden.strip().toLowerCase(Locale.ROOT).split(",");
+            if (CAMPOS_ORDENABLES.contains(partes[0].strip())) {
+                campo = partes[0].strip();
+            }
+            ascendente = partes.length < 2 || !"desc".equals(partes[1].strip());
+        }
+        return new CriterioBusqueda(paginaNormalizada, tamanoNormalizado, campo, ascendente, texto);
+    }
+
+    /**
+     * Criterio para otra página con el mismo orden y filtro
+     */
+    public CriterioBusqueda conPagina(int nuevaPagina, int nuevoTamano) {
+        return new CriterioBusqueda(nuevaPagina, nuevoTamano, campoOrden, ascendente, texto);
+    }
+
+    public int getPagina() {
+        return pagina;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public String getCampoOrden() {
+        return campoOrden;
+    }
+
+    public boolean isAscendente() {
+        return ascendente;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public boolean tieneTexto() {
+        return texto != null;
+    }
+
+    /**
+     * Orden en el formato aceptado por {@link #de}
+     */
+    public String getOrden() {
+        return campoOrden + (ascendente ? ",asc" : ",desc");
+    }
+
+    public long getDesplazamiento() {
+        return (long) pagina * tamano;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CriterioBusqueda that = (CriterioBusqueda) o;
+        return pagina == that.pagina && tamano == that.tamano && ascendente == that.ascendente
+                && campoOrden.equals(that.campoOrden) && Objects.equals(texto, that.texto);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pagina, tamano, campoOrden, ascendente, texto);
+    }
+
+    @Override
+    public String toString() {
+        return "CriterioBusqueda{pagina=" + pagina + ", tamano=" + tamano + ", orden=" + getOrden()
+                + ", texto=" + (texto != null ? "'" + texto + "'" : "null") + "}";
+    }
+}
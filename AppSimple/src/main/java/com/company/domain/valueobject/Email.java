@@ -16,21 +16,42 @@ public final class Email {
     private final String value;
 
     public Email(String value) {
+        String error = error(value);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        this.value = normalizar(value);
+    }
+
+    /**
+     * Valida un email sin lanzar excepciones (cargas masivas)
+     *
+     * @return el motivo por el que no es válido, o null si lo es
+     */
+    public static String error(String value) {
         if (value == null || value.isBlank()) {
-            throw new IllegalArgumentException("Email no puede estar vacío");
+            return "Email no puede estar vacío";
         }
         
-        String cleanEmail = value.strip().toLowerCase();
+        String cleanEmail = normalizar(value);
         
         if (!EMAIL_PATTERN.matcher(cleanEmail).matches()) {
-            throw new IllegalArgumentException("Formato de email inválido: " + value);
+            return "Formato de email inválido: " + value;
         }
         
         if (cleanEmail.length() > 45) {
-            throw new IllegalArgumentException("Email no puede exceder 45 caracteres");
+            return "Email no puede exceder 45 caracteres";
         }
         
-        this.value = cleanEmail;
+        return null;
+    }
+
+    /**
+     * Forma canónica del email (sin espacios y en minúsculas) sin validarlo
+     */
+    public static String normalizar(String value) {
+        return value.strip().toLowerCase();
     }
 
     public String getValue() {
@@ -0,0 +1,57 @@
+package com.company.domain.valueobject;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Página de resultados de una consulta paginada
+ */
+public final class Pagina<T> {
+
+    private final List<T> contenido;
+    private final int numero;
+    private final int tamano;
+    private final long totalElementos;
+
+    public Pagina(List<T> contenido, int numero, int tamano, long totalElementos) {
+        this.contenido = List.copyOf(Objects.requireNonNull(contenido, "Contenido no puede ser null"));
+        this.numero = numero;
+        this.tamano = tamano;
+        this.totalElementos = totalElementos;
+    }
+
+    public <R> Pagina<R> map(Function<? super T, ? extends R> conversion) {
+        List<R> convertido = contenido.stream().map(conversion).collect(Collectors.toList());
+        return new Pagina<>(convertido, numero, tamano, totalElementos);
+    }
+
+    public List<T> getContenido() {
+        return contenido;
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public long getTotalElementos() {
+        return totalElementos;
+    }
+
+    public int getTotalPaginas() {
+        return tamano == 0 ? 0 : (int) ((totalElementos + tamano - 1) / tamano);
+    }
+
+    public boolean tieneAnterior() {
+        return numero > 0;
+    }
+
+    public boolean tieneSiguiente() {
+        return numero + 1 < getTotalPaginas();
+    }
+}
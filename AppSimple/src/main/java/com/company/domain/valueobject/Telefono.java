@@ -1,6 +1,7 @@
 package com.company.domain.valueobject;
 
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * Value Object para Teléfono
@@ -8,22 +9,44 @@ import java.util.Objects;
  */
 public final class Telefono {
     
+    // Espacios, guiones y paréntesis
+    private static final Pattern SEPARADORES = Pattern.compile("[\\s\\-\\(\\)]");
+    private static final Pattern FORMATO = Pattern.compile("^\\+?[0-9]{7,15}$");
+    
     private final String value;
 
     public Telefono(String value) {
-        if (value == null || value.isBlank()) {
-            throw new IllegalArgumentException("Teléfono no puede estar vacío");
+        String error = error(value);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
         
-        // Limpiar el número: remover espacios, guiones y paréntesis
-        String cleanPhone = value.replaceAll("[\\s\\-\\(\\)]", "");
+        this.value = normalizar(value);
+    }
+
+    /**
+     * Valida un teléfono sin lanzar excepciones (cargas masivas)
+     *
+     * @return el motivo por el que no es válido, o null si lo es
+     */
+    public static String error(String value) {
+        if (value == null || value.isBlank()) {
+            return "Teléfono no puede estar vacío";
+        }
         
         // Validar que solo contenga dígitos y posiblemente un + al inicio
-        if (!cleanPhone.matches("^\\+?[0-9]{7,15}$")) {
-            throw new IllegalArgumentException("Formato de teléfono inválido: " + value);
+        if (!FORMATO.matcher(normalizar(value)).matches()) {
+            return "Formato de teléfono inválido: " + value;
         }
         
-        this.value = cleanPhone;
+        return null;
+    }
+
+    /**
+     * Limpia el número (espacios, guiones y paréntesis) sin validarlo
+     */
+    public static String normalizar(String value) {
+        return SEPARADORES.matcher(value).replaceAll("");
     }
 
     public Telefono(Integer value) {
@@ -0,0 +1,636 @@
+package com.company.infrastructure.adapter.analytics;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaRepository;
+import com.company.infrastructure.adapter.memory.InMemoryPersonaCopy;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Instantánea columnar de las personas para consultas analíticas en memoria
+ * Cada persona ocupa una fila de arrays primitivos paralelos: dominio del email y
+ * apellido codificados con diccionario, prefijo de país del teléfono y día de alta.
+ * Las agrupaciones recorren una sola columna por tramos en paralelo, sin objetos
+ * por fila ni consultas a la base, y la instantánea se mantiene al día con las
+ * notificaciones de cambios de esta y de las demás instancias.
+ */
+public class PersonaColumnStore extends InMemoryPersonaCopy<PersonaColumnStore.Columnas> implements Closeable {
+
+    // Día de alta desconocido (filas heredadas sin created_at)
+    static final int SIN_FECHA = Integer.MIN_VALUE;
+    // Prefijo de país desconocido (teléfonos sin '+')
+    static final int SIN_PREFIJO = 0;
+
+    // Prefijos E.164 de dos cifras; los demás que no empiezan por 1 o 7 tienen tres
+    private static final boolean[] PREFIJOS_DOS_CIFRAS = new boolean[100];
+
+    static {
+        int[] prefijos = {20, 27, 30, 31, 32, 33, 34, 36, 39, 40, 41, 43, 44, 45, 46, 47, 48, 49, 51, 52, 53, 54,
+                55, 56, 57, 58, 60, 61, 62, 63, 64, 65, 66, 81, 82, 84, 86, 90, 91, 92, 93, 94, 95, 98};
+        for (int prefijo : prefijos) {
+            PREFIJOS_DOS_CIFRAS[prefijo] = true;
+        }
+    }
+
+    /**
+     * Columnas por las que se puede agrupar
+     */
+    public enum Agrupacion {
+        DOMINIO, APELLIDO, PAIS, MES, DIA;
+
+        public boolean isTemporal() {
+            return this == MES || this == DIA;
+        }
+    }
+
+    /**
+     * Un grupo del resultado; el acumulado solo se informa en las agrupaciones temporales
+     */
+    public static final class Grupo {
+
+        private final String clave;
+        private final long cantidad;
+        private final Long acumulado;
+
+        Grupo(String clave, long cantidad, Long acumulado) {
+            this.clave = clave;
+            this.cantidad = cantidad;
+            this.acumulado = acumulado;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        public Long getAcumulado() {
+            return acumulado;
+        }
+    }
+
+    /**
+     * Resultado de una agrupación
+     */
+    public static final class Agregado {
+
+        private final Agrupacion agrupacion;
+        private final long personas;
+        private final int distintos;
+        private final List<Grupo> grupos;
+
+        Agregado(Agrupacion agrupacion, long personas, int distintos, List<Grupo> grupos) {
+            this.agrupacion = agrupacion;
+            this.personas = personas;
+            this.distintos = distintos;
+            this.grupos = grupos;
+        }
+
+        public Agrupacion getAgrupacion() {
+            return agrupacion;
+        }
+
+        public long getPersonas() {
+            return personas;
+        }
+
+        public int getDistintos() {
+            return distintos;
+        }
+
+        public List<Grupo> getGrupos() {
+            return grupos;
+        }
+    }
+
+    /**
+     * Cifras generales de la instantánea
+     */
+    public static final class Resumen {
+
+        private final long personas;
+        private final int dominios;
+        private final int apellidos;
+        private final long conPrefijoPais;
+        private final long sinFechaAlta;
+        private final LocalDate primeraAlta;
+        private final LocalDate ultimaAlta;
+
+        Resumen(long personas, int dominios, int apellidos, long conPrefijoPais, long sinFechaAlta,
+                LocalDate primeraAlta, LocalDate ultimaAlta) {
+            this.personas = personas;
+            this.dominios = dominios;
+            this.apellidos = apellidos;
+            this.conPrefijoPais = conPrefijoPais;
+            this.sinFechaAlta = sinFechaAlta;
+            this.primeraAlta = primeraAlta;
+            this.ultimaAlta = ultimaAlta;
+        }
+
+        public long getPersonas() {
+            return personas;
+        }
+
+        public int getDominios() {
+            return dominios;
+        }
+
+        public int getApellidos() {
+            return apellidos;
+        }
+
+        public long getConPrefijoPais() {
+            return conPrefijoPais;
+        }
+
+        public long getSinFechaAlta() {
+            return sinFechaAlta;
+        }
+
+        public LocalDate getPrimeraAlta() {
+            return primeraAlta;
+        }
+
+        public LocalDate getUltimaAlta() {
+            return ultimaAlta;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int tramoMinimo;
+
+    /**
+     * @param paralelismo hilos para los recorridos de columnas
+     * @param tramoMinimo filas por debajo de las cuales no compensa repartir un recorrido
+     */
+    public PersonaColumnStore(PersonaRepository personaRepository, int paralelismo, int tramoMinimo) {
+        super(personaRepository, new Columnas(1024), "Instantánea analítica", "analytics-reload");
+        if (paralelismo < 1 || tramoMinimo < 1) {
+            throw new IllegalArgumentException("El paralelismo y el tramo mínimo deben ser positivos");
+        }
+        this.pool = new ForkJoinPool(paralelismo);
+        this.tramoMinimo = tramoMinimo;
+    }
+
+    @Override
+    protected Columnas cargar(PersonaRepository personaRepository, int filasPrevistas) {
+        Columnas nuevas = new Columnas(filasPrevistas);
+        personaRepository.forEachPersonaConAlta((persona, alta) ->
+                nuevas.aplicar(persona, alta != null ? dia(alta) : SIN_FECHA));
+        return nuevas;
+    }
+
+    /**
+     * Las altas notificadas se fechan hoy; un cambio conserva el día de alta que ya tenía
+     */
+    @Override
+    protected void aplicar(Columnas columnas, Persona persona) {
+        columnas.aplicar(persona, dia(Instant.now()));
+    }
+
+    @Override
+    protected void quitar(Columnas columnas, int id) {
+        columnas.quitar(id);
+    }
+
+    @Override
+    protected int version(Columnas columnas, int id) {
+        return columnas.version(id);
+    }
+
+    @Override
+    protected int filas(Columnas columnas) {
+        return columnas.filas;
+    }
+
+    /**
+     * Agrupa las personas por una columna
+     *
+     * @param top en dominio, apellido y país, los grupos más numerosos; en mes y día, los
+     *            periodos más recientes en orden cronológico. 0 = todos
+     */
+    public Agregado agrupar(Agrupacion agrupacion, int top) {
+        if (top < 0) {
+            throw new IllegalArgumentException("top no puede ser negativo");
+        }
+        return leer(columnas -> {
+            Columnas c = comprobarLista(columnas);
+            switch (agrupacion) {
+                case DOMINIO:
+                    return porCodigo(agrupacion, histograma(c.dominios, c.filas, 0, c.dominiosDic.tamano()),
+                            top, c.dominiosDic::valor);
+                case APELLIDO:
+                    return porCodigo(agrupacion, histograma(c.apellidos, c.filas, 0, c.apellidosDic.tamano()),
+                            top, c.apellidosDic::valor);
+                case PAIS:
+                    long[] paises = histograma(c.paises, c.filas, 0, 1000);
+                    // Los teléfonos sin prefijo no forman grupo
+                    paises[SIN_PREFIJO] = 0;
+                    return porCodigo(agrupacion, paises, top, codigo -> "+" + codigo);
+                default:
+                    return temporal(agrupacion, c, top);
+            }
+        });
+    }
+
+    public Resumen resumen() {
+        return leer(columnas -> {
+            Columnas c = comprobarLista(columnas);
+            long[] paises = histograma(c.paises, c.filas, 0, 1000);
+            long[] dias = histogramaDias(c);
+            long conFecha = 0;
+            int primero = -1;
+            int ultimo = -1;
+            for (int i = 0; i < dias.length; i++) {
+                if (dias[i] > 0) {
+                    conFecha += dias[i];
+                    primero = primero < 0 ? i : primero;
+                    ultimo = i;
+                }
+            }
+            return new Resumen(c.filas,
+                    distintos(histograma(c.dominios, c.filas, 0, c.dominiosDic.tamano())),
+                    distintos(histograma(c.apellidos, c.filas, 0, c.apellidosDic.tamano())),
+                    c.filas - paises[SIN_PREFIJO], c.filas - conFecha,
+                    primero < 0 ? null : LocalDate.ofEpochDay(c.minDia + primero),
+                    ultimo < 0 ? null : LocalDate.ofEpochDay(c.minDia + ultimo));
+        });
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Prefijo E.164 de un teléfono normalizado, o {@link #SIN_PREFIJO} si no empieza por '+'
+     */
+    static int prefijoPais(String telefono) {
+        if (telefono == null || telefono.length() < 4 || telefono.charAt(0) != '+') {
+            return SIN_PREFIJO;
+        }
+        int primera = telefono.charAt(1) - '0';
+        if (primera == 1 || primera == 7) {
+            return primera;
+        }
+        int dos = primera * 10 + (telefono.charAt(2) - '0');
+        return PREFIJOS_DOS_CIFRAS[dos] ? dos : dos * 10 + (telefono.charAt(3) - '0');
+    }
+
+    private Columnas comprobarLista(Columnas columnas) {
+        if (!isLista()) {
+            throw new IllegalStateException("La instantánea analítica todavía se está cargando");
+        }
+        return columnas;
+    }
+
+    private Agregado porCodigo(Agrupacion agrupacion, long[] cuentas, int top, IntFunction<String> clave) {
+        // Montículo de mínimos con los top mayores; a igual cantidad gana el código menor
+        PriorityQueue<Integer> mayores = new PriorityQueue<>((a, b) -> cuentas[a] != cuentas[b]
+                ? Long.compare(cuentas[a], cuentas[b]) : Integer.compare(b, a));
+        long personas = 0;
+        int distintos = 0;
+        for (int codigo = 0; codigo < cuentas.length; codigo++) {
+            if (cuentas[codigo] == 0) {
+                continue;
+            }
+            personas += cuentas[codigo];
+            distintos++;
+            if (top == 0 || mayores.size() < top) {
+                mayores.add(codigo);
+            } else if (mayores.comparator().compare(codigo, mayores.peek()) > 0) {
+                mayores.poll();
+                mayores.add(codigo);
+            }
+        }
+        List<Grupo> grupos = new ArrayList<>(mayores.size());
+        while (!mayores.isEmpty()) {
+            int codigo = mayores.poll();
+            grupos.add(new Grupo(clave.apply(codigo), cuentas[codigo], null));
+        }
+        Collections.reverse(grupos);
+        return new Agregado(agrupacion, personas, distintos, grupos);
+    }
+
+    private Agregado temporal(Agrupacion agrupacion, Columnas c, int top) {
+        long[] dias = histogramaDias(c);
+        Map<String, Long> periodos = new LinkedHashMap<>();
+        for (int i = 0; i < dias.length; i++) {
+            if (dias[i] > 0) {
+                LocalDate fecha = LocalDate.ofEpochDay(c.minDia + i);
+                String clave = agrupacion == Agrupacion.MES ? YearMonth.from(fecha).toString() : fecha.toString();
+                periodos.merge(clave, dias[i], Long::sum);
+            }
+        }
+        List<Grupo> grupos = new ArrayList<>(periodos.size());
+        long acumulado = 0;
+        for (Map.Entry<String, Long> periodo : periodos.entrySet()) {
+            acumulado += periodo.getValue();
+            grupos.add(new Grupo(periodo.getKey(), periodo.getValue(), acumulado));
+        }
+        int distintos = grupos.size();
+        if (top > 0 && grupos.size() > top) {
+            grupos = new ArrayList<>(grupos.subList(grupos.size() - top, grupos.size()));
+        }
+        return new Agregado(agrupacion, acumulado, distintos, grupos);
+    }
+
+    private long[] histogramaDias(Columnas c) {
+        if (c.maxDia < c.minDia) {
+            return new long[0];
+        }
+        return histograma(c.altas, c.filas, c.minDia, c.maxDia - c.minDia + 1);
+    }
+
+    /**
+     * Cuenta los valores de una columna en [base, base + tamano), repartiendo el recorrido por tramos
+     * Cada tramo cuenta en su propio array y al final se suman, así que no hay contención.
+     */
+    private long[] histograma(int[] columna, int filas, int base, int tamano) {
+        int partes = (int) Math.min(pool.getParallelism(), ((long) filas + tramoMinimo - 1) / tramoMinimo);
+        long[] total = new long[tamano];
+        if (partes <= 1) {
+            sumar(total, contar(columna, 0, filas, base, tamano));
+            return total;
+        }
+        List<Callable<int[]>> tramos = new ArrayList<>(partes);
+        int porParte = (filas + partes - 1) / partes;
+        for (int desde = 0; desde < filas; desde += porParte) {
+            int inicio = desde;
+            int fin = Math.min(filas, desde + porParte);
+            tramos.add(() -> contar(columna, inicio, fin, base, tamano));
+        }
+        try {
+            for (Future<int[]> tramo : pool.invokeAll(tramos)) {
+                sumar(total, tramo.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recorrido de columnas interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló el recorrido de columnas", e.getCause());
+        }
+        return total;
+    }
+
+    private static int[] contar(int[] columna, int desde, int hasta, int base, int tamano) {
+        int[] cuentas = new int[tamano];
+        for (int i = desde; i < hasta; i++) {
+            // Una sola comparación sin signo descarta lo que queda fuera, incluido SIN_FECHA
+            int valor = columna[i] - base;
+            if (Integer.compareUnsigned(valor, tamano) < 0) {
+                cuentas[valor]++;
+            }
+        }
+        return cuentas;
+    }
+
+    private static void sumar(long[] total, int[] parcial) {
+        for (int i = 0; i < total.length; i++) {
+            total[i] += parcial[i];
+        }
+    }
+
+    private static int distintos(long[] cuentas) {
+        int distintos = 0;
+        for (long cuenta : cuentas) {
+            if (cuenta > 0) {
+                distintos++;
+            }
+        }
+        return distintos;
+    }
+
+    private static int dia(Instant instante) {
+        return (int) instante.atOffset(ZoneOffset.UTC).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Arrays paralelos de la instantánea; una fila por persona, sin huecos
+     * Las bajas mueven la última fila al hueco, así que el orden de filas no significa nada.
+     */
+    static final class Columnas {
+
+        private final IndiceIds indice;
+        private final Diccionario dominiosDic = new Diccionario();
+        private final Diccionario apellidosDic = new Diccionario();
+        private int[] ids;
+        private int[] versiones;
+        private int[] dominios;
+        private int[] apellidos;
+        private int[] paises;
+        private int[] altas;
+        private int filas;
+        // Rango de días de alta visto; las bajas no lo estrechan
+        private int minDia = Integer.MAX_VALUE;
+        private int maxDia = Integer.MIN_VALUE;
+
+        Columnas(int capacidad) {
+            indice = new IndiceIds(capacidad);
+            ids = new int[capacidad];
+            versiones = new int[capacidad];
+            dominios = new int[capacidad];
+            apellidos = new int[capacidad];
+            paises = new int[capacidad];
+            altas = new int[capacidad];
+        }
+
+        /**
+         * Inserta o actualiza la fila de la persona; una versión anterior a la guardada se ignora
+         *
+         * @param diaAlta día de alta si la persona es nueva; las existentes conservan el suyo
+         */
+        void aplicar(Persona persona, int diaAlta) {
+            int id = persona.getId().getValue();
+            int fila = indice.buscar(id);
+            if (fila < 0) {
+                if (filas == ids.length) {
+                    crecer();
+                }
+                fila = filas++;
+                ids[fila] = id;
+                altas[fila] = diaAlta;
+                if (diaAlta != SIN_FECHA) {
+                    minDia = Math.min(minDia, diaAlta);
+                    maxDia = Math.max(maxDia, diaAlta);
+                }
+                indice.poner(id, fila);
+            } else if (versiones[fila] > persona.getVersion()) {
+                return;
+            }
+            versiones[fila] = persona.getVersion();
+            dominios[fila] = dominiosDic.codigo(persona.getEmail().getDomain().toLowerCase(Locale.ROOT));
+            apellidos[fila] = apellidosDic.codigo(persona.getApellido().trim());
+            paises[fila] = prefijoPais(persona.getTelefono().getValue());
+        }
+
+        void quitar(int id) {
+            int fila = indice.buscar(id);
+            if (fila < 0) {
+                return;
+            }
+            indice.quitar(id);
+            int ultima = --filas;
+            if (fila != ultima) {
+                ids[fila] = ids[ultima];
+                versiones[fila] = versiones[ultima];
+                dominios[fila] = dominios[ultima];
+                apellidos[fila] = apellidos[ultima];
+                paises[fila] = paises[ultima];
+                altas[fila] = altas[ultima];
+                indice.poner(ids[fila], fila);
+            }
+        }
+
+        /**
+         * Versión guardada de la persona, o -1 si no está
+         */
+        int version(int id) {
+            int fila = indice.buscar(id);
+            return fila < 0 ? -1 : versiones[fila];
+        }
+
+        private void crecer() {
+            int capacidad = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacidad);
+            versiones = Arrays.copyOf(versiones, capacidad);
+            dominios = Arrays.copyOf(dominios, capacidad);
+            apellidos = Arrays.copyOf(apellidos, capacidad);
+            paises = Arrays.copyOf(paises, capacidad);
+            altas = Arrays.copyOf(altas, capacidad);
+        }
+    }
+
+    /**
+     * Codificación de textos repetidos a enteros consecutivos
+     * Los códigos no se liberan aunque dejen de usarse; la siguiente recarga los compacta.
+     */
+    private static final class Diccionario {
+
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+
+        int codigo(String valor) {
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = valores.size();
+                codigos.put(valor, codigo);
+                valores.add(valor);
+            }
+            return codigo;
+        }
+
+        String valor(int codigo) {
+            return valores.get(codigo);
+        }
+
+        int tamano() {
+            return valores.size();
+        }
+    }
+
+    /**
+     * Tabla hash de ID a fila con direccionamiento abierto sobre arrays primitivos
+     * Las bajas desplazan hacia atrás las claves siguientes, así que no quedan lápidas.
+     */
+    static final class IndiceIds {
+
+        // Los IDs de persona son positivos; 0 marca una casilla libre
+        private int[] claves;
+        private int[] valores;
+        private int ocupadas;
+
+        IndiceIds(int capacidad) {
+            int tamano = Integer.highestOneBit(Math.max(16, capacidad * 2 - 1)) << 1;
+            claves = new int[tamano];
+            valores = new int[tamano];
+        }
+
+        int buscar(int clave) {
+            int mascara = claves.length - 1;
+            for (int i = mezclar(clave) & mascara; claves[i] != 0; i = (i + 1) & mascara) {
+                if (claves[i] == clave) {
+                    return valores[i];
+                }
+            }
+            return -1;
+        }
+
+        void poner(int clave, int valor) {
+            if ((ocupadas + 1) * 2 > claves.length) {
+                redimensionar();
+            }
+            int mascara = claves.length - 1;
+            int i = mezclar(clave) & mascara;
+            while (claves[i] != 0 && claves[i] != clave) {
+                i = (i + 1) & mascara;
+            }
+            if (claves[i] == 0) {
+                ocupadas++;
+            }
+            claves[i] = clave;
+            valores[i] = valor;
+        }
+
+        void quitar(int clave) {
+            int mascara = claves.length - 1;
+            int hueco = mezclar(clave) & mascara;
+            while (claves[hueco] != clave) {
+                if (claves[hueco] == 0) {
+                    return;
+                }
+                hueco = (hueco + 1) & mascara;
+            }
+            for (int j = (hueco + 1) & mascara; claves[j] != 0; j = (j + 1) & mascara) {
+                int ideal = mezclar(claves[j]) & mascara;
+                // Se mueve si su casilla ideal no está en el tramo circular (hueco, j]
+                boolean alcanzable = hueco <= j ? ideal > hueco && ideal <= j : ideal > hueco || ideal <= j;
+                if (!alcanzable) {
+                    claves[hueco] = claves[j];
+                    valores[hueco] = valores[j];
+                    hueco = j;
+                }
+            }
+            claves[hueco] = 0;
+            ocupadas--;
+        }
+
+        private void redimensionar() {
+            int[] viejasClaves = claves;
+            int[] viejosValores = valores;
+            claves = new int[viejasClaves.length * 2];
+            valores = new int[viejasClaves.length * 2];
+            ocupadas = 0;
+            for (int i = 0; i < viejasClaves.length; i++) {
+                if (viejasClaves[i] != 0) {
+                    poner(viejasClaves[i], viejosValores[i]);
+                }
+            }
+        }
+
+        private static int mezclar(int clave) {
+            int h = clave * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
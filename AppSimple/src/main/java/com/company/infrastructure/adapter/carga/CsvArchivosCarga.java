@@ -0,0 +1,27 @@
+package com.company.infrastructure.adapter.carga;
+
+import com.company.application.carga.ArchivosCarga;
+import com.company.application.carga.FuenteRegistros;
+import com.company.application.carga.InformeErrores;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Archivos de importación: entrada CSV o NDJSON mapeada en memoria con
+ * {@link MappedRecordReader} e informe CSV con {@link CsvErrorReportWriter}
+ */
+@Component
+public class CsvArchivosCarga implements ArchivosCarga {
+
+    @Override
+    public FuenteRegistros abrir(Path archivo, long posicion, long linea) throws IOException {
+        return new MappedRecordReader(archivo, posicion, linea);
+    }
+
+    @Override
+    public InformeErrores abrirInforme(Path destino) throws IOException {
+        return CsvErrorReportWriter.anexar(destino);
+    }
+}
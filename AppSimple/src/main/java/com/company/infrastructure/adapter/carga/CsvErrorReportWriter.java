@@ -0,0 +1,93 @@
+package com.company.infrastructure.adapter.carga;
+
+import com.company.application.carga.ErrorCampo;
+import com.company.application.carga.InformeErrores;
+import com.company.application.carga.RegistroInvalido;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Informe de errores de una carga en CSV
+ * Escribe una fila "linea,campo,mensaje" por cada error de campo, con la línea
+ * del archivo original para que el usuario pueda corregirlo y reenviarlo.
+ */
+public class CsvErrorReportWriter implements InformeErrores {
+
+    private static final String CABECERA = "linea,campo,mensaje";
+
+    private final Writer writer;
+    private long filas;
+
+    public CsvErrorReportWriter(Path destino) throws IOException {
+        this(Files.newBufferedWriter(destino, StandardCharsets.UTF_8));
+    }
+
+    public CsvErrorReportWriter(Writer writer) {
+        this(writer, true);
+    }
+
+    private CsvErrorReportWriter(Writer writer, boolean cabecera) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        if (cabecera) {
+            escribir(CABECERA);
+        }
+    }
+
+    /**
+     * Abre un informe añadiendo al final; la cabecera solo se escribe si el archivo es nuevo
+     */
+    public static CsvErrorReportWriter anexar(Path destino) throws IOException {
+        boolean nuevo = !Files.exists(destino) || Files.size(destino) == 0;
+        return new CsvErrorReportWriter(Files.newBufferedWriter(destino, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), nuevo);
+    }
+
+    @Override
+    public void accept(RegistroInvalido invalido) {
+        String linea = Long.toString(invalido.getLinea());
+        for (ErrorCampo error : invalido.getErrores()) {
+            escribir(linea + ',' + campoCsv(error.getCampo()) + ',' + campoCsv(error.getMensaje()));
+            filas++;
+        }
+    }
+
+    /**
+     * Filas de error escritas, sin contar la cabecera
+     */
+    public long getFilas() {
+        return filas;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void escribir(String fila) {
+        try {
+            writer.write(fila);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el informe de errores", e);
+        }
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,631 @@
+package com.company.infrastructure.adapter.carga;
+
+import com.company.application.carga.FuenteRegistros;
+import com.company.application.carga.RegistroCarga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Lector de archivos de carga CSV o NDJSON mapeados en memoria
+ * Recorre el archivo por ventanas mapeadas (64 MB por defecto) sin pasar por
+ * streams ni decodificar líneas: los saltos de línea se buscan de a 8 bytes,
+ * cada línea se copia en bloque a un array reutilizado y los campos se delimitan
+ * como rangos de ese array. Solo se crean Strings para las cinco columnas de
+ * persona; el resto de columnas o claves se saltan sin reservar memoria. Las
+ * ventanas se liberan con el GC (Java 11 no permite desmapearlas).
+ * <p>
+ * CSV: cabecera opcional en la primera línea (las columnas se ubican por
+ * nombre y pueden venir en cualquier orden junto a otras); sin cabecera se
+ * esperan nombre, apellido, email, telefono, direccion. Campos entre comillas
+ * dobles sin saltos de línea dentro. NDJSON: un objeto por línea con las claves
+ * nombre, apellido, email, telefono (o tel) y direccion.
+ * <p>
+ * Para leer en paralelo, {@link #dividir(Path, int)} parte el archivo en
+ * segmentos alineados a inicio de línea y cada hilo abre el suyo; las líneas
+ * de cada segmento se numeran a partir de la línea indicada al abrirlo.
+ */
+public class MappedRecordReader implements FuenteRegistros {
+
+    public enum Formato {
+        CSV,
+        NDJSON;
+
+        /**
+         * Formato según la extensión: .ndjson, .jsonl y .json son NDJSON; el resto CSV
+         */
+        public static Formato de(Path archivo) {
+            String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+            return nombre.endsWith(".ndjson") || nombre.endsWith(".jsonl") || nombre.endsWith(".json")
+                    ? NDJSON
+                    : CSV;
+        }
+    }
+
+    /**
+     * Rango [inicio, fin) del archivo que empieza y termina en límite de línea
+     */
+    public static final class Segmento {
+
+        private final long inicio;
+        private final long fin;
+
+        Segmento(long inicio, long fin) {
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        public long getInicio() {
+            return inicio;
+        }
+
+        public long getFin() {
+            return fin;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + inicio + ", " + fin + ")";
+        }
+    }
+
+    static final int VENTANA_POR_DEFECTO = 64 << 20;
+
+    private static final int NOMBRE = 0;
+    private static final int APELLIDO = 1;
+    private static final int EMAIL = 2;
+    private static final int TELEFONO = 3;
+    private static final int DIRECCION = 4;
+    private static final int COLUMNAS = 5;
+    private static final int[] ORDEN_POR_DEFECTO = {NOMBRE, APELLIDO, EMAIL, TELEFONO, DIRECCION};
+
+    // Claves NDJSON en bytes para compararlas sin decodificar
+    private static final byte[][] CLAVES = {
+            bytes("nombre"), bytes("apellido"), bytes("email"), bytes("telefono"), bytes("tel"), bytes("direccion")};
+    private static final int[] CAMPO_CLAVE = {NOMBRE, APELLIDO, EMAIL, TELEFONO, TELEFONO, DIRECCION};
+
+    private static final long SALTOS = 0x0A0A0A0A0A0A0A0AL;
+    private static final long UNOS = 0x0101010101010101L;
+    private static final long ALTOS = 0x8080808080808080L;
+
+    private final FileChannel canal;
+    private final Formato formato;
+    private final long fin;
+    private final int tamanoVentana;
+    // CSV: campo de persona de cada columna del archivo, o -1 si se ignora
+    private final int[] columnas;
+
+    private MappedByteBuffer ventana;
+    private long inicioVentana;
+    private int limiteVentana;
+    private long cursor;
+    private long numeroLinea;
+    // Copia de la línea actual: una copia en bloque desde la ventana y el análisis sobre un array
+    private byte[] bytesLinea = new byte[256];
+    private final String[] valores = new String[COLUMNAS];
+
+    private RegistroCarga siguiente;
+    private long posicionSiguiente;
+    private long lineaSiguiente;
+    private long posicion;
+    private long linea;
+
+    /**
+     * Abre el archivo completo desde una posición devuelta por {@link #posicion()}
+     */
+    public MappedRecordReader(Path archivo, long posicion, long linea) throws IOException {
+        this(archivo, Formato.de(archivo), posicion, Long.MAX_VALUE, linea, VENTANA_POR_DEFECTO);
+    }
+
+    /**
+     * Abre un segmento devuelto por {@link #dividir(Path, int)}
+     */
+    public MappedRecordReader(Path archivo, Segmento segmento, long linea) throws IOException {
+        this(archivo, Formato.de(archivo), segmento.getInicio(), segmento.getFin(), linea, VENTANA_POR_DEFECTO);
+    }
+
+    MappedRecordReader(Path archivo, Formato formato, long inicio, long fin, long linea, int tamanoVentana)
+            throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            this.formato = formato;
+            this.fin = Math.min(fin, canal.size());
+            this.tamanoVentana = tamanoVentana;
+            this.cursor = inicio;
+            this.numeroLinea = linea;
+            this.posicion = inicio;
+            this.linea = linea;
+
+            int[] cabecera = formato == Formato.CSV ? leerCabecera() : null;
+            this.columnas = cabecera != null ? cabecera : ORDEN_POR_DEFECTO;
+            if (inicio == 0 && cabecera != null) {
+                saltarLinea();
+            }
+            avanzar();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Parte el archivo en hasta {@code partes} segmentos de tamaño parecido alineados a inicio de línea
+     */
+    public static List<Segmento> dividir(Path archivo, int partes) throws IOException {
+        List<Segmento> segmentos = new ArrayList<>(partes);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long inicio = 0;
+            for (int parte = 1; parte < partes && inicio < tamano; parte++) {
+                long corte = Math.max(inicio, tamano / partes * parte);
+                long limite = inicioDeLinea(canal, corte, tamano, buffer);
+                if (limite > inicio) {
+                    segmentos.add(new Segmento(inicio, limite));
+                    inicio = limite;
+                }
+            }
+            if (inicio < tamano) {
+                segmentos.add(new Segmento(inicio, tamano));
+            }
+        }
+        return segmentos;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguiente != null;
+    }
+
+    @Override
+    public RegistroCarga next() {
+        if (siguiente == null) {
+            throw new NoSuchElementException();
+        }
+        RegistroCarga actual = siguiente;
+        posicion = posicionSiguiente;
+        linea = lineaSiguiente;
+        try {
+            avanzar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el archivo de carga", e);
+        }
+        return actual;
+    }
+
+    @Override
+    public long posicion() {
+        return posicion;
+    }
+
+    @Override
+    public long linea() {
+        return linea;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ventana = null;
+        canal.close();
+    }
+
+    private void avanzar() throws IOException {
+        siguiente = null;
+        long finLinea;
+        while ((finLinea = finDeLinea()) >= 0) {
+            numeroLinea++;
+            int desde = (int) (cursor - inicioVentana);
+            int hasta = (int) (finLinea - inicioVentana);
+            cursor = Math.min(finLinea + 1, fin);
+            int longitud = copiarLinea(desde, hasta);
+            if (blanca(0, longitud)) {
+                continue;
+            }
+            Arrays.fill(valores, null);
+            if (formato == Formato.CSV) {
+                camposCsv(0, longitud);
+            } else {
+                camposJson(0, longitud);
+            }
+            siguiente = new RegistroCarga(numeroLinea, valores[NOMBRE], valores[APELLIDO], valores[EMAIL],
+                    valores[TELEFONO], valores[DIRECCION]);
+            posicionSiguiente = cursor;
+            lineaSiguiente = numeroLinea;
+            return;
+        }
+    }
+
+    private void saltarLinea() throws IOException {
+        long finLinea = finDeLinea();
+        if (finLinea >= 0) {
+            numeroLinea++;
+            cursor = Math.min(finLinea + 1, fin);
+        }
+    }
+
+    /**
+     * Posición absoluta del salto de la línea que empieza en el cursor (o el fin); -1 si no quedan líneas
+     * Deja mapeada una ventana que contiene la línea completa.
+     */
+    private long finDeLinea() throws IOException {
+        if (cursor >= fin) {
+            return -1;
+        }
+        if (ventana == null || cursor < inicioVentana || cursor >= inicioVentana + limiteVentana) {
+            mapear(cursor);
+        }
+        while (true) {
+            int desde = (int) (cursor - inicioVentana);
+            int salto = buscarSalto(desde);
+            if (salto >= 0) {
+                return inicioVentana + salto;
+            }
+            if (inicioVentana + limiteVentana >= fin) {
+                return fin;
+            }
+            if (desde == 0) {
+                throw new IOException("Línea de más de " + tamanoVentana + " bytes en la posición " + cursor);
+            }
+            // La línea cruza el final de la ventana: se vuelve a mapear desde su inicio
+            mapear(cursor);
+        }
+    }
+
+    /**
+     * Copia la línea [desde, hasta) de la ventana, sin el '\r' final, y devuelve su longitud
+     */
+    private int copiarLinea(int desde, int hasta) {
+        if (hasta > desde && ventana.get(hasta - 1) == '\r') {
+            hasta--;
+        }
+        int longitud = hasta - desde;
+        if (longitud > bytesLinea.length) {
+            bytesLinea = new byte[Math.max(longitud, bytesLinea.length * 2)];
+        }
+        ventana.position(desde);
+        ventana.get(bytesLinea, 0, longitud);
+        return longitud;
+    }
+
+    private void mapear(long desde) throws IOException {
+        long tamano = Math.min(tamanoVentana, fin - desde);
+        ventana = canal.map(FileChannel.MapMode.READ_ONLY, desde, tamano);
+        ventana.order(ByteOrder.LITTLE_ENDIAN);
+        inicioVentana = desde;
+        limiteVentana = (int) tamano;
+    }
+
+    /**
+     * Índice del primer '\n' de la ventana a partir de {@code desde}, comparando 8 bytes por iteración
+     */
+    private int buscarSalto(int desde) {
+        int i = desde;
+        for (; i + Long.BYTES <= limiteVentana; i += Long.BYTES) {
+            long x = ventana.getLong(i) ^ SALTOS;
+            long encontrados = (x - UNOS) & ~x & ALTOS;
+            if (encontrados != 0) {
+                return i + (Long.numberOfTrailingZeros(encontrados) >>> 3);
+            }
+        }
+        for (; i < limiteVentana; i++) {
+            if (ventana.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean blanca(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            byte b = bytesLinea[i];
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void camposCsv(int desde, int hasta) {
+        int columna = 0;
+        int i = desde;
+        while (true) {
+            int campo = columna < columnas.length ? columnas[columna] : -1;
+            if (i < hasta && bytesLinea[i] == '"') {
+                int inicio = i + 1;
+                int j = inicio;
+                boolean comillasDobles = false;
+                while (j < hasta) {
+                    if (bytesLinea[j] == '"') {
+                        if (j + 1 < hasta && bytesLinea[j + 1] == '"') {
+                            comillasDobles = true;
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                if (campo >= 0) {
+                    String valor = texto(inicio, j);
+                    valores[campo] = comillasDobles ? valor.replace("\"\"", "\"") : valor;
+                }
+                i = j + 1;
+                while (i < hasta && bytesLinea[i] != ',') {
+                    i++;
+                }
+            } else {
+                int inicio = i;
+                while (i < hasta && bytesLinea[i] != ',') {
+                    i++;
+                }
+                if (campo >= 0) {
+                    valores[campo] = texto(inicio, i);
+                }
+            }
+            if (i >= hasta) {
+                return;
+            }
+            i++;
+            columna++;
+        }
+    }
+
+    private void camposJson(int desde, int hasta) {
+        int i = saltarEspacios(desde, hasta);
+        if (i >= hasta || bytesLinea[i] != '{') {
+            // Línea que no es un objeto: registro vacío, la validación lo rechaza con su número de línea
+            return;
+        }
+        i++;
+        while (true) {
+            i = saltarEspacios(i, hasta);
+            if (i >= hasta || bytesLinea[i] == '}') {
+                return;
+            }
+            if (bytesLinea[i] == ',') {
+                i++;
+                continue;
+            }
+            if (bytesLinea[i] != '"') {
+                return;
+            }
+            int finClave = finDeCadena(i + 1, hasta);
+            int campo = campoJson(i + 1, finClave);
+            i = saltarEspacios(finClave + 1, hasta);
+            if (i >= hasta || bytesLinea[i] != ':') {
+                return;
+            }
+            i = saltarEspacios(i + 1, hasta);
+            if (i >= hasta) {
+                return;
+            }
+            if (bytesLinea[i] == '"') {
+                int finValor = finDeCadena(i + 1, hasta);
+                if (campo >= 0) {
+                    valores[campo] = cadenaJson(i + 1, finValor);
+                }
+                i = finValor + 1;
+            } else {
+                int finValor = finDeValor(i, hasta);
+                if (campo >= 0) {
+                    String crudo = texto(i, finValor).strip();
+                    valores[campo] = "null".equals(crudo) ? null : crudo;
+                }
+                i = finValor;
+            }
+        }
+    }
+
+    private int saltarEspacios(int i, int hasta) {
+        while (i < hasta) {
+            byte b = bytesLinea[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Índice de las comillas que cierran una cadena JSON que empieza en {@code i}
+     */
+    private int finDeCadena(int i, int hasta) {
+        while (i < hasta) {
+            byte b = bytesLinea[i];
+            if (b == '\\') {
+                i += 2;
+            } else if (b == '"') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return hasta;
+    }
+
+    /**
+     * Fin de un valor JSON que no es cadena (número, literal, objeto o array anidado)
+     */
+    private int finDeValor(int i, int hasta) {
+        int profundidad = 0;
+        while (i < hasta) {
+            byte b = bytesLinea[i];
+            if (b == '"') {
+                i = finDeCadena(i + 1, hasta) + 1;
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                profundidad++;
+            } else if (b == '}' || b == ']') {
+                if (profundidad == 0) {
+                    return i;
+                }
+                profundidad--;
+            } else if (b == ',' && profundidad == 0) {
+                return i;
+            }
+            i++;
+        }
+        return hasta;
+    }
+
+    private int campoJson(int desde, int hasta) {
+        int longitud = hasta - desde;
+        for (int k = 0; k < CLAVES.length; k++) {
+            byte[] clave = CLAVES[k];
+            if (clave.length != longitud) {
+                continue;
+            }
+            int j = 0;
+            while (j < longitud && bytesLinea[desde + j] == clave[j]) {
+                j++;
+            }
+            if (j == longitud) {
+                return CAMPO_CLAVE[k];
+            }
+        }
+        return -1;
+    }
+
+    private String cadenaJson(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            if (bytesLinea[i] == '\\') {
+                return desescapar(texto(desde, hasta));
+            }
+        }
+        return texto(desde, hasta);
+    }
+
+    /**
+     * Decodifica un rango de la línea; es la única reserva que se hace por campo usado
+     */
+    private String texto(int desde, int hasta) {
+        return hasta > desde ? new String(bytesLinea, desde, hasta - desde, StandardCharsets.UTF_8) : "";
+    }
+
+    private int[] leerCabecera() throws IOException {
+        long inicio = cursor;
+        cursor = 0;
+        long finLinea = finDeLinea();
+        cursor = inicio;
+        if (finLinea < 0) {
+            return null;
+        }
+        int longitud = copiarLinea((int) -inicioVentana, (int) (finLinea - inicioVentana));
+        String primera = texto(0, longitud).strip();
+        String[] nombres = primera.split(",", -1);
+        int[] cabecera = new int[nombres.length];
+        int reconocidas = 0;
+        for (int i = 0; i < nombres.length; i++) {
+            cabecera[i] = columnaPorNombre(nombres[i]);
+            if (cabecera[i] >= 0) {
+                reconocidas++;
+            }
+        }
+        return reconocidas >= 2 ? cabecera : null;
+    }
+
+    private static int columnaPorNombre(String nombre) {
+        String normalizado = Normalizer.normalize(nombre.replace("\"", "").strip(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        switch (normalizado) {
+            case "nombre":
+                return NOMBRE;
+            case "apellido":
+                return APELLIDO;
+            case "email":
+            case "correo":
+                return EMAIL;
+            case "telefono":
+            case "tel":
+                return TELEFONO;
+            case "direccion":
+                return DIRECCION;
+            default:
+                return -1;
+        }
+    }
+
+    private static long inicioDeLinea(FileChannel canal, long corte, long tamano, ByteBuffer buffer)
+            throws IOException {
+        if (corte == 0) {
+            return 0;
+        }
+        // Si el byte anterior al corte es un salto, el corte ya es inicio de línea
+        long desde = corte - 1;
+        while (desde < tamano) {
+            buffer.clear();
+            int leidos = canal.read(buffer, desde);
+            if (leidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < leidos; i++) {
+                if (buffer.get(i) == '\n') {
+                    return desde + i + 1;
+                }
+            }
+            desde += leidos;
+        }
+        return tamano;
+    }
+
+    private static String desescapar(String valor) {
+        StringBuilder sb = new StringBuilder(valor.length());
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c != '\\' || i + 1 >= valor.length()) {
+                sb.append(c);
+                continue;
+            }
+            char e = valor.charAt(++i);
+            switch (e) {
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'u':
+                    try {
+                        sb.append((char) Integer.parseInt(valor.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    } catch (RuntimeException ex) {
+                        // Escape incompleto: se conserva tal cual
+                        sb.append('u');
+                    }
+                    break;
+                default:
+                    sb.append(e);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.US_ASCII);
+    }
+}
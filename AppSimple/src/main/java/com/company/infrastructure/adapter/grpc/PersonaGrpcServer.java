@@ -0,0 +1,81 @@
+package com.company.infrastructure.adapter.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor gRPC en su propio puerto, junto al servidor HTTP
+ * Atiende las llamadas con un grupo fijo de hilos, porque los servicios
+ * bloquean en la base. Al detenerse deja de aceptar llamadas y espera a las
+ * que están en curso hasta el margen indicado antes de cortarlas.
+ */
+public class PersonaGrpcServer {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonaGrpcServer.class);
+
+    private final Server server;
+    private final ExecutorService hilos;
+    private final Duration margenDetencion;
+
+    /**
+     * @param puerto 0 para un puerto libre cualquiera
+     */
+    public PersonaGrpcServer(int puerto, BindableService servicio, int cantidadHilos, Duration margenDetencion) {
+        AtomicInteger numero = new AtomicInteger();
+        this.hilos = Executors.newFixedThreadPool(cantidadHilos, tarea -> {
+            Thread hilo = new Thread(tarea, "grpc-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.server = Grpc.newServerBuilderForPort(puerto, InsecureServerCredentials.create())
+                .addService(servicio)
+                .executor(hilos)
+                .build();
+        this.margenDetencion = margenDetencion;
+    }
+
+    public void iniciar() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            hilos.shutdownNow();
+            throw new UncheckedIOException("No se pudo abrir el puerto gRPC", e);
+        }
+        log.info("Servidor gRPC de personas escuchando en el puerto {}", server.getPort());
+    }
+
+    public void detener() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(margenDetencion.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Llamadas gRPC en curso canceladas al detener el servidor");
+                server.shutdownNow();
+                server.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    /**
+     * Puerto en el que escucha; útil cuando se pidió el 0
+     */
+    public int getPuerto() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,320 @@
+package com.company.infrastructure.adapter.grpc;
+
+import com.company.application.service.PersonaApplicationService;
+import com.company.application.usecase.ProcesarLoteUseCase;
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.infrastructure.adapter.grpc.proto.PersonaServiceGrpc;
+import com.company.infrastructure.adapter.grpc.proto.PersonaServiceProtos;
+import com.company.infrastructure.adapter.web.mapper.PersonaProtoMapper;
+import com.company.infrastructure.adapter.web.proto.PersonaProtos;
+import com.company.infrastructure.bulkhead.BulkheadContext;
+import com.company.infrastructure.deadline.RequestDeadline;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Servicio gRPC de personas sobre el servicio de aplicación
+ * Las consultas van en la clase de tráfico de la API y las altas masivas en la
+ * de trabajos masivos; el plazo de la llamada gRPC se aplica a sus sentencias
+ * JDBC como el de las peticiones HTTP. Los streams respetan el control de flujo
+ * de HTTP/2 en los dos sentidos: los listados consultan el siguiente bloque solo
+ * cuando el cliente puede recibir más, y la importación no pide más altas hasta
+ * confirmar las anteriores y que el cliente lea sus acuses.
+ * Los listados por ID ascendente sin texto paginan por clave y pueden recorrer
+ * toda la tabla; los demás paginan por desplazamiento, cuyo coste crece con
+ * cada bloque y que con escrituras concurrentes puede saltar o repetir filas,
+ * así que se cortan a las primeras {@link #MAXIMO_FILAS_POR_DESPLAZAMIENTO}.
+ */
+public class PersonaGrpcService extends PersonaServiceGrpc.PersonaServiceImplBase {
+
+    static final int TAMANO_BLOQUE_CONSULTA = CriterioBusqueda.TAMANO_MAXIMO;
+    static final int MAXIMO_FILAS_POR_DESPLAZAMIENTO = 10_000;
+
+    private final PersonaApplicationService personaApplicationService;
+    private final PersonaProtoMapper protoMapper;
+    private final int tamanoBloqueAltas;
+
+    /**
+     * @param tamanoBloqueAltas altas que se leen del stream y se confirman juntas en la importación
+     */
+    public PersonaGrpcService(PersonaApplicationService personaApplicationService, PersonaProtoMapper protoMapper,
+                              int tamanoBloqueAltas) {
+        if (tamanoBloqueAltas < 1) {
+            throw new IllegalArgumentException("El bloque de altas debe tener al menos una alta");
+        }
+        this.personaApplicationService = personaApplicationService;
+        this.protoMapper = protoMapper;
+        this.tamanoBloqueAltas = tamanoBloqueAltas;
+    }
+
+    @Override
+    public void obtenerPersona(PersonaServiceProtos.ObtenerPersonaRequest request,
+                               StreamObserver<PersonaProtos.Persona> responseObserver) {
+        Persona persona = conContexto(BulkheadContext.API,
+                () -> personaApplicationService.obtenerPersonaPorId(request.getId())).orElse(null);
+        if (persona == null) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Persona no encontrada: " + request.getId()).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(protoMapper.toMessage(persona));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void listarPersonas(PersonaServiceProtos.ListarPersonasRequest request,
+                               StreamObserver<PersonaProtos.Persona> responseObserver) {
+        enviar(CriterioBusqueda.de(0, TAMANO_BLOQUE_CONSULTA, request.getOrden(), null), request.getLimite(),
+                responseObserver);
+    }
+
+    @Override
+    public void buscarPersonas(PersonaServiceProtos.BuscarPersonasRequest request,
+                               StreamObserver<PersonaProtos.Persona> responseObserver) {
+        if (request.getTexto().isBlank()) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("El texto de búsqueda es obligatorio").asRuntimeException());
+            return;
+        }
+        enviar(CriterioBusqueda.de(0, TAMANO_BLOQUE_CONSULTA, request.getOrden(), request.getTexto()),
+                request.getLimite(), responseObserver);
+    }
+
+    @Override
+    public StreamObserver<PersonaServiceProtos.AltaPersona> importarPersonas(
+            StreamObserver<PersonaServiceProtos.AcuseAlta> responseObserver) {
+        return new Importacion((ServerCallStreamObserver<PersonaServiceProtos.AcuseAlta>) responseObserver);
+    }
+
+    private void enviar(CriterioBusqueda criterio, int limite, StreamObserver<PersonaProtos.Persona> responseObserver) {
+        if (limite < 0) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("El límite no puede ser negativo").asRuntimeException());
+            return;
+        }
+        boolean porClave = "id".equals(criterio.getCampoOrden()) && criterio.isAscendente() && !criterio.tieneTexto();
+        long maximo = porClave ? Long.MAX_VALUE : MAXIMO_FILAS_POR_DESPLAZAMIENTO;
+        Listado listado = new Listado(criterio, porClave, limite == 0 ? maximo : Math.min(limite, maximo),
+                (ServerCallStreamObserver<PersonaProtos.Persona>) responseObserver);
+        listado.llamada.setOnCancelHandler(() -> listado.terminado = true);
+        listado.llamada.setOnReadyHandler(listado::enviarMientrasPueda);
+        // El primer aviso de listo puede haber llegado antes de fijar el manejador
+        listado.enviarMientrasPueda();
+    }
+
+    /**
+     * Listado en curso: consulta bloques sin conteo a medida que el cliente lee
+     * Por clave, cada bloque sigue al último ID enviado; si no, avanza de página.
+     * Los avisos de gRPC de una misma llamada nunca se solapan, así que el
+     * estado no necesita sincronización.
+     */
+    private final class Listado {
+
+        private final ServerCallStreamObserver<PersonaProtos.Persona> llamada;
+        private final boolean porClave;
+        private final long limite;
+        private CriterioBusqueda bloque;
+        private int ultimoId;
+        private List<Persona> filas = Collections.emptyList();
+        private int posicion;
+        private long enviadas;
+        private boolean ultimoBloque;
+        private boolean terminado;
+
+        Listado(CriterioBusqueda primerBloque, boolean porClave, long limite,
+                ServerCallStreamObserver<PersonaProtos.Persona> llamada) {
+            this.bloque = primerBloque;
+            this.porClave = porClave;
+            this.limite = limite;
+            this.llamada = llamada;
+        }
+
+        void enviarMientrasPueda() {
+            try {
+                while (!terminado && llamada.isReady()) {
+                    if (posicion >= filas.size()) {
+                        if (ultimoBloque) {
+                            terminar();
+                            return;
+                        }
+                        filas = conContexto(BulkheadContext.API, this::siguienteBloque);
+                        posicion = 0;
+                        // Un bloque incompleto indica que no hay más resultados
+                        ultimoBloque = filas.size() < bloque.getTamano();
+                        if (!porClave) {
+                            bloque = bloque.conPagina(bloque.getPagina() + 1, bloque.getTamano());
+                        }
+                        continue;
+                    }
+                    Persona persona = filas.get(posicion++);
+                    ultimoId = persona.getId().getValue();
+                    llamada.onNext(protoMapper.toMessage(persona));
+                    if (++enviadas >= limite) {
+                        terminar();
+                    }
+                }
+            } catch (RuntimeException e) {
+                terminado = true;
+                llamada.onError(Status.INTERNAL.withDescription("No se pudo consultar el listado")
+                        .withCause(e).asRuntimeException());
+            }
+        }
+
+        private List<Persona> siguienteBloque() {
+            return porClave
+                    ? personaApplicationService.obtenerBloquePersonas(ultimoId, bloque.getTamano())
+                    : personaApplicationService.obtenerPorcionPersonas(bloque);
+        }
+
+        private void terminar() {
+            terminado = true;
+            llamada.onCompleted();
+        }
+    }
+
+    /**
+     * Importación en curso: lee bloques de altas y contesta un acuse por alta
+     * El control de flujo automático está desactivado: se piden
+     * {@code tamanoBloqueAltas} mensajes, se aplican como un lote no atómico
+     * cuando llegan todos (o cuando el cliente termina) y solo entonces se piden
+     * los siguientes, siempre que el cliente esté leyendo los acuses.
+     */
+    private final class Importacion implements StreamObserver<PersonaServiceProtos.AltaPersona> {
+
+        private final ServerCallStreamObserver<PersonaServiceProtos.AcuseAlta> respuesta;
+        private final List<PersonaServiceProtos.AltaPersona> bloque = new ArrayList<>();
+        private boolean esperandoLectura;
+        private boolean terminada;
+
+        Importacion(ServerCallStreamObserver<PersonaServiceProtos.AcuseAlta> respuesta) {
+            this.respuesta = respuesta;
+            respuesta.disableAutoRequest();
+            respuesta.setOnCancelHandler(() -> terminada = true);
+            respuesta.setOnReadyHandler(() -> {
+                if (esperandoLectura && !terminada) {
+                    esperandoLectura = false;
+                    respuesta.request(tamanoBloqueAltas);
+                }
+            });
+            respuesta.request(tamanoBloqueAltas);
+        }
+
+        @Override
+        public void onNext(PersonaServiceProtos.AltaPersona alta) {
+            bloque.add(alta);
+            if (bloque.size() < tamanoBloqueAltas || terminada) {
+                return;
+            }
+            aplicarBloque();
+            if (terminada) {
+                return;
+            }
+            if (respuesta.isReady()) {
+                respuesta.request(tamanoBloqueAltas);
+            } else {
+                esperandoLectura = true;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // El cliente canceló: las altas ya confirmadas se quedan
+            terminada = true;
+            bloque.clear();
+        }
+
+        @Override
+        public void onCompleted() {
+            if (terminada) {
+                return;
+            }
+            if (!bloque.isEmpty()) {
+                aplicarBloque();
+            }
+            if (!terminada) {
+                terminada = true;
+                respuesta.onCompleted();
+            }
+        }
+
+        private void aplicarBloque() {
+            List<ProcesarLoteUseCase.Operacion> operaciones = new ArrayList<>(bloque.size());
+            for (PersonaServiceProtos.AltaPersona alta : bloque) {
+                operaciones.add(new ProcesarLoteUseCase.Operacion(ProcesarLoteUseCase.TipoOperacion.CREAR, null,
+                        alta.getNombre(), alta.getApellido(), alta.getEmail(), alta.getTelefono(),
+                        alta.getDireccion()));
+            }
+            List<ProcesarLoteUseCase.Resultado> resultados;
+            try {
+                resultados = conContexto(BulkheadContext.BULK,
+                        () -> personaApplicationService.procesarLote(operaciones, false));
+            } catch (RuntimeException e) {
+                terminada = true;
+                respuesta.onError(Status.INTERNAL.withDescription("No se pudo aplicar el bloque de altas")
+                        .withCause(e).asRuntimeException());
+                return;
+            }
+            for (int i = 0; i < bloque.size(); i++) {
+                respuesta.onNext(acuse(bloque.get(i).getSecuencia(), resultados.get(i)));
+            }
+            bloque.clear();
+        }
+    }
+
+    private static PersonaServiceProtos.AcuseAlta acuse(long secuencia, ProcesarLoteUseCase.Resultado resultado) {
+        PersonaServiceProtos.AcuseAlta.Builder acuse = PersonaServiceProtos.AcuseAlta.newBuilder()
+                .setSecuencia(secuencia);
+        switch (resultado.getEstado()) {
+            case CREADA:
+                acuse.setEstado(PersonaServiceProtos.AcuseAlta.Estado.CREADA)
+                        .setId(resultado.getPersona().getId().getValue());
+                break;
+            case INVALIDA:
+                acuse.setEstado(PersonaServiceProtos.AcuseAlta.Estado.INVALIDA);
+                break;
+            default:
+                acuse.setEstado(PersonaServiceProtos.AcuseAlta.Estado.FALLIDA);
+        }
+        if (resultado.getError() != null) {
+            acuse.setError(resultado.getError());
+        }
+        return acuse.build();
+    }
+
+    /**
+     * Ejecuta la operación con la clase de tráfico indicada y el plazo de la llamada gRPC en curso
+     */
+    private static <T> T conContexto(String clase, Supplier<T> operacion) {
+        Context contexto = Context.current();
+        Deadline limite = contexto.getDeadline();
+        RequestDeadline plazo = null;
+        Context.CancellationListener alCancelar = null;
+        if (limite != null) {
+            plazo = RequestDeadline.iniciar(Duration.ofNanos(limite.timeRemaining(TimeUnit.NANOSECONDS)));
+            RequestDeadline vencible = plazo;
+            alCancelar = cancelado -> vencible.vencer();
+            contexto.addListener(alCancelar, Runnable::run);
+        }
+        String anterior = BulkheadContext.fijar(clase);
+        try {
+            return operacion.get();
+        } finally {
+            BulkheadContext.restaurar(anterior);
+            if (plazo != null) {
+                contexto.removeListener(alCancelar);
+                RequestDeadline.terminar();
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.company.infrastructure.adapter.invalidation;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.valueobject.PersonaId;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Bus de invalidación entre instancias sobre LISTEN/NOTIFY de PostgreSQL
+ * Como {@link PersonaChangeNotifier} recibe los cambios del camino de
+ * escritura y los publica con pg_notify: los cambios que llegan dentro de la
+ * ventana de publicación se agrupan por ID (gana la versión mayor y los
+ * borrados) en pocos avisos de hasta {@value #MAXIMO_AVISO} bytes, así que
+ * una importación no genera un NOTIFY por fila. Cada aviso es
+ * {@code nodo|id:version,id:-,...}, con {@code -} para los borrados.
+ * <p>
+ * Un hilo propio escucha en una conexión dedicada, fuera del pool, y entrega
+ * a los notificadores locales los avisos de las demás instancias agrupados por
+ * ID: primero los borrados, que solo descartan entradas, y después los cambios
+ * en una sola llamada por notificador para que los lea de la base de una vez.
+ * PostgreSQL no guarda los avisos de una conexión sin LISTEN: al conectar por
+ * primera vez (lo cambiado entre la carga de las cachés y el LISTEN) y al
+ * reconectar se pide a los notificadores locales que se resincronicen por completo.
+ */
+public class PgNotifyInvalidationBus implements PersonaChangeNotifier, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotifyInvalidationBus.class);
+
+    // PostgreSQL admite avisos de hasta 8000 bytes
+    static final int MAXIMO_AVISO = 7800;
+    static final int BORRADA = -1;
+    private static final Pattern CANAL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final long ESPERA_AVISOS_MS = 500;
+    private static final Duration REINTENTO_MAXIMO = Duration.ofSeconds(30);
+
+    /**
+     * Abre la conexión dedicada a la escucha
+     */
+    @FunctionalInterface
+    public interface FuenteConexion {
+        Connection abrir() throws SQLException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FuenteConexion fuenteConexion;
+    private final Supplier<List<PersonaChangeNotifier>> locales;
+    private final String canal;
+    private final String nodo;
+    private final Duration ventana;
+    private final Duration verificacion;
+
+    // ID -> versión (o BORRADA) pendientes de publicar
+    private final Map<Integer, Integer> pendientes = new LinkedHashMap<>();
+    private boolean publicacionProgramada;
+    private volatile List<PersonaChangeNotifier> destinos;
+    private volatile boolean detenido;
+    private volatile boolean conectado;
+    private volatile ScheduledExecutorService publicador;
+    private Thread escucha;
+
+    private final AtomicLong avisosPublicados = new AtomicLong();
+    private final AtomicLong cambiosPublicados = new AtomicLong();
+    private final AtomicLong cambiosRecibidos = new AtomicLong();
+    private final AtomicLong resincronizaciones = new AtomicLong();
+
+    /**
+     * @param jdbcTemplate   publica los avisos por el pool de la base principal
+     * @param fuenteConexion conexión dedicada a la escucha
+     * @param locales        notificadores de esta instancia que reciben los cambios de las demás
+     * @param canal          canal de LISTEN/NOTIFY, común a todas las instancias
+     * @param nodo           identificador de esta instancia; sus propios avisos se ignoran
+     * @param ventana        tiempo durante el que se agrupan los cambios antes de publicarlos
+     * @param verificacion   tiempo sin avisos tras el que se comprueba que la conexión de escucha sigue viva
+     */
+    public PgNotifyInvalidationBus(JdbcTemplate jdbcTemplate, FuenteConexion fuenteConexion,
+                                   Supplier<List<PersonaChangeNotifier>> locales, String canal, String nodo,
+                                   Duration ventana, Duration verificacion) {
+        if (canal == null || !CANAL.matcher(canal).matches()) {
+            throw new IllegalArgumentException("Canal de invalidación inválido: " + canal);
+        }
+        if (nodo == null || nodo.isBlank() || nodo.indexOf('|') >= 0) {
+            throw new IllegalArgumentException("Identificador de nodo inválido: " + nodo);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.fuenteConexion = fuenteConexion;
+        this.locales = locales;
+        this.canal = canal;
+        this.nodo = nodo;
+        this.ventana = ventana;
+        this.verificacion = verificacion;
+    }
+
+    /**
+     * Identificador aleatorio para cuando no se configura uno
+     */
+    public static String nodoAleatorio() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Arranca el hilo de publicación y el de escucha
+     */
+    public synchronized void iniciar() {
+        if (escucha != null) {
+            return;
+        }
+        publicador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "invalidacion-publicador");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        escucha = new Thread(this::escuchar, "invalidacion-escucha");
+        escucha.setDaemon(true);
+        escucha.start();
+    }
+
+    /**
+     * Publica lo pendiente y detiene ambos hilos
+     */
+    @Override
+    public void close() {
+        detenido = true;
+        Thread actual;
+        ScheduledExecutorService programador;
+        synchronized (this) {
+            actual = escucha;
+            programador = publicador;
+        }
+        if (programador != null) {
+            programador.shutdownNow();
+        }
+        publicar();
+        if (actual != null) {
+            actual.interrupt();
+            try {
+                actual.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void changed(Persona persona) {
+        if (persona.getId() != null) {
+            encolar(persona.getId().getValue(), persona.getVersion() != null ? persona.getVersion() : 0);
+        }
+    }
+
+    @Override
+    public void deleted(PersonaId id) {
+        encolar(id.getValue(), BORRADA);
+    }
+
+    public boolean isConectado() {
+        return conectado;
+    }
+
+    public long getAvisosPublicados() {
+        return avisosPublicados.get();
+    }
+
+    public long getCambiosPublicados() {
+        return cambiosPublicados.get();
+    }
+
+    public long getCambiosRecibidos() {
+        return cambiosRecibidos.get();
+    }
+
+    public long getResincronizaciones() {
+        return resincronizaciones.get();
+    }
+
+    private void encolar(int id, int version) {
+        synchronized (pendientes) {
+            pendientes.merge(id, version, PgNotifyInvalidationBus::combinar);
+            if (!publicacionProgramada) {
+                publicacionProgramada = programar(ventana.toMillis());
+            }
+        }
+    }
+
+    // Debe llamarse con el monitor de pendientes
+    private boolean programar(long retardoMs) {
+        ScheduledExecutorService programador = publicador;
+        if (programador == null || detenido) {
+            return false;
+        }
+        try {
+            programador.schedule(this::publicar, retardoMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void publicar() {
+        Map<Integer, Integer> lote;
+        synchronized (pendientes) {
+            publicacionProgramada = false;
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            lote = new LinkedHashMap<>(pendientes);
+            pendientes.clear();
+        }
+        try {
+            for (String aviso : codificar(nodo, lote, MAXIMO_AVISO)) {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", resultado -> null, canal, aviso);
+                avisosPublicados.incrementAndGet();
+            }
+            cambiosPublicados.addAndGet(lote.size());
+        } catch (RuntimeException e) {
+            // Se reintenta más tarde junto con lo que llegue mientras tanto
+            log.warn("No se pudieron publicar {} cambios de personas en el canal {}", lote.size(), canal, e);
+            synchronized (pendientes) {
+                lote.forEach((id, version) -> pendientes.merge(id, version, PgNotifyInvalidationBus::combinar));
+                if (!publicacionProgramada) {
+                    publicacionProgramada = programar(1000);
+                }
+            }
+        }
+    }
+
+    private void escuchar() {
+        long esperaMs = 1000;
+        boolean primeraConexion = true;
+        while (!detenido) {
+            try (Connection conexion = fuenteConexion.abrir()) {
+                conexion.setAutoCommit(true);
+                try (Statement sentencia = conexion.createStatement()) {
+                    sentencia.execute("LISTEN " + canal);
+                }
+                PGConnection pg = conexion.unwrap(PGConnection.class);
+                conectado = true;
+                esperaMs = 1000;
+                log.info(primeraConexion
+                        ? "Escucha de invalidaciones iniciada; se resincronizan las cachés locales cargadas antes"
+                        : "Escucha de invalidaciones reconectada; se resincronizan las cachés locales");
+                primeraConexion = false;
+                resincronizar();
+                recibir(conexion, pg);
+            } catch (SQLException | RuntimeException e) {
+                if (detenido) {
+                    break;
+                }
+                log.warn("Escucha de invalidaciones caída; reintento en {} ms: {}", esperaMs, e.getMessage());
+            } finally {
+                conectado = false;
+            }
+            if (!detenido) {
+                try {
+                    Thread.sleep(esperaMs);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                esperaMs = Math.min(esperaMs * 2, REINTENTO_MAXIMO.toMillis());
+            }
+        }
+    }
+
+    private void recibir(Connection conexion, PGConnection pg) throws SQLException {
+        long ultimaActividad = System.nanoTime();
+        while (!detenido) {
+            PGNotification[] avisos = pg.getNotifications((int) ESPERA_AVISOS_MS);
+            if (avisos == null || avisos.length == 0) {
+                if (System.nanoTime() - ultimaActividad > verificacion.toNanos()) {
+                    if (!conexion.isValid(5)) {
+                        throw new SQLException("La conexión de escucha no responde");
+                    }
+                    ultimaActividad = System.nanoTime();
+                }
+                continue;
+            }
+            ultimaActividad = System.nanoTime();
+            // Agrupa lo recibido con lo que ya esté en el socket antes de entregarlo
+            Map<Integer, Integer> cambios = new LinkedHashMap<>();
+            for (PGNotification[] tanda = avisos; tanda != null && tanda.length > 0; tanda = pg.getNotifications()) {
+                for (PGNotification aviso : tanda) {
+                    if (canal.equals(aviso.getName())) {
+                        decodificar(aviso.getParameter(), nodo, cambios);
+                    }
+                }
+            }
+            if (!cambios.isEmpty()) {
+                cambiosRecibidos.addAndGet(cambios.size());
+                entregar(cambios);
+            }
+        }
+    }
+
+    /**
+     * Entrega los cambios de otras instancias a los notificadores locales
+     * Los borrados llegan a todos antes de que ninguno lea de la base los cambios.
+     */
+    void entregar(Map<Integer, Integer> cambios) {
+        List<PersonaId> borradas = new ArrayList<>();
+        Map<PersonaId, Integer> cambiadas = new LinkedHashMap<>();
+        cambios.forEach((id, version) -> {
+            if (version == BORRADA) {
+                borradas.add(new PersonaId(id));
+            } else {
+                cambiadas.put(new PersonaId(id), version);
+            }
+        });
+        List<PersonaChangeNotifier> fallidos = new ArrayList<>();
+        for (PersonaChangeNotifier destino : destinos()) {
+            try {
+                borradas.forEach(destino::deleted);
+            } catch (RuntimeException e) {
+                fallo(destino, e, fallidos);
+            }
+        }
+        if (!cambiadas.isEmpty()) {
+            for (PersonaChangeNotifier destino : destinos()) {
+                if (!fallidos.contains(destino)) {
+                    try {
+                        destino.changedElsewhere(cambiadas);
+                    } catch (RuntimeException e) {
+                        fallo(destino, e, fallidos);
+                    }
+                }
+            }
+        }
+        fallidos.forEach(this::resincronizar);
+    }
+
+    private static void fallo(PersonaChangeNotifier destino, RuntimeException e, List<PersonaChangeNotifier> fallidos) {
+        log.warn("{} no pudo aplicar cambios de otras instancias; se resincroniza",
+                destino.getClass().getSimpleName(), e);
+        fallidos.add(destino);
+    }
+
+    private void resincronizar() {
+        resincronizaciones.incrementAndGet();
+        destinos().forEach(this::resincronizar);
+    }
+
+    private void resincronizar(PersonaChangeNotifier destino) {
+        try {
+            destino.resync();
+        } catch (RuntimeException e) {
+            log.warn("{} no pudo resincronizarse", destino.getClass().getSimpleName(), e);
+        }
+    }
+
+    private List<PersonaChangeNotifier> destinos() {
+        List<PersonaChangeNotifier> actuales = destinos;
+        if (actuales == null) {
+            actuales = List.copyOf(locales.get());
+            destinos = actuales;
+        }
+        return actuales;
+    }
+
+    /**
+     * Parte los cambios en avisos {@code nodo|id:version,...} de como mucho {@code maximo} bytes
+     */
+    static List<String> codificar(String nodo, Map<Integer, Integer> cambios, int maximo) {
+        List<String> avisos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder(nodo).append('|');
+        int vacio = actual.length();
+        for (Map.Entry<Integer, Integer> cambio : cambios.entrySet()) {
+            String entrada = cambio.getKey() + ":" + (cambio.getValue() == BORRADA ? "-" : cambio.getValue());
+            if (actual.length() > vacio && actual.length() + 1 + entrada.length() > maximo) {
+                avisos.add(actual.toString());
+                actual.setLength(vacio);
+            }
+            if (actual.length() > vacio) {
+                actual.append(',');
+            }
+            actual.append(entrada);
+        }
+        if (actual.length() > vacio) {
+            avisos.add(actual.toString());
+        }
+        return avisos;
+    }
+
+    /**
+     * Añade a {@code destino} los cambios del aviso, salvo que lo haya publicado {@code nodoPropio}
+     * Los avisos mal formados se descartan enteros.
+     */
+    static void decodificar(String aviso, String nodoPropio, Map<Integer, Integer> destino) {
+        int separador = aviso != null ? aviso.indexOf('|') : -1;
+        if (separador < 0 || aviso.substring(0, separador).equals(nodoPropio)) {
+            return;
+        }
+        Map<Integer, Integer> cambios = new LinkedHashMap<>();
+        try {
+            for (String entrada : aviso.substring(separador + 1).split(",")) {
+                int dosPuntos = entrada.indexOf(':');
+                int id = Integer.parseInt(entrada.substring(0, dosPuntos));
+                String version = entrada.substring(dosPuntos + 1);
+                cambios.merge(id, "-".equals(version) ? BORRADA : Integer.parseInt(version),
+                        PgNotifyInvalidationBus::combinar);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Aviso de invalidación descartado por mal formado: {}", aviso);
+            return;
+        }
+        cambios.forEach((id, version) -> destino.merge(id, version, PgNotifyInvalidationBus::combinar));
+    }
+
+    // El borrado gana; entre versiones, la mayor
+    private static Integer combinar(Integer anterior, Integer nueva) {
+        if (anterior == BORRADA || nueva == BORRADA) {
+            return BORRADA;
+        }
+        return Math.max(anterior, nueva);
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.infrastructure.adapter.mapper;
+
+import com.company.domain.entity.Importacion;
+import com.company.infrastructure.adapter.persistence.ImportacionJpaEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper entre la importación de dominio y su entidad JPA
+ */
+@Component
+public class ImportacionMapper {
+
+    /**
+     * Convierte de entidad JPA a entidad de dominio
+     */
+    public Importacion toDomainEntity(ImportacionJpaEntity jpaEntity) {
+        if (jpaEntity == null) {
+            return null;
+        }
+
+        return new Importacion(
+                jpaEntity.getId(),
+                jpaEntity.getArchivo(),
+                jpaEntity.getParalelismo(),
+                jpaEntity.getTamanoLote(),
+                jpaEntity.getBytesTotales(),
+                jpaEntity.getCreada(),
+                Importacion.Estado.valueOf(jpaEntity.getEstado()),
+                jpaEntity.getPosicion(),
+                jpaEntity.getLinea(),
+                jpaEntity.getLotes(),
+                jpaEntity.getLeidos(),
+                jpaEntity.getInsertados(),
+                jpaEntity.getInvalidos(),
+                jpaEntity.getFusionados(),
+                jpaEntity.getExistentes(),
+                jpaEntity.getRepetidos() != null ? jpaEntity.getRepetidos() : 0,
+                jpaEntity.getInicioEjecucion(),
+                jpaEntity.getPosicionInicioEjecucion(),
+                jpaEntity.getLeidosInicioEjecucion(),
+                jpaEntity.getActualizada(),
+                jpaEntity.getFinalizada(),
+                jpaEntity.getError(),
+                jpaEntity.getVersion(),
+                jpaEntity.getPropietario(),
+                jpaEntity.getArriendoHasta());
+    }
+
+    /**
+     * Convierte de entidad de dominio a entidad JPA
+     */
+    public ImportacionJpaEntity toJpaEntity(Importacion importacion) {
+        if (importacion == null) {
+            return null;
+        }
+
+        ImportacionJpaEntity jpaEntity = new ImportacionJpaEntity();
+        jpaEntity.setId(importacion.getId());
+        jpaEntity.setArchivo(importacion.getArchivo());
+        jpaEntity.setEstado(importacion.getEstado().name());
+        jpaEntity.setParalelismo(importacion.getParalelismo());
+        jpaEntity.setTamanoLote(importacion.getTamanoLote());
+        jpaEntity.setBytesTotales(importacion.getBytesTotales());
+        jpaEntity.setPosicion(importacion.getPosicion());
+        jpaEntity.setLinea(importacion.getLinea());
+        jpaEntity.setLotes(importacion.getLotes());
+        jpaEntity.setLeidos(importacion.getLeidos());
+        jpaEntity.setInsertados(importacion.getInsertados());
+        jpaEntity.setInvalidos(importacion.getInvalidos());
+        jpaEntity.setFusionados(importacion.getFusionados());
+        jpaEntity.setExistentes(importacion.getExistentes());
+        jpaEntity.setRepetidos(importacion.getRepetidos());
+        jpaEntity.setInicioEjecucion(importacion.getInicioEjecucion());
+        jpaEntity.setPosicionInicioEjecucion(importacion.getPosicionInicioEjecucion());
+        jpaEntity.setLeidosInicioEjecucion(importacion.getLeidosInicioEjecucion());
+        jpaEntity.setCreada(importacion.getCreada());
+        jpaEntity.setActualizada(importacion.getActualizada());
+        jpaEntity.setFinalizada(importacion.getFinalizada());
+        jpaEntity.setError(importacion.getError());
+        jpaEntity.setVersion(importacion.getVersion());
+        jpaEntity.setPropietario(importacion.getPropietario());
+        jpaEntity.setArriendoHasta(importacion.getArriendoHasta());
+        return jpaEntity;
+    }
+}
@@ -26,7 +26,7 @@ public class PersonaMapper {
         Email email = stringToEmail(jpaEntity.getEmail());
         Telefono telefono = stringToTelefono(jpaEntity.getTelefono());
         
-        return new Persona(id, jpaEntity.getNombre(), jpaEntity.getApellido(), email, telefono, jpaEntity.getDireccion());
+        return new Persona(id, jpaEntity.getVersion(), jpaEntity.getNombre(), jpaEntity.getApellido(), email, telefono, jpaEntity.getDireccion());
     }
 
     /**
@@ -44,6 +44,7 @@ public class PersonaMapper {
         jpaEntity.setEmail(emailToString(domainEntity.getEmail()));
         jpaEntity.setTelefono(telefonoToString(domainEntity.getTelefono()));
         jpaEntity.setDireccion(domainEntity.getDireccion());
+        jpaEntity.setVersion(domainEntity.getVersion());
         
         return jpaEntity;
     }
@@ -0,0 +1,145 @@
+package com.company.infrastructure.adapter.memory;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Pagina;
+import com.company.domain.valueobject.PersonaId;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Repositorio que resuelve las lecturas por ID y el listado completo desde la copia compacta
+ * Solo lo hace cuando la copia ya está cargada y dentro de una transacción de
+ * solo lectura: como una réplica, puede ir un poco por detrás de los cambios de
+ * otras instancias, y una lectura sin transacción puede ser el paso previo de
+ * una actualización o una baja, que necesitan la versión y la existencia reales.
+ * El resto va al repositorio real.
+ */
+public class CachedPersonaRepository implements PersonaRepository {
+
+    private final PersonaRepository delegado;
+    private final CompactPersonaStore store;
+
+    public CachedPersonaRepository(PersonaRepository delegado, CompactPersonaStore store) {
+        this.delegado = delegado;
+        this.store = store;
+    }
+
+    @Override
+    public Optional<Persona> findById(PersonaId id) {
+        return desdeMemoria() ? store.buscar(id) : delegado.findById(id);
+    }
+
+    @Override
+    public List<Persona> findAll() {
+        return desdeMemoria() ? store.todas() : delegado.findAll();
+    }
+
+    @Override
+    public boolean existsById(PersonaId id) {
+        return desdeMemoria() ? store.contiene(id) : delegado.existsById(id);
+    }
+
+    @Override
+    public Persona save(Persona persona) {
+        return delegado.save(persona);
+    }
+
+    @Override
+    public List<Persona> saveAll(List<Persona> personas) {
+        return delegado.saveAll(personas);
+    }
+
+    @Override
+    public Persona update(Persona persona) {
+        return delegado.update(persona);
+    }
+
+    @Override
+    public List<Persona> updateAll(List<Persona> personas) {
+        return delegado.updateAll(personas);
+    }
+
+    @Override
+    public List<Persona> findAllById(Collection<PersonaId> ids) {
+        return delegado.findAllById(ids);
+    }
+
+    @Override
+    public void deleteById(PersonaId id) {
+        delegado.deleteById(id);
+    }
+
+    @Override
+    public void deleteAllById(Collection<PersonaId> ids) {
+        delegado.deleteAllById(ids);
+    }
+
+    @Override
+    public List<Persona> findByNombreContaining(String nombre) {
+        return delegado.findByNombreContaining(nombre);
+    }
+
+    @Override
+    public List<Persona> findByApellidoContaining(String apellido) {
+        return delegado.findByApellidoContaining(apellido);
+    }
+
+    @Override
+    public Pagina<Persona> findPage(CriterioBusqueda criterio) {
+        return delegado.findPage(criterio);
+    }
+
+    @Override
+    public List<Persona> findSlice(CriterioBusqueda criterio) {
+        return delegado.findSlice(criterio);
+    }
+
+    @Override
+    public List<Persona> findBloqueDesde(int desdeId, int tamano) {
+        return delegado.findBloqueDesde(desdeId, tamano);
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return delegado.existsByEmail(email);
+    }
+
+    @Override
+    public Set<Email> findExistingEmails(Collection<Email> emails) {
+        return delegado.findExistingEmails(emails);
+    }
+
+    @Override
+    public void forEachEmail(Consumer<Email> consumidor) {
+        delegado.forEachEmail(consumidor);
+    }
+
+    @Override
+    public void forEachPersona(Consumer<Persona> consumidor) {
+        delegado.forEachPersona(consumidor);
+    }
+
+    @Override
+    public void forEachModifiedSince(Instant desde, Consumer<Persona> consumidor) {
+        delegado.forEachModifiedSince(desde, consumidor);
+    }
+
+    @Override
+    public void forEachPersonaConAlta(BiConsumer<Persona, Instant> consumidor) {
+        delegado.forEachPersonaConAlta(consumidor);
+    }
+
+    private boolean desdeMemoria() {
+        return store.isLista() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.infrastructure.adapter.memory;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.valueobject.PersonaId;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Copia completa de las personas en una {@link CompactPersonaTable}
+ * Se carga recorriendo la base y se mantiene al día con las notificaciones de
+ * cambios de esta y de las demás instancias. Las lecturas devuelven personas
+ * construidas en el momento; mientras se recarga siguen viendo la copia anterior.
+ */
+public class CompactPersonaStore extends InMemoryPersonaCopy<CompactPersonaTable> {
+
+    public CompactPersonaStore(PersonaRepository personaRepository) {
+        super(personaRepository, new CompactPersonaTable(1024), "Copia compacta de personas", "memory-store-reload");
+    }
+
+    public Optional<Persona> buscar(PersonaId id) {
+        return leer(tabla -> tabla.buscar(id.getValue()));
+    }
+
+    public boolean contiene(PersonaId id) {
+        return leer(tabla -> tabla.contiene(id.getValue()));
+    }
+
+    /**
+     * Todas las personas ordenadas por ID
+     */
+    public List<Persona> todas() {
+        return leer(CompactPersonaTable::todas);
+    }
+
+    public long getBytes() {
+        return leer(CompactPersonaTable::bytesOcupados);
+    }
+
+    @Override
+    protected CompactPersonaTable cargar(PersonaRepository personaRepository, int filasPrevistas) {
+        CompactPersonaTable nueva = new CompactPersonaTable(filasPrevistas);
+        personaRepository.forEachPersona(nueva::poner);
+        nueva.ajustar();
+        return nueva;
+    }
+
+    @Override
+    protected void aplicar(CompactPersonaTable tabla, Persona persona) {
+        tabla.poner(persona);
+    }
+
+    @Override
+    protected void quitar(CompactPersonaTable tabla, int id) {
+        tabla.quitar(id);
+    }
+
+    @Override
+    protected int version(CompactPersonaTable tabla, int id) {
+        return tabla.version(id);
+    }
+
+    @Override
+    protected int filas(CompactPersonaTable tabla) {
+        return tabla.getFilas();
+    }
+}
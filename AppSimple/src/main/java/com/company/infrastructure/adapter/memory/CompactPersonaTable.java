@@ -0,0 +1,451 @@
+package com.company.infrastructure.adapter.memory;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Tabla compacta con todas las personas en memoria
+ * Cada persona es una fila de arrays primitivos paralelos: ID, versión, apellido
+ * y dominio del email codificados con diccionario, teléfono empaquetado en un
+ * long y la posición de sus textos (nombre, parte local del email y dirección)
+ * en un único array de bytes, en Latin-1 cuando se puede y en UTF-8 si no. El
+ * índice de IDs solo guarda números de fila y compara contra la columna de IDs.
+ * Las {@link Persona} se construyen al pedirlas, no se guardan. No es segura
+ * entre hilos: quien la comparte la protege con un cerrojo.
+ */
+public class CompactPersonaTable {
+
+    // Por debajo de este tamaño no compensa compactar los textos
+    private static final int BASURA_MINIMA = 1 << 16;
+    // Tope práctico de un array en la JVM
+    private static final int MAXIMO_BYTES = Integer.MAX_VALUE - 8;
+
+    private final IndiceFilas indice;
+    private final Diccionario apellidosDic = new Diccionario();
+    private final Diccionario dominiosDic = new Diccionario();
+    private int[] ids;
+    private int[] versiones;
+    private int[] apellidos;
+    private int[] dominios;
+    private int[] textos;
+    private long[] telefonos;
+    private int filas;
+    private byte[] datos;
+    private int usados;
+    // Bytes de textos que ya no usa ninguna fila (cambios y bajas)
+    private int basura;
+
+    public CompactPersonaTable(int capacidad) {
+        int inicial = Math.max(16, capacidad);
+        indice = new IndiceFilas(inicial);
+        ids = new int[inicial];
+        versiones = new int[inicial];
+        apellidos = new int[inicial];
+        dominios = new int[inicial];
+        textos = new int[inicial];
+        telefonos = new long[inicial];
+        // Unos 40 bytes de textos por persona
+        datos = new byte[(int) Math.min(MAXIMO_BYTES, inicial * 40L)];
+    }
+
+    /**
+     * Inserta o actualiza la fila de la persona; una versión anterior a la guardada se ignora
+     */
+    public void poner(Persona persona) {
+        int id = persona.getId().getValue();
+        int fila = indice.buscar(id);
+        if (fila >= 0 && versiones[fila] > persona.getVersion()) {
+            return;
+        }
+        // Primero los textos: si compactan, solo mueven los de filas ya completas
+        int bloque = escribirBloque(persona.getNombre(), persona.getEmail().getLocalPart(), persona.getDireccion());
+        if (fila < 0) {
+            if (filas == ids.length) {
+                crecer();
+            }
+            fila = filas++;
+            ids[fila] = id;
+            indice.poner(id, fila);
+        } else {
+            basura += tamanoBloque(textos[fila]);
+        }
+        textos[fila] = bloque;
+        versiones[fila] = persona.getVersion();
+        apellidos[fila] = apellidosDic.codigo(persona.getApellido());
+        dominios[fila] = dominiosDic.codigo(persona.getEmail().getDomain());
+        telefonos[fila] = empaquetarTelefono(persona.getTelefono().getValue());
+        if (basura > BASURA_MINIMA && basura > usados / 2) {
+            int vivos = usados - basura;
+            compactar(vivos + (vivos >> 2));
+        }
+    }
+
+    public void quitar(int id) {
+        int fila = indice.buscar(id);
+        if (fila < 0) {
+            return;
+        }
+        indice.quitar(id);
+        basura += tamanoBloque(textos[fila]);
+        // La última fila pasa al hueco; el orden de filas no significa nada
+        int ultima = --filas;
+        if (fila != ultima) {
+            ids[fila] = ids[ultima];
+            versiones[fila] = versiones[ultima];
+            apellidos[fila] = apellidos[ultima];
+            dominios[fila] = dominios[ultima];
+            textos[fila] = textos[ultima];
+            telefonos[fila] = telefonos[ultima];
+            indice.poner(ids[fila], fila);
+        }
+    }
+
+    public Optional<Persona> buscar(int id) {
+        int fila = indice.buscar(id);
+        return fila < 0 ? Optional.empty() : Optional.of(persona(fila));
+    }
+
+    public boolean contiene(int id) {
+        return indice.buscar(id) >= 0;
+    }
+
+    /**
+     * Versión guardada de la persona, o -1 si no está
+     */
+    public int version(int id) {
+        int fila = indice.buscar(id);
+        return fila < 0 ? -1 : versiones[fila];
+    }
+
+    /**
+     * Construye las personas de una en una, en el orden interno de filas
+     */
+    public void forEach(Consumer<Persona> consumidor) {
+        for (int fila = 0; fila < filas; fila++) {
+            consumidor.accept(persona(fila));
+        }
+    }
+
+    /**
+     * Todas las personas ordenadas por ID
+     */
+    public List<Persona> todas() {
+        long[] orden = new long[filas];
+        for (int fila = 0; fila < filas; fila++) {
+            orden[fila] = (long) ids[fila] << 32 | fila;
+        }
+        Arrays.sort(orden);
+        List<Persona> personas = new ArrayList<>(filas);
+        for (long clave : orden) {
+            personas.add(persona((int) clave));
+        }
+        return personas;
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Memoria reservada por la tabla; la de los diccionarios es aproximada
+     */
+    public long bytesOcupados() {
+        return 28L * ids.length + 4L * indice.casillas.length + datos.length
+                + apellidosDic.bytesOcupados() + dominiosDic.bytesOcupados();
+    }
+
+    /**
+     * Recorta la holgura de los arrays tras una carga completa
+     */
+    public void ajustar() {
+        int capacidad = Math.max(16, filas + (filas >> 6));
+        if (capacidad < ids.length) {
+            ids = Arrays.copyOf(ids, capacidad);
+            versiones = Arrays.copyOf(versiones, capacidad);
+            apellidos = Arrays.copyOf(apellidos, capacidad);
+            dominios = Arrays.copyOf(dominios, capacidad);
+            textos = Arrays.copyOf(textos, capacidad);
+            telefonos = Arrays.copyOf(telefonos, capacidad);
+        }
+        int vivos = usados - basura;
+        compactar(vivos + (vivos >> 6));
+    }
+
+    private Persona persona(int fila) {
+        int posicion = textos[fila];
+        String nombre = texto(posicion);
+        posicion = saltar(posicion);
+        String local = texto(posicion);
+        String direccion = texto(saltar(posicion));
+        return new Persona(new PersonaId(ids[fila]), versiones[fila], nombre, apellidosDic.valor(apellidos[fila]),
+                new Email(local + "@" + dominiosDic.valor(dominios[fila])),
+                new Telefono(desempaquetarTelefono(telefonos[fila])), direccion);
+    }
+
+    /**
+     * Teléfono normalizado (+ opcional y de 7 a 15 cifras) como valor, signo y cantidad de cifras
+     * Guardar la cantidad de cifras conserva los ceros a la izquierda.
+     */
+    static long empaquetarTelefono(String telefono) {
+        int inicio = telefono.charAt(0) == '+' ? 1 : 0;
+        long valor = 0;
+        for (int i = inicio; i < telefono.length(); i++) {
+            valor = valor * 10 + (telefono.charAt(i) - '0');
+        }
+        return valor << 5 | (inicio == 1 ? 16 : 0) | (telefono.length() - inicio);
+    }
+
+    static String desempaquetarTelefono(long empaquetado) {
+        int inicio = (empaquetado & 16) != 0 ? 1 : 0;
+        char[] cifras = new char[(int) (empaquetado & 15) + inicio];
+        long valor = empaquetado >>> 5;
+        for (int i = cifras.length - 1; i >= inicio; i--) {
+            cifras[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        if (inicio == 1) {
+            cifras[0] = '+';
+        }
+        return new String(cifras);
+    }
+
+    /**
+     * Añade los tres textos al final de los datos y devuelve su posición
+     * Cada texto lleva delante su longitud en bytes por dos, más uno si va en UTF-8,
+     * como entero de longitud variable.
+     */
+    private int escribirBloque(String nombre, String local, String direccion) {
+        // Cabeceras de hasta 5 bytes y, en UTF-8, hasta 3 bytes por carácter
+        reservar(15 + 3 * (nombre.length() + local.length() + direccion.length()));
+        int inicio = usados;
+        escribir(nombre);
+        escribir(local);
+        escribir(direccion);
+        return inicio;
+    }
+
+    private void escribir(String texto) {
+        boolean latin1 = true;
+        for (int i = 0; i < texto.length() && latin1; i++) {
+            latin1 = texto.charAt(i) <= 0xFF;
+        }
+        byte[] utf8 = latin1 ? null : texto.getBytes(StandardCharsets.UTF_8);
+        int longitud = latin1 ? texto.length() : utf8.length;
+        for (int cabecera = longitud << 1 | (latin1 ? 0 : 1); ; cabecera >>>= 7) {
+            if ((cabecera & ~0x7F) == 0) {
+                datos[usados++] = (byte) cabecera;
+                break;
+            }
+            datos[usados++] = (byte) (cabecera & 0x7F | 0x80);
+        }
+        if (latin1) {
+            for (int i = 0; i < longitud; i++) {
+                datos[usados++] = (byte) texto.charAt(i);
+            }
+        } else {
+            System.arraycopy(utf8, 0, datos, usados, longitud);
+            usados += longitud;
+        }
+    }
+
+    private String texto(int posicion) {
+        int cabecera = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = datos[posicion++];
+            cabecera |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while (b < 0);
+        return new String(datos, posicion, cabecera >>> 1,
+                (cabecera & 1) == 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Posición siguiente al texto que empieza en la dada
+     */
+    private int saltar(int posicion) {
+        int cabecera = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = datos[posicion++];
+            cabecera |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while (b < 0);
+        return posicion + (cabecera >>> 1);
+    }
+
+    private int tamanoBloque(int posicion) {
+        return saltar(saltar(saltar(posicion))) - posicion;
+    }
+
+    private void reservar(int bytes) {
+        if (usados + bytes <= datos.length) {
+            return;
+        }
+        if (basura > usados / 4) {
+            compactar(usados - basura + bytes);
+            if (usados + bytes <= datos.length) {
+                return;
+            }
+        }
+        long capacidad = Math.max((long) usados + bytes, datos.length + (long) (datos.length >> 1));
+        if (usados + (long) bytes > MAXIMO_BYTES) {
+            throw new IllegalStateException("Los textos de las personas no caben en un array de 2 GB");
+        }
+        datos = Arrays.copyOf(datos, (int) Math.min(MAXIMO_BYTES, capacidad));
+    }
+
+    /**
+     * Copia los textos vivos, en orden de filas, a un array nuevo de la capacidad dada
+     */
+    private void compactar(int capacidad) {
+        byte[] nuevos = new byte[Math.max(64, capacidad)];
+        int posicion = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            int tamano = tamanoBloque(textos[fila]);
+            System.arraycopy(datos, textos[fila], nuevos, posicion, tamano);
+            textos[fila] = posicion;
+            posicion += tamano;
+        }
+        datos = nuevos;
+        usados = posicion;
+        basura = 0;
+    }
+
+    private void crecer() {
+        int capacidad = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacidad);
+        versiones = Arrays.copyOf(versiones, capacidad);
+        apellidos = Arrays.copyOf(apellidos, capacidad);
+        dominios = Arrays.copyOf(dominios, capacidad);
+        textos = Arrays.copyOf(textos, capacidad);
+        telefonos = Arrays.copyOf(telefonos, capacidad);
+    }
+
+    /**
+     * Codificación de textos repetidos a enteros consecutivos
+     * Los códigos no se liberan aunque dejen de usarse; la siguiente recarga los compacta.
+     */
+    private static final class Diccionario {
+
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+        private long caracteres;
+
+        int codigo(String valor) {
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = valores.size();
+                codigos.put(valor, codigo);
+                valores.add(valor);
+                caracteres += valor.length();
+            }
+            return codigo;
+        }
+
+        String valor(int codigo) {
+            return valores.get(codigo);
+        }
+
+        // String, su array, nodo del mapa, Integer y referencias de la tabla y la lista
+        long bytesOcupados() {
+            return 112L * valores.size() + caracteres;
+        }
+    }
+
+    /**
+     * Tabla hash de ID a fila con direccionamiento abierto
+     * Cada casilla guarda fila + 1 (0 = libre) y la clave se lee de la columna de
+     * IDs, así que ocupa 4 bytes por casilla. Las bajas desplazan hacia atrás las
+     * filas siguientes, así que no quedan lápidas.
+     */
+    private final class IndiceFilas {
+
+        private int[] casillas;
+        private int ocupadas;
+
+        IndiceFilas(int capacidad) {
+            casillas = new int[Integer.highestOneBit(Math.max(16, capacidad + capacidad / 3)) << 1];
+        }
+
+        int buscar(int id) {
+            int mascara = casillas.length - 1;
+            for (int i = mezclar(id) & mascara; casillas[i] != 0; i = (i + 1) & mascara) {
+                if (ids[casillas[i] - 1] == id) {
+                    return casillas[i] - 1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Apunta el ID a la fila; si ya estaba, solo cambia la fila
+         */
+        void poner(int id, int fila) {
+            if ((ocupadas + 1) * 4L > casillas.length * 3L) {
+                redimensionar();
+            }
+            int mascara = casillas.length - 1;
+            int i = mezclar(id) & mascara;
+            while (casillas[i] != 0 && ids[casillas[i] - 1] != id) {
+                i = (i + 1) & mascara;
+            }
+            if (casillas[i] == 0) {
+                ocupadas++;
+            }
+            casillas[i] = fila + 1;
+        }
+
+        void quitar(int id) {
+            int mascara = casillas.length - 1;
+            int hueco = mezclar(id) & mascara;
+            while (ids[casillas[hueco] - 1] != id) {
+                hueco = (hueco + 1) & mascara;
+            }
+            for (int j = (hueco + 1) & mascara; casillas[j] != 0; j = (j + 1) & mascara) {
+                int ideal = mezclar(ids[casillas[j] - 1]) & mascara;
+                // Se mueve si su casilla ideal no está en el tramo circular (hueco, j]
+                boolean alcanzable = hueco <= j ? ideal > hueco && ideal <= j : ideal > hueco || ideal <= j;
+                if (!alcanzable) {
+                    casillas[hueco] = casillas[j];
+                    hueco = j;
+                }
+            }
+            casillas[hueco] = 0;
+            ocupadas--;
+        }
+
+        private void redimensionar() {
+            int[] viejas = casillas;
+            casillas = new int[viejas.length * 2];
+            int mascara = casillas.length - 1;
+            for (int casilla : viejas) {
+                if (casilla != 0) {
+                    int i = mezclar(ids[casilla - 1]) & mascara;
+                    while (casillas[i] != 0) {
+                        i = (i + 1) & mascara;
+                    }
+                    casillas[i] = casilla;
+                }
+            }
+        }
+
+        private int mezclar(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.company.infrastructure.adapter.memory;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.valueobject.PersonaId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Copia en memoria de todas las personas que se mantiene con las notificaciones de cambios
+ * Resuelve lo común a las copias: la recarga completa sin cortar las lecturas,
+ * la relectura de lo que cambió mientras se recorría la base, la resincronización
+ * en segundo plano y la relectura de los cambios de otras instancias. Las
+ * subclases solo deciden cómo se guardan las filas en su contenido {@code C}.
+ * <p>
+ * Una relectura consulta la base fuera del cerrojo; si mientras tanto llegó una
+ * baja o un cambio de la misma persona, ese aviso es más reciente que lo leído
+ * y la relectura se descarta, así que nunca resucita una persona eliminada.
+ */
+public abstract class InMemoryPersonaCopy<C> implements PersonaChangeNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryPersonaCopy.class);
+
+    private final PersonaRepository personaRepository;
+    private final String nombre;
+    private final String hiloRecarga;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean recargando = new AtomicBoolean();
+    private final AtomicBoolean recargaPendiente = new AtomicBoolean();
+    private final AtomicLong recargas = new AtomicLong();
+
+    // Estado protegido por el cerrojo de escritura
+    private final Set<Integer> tocadasDuranteCarga = new HashSet<>();
+    private final Map<Integer, Long> cambiosDuranteRelectura = new HashMap<>();
+    private long secuencia;
+    private int relecturasEnCurso;
+    private boolean cargando;
+
+    private C contenido;
+    private volatile boolean lista;
+
+    /**
+     * @param vacio       contenido hasta la primera carga
+     * @param nombre      nombre de la copia en los mensajes de log
+     * @param hiloRecarga nombre del hilo de las recargas en segundo plano
+     */
+    protected InMemoryPersonaCopy(PersonaRepository personaRepository, C vacio, String nombre, String hiloRecarga) {
+        this.personaRepository = personaRepository;
+        this.contenido = vacio;
+        this.nombre = nombre;
+        this.hiloRecarga = hiloRecarga;
+    }
+
+    /**
+     * Construye un contenido nuevo recorriendo toda la base; se llama sin cerrojo
+     */
+    protected abstract C cargar(PersonaRepository personaRepository, int filasPrevistas);
+
+    /**
+     * Inserta o actualiza la persona; una versión anterior a la guardada se ignora
+     */
+    protected abstract void aplicar(C contenido, Persona persona);
+
+    protected abstract void quitar(C contenido, int id);
+
+    /**
+     * Versión guardada de la persona, o -1 si no está
+     */
+    protected abstract int version(C contenido, int id);
+
+    protected abstract int filas(C contenido);
+
+    /**
+     * Rehace la copia recorriendo toda la base
+     * Las lecturas siguen viendo la anterior hasta que la nueva está completa; los
+     * cambios notificados durante el recorrido se vuelven a leer al terminar.
+     *
+     * @return personas cargadas
+     */
+    public long recargar() {
+        lock.writeLock().lock();
+        try {
+            cargando = true;
+            tocadasDuranteCarga.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        C nuevo = null;
+        List<Integer> pendientes;
+        try {
+            nuevo = cargar(personaRepository, Math.max(1024, getFilas()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                cargando = false;
+                pendientes = new ArrayList<>(tocadasDuranteCarga);
+                tocadasDuranteCarga.clear();
+                if (nuevo != null) {
+                    contenido = nuevo;
+                    lista = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (!pendientes.isEmpty()) {
+            List<PersonaId> ids = new ArrayList<>(pendientes.size());
+            for (Integer id : pendientes) {
+                ids.add(new PersonaId(id));
+            }
+            releer(ids);
+        }
+        recargas.incrementAndGet();
+        return filas(nuevo);
+    }
+
+    @Override
+    public void changed(Persona persona) {
+        lock.writeLock().lock();
+        try {
+            aplicar(contenido, persona);
+            anotarCambio(persona.getId().getValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleted(PersonaId id) {
+        lock.writeLock().lock();
+        try {
+            quitar(contenido, id.getValue());
+            anotarCambio(id.getValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void changedElsewhere(PersonaId id, int version) {
+        lock.readLock().lock();
+        try {
+            if (version(contenido, id.getValue()) >= version) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        releer(List.of(id));
+    }
+
+    /**
+     * Vuelve a leer en una sola consulta las personas del aviso que la copia tiene atrasadas
+     */
+    @Override
+    public void changedElsewhere(Map<PersonaId, Integer> versiones) {
+        List<PersonaId> atrasadas = new ArrayList<>(versiones.size());
+        lock.readLock().lock();
+        try {
+            versiones.forEach((id, version) -> {
+                if (version(contenido, id.getValue()) < version) {
+                    atrasadas.add(id);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!atrasadas.isEmpty()) {
+            releer(atrasadas);
+        }
+    }
+
+    /**
+     * La recarga completa corre en segundo plano para no frenar a quien avisa
+     */
+    @Override
+    public void resync() {
+        recargaPendiente.set(true);
+        if (recargando.compareAndSet(false, true)) {
+            Thread hilo = new Thread(this::recargarPendientes, hiloRecarga);
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+    }
+
+    /**
+     * Indica si ya terminó la primera carga
+     */
+    public boolean isLista() {
+        return lista;
+    }
+
+    public int getFilas() {
+        return leer(this::filas);
+    }
+
+    public long getRecargas() {
+        return recargas.get();
+    }
+
+    /**
+     * Ejecuta una lectura del contenido con el cerrojo de lectura
+     */
+    protected <T> T leer(Function<C, T> lectura) {
+        lock.readLock().lock();
+        try {
+            return lectura.apply(contenido);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recargarPendientes() {
+        try {
+            while (recargaPendiente.getAndSet(false)) {
+                try {
+                    long cargadas = recargar();
+                    log.info("{} recargada: {} personas", nombre, cargadas);
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo recargar la {}; se conserva la anterior", nombre.toLowerCase(), e);
+                }
+            }
+        } finally {
+            recargando.set(false);
+        }
+        // Un aviso que llegó entre la última vuelta y la liberación no debe perderse
+        if (recargaPendiente.get()) {
+            resync();
+        }
+    }
+
+    // Una persona se lee por ID; varias, con una sola consulta
+    private void releer(List<PersonaId> ids) {
+        long inicio;
+        lock.writeLock().lock();
+        try {
+            relecturasEnCurso++;
+            inicio = secuencia;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Integer, Persona> leidas = new HashMap<>();
+        boolean leidasBien = false;
+        try {
+            if (ids.size() == 1) {
+                personaRepository.findById(ids.get(0)).ifPresent(persona -> leidas.put(persona.getId().getValue(), persona));
+            } else {
+                for (Persona persona : personaRepository.findAllById(ids)) {
+                    leidas.put(persona.getId().getValue(), persona);
+                }
+            }
+            leidasBien = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (leidasBien) {
+                    for (PersonaId id : ids) {
+                        Long cambio = cambiosDuranteRelectura.get(id.getValue());
+                        if (cambio != null && cambio > inicio) {
+                            continue;
+                        }
+                        Persona leida = leidas.get(id.getValue());
+                        if (leida != null) {
+                            aplicar(contenido, leida);
+                        } else {
+                            quitar(contenido, id.getValue());
+                        }
+                        anotarCambio(id.getValue());
+                    }
+                }
+                if (--relecturasEnCurso == 0) {
+                    cambiosDuranteRelectura.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Llamar con el cerrojo de escritura
+    private void anotarCambio(int id) {
+        if (cargando) {
+            tocadasDuranteCarga.add(id);
+        }
+        secuencia++;
+        if (relecturasEnCurso > 0) {
+            cambiosDuranteRelectura.put(id, secuencia);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.company.infrastructure.adapter.memory;
+
+import com.company.domain.port.EmailFilter;
+import com.company.domain.valueobject.Email;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom escalable de emails (Almeida et al., 2007)
+ * Cuando un tramo alcanza su capacidad se añade otro del doble de tamaño y con la
+ * mitad de tasa de error, de modo que la tasa total queda acotada por la configurada
+ * sin conocer de antemano cuántos emails habrá. Las lecturas y escrituras de bits
+ * no usan bloqueos; solo la creación de tramos está sincronizada.
+ */
+public class ScalableBloomEmailFilter implements EmailFilter {
+
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+    // Proporción de error de cada tramo respecto del anterior
+    private static final double RATIO_ERROR = 0.5;
+    private static final int CRECIMIENTO = 2;
+    // Los índices de bit son enteros positivos: como mucho 2^31 bits (256 MB) por tramo
+    private static final int MAX_PALABRAS = 1 << 25;
+
+    private final long capacidadInicial;
+    private final double tasaError;
+    private volatile Tramo[] tramos;
+
+    public ScalableBloomEmailFilter(long capacidadInicial, double tasaError) {
+        if (capacidadInicial <= 0) {
+            throw new IllegalArgumentException("La capacidad inicial debe ser positiva");
+        }
+        if (tasaError <= 0 || tasaError >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1");
+        }
+        this.capacidadInicial = capacidadInicial;
+        this.tasaError = tasaError;
+        clear();
+    }
+
+    @Override
+    public boolean mightContain(Email email) {
+        long hash = hash(email.getValue());
+        for (Tramo tramo : tramos) {
+            if (tramo.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(Email email) {
+        long hash = hash(email.getValue());
+        Tramo[] actuales = tramos;
+        for (Tramo tramo : actuales) {
+            if (tramo.mightContain(hash)) {
+                return;
+            }
+        }
+        Tramo ultimo = actuales[actuales.length - 1];
+        if (ultimo.lleno()) {
+            ultimo = nuevoTramo(actuales);
+        }
+        ultimo.add(hash);
+    }
+
+    @Override
+    public synchronized void clear() {
+        // La tasa del primer tramo deja margen para la serie geométrica de los siguientes
+        tramos = new Tramo[] {new Tramo(capacidadInicial, tasaError * (1 - RATIO_ERROR))};
+    }
+
+    @Override
+    public long size() {
+        long total = 0;
+        for (Tramo tramo : tramos) {
+            total += tramo.elementos.get();
+        }
+        return total;
+    }
+
+    /**
+     * Memoria ocupada por los bits de todos los tramos
+     */
+    public long getBytes() {
+        long total = 0;
+        for (Tramo tramo : tramos) {
+            total += (long) tramo.bits.length() * Long.BYTES;
+        }
+        return total;
+    }
+
+    public int getTramos() {
+        return tramos.length;
+    }
+
+    private synchronized Tramo nuevoTramo(Tramo[] vistos) {
+        Tramo[] actuales = tramos;
+        if (actuales != vistos) {
+            // Otro hilo ya añadió un tramo (o se vació el filtro)
+            return actuales[actuales.length - 1];
+        }
+        Tramo ultimo = actuales[actuales.length - 1];
+        Tramo nuevo = new Tramo(ultimo.capacidad * CRECIMIENTO, ultimo.tasaError * RATIO_ERROR);
+        Tramo[] ampliados = new Tramo[actuales.length + 1];
+        System.arraycopy(actuales, 0, ampliados, 0, actuales.length);
+        ampliados[actuales.length] = nuevo;
+        tramos = ampliados;
+        return nuevo;
+    }
+
+    // FNV-1a de 64 bits sobre los caracteres, con mezcla final de splitmix64
+    static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+
+    private static final class Tramo {
+
+        private final long capacidad;
+        private final double tasaError;
+        private final long numBits;
+        private final int numHashes;
+        private final AtomicLongArray bits;
+        private final AtomicLong elementos = new AtomicLong();
+
+        Tramo(long capacidad, double tasaError) {
+            this.capacidad = capacidad;
+            this.tasaError = tasaError;
+            long calculados = (long) Math.ceil(-capacidad * Math.log(tasaError) / LN2_SQUARED);
+            int palabras = (int) Math.min(MAX_PALABRAS, (calculados + 63) / 64);
+            this.numBits = (long) palabras * 64;
+            this.numHashes = Math.max(1, (int) Math.round(numBits / (double) capacidad * Math.log(2)));
+            this.bits = new AtomicLongArray(palabras);
+        }
+
+        boolean lleno() {
+            return elementos.get() >= capacidad;
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long bit = indice(h1 + i * h2);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long bit = indice(h1 + i * h2);
+                int palabra = (int) (bit >>> 6);
+                long mascara = 1L << bit;
+                long actual;
+                do {
+                    actual = bits.get(palabra);
+                    if ((actual & mascara) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(palabra, actual, actual | mascara));
+            }
+            elementos.incrementAndGet();
+        }
+
+        private long indice(int combinado) {
+            // Doble hashing (Kirsch-Mitzenmacher) sobre el rango de bits del tramo
+            return (combinado & Integer.MAX_VALUE) % numBits;
+        }
+    }
+}
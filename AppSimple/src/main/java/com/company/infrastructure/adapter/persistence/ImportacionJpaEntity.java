@@ -0,0 +1,298 @@
+package com.company.infrastructure.adapter.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Entidad JPA para persistir los trabajos de importación y su punto de control
+ * La versión es nula en las filas anteriores a los arriendos; el primer
+ * reclamo la inicializa.
+ */
+@Entity
+@Table(name = "importaciones", schema = "public")
+public class ImportacionJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idimportacion")
+    private Long id;
+
+    @Column(name = "archivo", nullable = false, length = 500)
+    private String archivo;
+
+    @Column(name = "estado", nullable = false, length = 20)
+    private String estado;
+
+    @Column(name = "paralelismo", nullable = false)
+    private Integer paralelismo;
+
+    @Column(name = "tamano_lote", nullable = false)
+    private Integer tamanoLote;
+
+    @Column(name = "bytes_totales", nullable = false)
+    private Long bytesTotales;
+
+    @Column(name = "posicion", nullable = false)
+    private Long posicion;
+
+    @Column(name = "linea", nullable = false)
+    private Long linea;
+
+    @Column(name = "lotes", nullable = false)
+    private Long lotes;
+
+    @Column(name = "leidos", nullable = false)
+    private Long leidos;
+
+    @Column(name = "insertados", nullable = false)
+    private Long insertados;
+
+    @Column(name = "invalidos", nullable = false)
+    private Long invalidos;
+
+    @Column(name = "fusionados", nullable = false)
+    private Long fusionados;
+
+    @Column(name = "existentes", nullable = false)
+    private Long existentes;
+
+    // Nula en las filas anteriores a este contador
+    @Column(name = "repetidos")
+    private Long repetidos;
+
+    @Column(name = "inicio_ejecucion")
+    private Instant inicioEjecucion;
+
+    @Column(name = "posicion_inicio_ejecucion", nullable = false)
+    private Long posicionInicioEjecucion;
+
+    @Column(name = "leidos_inicio_ejecucion", nullable = false)
+    private Long leidosInicioEjecucion;
+
+    @Column(name = "creada", nullable = false)
+    private Instant creada;
+
+    @Column(name = "actualizada")
+    private Instant actualizada;
+
+    @Column(name = "finalizada")
+    private Instant finalizada;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "propietario", length = 200)
+    private String propietario;
+
+    @Column(name = "arriendo_hasta")
+    private Instant arriendoHasta;
+
+    // Constructor por defecto requerido por JPA
+    public ImportacionJpaEntity() {}
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public Integer getParalelismo() {
+        return paralelismo;
+    }
+
+    public void setParalelismo(Integer paralelismo) {
+        this.paralelismo = paralelismo;
+    }
+
+    public Integer getTamanoLote() {
+        return tamanoLote;
+    }
+
+    public void setTamanoLote(Integer tamanoLote) {
+        this.tamanoLote = tamanoLote;
+    }
+
+    public Long getBytesTotales() {
+        return bytesTotales;
+    }
+
+    public void setBytesTotales(Long bytesTotales) {
+        this.bytesTotales = bytesTotales;
+    }
+
+    public Long getPosicion() {
+        return posicion;
+    }
+
+    public void setPosicion(Long posicion) {
+        this.posicion = posicion;
+    }
+
+    public Long getLinea() {
+        return linea;
+    }
+
+    public void setLinea(Long linea) {
+        this.linea = linea;
+    }
+
+    public Long getLotes() {
+        return lotes;
+    }
+
+    public void setLotes(Long lotes) {
+        this.lotes = lotes;
+    }
+
+    public Long getLeidos() {
+        return leidos;
+    }
+
+    public void setLeidos(Long leidos) {
+        this.leidos = leidos;
+    }
+
+    public Long getInsertados() {
+        return insertados;
+    }
+
+    public void setInsertados(Long insertados) {
+        this.insertados = insertados;
+    }
+
+    public Long getInvalidos() {
+        return invalidos;
+    }
+
+    public void setInvalidos(Long invalidos) {
+        this.invalidos = invalidos;
+    }
+
+    public Long getFusionados() {
+        return fusionados;
+    }
+
+    public void setFusionados(Long fusionados) {
+        this.fusionados = fusionados;
+    }
+
+    public Long getExistentes() {
+        return existentes;
+    }
+
+    public void setExistentes(Long existentes) {
+        this.existentes = existentes;
+    }
+
+    public Long getRepetidos() {
+        return repetidos;
+    }
+
+    public void setRepetidos(Long repetidos) {
+        this.repetidos = repetidos;
+    }
+
+    public Instant getInicioEjecucion() {
+        return inicioEjecucion;
+    }
+
+    public void setInicioEjecucion(Instant inicioEjecucion) {
+        this.inicioEjecucion = inicioEjecucion;
+    }
+
+    public Long getPosicionInicioEjecucion() {
+        return posicionInicioEjecucion;
+    }
+
+    public void setPosicionInicioEjecucion(Long posicionInicioEjecucion) {
+        this.posicionInicioEjecucion = posicionInicioEjecucion;
+    }
+
+    public Long getLeidosInicioEjecucion() {
+        return leidosInicioEjecucion;
+    }
+
+    public void setLeidosInicioEjecucion(Long leidosInicioEjecucion) {
+        this.leidosInicioEjecucion = leidosInicioEjecucion;
+    }
+
+    public Instant getCreada() {
+        return creada;
+    }
+
+    public void setCreada(Instant creada) {
+        this.creada = creada;
+    }
+
+    public Instant getActualizada() {
+        return actualizada;
+    }
+
+    public void setActualizada(Instant actualizada) {
+        this.actualizada = actualizada;
+    }
+
+    public Instant getFinalizada() {
+        return finalizada;
+    }
+
+    public void setFinalizada(Instant finalizada) {
+        this.finalizada = finalizada;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getPropietario() {
+        return propietario;
+    }
+
+    public void setPropietario(String propietario) {
+        this.propietario = propietario;
+    }
+
+    public Instant getArriendoHasta() {
+        return arriendoHasta;
+    }
+
+    public void setArriendoHasta(Instant arriendoHasta) {
+        this.arriendoHasta = arriendoHasta;
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.infrastructure.adapter.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA para ImportacionJpaEntity
+ */
+@Repository
+public interface ImportacionJpaRepository extends JpaRepository<ImportacionJpaEntity, Long> {
+
+    List<ImportacionJpaEntity> findByEstadoInOrderByIdAsc(Collection<String> estados);
+
+    /**
+     * Asigna el arriendo si está libre, ya es del nodo o venció; sube la versión
+     * para que las copias leídas antes ya no se puedan guardar
+     *
+     * @return filas actualizadas: 1 si el nodo la reclamó
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportacionJpaEntity i SET i.propietario = :nodo, i.arriendoHasta = :hasta, "
+            + "i.version = COALESCE(i.version, 0) + 1 "
+            + "WHERE i.id = :id AND i.estado <> 'COMPLETADA' AND (i.propietario IS NULL "
+            + "OR i.propietario = :nodo OR i.arriendoHasta IS NULL OR i.arriendoHasta < :ahora)")
+    int reclamar(@Param("id") Long id, @Param("nodo") String nodo, @Param("ahora") Instant ahora,
+                 @Param("hasta") Instant hasta);
+}
@@ -0,0 +1,57 @@
+package com.company.infrastructure.adapter.persistence;
+
+import com.company.domain.entity.Importacion;
+import com.company.domain.port.ImportacionRepository;
+import com.company.infrastructure.adapter.mapper.ImportacionMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador del repositorio de importaciones sobre JPA
+ */
+@Repository
+public class ImportacionRepositoryAdapter implements ImportacionRepository {
+
+    private final ImportacionJpaRepository jpaRepository;
+    private final ImportacionMapper mapper;
+
+    public ImportacionRepositoryAdapter(ImportacionJpaRepository jpaRepository, ImportacionMapper mapper) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Sincroniza antes de convertir: dentro de la transacción de un lote la
+     * versión se incrementa al escribir y la copia devuelta debe llevarla
+     */
+    @Override
+    public Importacion save(Importacion importacion) {
+        return mapper.toDomainEntity(jpaRepository.saveAndFlush(mapper.toJpaEntity(importacion)));
+    }
+
+    @Override
+    public Optional<Importacion> findById(Long id) {
+        return jpaRepository.findById(id)
+                .map(mapper::toDomainEntity);
+    }
+
+    @Override
+    public List<Importacion> findByEstadoIn(List<Importacion.Estado> estados) {
+        List<String> nombres = estados.stream()
+                .map(Importacion.Estado::name)
+                .collect(Collectors.toList());
+        return jpaRepository.findByEstadoInOrderByIdAsc(nombres)
+                .stream()
+                .map(mapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean reclamar(Long id, String nodo, Instant ahora, Instant hasta) {
+        return jpaRepository.reclamar(id, nodo, ahora, hasta) == 1;
+    }
+}
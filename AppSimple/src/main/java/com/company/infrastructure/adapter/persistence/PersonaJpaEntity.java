@@ -1,6 +1,9 @@
 package com.company.infrastructure.adapter.persistence;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 
 /**
  * Entidad JPA para persistir Persona
@@ -30,6 +33,19 @@ public class PersonaJpaEntity {
     @Column(name = "direccion", nullable = false, length = 100)
     private String direccion;
 
+    // Versión de fila: bloqueo optimista y clave de las cachés de presentación
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    // Marca de cambios para ponerse al día tras cargar un snapshot (ver PersonaSnapshotManager)
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     // Constructor por defecto requerido por JPA
     public PersonaJpaEntity() {}
 
@@ -52,6 +68,18 @@ public class PersonaJpaEntity {
         this.direccion = direccion;
     }
 
+    @PrePersist
+    void alCrear() {
+        Instant ahora = Instant.now();
+        createdAt = ahora;
+        updatedAt = ahora;
+    }
+
+    @PreUpdate
+    void alActualizar() {
+        updatedAt = Instant.now();
+    }
+
     // Getters y Setters
     public Integer getId() {
         return id;
@@ -100,4 +128,28 @@ public class PersonaJpaEntity {
     public void setDireccion(String direccion) {
         this.direccion = direccion;
     }
-}
\ No newline at end of file
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
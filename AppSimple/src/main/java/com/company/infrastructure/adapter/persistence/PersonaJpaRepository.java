@@ -1,28 +1,49 @@
 package com.company.infrastructure.adapter.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repositorio JPA para PersonaJpaEntity
- * Interfaz de Spring Data JPA
+ * Interfaz de Spring Data JPA. Los listados, búsquedas y recorridos cargan las
+ * entidades como de solo lectura: Hibernate no guarda la copia para detectar
+ * cambios aunque se llamen fuera de una transacción de solo lectura. findById
+ * y findByEmail no llevan la pista porque sus entidades se pueden modificar
+ * después en la misma transacción.
  */
 @Repository
 public interface PersonaJpaRepository extends JpaRepository<PersonaJpaEntity, Integer> {
     
+    /**
+     * Filtro de texto libre sobre nombre, apellido y email
+     */
+    String FILTRO_TEXTO = "LOWER(p.nombre) LIKE :patron ESCAPE '\\' "
+            + "OR LOWER(p.apellido) LIKE :patron ESCAPE '\\' "
+            + "OR LOWER(p.email) LIKE :patron ESCAPE '\\'";
+    
     /**
      * Busca personas por nombre (búsqueda parcial, case-insensitive)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT p FROM PersonaJpaEntity p WHERE LOWER(p.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
     List<PersonaJpaEntity> findByNombreContainingIgnoreCase(@Param("nombre") String nombre);
     
     /**
      * Busca personas por apellido (búsqueda parcial, case-insensitive)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT p FROM PersonaJpaEntity p WHERE LOWER(p.apellido) LIKE LOWER(CONCAT('%', :apellido, '%'))")
     List<PersonaJpaEntity> findByApellidoContainingIgnoreCase(@Param("apellido") String apellido);
     
@@ -35,4 +56,66 @@ public interface PersonaJpaRepository extends JpaRepository<PersonaJpaEntity, In
      * Verifica si existe una persona con el email dado
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    /**
+     * Devuelve cuáles de los emails dados ya están registrados
+     */
+    @Query("SELECT p.email FROM PersonaJpaEntity p WHERE p.email IN :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+    
+    /**
+     * Bloque de (id, email) a partir de un ID, para recorrer la tabla sin OFFSET
+     */
+    @Query("SELECT p.id, p.email FROM PersonaJpaEntity p WHERE p.id > :desde ORDER BY p.id")
+    List<Object[]> findEmailsDesde(@Param("desde") Integer desde, Pageable pageable);
+    
+    /**
+     * Bloque de personas a partir de un ID, para recorrer la tabla sin OFFSET
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM PersonaJpaEntity p WHERE p.id > :desde ORDER BY p.id")
+    List<PersonaJpaEntity> findBloqueDesde(@Param("desde") Integer desde, Pageable pageable);
+    
+    /**
+     * Bloque de personas creadas o modificadas desde un instante, a partir de un ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM PersonaJpaEntity p WHERE p.updatedAt >= :modificadas AND p.id > :desde ORDER BY p.id")
+    List<PersonaJpaEntity> findModificadasDesde(@Param("modificadas") Instant modificadas,
+                                                @Param("desde") Integer desde, Pageable pageable);
+    
+    /**
+     * Busca por nombre, apellido o email con un patrón LIKE ya normalizado a minúsculas
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT p FROM PersonaJpaEntity p WHERE " + FILTRO_TEXTO,
+           countQuery = "SELECT COUNT(p) FROM PersonaJpaEntity p WHERE " + FILTRO_TEXTO)
+    Page<PersonaJpaEntity> findByTexto(@Param("patron") String patron, Pageable pageable);
+    
+    /**
+     * Igual que {@link #findByTexto} pero sin consulta de conteo
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM PersonaJpaEntity p WHERE " + FILTRO_TEXTO)
+    Slice<PersonaJpaEntity> findSliceByTexto(@Param("patron") String patron, Pageable pageable);
+    
+    /**
+     * Página sin filtro y sin consulta de conteo
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonaJpaEntity> findSliceBy(Pageable pageable);
+    
+    /**
+     * Todas las personas
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Override
+    List<PersonaJpaEntity> findAll();
+    
+    /**
+     * Página sin filtro
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Override
+    Page<PersonaJpaEntity> findAll(Pageable pageable);
+}
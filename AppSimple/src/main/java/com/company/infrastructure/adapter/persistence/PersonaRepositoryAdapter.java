@@ -2,27 +2,73 @@ package com.company.infrastructure.adapter.persistence;
 
 import com.company.domain.entity.Persona;
 import com.company.domain.port.PersonaRepository;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Pagina;
 import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
 import com.company.infrastructure.adapter.mapper.PersonaMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Adaptador del repositorio de Persona
- * Implementa el puerto del dominio usando JPA
+ * Implementa el puerto del dominio usando JPA. Las operaciones en lote van por
+ * JDBC sobre la misma conexión y transacción: con IDs IDENTITY Hibernate no
+ * agrupa los INSERT, y así cada tipo de operación viaja en un solo lote.
  */
 @Repository
 public class PersonaRepositoryAdapter implements PersonaRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(PersonaRepositoryAdapter.class);
+    private static final int SCAN_BLOCK_SIZE = 5_000;
+    // Tope de parámetros de un IN; los lotes mayores se consultan por tramos
+    private static final int IDS_POR_CONSULTA = 1_000;
+
+    private static final String COLUMNAS = "idpersona, version, nombre, apellido, email, tel, direccion";
+    private static final String INSERT = "INSERT INTO datospersonas "
+            + "(nombre, apellido, email, tel, direccion, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String UPDATE = "UPDATE datospersonas SET nombre = ?, apellido = ?, email = ?, tel = ?, "
+            + "direccion = ?, version = version + 1, updated_at = ? WHERE idpersona = ? AND version = ?";
+    private static final String DELETE = "DELETE FROM datospersonas WHERE idpersona = ?";
+
     private final PersonaJpaRepository jpaRepository;
     private final PersonaMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
 
-    public PersonaRepositoryAdapter(PersonaJpaRepository jpaRepository, PersonaMapper mapper) {
+    public PersonaRepositoryAdapter(PersonaJpaRepository jpaRepository, PersonaMapper mapper,
+                                    JdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -32,6 +78,44 @@ public class PersonaRepositoryAdapter implements PersonaRepository {
         return mapper.toDomainEntity(savedEntity);
     }
 
+    @Override
+    public List<Persona> saveAll(List<Persona> personas) {
+        if (personas.isEmpty()) {
+            return new ArrayList<>();
+        }
+        OffsetDateTime ahora = OffsetDateTime.now(ZoneOffset.UTC);
+        KeyHolder claves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT, new String[]{"idpersona"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Persona persona = personas.get(i);
+                        ps.setString(1, persona.getNombre());
+                        ps.setString(2, persona.getApellido());
+                        ps.setString(3, persona.getEmail().getValue());
+                        ps.setString(4, persona.getTelefono().getValue());
+                        ps.setString(5, persona.getDireccion());
+                        ps.setObject(6, ahora);
+                        ps.setObject(7, ahora);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return personas.size();
+                    }
+                }, claves);
+        List<Map<String, Object>> generadas = claves.getKeyList();
+        List<Persona> guardadas = new ArrayList<>(personas.size());
+        for (int i = 0; i < personas.size(); i++) {
+            Persona persona = personas.get(i);
+            // Una sola columna pedida: el nombre que le da el driver no importa
+            int id = ((Number) generadas.get(i).values().iterator().next()).intValue();
+            guardadas.add(new Persona(new PersonaId(id), 0, persona.getNombre(), persona.getApellido(),
+                    persona.getEmail(), persona.getTelefono(), persona.getDireccion()));
+        }
+        return guardadas;
+    }
+
     @Override
     public Persona update(Persona persona) {
         if (persona.getId() == null) {
@@ -43,12 +127,62 @@ public class PersonaRepositoryAdapter implements PersonaRepository {
         return mapper.toDomainEntity(updatedEntity);
     }
 
+    @Override
+    public List<Persona> updateAll(List<Persona> personas) {
+        if (personas.isEmpty()) {
+            return new ArrayList<>();
+        }
+        OffsetDateTime ahora = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> parametros = new ArrayList<>(personas.size());
+        for (Persona persona : personas) {
+            if (persona.getId() == null || persona.getVersion() == null) {
+                throw new IllegalArgumentException("No se puede actualizar en lote una persona sin ID o sin versión");
+            }
+            parametros.add(new Object[]{persona.getNombre(), persona.getApellido(), persona.getEmail().getValue(),
+                    persona.getTelefono().getValue(), persona.getDireccion(), ahora, persona.getId().getValue(),
+                    persona.getVersion()});
+        }
+        int[] filas = jdbcTemplate.batchUpdate(UPDATE, parametros);
+        List<Persona> actualizadas = new ArrayList<>(personas.size());
+        for (int i = 0; i < personas.size(); i++) {
+            Persona persona = personas.get(i);
+            // SUCCESS_NO_INFO (-2): el driver no informa filas por sentencia
+            if (filas[i] == 0) {
+                actualizadas.add(null);
+                continue;
+            }
+            actualizadas.add(new Persona(persona.getId(), persona.getVersion() + 1, persona.getNombre(),
+                    persona.getApellido(), persona.getEmail(), persona.getTelefono(), persona.getDireccion()));
+        }
+        return actualizadas;
+    }
+
     @Override
     public Optional<Persona> findById(PersonaId id) {
         return jpaRepository.findById(id.getValue())
                 .map(mapper::toDomainEntity);
     }
 
+    /**
+     * Lee por JDBC y no por JPA: el contexto de persistencia devolvería las entidades
+     * ya cargadas en la transacción sin ver los cambios de los lotes JDBC anteriores
+     */
+    @Override
+    public List<Persona> findAllById(Collection<PersonaId> ids) {
+        List<Integer> valores = ids.stream().map(PersonaId::getValue).distinct().collect(Collectors.toList());
+        List<Persona> personas = new ArrayList<>(valores.size());
+        for (int desde = 0; desde < valores.size(); desde += IDS_POR_CONSULTA) {
+            List<Integer> tramo = valores.subList(desde, Math.min(valores.size(), desde + IDS_POR_CONSULTA));
+            String sql = "SELECT " + COLUMNAS + " FROM datospersonas WHERE idpersona IN ("
+                    + String.join(",", Collections.nCopies(tramo.size(), "?")) + ")";
+            personas.addAll(jdbcTemplate.query(sql, (rs, fila) -> new Persona(new PersonaId(rs.getInt("idpersona")),
+                    rs.getInt("version"), rs.getString("nombre"), rs.getString("apellido"),
+                    new Email(rs.getString("email")), new Telefono(rs.getString("tel")), rs.getString("direccion")),
+                    tramo.toArray()));
+        }
+        return personas;
+    }
+
     @Override
     public List<Persona> findAll() {
         return jpaRepository.findAll()
@@ -62,6 +196,15 @@ public class PersonaRepositoryAdapter implements PersonaRepository {
         jpaRepository.deleteById(id.getValue());
     }
 
+    @Override
+    public void deleteAllById(Collection<PersonaId> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE, ids.stream()
+                    .map(id -> new Object[]{id.getValue()})
+                    .collect(Collectors.toList()));
+        }
+    }
+
     @Override
     public boolean existsById(PersonaId id) {
         return jpaRepository.existsById(id.getValue());
@@ -82,4 +225,132 @@ public class PersonaRepositoryAdapter implements PersonaRepository {
                 .map(mapper::toDomainEntity)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public Pagina<Persona> findPage(CriterioBusqueda criterio) {
+        Pageable pageable = toPageable(criterio);
+        Page<PersonaJpaEntity> page = criterio.tieneTexto()
+                ? jpaRepository.findByTexto(toLikePattern(criterio.getTexto()), pageable)
+                : jpaRepository.findAll(pageable);
+        List<Persona> personas = page.getContent()
+                .stream()
+                .map(mapper::toDomainEntity)
+                .collect(Collectors.toList());
+        return new Pagina<>(personas, criterio.getPagina(), criterio.getTamano(), page.getTotalElements());
+    }
+
+    @Override
+    public List<Persona> findSlice(CriterioBusqueda criterio) {
+        Pageable pageable = toPageable(criterio);
+        return (criterio.tieneTexto()
+                ? jpaRepository.findSliceByTexto(toLikePattern(criterio.getTexto()), pageable)
+                : jpaRepository.findSliceBy(pageable))
+                .getContent()
+                .stream()
+                .map(mapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Persona> findBloqueDesde(int desdeId, int tamano) {
+        return jpaRepository.findBloqueDesde(desdeId, PageRequest.of(0, tamano))
+                .stream()
+                .map(mapper::toDomainEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return jpaRepository.existsByEmail(email.getValue());
+    }
+
+    @Override
+    public Set<Email> findExistingEmails(Collection<Email> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> valores = emails.stream()
+                .map(Email::getValue)
+                .collect(Collectors.toList());
+        Set<Email> existentes = new HashSet<>();
+        for (String valor : jpaRepository.findEmailsIn(valores)) {
+            existentes.add(new Email(valor));
+        }
+        return existentes;
+    }
+
+    @Override
+    public void forEachEmail(Consumer<Email> consumidor) {
+        Pageable bloque = PageRequest.of(0, SCAN_BLOCK_SIZE);
+        Integer desde = 0;
+        List<Object[]> filas;
+        do {
+            filas = jpaRepository.findEmailsDesde(desde, bloque);
+            for (Object[] fila : filas) {
+                desde = (Integer) fila[0];
+                try {
+                    consumidor.accept(new Email((String) fila[1]));
+                } catch (IllegalArgumentException e) {
+                    // Emails heredados que no cumplen el formato actual: no pueden coincidir con uno nuevo válido
+                    log.debug("Email con formato inválido omitido en idpersona {}", desde);
+                }
+            }
+        } while (filas.size() == SCAN_BLOCK_SIZE);
+    }
+
+    @Override
+    public void forEachPersona(Consumer<Persona> consumidor) {
+        recorrerPorBloques(desde -> jpaRepository.findBloqueDesde(desde, PageRequest.of(0, SCAN_BLOCK_SIZE)),
+                (persona, entidad) -> consumidor.accept(persona));
+    }
+
+    @Override
+    public void forEachPersonaConAlta(BiConsumer<Persona, Instant> consumidor) {
+        recorrerPorBloques(desde -> jpaRepository.findBloqueDesde(desde, PageRequest.of(0, SCAN_BLOCK_SIZE)),
+                (persona, entidad) -> consumidor.accept(persona, entidad.getCreatedAt()));
+    }
+
+    @Override
+    public void forEachModifiedSince(Instant modificadas, Consumer<Persona> consumidor) {
+        recorrerPorBloques(desde -> jpaRepository.findModificadasDesde(modificadas, desde,
+                PageRequest.of(0, SCAN_BLOCK_SIZE)), (persona, entidad) -> consumidor.accept(persona));
+    }
+
+    private void recorrerPorBloques(Function<Integer, List<PersonaJpaEntity>> bloque,
+                                    BiConsumer<Persona, PersonaJpaEntity> consumidor) {
+        Integer desde = 0;
+        List<PersonaJpaEntity> entidades;
+        do {
+            entidades = bloque.apply(desde);
+            for (PersonaJpaEntity entidad : entidades) {
+                desde = entidad.getId();
+                Persona persona;
+                try {
+                    persona = mapper.toDomainEntity(entidad);
+                } catch (IllegalArgumentException e) {
+                    log.debug("Persona con datos heredados inválidos omitida en idpersona {}", desde);
+                    continue;
+                }
+                consumidor.accept(persona, entidad);
+            }
+        } while (entidades.size() == SCAN_BLOCK_SIZE);
+    }
+
+    private Pageable toPageable(CriterioBusqueda criterio) {
+        Sort.Direction direction = criterio.isAscendente() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, criterio.getCampoOrden());
+        if (!"id".equals(criterio.getCampoOrden())) {
+            // Desempate estable para que las páginas no se solapen
+            sort = sort.and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        return PageRequest.of(criterio.getPagina(), criterio.getTamano(), sort);
+    }
+
+    private String toLikePattern(String texto) {
+        String escaped = texto.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 }
\ No newline at end of file
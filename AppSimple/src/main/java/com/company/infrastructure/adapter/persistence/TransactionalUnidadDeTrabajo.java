@@ -0,0 +1,43 @@
+package com.company.infrastructure.adapter.persistence;
+
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.infrastructure.datasource.ReplicaRoutingContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Unidad de trabajo sobre el gestor de transacciones de Spring
+ * Las llamadas a los repositorios dentro de la operación comparten conexión y
+ * transacción; una excepción no comprobada la revierte entera. Las operaciones
+ * de solo lectura usan una transacción de solo lectura que el DataSource puede
+ * enviar a una réplica. En ella la sesión de Hibernate queda en FlushMode.MANUAL
+ * y carga las entidades sin la copia para detectar cambios, así que el commit no
+ * recorre lo leído, y la conexión se marca con Connection.setReadOnly (en
+ * PostgreSQL, BEGIN READ ONLY).
+ */
+@Component
+public class TransactionalUnidadDeTrabajo implements UnidadDeTrabajo {
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate soloLectura;
+
+    public TransactionalUnidadDeTrabajo(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.soloLectura = new TransactionTemplate(transactionManager);
+        this.soloLectura.setReadOnly(true);
+    }
+
+    @Override
+    public <T> T ejecutar(Supplier<T> operacion) {
+        return transactionTemplate.execute(status -> operacion.get());
+    }
+
+    @Override
+    public <T> T ejecutarSoloLectura(Supplier<T> operacion) {
+        // El destino se marca antes de abrir la transacción, que es cuando se pide la conexión
+        return ReplicaRoutingContext.enReplica(() -> soloLectura.execute(status -> operacion.get()));
+    }
+}
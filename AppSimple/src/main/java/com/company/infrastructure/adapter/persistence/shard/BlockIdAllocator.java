@@ -0,0 +1,82 @@
+package com.company.infrastructure.adapter.persistence.shard;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Asignador de IDs de persona únicos entre shards e instancias
+ * Reserva bloques de IDs consecutivos en la tabla personas_id_bloques de una
+ * base coordinadora (el primer shard) con un UPDATE que bloquea la fila, y los
+ * entrega desde memoria hasta agotarlos. Los IDs no quedan ordenados por
+ * instante de alta entre instancias y un bloque a medias se pierde al
+ * detenerse, pero nunca se repiten. Como {@code PersonaId} es un Integer
+ * positivo, agotar ese rango es un error.
+ */
+public class BlockIdAllocator {
+
+    static final String SECUENCIA = "personas";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaccion;
+    private final int tamanoBloque;
+
+    private long siguiente;
+    private long limite;
+
+    /**
+     * @param coordinador  base con la tabla personas_id_bloques
+     * @param tamanoBloque IDs reservados por viaje a la base
+     * @param minimo       primer ID si la secuencia aún no existe (p. ej. el mayor ID ya cargado + 1)
+     */
+    public BlockIdAllocator(DataSource coordinador, int tamanoBloque, LongSupplier minimo) {
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque de IDs debe ser positivo");
+        }
+        this.jdbc = new JdbcTemplate(coordinador);
+        this.transaccion = new TransactionTemplate(new DataSourceTransactionManager(coordinador));
+        // La reserva se confirma aunque el alta que la pidió se revierta: si no, otra instancia repetiría el bloque
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tamanoBloque = tamanoBloque;
+        List<Long> actual = jdbc.queryForList(
+                "SELECT siguiente FROM personas_id_bloques WHERE nombre = ?", Long.class, SECUENCIA);
+        if (actual.isEmpty()) {
+            try {
+                jdbc.update("INSERT INTO personas_id_bloques (nombre, siguiente) VALUES (?, ?)",
+                        SECUENCIA, Math.max(1, minimo.getAsLong()));
+            } catch (DuplicateKeyException e) {
+                // Otra instancia creó la secuencia a la vez
+            }
+        }
+    }
+
+    /**
+     * Siguiente ID libre
+     */
+    public synchronized int siguiente() {
+        if (siguiente >= limite) {
+            reservarBloque();
+        }
+        return (int) siguiente++;
+    }
+
+    private void reservarBloque() {
+        Long inicio = transaccion.execute(status -> {
+            jdbc.update("UPDATE personas_id_bloques SET siguiente = siguiente + ? WHERE nombre = ?",
+                    tamanoBloque, SECUENCIA);
+            return jdbc.queryForObject("SELECT siguiente FROM personas_id_bloques WHERE nombre = ?",
+                    Long.class, SECUENCIA) - tamanoBloque;
+        });
+        if (inicio + tamanoBloque - 1 > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Se agotó el rango de IDs de persona");
+        }
+        siguiente = inicio;
+        limite = inicio + tamanoBloque;
+    }
+}
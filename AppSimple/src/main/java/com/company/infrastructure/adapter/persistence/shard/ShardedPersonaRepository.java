@@ -0,0 +1,805 @@
+package com.company.infrastructure.adapter.persistence.shard;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Pagina;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.deadline.RequestDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repositorio de Persona repartido en varias bases por hash de idpersona
+ * Cada persona vive en el shard {@code hash(idpersona) mod N}; los IDs los
+ * reserva {@link BlockIdAllocator} para que sean únicos entre shards. Las
+ * operaciones por ID van a un único shard. Las consultas sin ID se lanzan en
+ * paralelo en todos los shards, cada uno devuelve sus filas ya ordenadas y se
+ * combinan con una mezcla de k vías que solo avanza lo necesario: una página
+ * pide a cada shard como mucho desplazamiento + tamaño filas y los recorridos
+ * completos avanzan por bloques de ID en cada shard.
+ * La unicidad del email solo la garantiza cada base dentro de su shard; entre
+ * shards la controla EmailUniquenessChecker antes de cada alta.
+ * Las escrituras dentro de una transacción del llamador (una UnidadDeTrabajo)
+ * se unen a ella: cada shard abre la suya en el hilo del llamador, se confirma
+ * justo antes que la del llamador y se revierte con ella, y mientras tanto las
+ * consultas a los shards usan esas mismas conexiones en ese hilo. Fuera de una
+ * transacción, cada shard confirma su parte por separado.
+ */
+public class ShardedPersonaRepository implements PersonaRepository, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedPersonaRepository.class);
+    private static final int SCAN_BLOCK_SIZE = 5_000;
+    private static final int EMAILS_POR_CONSULTA = 1_000;
+    private static final String COLUMNAS = "idpersona, version, nombre, apellido, email, tel, direccion";
+    private static final String FILTRO_TEXTO = "(LOWER(nombre) LIKE ? ESCAPE '\\' "
+            + "OR LOWER(apellido) LIKE ? ESCAPE '\\' OR LOWER(email) LIKE ? ESCAPE '\\')";
+    private static final Map<String, String> COLUMNAS_ORDEN =
+            Map.of("id", "idpersona", "nombre", "nombre", "apellido", "apellido", "email", "email");
+    private static final Comparator<Persona> POR_ID = Comparator.comparing(persona -> persona.getId().getValue());
+    private static final RowMapper<Persona> PERSONA = (rs, fila) -> persona(rs);
+
+    private final List<Shard> shards;
+    private final ExecutorService ejecutor;
+    private final BlockIdAllocator ids;
+
+    /**
+     * @param dataSources    un DataSource por shard; el orden define el reparto y no debe cambiar
+     * @param ejecutor       hilos de las consultas en paralelo
+     * @param tamanoBloqueId IDs que reserva cada instancia por viaje al coordinador
+     */
+    public ShardedPersonaRepository(List<DataSource> dataSources, ExecutorService ejecutor, int tamanoBloqueId) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("Hace falta al menos un shard");
+        }
+        List<Shard> lista = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            lista.add(new Shard(i, dataSources.get(i)));
+        }
+        this.shards = Collections.unmodifiableList(lista);
+        this.ejecutor = ejecutor;
+        this.ids = new BlockIdAllocator(dataSources.get(0), tamanoBloqueId, () -> mayorId() + 1);
+    }
+
+    /**
+     * Crea las tablas de db/shard-schema.sql si no existen
+     */
+    public static void crearEsquema(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")).execute(dataSource);
+    }
+
+    private static final class Shard {
+
+        private final int indice;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transaccion;
+
+        Shard(int indice, DataSource dataSource) {
+            this.indice = indice;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transaccion = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+
+    @Override
+    public Persona save(Persona persona) {
+        Persona nueva = conId(persona, ids.siguiente());
+        escribir(List.of(shardDe(nueva.getId())),
+                shard -> shard.jdbc.update(insert(), parametrosInsert(nueva, OffsetDateTime.now(ZoneOffset.UTC))));
+        return nueva;
+    }
+
+    @Override
+    public List<Persona> saveAll(List<Persona> personas) {
+        List<Persona> nuevas = new ArrayList<>(personas.size());
+        Map<Shard, List<Object[]>> porShard = new LinkedHashMap<>();
+        OffsetDateTime ahora = OffsetDateTime.now(ZoneOffset.UTC);
+        for (Persona persona : personas) {
+            Persona nueva = conId(persona, ids.siguiente());
+            nuevas.add(nueva);
+            porShard.computeIfAbsent(shardDe(nueva.getId()), shard -> new ArrayList<>())
+                    .add(parametrosInsert(nueva, ahora));
+        }
+        escribir(porShard.keySet(), shard -> shard.jdbc.batchUpdate(insert(), porShard.get(shard)));
+        return nuevas;
+    }
+
+    @Override
+    public Persona update(Persona persona) {
+        if (persona.getId() == null) {
+            throw new IllegalArgumentException("No se puede actualizar una persona sin ID");
+        }
+        String sql = "UPDATE datospersonas SET nombre = ?, apellido = ?, email = ?, tel = ?, direccion = ?, "
+                + "version = version + 1, updated_at = ? WHERE idpersona = ?";
+        List<Object> parametros = new ArrayList<>(List.of(persona.getNombre(), persona.getApellido(),
+                persona.getEmail().getValue(), persona.getTelefono().getValue(), persona.getDireccion(),
+                OffsetDateTime.now(ZoneOffset.UTC), persona.getId().getValue()));
+        if (persona.getVersion() != null) {
+            sql += " AND version = ?";
+            parametros.add(persona.getVersion());
+        }
+        String sentencia = sql;
+        if (escribir(List.of(shardDe(persona.getId())),
+                shard -> shard.jdbc.update(sentencia, parametros.toArray())).get(0) == 0) {
+            throw new OptimisticLockingFailureException(
+                    "La persona " + persona.getId().getValue() + " fue modificada o eliminada por otro proceso");
+        }
+        return findById(persona.getId()).orElseThrow(() -> new OptimisticLockingFailureException(
+                "La persona " + persona.getId().getValue() + " fue eliminada por otro proceso"));
+    }
+
+    @Override
+    public List<Persona> updateAll(List<Persona> personas) {
+        Map<Shard, List<Object[]>> porShard = new LinkedHashMap<>();
+        Map<Shard, List<Integer>> posiciones = new LinkedHashMap<>();
+        OffsetDateTime ahora = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Persona> actualizadas = new ArrayList<>(personas.size());
+        for (int i = 0; i < personas.size(); i++) {
+            Persona persona = personas.get(i);
+            if (persona.getId() == null || persona.getVersion() == null) {
+                throw new IllegalArgumentException("No se puede actualizar en lote una persona sin ID o sin versión");
+            }
+            Shard destino = shardDe(persona.getId());
+            posiciones.computeIfAbsent(destino, shard -> new ArrayList<>()).add(i);
+            porShard.computeIfAbsent(destino, shard -> new ArrayList<>())
+                    .add(new Object[]{persona.getNombre(), persona.getApellido(), persona.getEmail().getValue(),
+                            persona.getTelefono().getValue(), persona.getDireccion(), ahora,
+                            persona.getId().getValue(), persona.getVersion()});
+            actualizadas.add(new Persona(persona.getId(), persona.getVersion() + 1, persona.getNombre(),
+                    persona.getApellido(), persona.getEmail(), persona.getTelefono(), persona.getDireccion()));
+        }
+        String sql = "UPDATE datospersonas SET nombre = ?, apellido = ?, email = ?, tel = ?, direccion = ?, "
+                + "version = version + 1, updated_at = ? WHERE idpersona = ? AND version = ?";
+        List<Shard> destinos = new ArrayList<>(porShard.keySet());
+        List<int[]> filas = escribir(destinos, shard -> shard.jdbc.batchUpdate(sql, porShard.get(shard)));
+        for (int s = 0; s < destinos.size(); s++) {
+            List<Integer> enShard = posiciones.get(destinos.get(s));
+            for (int j = 0; j < enShard.size(); j++) {
+                // Cambiada o eliminada desde que se leyó: no se actualizó
+                if (filas.get(s)[j] == 0) {
+                    actualizadas.set(enShard.get(j), null);
+                }
+            }
+        }
+        return actualizadas;
+    }
+
+    @Override
+    public Optional<Persona> findById(PersonaId id) {
+        return shardDe(id).jdbc.query("SELECT " + COLUMNAS + " FROM datospersonas WHERE idpersona = ?",
+                PERSONA, id.getValue()).stream().findFirst();
+    }
+
+    @Override
+    public List<Persona> findAllById(Collection<PersonaId> ids) {
+        Map<Shard, List<Object>> porShard = new LinkedHashMap<>();
+        for (PersonaId id : new HashSet<>(ids)) {
+            porShard.computeIfAbsent(shardDe(id), shard -> new ArrayList<>()).add(id.getValue());
+        }
+        List<Persona> personas = new ArrayList<>(ids.size());
+        for (List<Persona> parte : enShards(porShard.keySet(), shard -> shard.jdbc.query(
+                "SELECT " + COLUMNAS + " FROM datospersonas WHERE idpersona IN ("
+                        + String.join(",", Collections.nCopies(porShard.get(shard).size(), "?")) + ")",
+                PERSONA, porShard.get(shard).toArray()))) {
+            personas.addAll(parte);
+        }
+        return personas;
+    }
+
+    @Override
+    public List<Persona> findAll() {
+        return mezclar(enTodos(shard -> shard.jdbc.query(
+                "SELECT " + COLUMNAS + " FROM datospersonas ORDER BY idpersona", PERSONA)), POR_ID, 0, Long.MAX_VALUE);
+    }
+
+    @Override
+    public void deleteById(PersonaId id) {
+        escribir(List.of(shardDe(id)),
+                shard -> shard.jdbc.update("DELETE FROM datospersonas WHERE idpersona = ?", id.getValue()));
+    }
+
+    @Override
+    public void deleteAllById(Collection<PersonaId> ids) {
+        Map<Shard, List<Object[]>> porShard = new LinkedHashMap<>();
+        for (PersonaId id : ids) {
+            porShard.computeIfAbsent(shardDe(id), shard -> new ArrayList<>()).add(new Object[]{id.getValue()});
+        }
+        escribir(porShard.keySet(),
+                shard -> shard.jdbc.batchUpdate("DELETE FROM datospersonas WHERE idpersona = ?", porShard.get(shard)));
+    }
+
+    @Override
+    public boolean existsById(PersonaId id) {
+        return !shardDe(id).jdbc.queryForList("SELECT 1 FROM datospersonas WHERE idpersona = ?",
+                Integer.class, id.getValue()).isEmpty();
+    }
+
+    @Override
+    public List<Persona> findByNombreContaining(String nombre) {
+        return buscarEnColumna("nombre", nombre);
+    }
+
+    @Override
+    public List<Persona> findByApellidoContaining(String apellido) {
+        return buscarEnColumna("apellido", apellido);
+    }
+
+    @Override
+    public Pagina<Persona> findPage(CriterioBusqueda criterio) {
+        // Cada shard cuenta y lee su parte en la misma tarea
+        String conteo = "SELECT COUNT(*) FROM datospersonas" + (criterio.tieneTexto() ? " WHERE " + FILTRO_TEXTO : "");
+        Object[] parametrosConteo = criterio.tieneTexto() ? parametrosTexto(criterio.getTexto()) : new Object[0];
+        List<Parcial> parciales = enTodos(shard -> new Parcial(leerParte(shard, criterio),
+                shard.jdbc.queryForObject(conteo, Long.class, parametrosConteo)));
+        List<Persona> personas = mezclar(parciales.stream().map(parcial -> parcial.filas).collect(Collectors.toList()),
+                comparador(criterio), criterio.getDesplazamiento(), criterio.getTamano());
+        long total = parciales.stream().mapToLong(parcial -> parcial.total).sum();
+        return new Pagina<>(personas, criterio.getPagina(), criterio.getTamano(), total);
+    }
+
+    @Override
+    public List<Persona> findSlice(CriterioBusqueda criterio) {
+        return mezclar(enTodos(shard -> leerParte(shard, criterio)), comparador(criterio),
+                criterio.getDesplazamiento(), criterio.getTamano());
+    }
+
+    @Override
+    public List<Persona> findBloqueDesde(int desdeId, int tamano) {
+        String sql = "SELECT " + COLUMNAS + " FROM datospersonas WHERE idpersona > ? ORDER BY idpersona LIMIT ?";
+        return mezclar(enTodos(shard -> shard.jdbc.query(sql, PERSONA, desdeId, tamano)), POR_ID, 0, tamano);
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return enTodos(shard -> !shard.jdbc.queryForList("SELECT 1 FROM datospersonas WHERE email = ?",
+                Integer.class, email.getValue()).isEmpty())
+                .contains(Boolean.TRUE);
+    }
+
+    @Override
+    public Set<Email> findExistingEmails(Collection<Email> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> valores = emails.stream().map(Email::getValue).collect(Collectors.toList());
+        Set<Email> existentes = new HashSet<>();
+        for (int desde = 0; desde < valores.size(); desde += EMAILS_POR_CONSULTA) {
+            List<String> tramo = valores.subList(desde, Math.min(valores.size(), desde + EMAILS_POR_CONSULTA));
+            String sql = "SELECT email FROM datospersonas WHERE email IN ("
+                    + String.join(",", Collections.nCopies(tramo.size(), "?")) + ")";
+            for (List<String> encontrados : enTodos(shard -> shard.jdbc.queryForList(sql, String.class, tramo.toArray()))) {
+                encontrados.forEach(valor -> existentes.add(new Email(valor)));
+            }
+        }
+        return existentes;
+    }
+
+    @Override
+    public void forEachEmail(Consumer<Email> consumidor) {
+        recorrer("SELECT idpersona, email FROM datospersonas WHERE idpersona > ? ORDER BY idpersona LIMIT ?",
+                new Object[0], rs -> new Email(rs.getString("email")), consumidor);
+    }
+
+    @Override
+    public void forEachPersona(Consumer<Persona> consumidor) {
+        recorrer("SELECT " + COLUMNAS + " FROM datospersonas WHERE idpersona > ? ORDER BY idpersona LIMIT ?",
+                new Object[0], ShardedPersonaRepository::persona, consumidor);
+    }
+
+    @Override
+    public void forEachModifiedSince(Instant desde, Consumer<Persona> consumidor) {
+        recorrer("SELECT " + COLUMNAS + " FROM datospersonas WHERE updated_at >= ? AND idpersona > ? "
+                        + "ORDER BY idpersona LIMIT ?",
+                new Object[]{OffsetDateTime.ofInstant(desde, ZoneOffset.UTC)},
+                ShardedPersonaRepository::persona, consumidor);
+    }
+
+    @Override
+    public void forEachPersonaConAlta(BiConsumer<Persona, Instant> consumidor) {
+        recorrer("SELECT " + COLUMNAS + ", created_at FROM datospersonas WHERE idpersona > ? ORDER BY idpersona LIMIT ?",
+                new Object[0], rs -> {
+                    OffsetDateTime alta = rs.getObject("created_at", OffsetDateTime.class);
+                    return new AbstractMap.SimpleImmutableEntry<>(persona(rs), alta != null ? alta.toInstant() : null);
+                }, fila -> consumidor.accept(fila.getKey(), fila.getValue()));
+    }
+
+    /**
+     * Cierra los pools de conexiones de los shards
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            if (shard.dataSource instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) shard.dataSource).close();
+                } catch (Exception e) {
+                    log.warn("No se pudo cerrar el pool del shard {}", shard.indice, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Shard de un ID; el hash dispersa los IDs consecutivos de un mismo bloque
+     */
+    int indiceShard(int id) {
+        int h = id;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shards.size());
+    }
+
+    private Shard shardDe(PersonaId id) {
+        return shards.get(indiceShard(id.getValue()));
+    }
+
+    private long mayorId() {
+        return enTodos(shard -> shard.jdbc.queryForObject(
+                "SELECT COALESCE(MAX(idpersona), 0) FROM datospersonas", Long.class))
+                .stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    /**
+     * Primeras desplazamiento + tamaño filas de un shard en el orden del criterio
+     */
+    private static List<Persona> leerParte(Shard shard, CriterioBusqueda criterio) {
+        long necesarias = criterio.getDesplazamiento() + criterio.getTamano();
+        String columna = COLUMNAS_ORDEN.get(criterio.getCampoOrden());
+        String direccion = criterio.isAscendente() ? " ASC" : " DESC";
+        String orden = " ORDER BY " + columna + direccion + ("idpersona".equals(columna) ? "" : ", idpersona ASC");
+        String sql = "SELECT " + COLUMNAS + " FROM datospersonas"
+                + (criterio.tieneTexto() ? " WHERE " + FILTRO_TEXTO : "") + orden + " LIMIT ?";
+        Object[] parametros = criterio.tieneTexto()
+                ? parametrosTexto(criterio.getTexto(), necesarias)
+                : new Object[]{necesarias};
+        return shard.jdbc.query(sql, PERSONA, parametros);
+    }
+
+    private List<Persona> buscarEnColumna(String columna, String texto) {
+        String sql = "SELECT " + COLUMNAS + " FROM datospersonas WHERE LOWER(" + columna + ") LIKE ? ESCAPE '\\' "
+                + "ORDER BY idpersona";
+        String patron = patronLike(texto);
+        return mezclar(enTodos(shard -> shard.jdbc.query(sql, PERSONA, patron)), POR_ID, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Recorre todos los shards por bloques de ID en una única secuencia ordenada por ID
+     * Cada shard pide su siguiente bloque en segundo plano mientras se consume el actual.
+     */
+    private <T> void recorrer(String sql, Object[] filtro, FilaMapper<T> mapper, Consumer<T> consumidor) {
+        List<Iterator<Fila<T>>> cursores = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            cursores.add(new CursorShard<>(shard, sql, filtro, mapper));
+        }
+        Iterator<Fila<T>> mezcla = new Mezcla<>(cursores, Comparator.comparingInt(fila -> fila.id));
+        while (mezcla.hasNext()) {
+            consumidor.accept(mezcla.next().valor);
+        }
+    }
+
+    private <T> List<T> enTodos(Function<Shard, T> consulta) {
+        return enShards(shards, consulta);
+    }
+
+    private <T> List<T> enShards(Collection<Shard> destino, Function<Shard, T> consulta) {
+        // Con transacciones de shard abiertas, solo el hilo del llamador ve sus cambios
+        if (destino.size() == 1 || TransactionSynchronizationManager.hasResource(this)) {
+            List<T> resultados = new ArrayList<>(destino.size());
+            for (Shard shard : destino) {
+                resultados.add(consulta.apply(shard));
+            }
+            return resultados;
+        }
+        List<CompletableFuture<T>> pendientes = new ArrayList<>(destino.size());
+        for (Shard shard : destino) {
+            pendientes.add(CompletableFuture.supplyAsync(
+                    RequestDeadline.propagar(() -> consulta.apply(shard)), ejecutor));
+        }
+        List<T> resultados = new ArrayList<>(pendientes.size());
+        for (CompletableFuture<T> pendiente : pendientes) {
+            resultados.add(esperar(pendiente));
+        }
+        return resultados;
+    }
+
+    /**
+     * Ejecuta la escritura en cada shard, unida a la transacción del llamador si la hay
+     */
+    private <T> List<T> escribir(Collection<Shard> destino, Function<Shard, T> escritura) {
+        if (destino.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return enShards(destino, shard -> shard.transaccion.execute(status -> escritura.apply(shard)));
+        }
+        TransaccionesDeShards abiertas = (TransaccionesDeShards) TransactionSynchronizationManager.getResource(this);
+        if (abiertas == null) {
+            abiertas = new TransaccionesDeShards();
+            TransactionSynchronizationManager.bindResource(this, abiertas);
+            TransactionSynchronizationManager.registerSynchronization(abiertas);
+        }
+        List<T> resultados = new ArrayList<>(destino.size());
+        for (Shard shard : destino) {
+            abiertas.unir(shard);
+            resultados.add(escritura.apply(shard));
+        }
+        return resultados;
+    }
+
+    /**
+     * Conexiones de shard unidas a la transacción del llamador en el hilo actual
+     * Cada una se abre sin autocommit y se enlaza a su DataSource para que
+     * JdbcTemplate la reutilice. Se confirman en beforeCommit: si un shard no
+     * puede confirmar, la del llamador se revierte y con ella los shards que aún
+     * no confirmaron. Lo que ya confirmó otro shard en ese instante no se deshace
+     * (no hay commit en dos fases).
+     */
+    private final class TransaccionesDeShards implements TransactionSynchronization {
+
+        private final Map<Shard, Connection> abiertas = new LinkedHashMap<>();
+        private final Set<Shard> confirmadas = new HashSet<>();
+
+        void unir(Shard shard) {
+            if (abiertas.containsKey(shard)) {
+                return;
+            }
+            try {
+                Connection conexion = shard.dataSource.getConnection();
+                try {
+                    conexion.setAutoCommit(false);
+                } catch (SQLException e) {
+                    conexion.close();
+                    throw e;
+                }
+                TransactionSynchronizationManager.bindResource(shard.dataSource, new ConexionDeShard(conexion));
+                abiertas.put(shard, conexion);
+            } catch (SQLException e) {
+                throw new CannotCreateTransactionException("No se pudo abrir la transacción del shard " + shard.indice, e);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            for (Map.Entry<Shard, Connection> abierta : abiertas.entrySet()) {
+                try {
+                    abierta.getValue().commit();
+                } catch (SQLException e) {
+                    throw new TransactionSystemException(
+                            "No se pudo confirmar la transacción del shard " + abierta.getKey().indice, e);
+                }
+                confirmadas.add(abierta.getKey());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ShardedPersonaRepository.this);
+            for (Map.Entry<Shard, Connection> abierta : abiertas.entrySet()) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(abierta.getKey().dataSource);
+                Connection conexion = abierta.getValue();
+                try {
+                    if (!confirmadas.contains(abierta.getKey())) {
+                        conexion.rollback();
+                    }
+                    conexion.setAutoCommit(true);
+                } catch (SQLException e) {
+                    log.warn("No se pudo revertir la transacción del shard {}", abierta.getKey().indice, e);
+                } finally {
+                    try {
+                        conexion.close();
+                    } catch (SQLException e) {
+                        log.warn("No se pudo cerrar la conexión del shard {}", abierta.getKey().indice, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Conexión enlazada como transacción activa
+     * Así una transacción REQUIRES_NEW sobre el mismo DataSource (la reserva de
+     * IDs) la suspende y restaura en vez de chocar con ella.
+     */
+    private static final class ConexionDeShard extends ConnectionHolder {
+
+        ConexionDeShard(Connection conexion) {
+            super(conexion);
+            setSynchronizedWithTransaction(true);
+            setTransactionActive(true);
+        }
+    }
+
+    private static <T> T esperar(CompletableFuture<T> pendiente) {
+        try {
+            return pendiente.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Mezcla de k vías de listas ya ordenadas: salta las primeras y devuelve como mucho {@code limite}
+     */
+    private static List<Persona> mezclar(List<List<Persona>> ordenadas, Comparator<Persona> orden,
+                                         long saltar, long limite) {
+        List<Iterator<Persona>> fuentes = new ArrayList<>(ordenadas.size());
+        int total = 0;
+        for (List<Persona> lista : ordenadas) {
+            fuentes.add(lista.iterator());
+            total += lista.size();
+        }
+        Iterator<Persona> mezcla = new Mezcla<>(fuentes, orden);
+        for (long i = 0; i < saltar && mezcla.hasNext(); i++) {
+            mezcla.next();
+        }
+        List<Persona> resultado = new ArrayList<>((int) Math.min(limite, total));
+        while (resultado.size() < limite && mezcla.hasNext()) {
+            resultado.add(mezcla.next());
+        }
+        return resultado;
+    }
+
+    private static Comparator<Persona> comparador(CriterioBusqueda criterio) {
+        Comparator<Persona> orden;
+        switch (criterio.getCampoOrden()) {
+            case "nombre":
+                orden = Comparator.comparing(Persona::getNombre);
+                break;
+            case "apellido":
+                orden = Comparator.comparing(Persona::getApellido);
+                break;
+            case "email":
+                orden = Comparator.comparing(persona -> persona.getEmail().getValue());
+                break;
+            default:
+                orden = POR_ID;
+        }
+        if (!criterio.isAscendente()) {
+            orden = orden.reversed();
+        }
+        // Desempate estable por ID, como en el ORDER BY de cada shard
+        return "id".equals(criterio.getCampoOrden()) ? orden : orden.thenComparing(POR_ID);
+    }
+
+    private static Persona persona(ResultSet rs) throws SQLException {
+        return new Persona(new PersonaId(rs.getInt("idpersona")), rs.getInt("version"), rs.getString("nombre"),
+                rs.getString("apellido"), new Email(rs.getString("email")), new Telefono(rs.getString("tel")),
+                rs.getString("direccion"));
+    }
+
+    private static Persona conId(Persona persona, int id) {
+        return new Persona(new PersonaId(id), 0, persona.getNombre(), persona.getApellido(), persona.getEmail(),
+                persona.getTelefono(), persona.getDireccion());
+    }
+
+    private static String insert() {
+        return "INSERT INTO datospersonas (" + COLUMNAS + ", created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private static Object[] parametrosInsert(Persona persona, OffsetDateTime ahora) {
+        return new Object[]{persona.getId().getValue(), persona.getVersion(), persona.getNombre(),
+                persona.getApellido(), persona.getEmail().getValue(), persona.getTelefono().getValue(),
+                persona.getDireccion(), ahora, ahora};
+    }
+
+    private static Object[] parametrosTexto(String texto, Object... extra) {
+        String patron = patronLike(texto);
+        Object[] parametros = new Object[3 + extra.length];
+        parametros[0] = patron;
+        parametros[1] = patron;
+        parametros[2] = patron;
+        System.arraycopy(extra, 0, parametros, 3, extra.length);
+        return parametros;
+    }
+
+    private static String patronLike(String texto) {
+        String escaped = texto.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    @FunctionalInterface
+    private interface FilaMapper<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    private static final class Parcial {
+
+        private final List<Persona> filas;
+        private final long total;
+
+        Parcial(List<Persona> filas, long total) {
+            this.filas = filas;
+            this.total = total;
+        }
+    }
+
+    private static final class Fila<T> {
+
+        private final int id;
+        private final T valor;
+
+        Fila(int id, T valor) {
+            this.id = id;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Bloque leído de un shard: las filas válidas y el último ID visto (también de filas omitidas)
+     */
+    private static final class Bloque<T> {
+
+        private final List<Fila<T>> filas = new ArrayList<>();
+        private int ultimoId;
+        private int leidas;
+    }
+
+    /**
+     * Recorrido de un shard por bloques de ID con el siguiente bloque pedido por adelantado
+     */
+    private final class CursorShard<T> implements Iterator<Fila<T>> {
+
+        private final Shard shard;
+        private final String sql;
+        private final Object[] filtro;
+        private final FilaMapper<T> mapper;
+        private final ArrayDeque<Fila<T>> actual = new ArrayDeque<>();
+        private CompletableFuture<Bloque<T>> siguiente;
+        private boolean agotado;
+
+        CursorShard(Shard shard, String sql, Object[] filtro, FilaMapper<T> mapper) {
+            this.shard = shard;
+            this.sql = sql;
+            this.filtro = filtro;
+            this.mapper = mapper;
+            this.siguiente = pedir(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (actual.isEmpty() && !agotado) {
+                Bloque<T> bloque = esperar(siguiente);
+                actual.addAll(bloque.filas);
+                if (bloque.leidas < SCAN_BLOCK_SIZE) {
+                    agotado = true;
+                } else {
+                    siguiente = pedir(bloque.ultimoId);
+                }
+            }
+            return !actual.isEmpty();
+        }
+
+        @Override
+        public Fila<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return actual.poll();
+        }
+
+        private CompletableFuture<Bloque<T>> pedir(int desde) {
+            Object[] parametros = new Object[filtro.length + 2];
+            System.arraycopy(filtro, 0, parametros, 0, filtro.length);
+            parametros[filtro.length] = desde;
+            parametros[filtro.length + 1] = SCAN_BLOCK_SIZE;
+            return CompletableFuture.supplyAsync(RequestDeadline.propagar(() -> {
+                Bloque<T> bloque = new Bloque<>();
+                shard.jdbc.query(sql, rs -> {
+                    bloque.ultimoId = rs.getInt("idpersona");
+                    bloque.leidas++;
+                    try {
+                        bloque.filas.add(new Fila<>(bloque.ultimoId, mapper.mapear(rs)));
+                    } catch (IllegalArgumentException e) {
+                        log.debug("Fila con datos heredados inválidos omitida en shard {} idpersona {}",
+                                shard.indice, bloque.ultimoId);
+                    }
+                }, parametros);
+                return bloque;
+            }), ejecutor);
+        }
+    }
+
+    /**
+     * Mezcla de k vías sobre iteradores ordenados; consume cada fuente solo a medida que avanza
+     */
+    private static final class Mezcla<T> implements Iterator<T> {
+
+        private final PriorityQueue<Cabeza<T>> cabezas;
+
+        Mezcla(List<? extends Iterator<T>> fuentes, Comparator<? super T> orden) {
+            this.cabezas = new PriorityQueue<>(Math.max(1, fuentes.size()),
+                    (a, b) -> orden.compare(a.valor, b.valor));
+            for (Iterator<T> fuente : fuentes) {
+                if (fuente.hasNext()) {
+                    cabezas.add(new Cabeza<>(fuente.next(), fuente));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cabezas.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Cabeza<T> cabeza = cabezas.poll();
+            if (cabeza == null) {
+                throw new NoSuchElementException();
+            }
+            if (cabeza.fuente.hasNext()) {
+                cabezas.add(new Cabeza<>(cabeza.fuente.next(), cabeza.fuente));
+            }
+            return cabeza.valor;
+        }
+    }
+
+    private static final class Cabeza<T> {
+
+        private final T valor;
+        private final Iterator<T> fuente;
+
+        Cabeza(T valor, Iterator<T> fuente) {
+            this.valor = valor;
+            this.fuente = fuente;
+        }
+    }
+}
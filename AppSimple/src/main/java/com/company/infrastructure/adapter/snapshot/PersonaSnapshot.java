@@ -0,0 +1,393 @@
+package com.company.infrastructure.adapter.snapshot;
+
+import com.company.domain.entity.Persona;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot binario del conjunto de personas
+ * <pre>
+ * cabecera     "PSNP" | formato (int) | marca (long, epoch ms)
+ * registros    por persona: id | version | nombre | apellido (índice) | email local | dominio (índice + 1) | telefono | direccion
+ * diccionarios apellidos: cantidad, cadenas | dominios: cantidad, cadenas
+ * referencia   id | version | email de la persona de ID más alto (id 0 si no hay personas)
+ * pie          posición de los diccionarios (long) | registros (long) | CRC32C de todo lo anterior (int)
+ * </pre>
+ * Enteros y longitudes en varint; cadenas como longitud + bytes UTF-8. Los
+ * apellidos y los dominios de email se repiten mucho y se guardan una sola vez
+ * en diccionarios al final, lo que permite escribir en una pasada. La marca es
+ * el instante desde el que hay que pedir los cambios a la base al cargarlo, y
+ * la persona de referencia identifica la base de la que salió: los IDs no se
+ * reutilizan, así que otra base no la tiene con el mismo email.
+ * La lectura mapea el archivo completo (hasta 2 GB) y verifica el CRC antes de
+ * entregar ningún registro.
+ */
+public final class PersonaSnapshot {
+
+    static final int MAGIC = 0x50534E50; // "PSNP"
+    static final int FORMATO = 2;
+    private static final int CABECERA = 16;
+    private static final int PIE = 20;
+
+    private final MappedByteBuffer datos;
+    private final Instant marca;
+    private final long registros;
+    private final int posicionDiccionarios;
+    private final String[] apellidos;
+    private final String[] dominios;
+    private final Registro referencia;
+
+    private PersonaSnapshot(MappedByteBuffer datos, Instant marca, long registros, int posicionDiccionarios,
+                            String[] apellidos, String[] dominios, Registro referencia) {
+        this.datos = datos;
+        this.marca = marca;
+        this.registros = registros;
+        this.posicionDiccionarios = posicionDiccionarios;
+        this.apellidos = apellidos;
+        this.dominios = dominios;
+        this.referencia = referencia;
+    }
+
+    /**
+     * Persona tal como se guardó en el snapshot, sin validar
+     */
+    public static final class Registro {
+
+        private final int id;
+        private final int version;
+        private final String nombre;
+        private final String apellido;
+        private final String email;
+        private final String telefono;
+        private final String direccion;
+
+        Registro(int id, int version, String nombre, String apellido, String email, String telefono,
+                 String direccion) {
+            this.id = id;
+            this.version = version;
+            this.nombre = nombre;
+            this.apellido = apellido;
+            this.email = email;
+            this.telefono = telefono;
+            this.direccion = direccion;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public String getApellido() {
+            return apellido;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getTelefono() {
+            return telefono;
+        }
+
+        public String getDireccion() {
+            return direccion;
+        }
+    }
+
+    /**
+     * Escribe un snapshot con las personas que entrega el recorrido
+     * Se escribe en un archivo temporal y se renombra al terminar, así que una
+     * caída a mitad nunca deja un snapshot incompleto en el destino.
+     *
+     * @param marca     instante desde el que habrá que ponerse al día al cargarlo
+     * @param recorrido recorre todas las personas (p. ej. {@code personaRepository::forEachPersona})
+     * @return cantidad de personas escritas
+     */
+    public static long escribir(Path destino, Instant marca, Consumer<Consumer<Persona>> recorrido)
+            throws IOException {
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        long escritos;
+        try {
+            escritos = escribirEn(temporal, marca, recorrido);
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        return escritos;
+    }
+
+    /**
+     * Abre y verifica un snapshot
+     *
+     * @throws IOException si el archivo no es un snapshot, es de otro formato o está dañado
+     */
+    public static PersonaSnapshot abrir(Path archivo) throws IOException {
+        MappedByteBuffer datos;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano < CABECERA + PIE || tamano > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño de snapshot inválido: " + tamano);
+            }
+            datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+        }
+        datos.order(ByteOrder.BIG_ENDIAN);
+        int limite = datos.limit();
+
+        CRC32C crc = new CRC32C();
+        crc.update(datos.duplicate().limit(limite - Integer.BYTES));
+        if ((int) crc.getValue() != datos.getInt(limite - Integer.BYTES)) {
+            throw new IOException("El CRC del snapshot no coincide: archivo dañado o incompleto");
+        }
+        if (datos.getInt(0) != MAGIC) {
+            throw new IOException("El archivo no es un snapshot de personas");
+        }
+        if (datos.getInt(4) != FORMATO) {
+            throw new IOException("Formato de snapshot no soportado: " + datos.getInt(4));
+        }
+        Instant marca = Instant.ofEpochMilli(datos.getLong(8));
+        long posicionDiccionarios = datos.getLong(limite - PIE);
+        long registros = datos.getLong(limite - PIE + Long.BYTES);
+        if (posicionDiccionarios < CABECERA || posicionDiccionarios > limite - PIE) {
+            throw new IOException("Posición de diccionarios inválida en el snapshot");
+        }
+
+        Lector lector = new Lector(datos, (int) posicionDiccionarios);
+        String[] apellidos = lector.diccionario();
+        String[] dominios = lector.diccionario();
+        int idReferencia = lector.varint();
+        int versionReferencia = lector.varint();
+        String emailReferencia = lector.cadena();
+        Registro referencia = idReferencia == 0 ? null
+                : new Registro(idReferencia, versionReferencia, null, null, emailReferencia, null, null);
+        return new PersonaSnapshot(datos, marca, registros, (int) posicionDiccionarios, apellidos, dominios,
+                referencia);
+    }
+
+    /**
+     * Entrega los registros en el orden en que se escribieron
+     */
+    public void forEach(Consumer<Registro> consumidor) {
+        Lector lector = new Lector(datos, CABECERA);
+        while (lector.posicion < posicionDiccionarios) {
+            int id = lector.varint();
+            int version = lector.varint();
+            String nombre = lector.cadena();
+            String apellido = apellidos[lector.varint()];
+            String local = lector.cadena();
+            int dominio = lector.varint();
+            String email = dominio == 0 ? local : local + '@' + dominios[dominio - 1];
+            consumidor.accept(new Registro(id, version, nombre, apellido, email, lector.cadena(), lector.cadena()));
+        }
+    }
+
+    public Instant getMarca() {
+        return marca;
+    }
+
+    public long getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Persona de ID más alto al escribirlo (solo id, versión y email), o null si estaba vacío
+     */
+    public Registro getReferencia() {
+        return referencia;
+    }
+
+    public long getBytes() {
+        return datos.limit();
+    }
+
+    private static long escribirEn(Path archivo, Instant marca, Consumer<Consumer<Persona>> recorrido)
+            throws IOException {
+        CRC32C crc = new CRC32C();
+        try (Salida salida = new Salida(new BufferedOutputStream(
+                new CheckedOutputStream(Files.newOutputStream(archivo), crc), 1 << 16))) {
+            salida.entero(MAGIC);
+            salida.entero(FORMATO);
+            salida.largo(marca.toEpochMilli());
+
+            Map<String, Integer> apellidos = new HashMap<>();
+            Map<String, Integer> dominios = new HashMap<>();
+            long[] escritos = new long[1];
+            Persona[] referencia = new Persona[1];
+            try {
+                recorrido.accept(persona -> {
+                    try {
+                        escribirRegistro(salida, persona, apellidos, dominios);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    escritos[0]++;
+                    if (referencia[0] == null || persona.getId().getValue() > referencia[0].getId().getValue()) {
+                        referencia[0] = persona;
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            long posicionDiccionarios = salida.escritos;
+            if (posicionDiccionarios > Integer.MAX_VALUE) {
+                throw new IOException("El snapshot supera los 2 GB que admite la carga mapeada");
+            }
+            escribirDiccionario(salida, apellidos);
+            escribirDiccionario(salida, dominios);
+            if (referencia[0] == null) {
+                salida.varint(0);
+                salida.varint(0);
+                salida.cadena("");
+            } else {
+                salida.varint(referencia[0].getId().getValue());
+                salida.varint(referencia[0].getVersion() != null ? referencia[0].getVersion() : 0);
+                salida.cadena(referencia[0].getEmail().getValue());
+            }
+            salida.largo(posicionDiccionarios);
+            salida.largo(escritos[0]);
+            // El CRC cubre todo lo escrito hasta aquí; el propio CRC queda fuera
+            salida.flush();
+            salida.entero((int) crc.getValue());
+            return escritos[0];
+        }
+    }
+
+    private static void escribirRegistro(Salida salida, Persona persona, Map<String, Integer> apellidos,
+                                         Map<String, Integer> dominios) throws IOException {
+        salida.varint(persona.getId().getValue());
+        salida.varint(persona.getVersion() != null ? persona.getVersion() : 0);
+        salida.cadena(persona.getNombre());
+        salida.varint(indice(apellidos, persona.getApellido()));
+        String email = persona.getEmail().getValue();
+        int arroba = email.lastIndexOf('@');
+        if (arroba < 0) {
+            salida.cadena(email);
+            salida.varint(0);
+        } else {
+            salida.cadena(email.substring(0, arroba));
+            salida.varint(indice(dominios, email.substring(arroba + 1)) + 1);
+        }
+        salida.cadena(persona.getTelefono().getValue());
+        salida.cadena(persona.getDireccion());
+    }
+
+    private static int indice(Map<String, Integer> diccionario, String valor) {
+        return diccionario.computeIfAbsent(valor, v -> diccionario.size());
+    }
+
+    private static void escribirDiccionario(Salida salida, Map<String, Integer> diccionario) throws IOException {
+        String[] valores = new String[diccionario.size()];
+        diccionario.forEach((valor, indice) -> valores[indice] = valor);
+        salida.varint(valores.length);
+        for (String valor : valores) {
+            salida.cadena(valor);
+        }
+    }
+
+    /**
+     * Salida que cuenta los bytes escritos; el CRC lo calcula el CheckedOutputStream de debajo
+     */
+    private static final class Salida extends DataOutputStream {
+
+        private long escritos;
+
+        Salida(OutputStream destino) {
+            super(destino);
+        }
+
+        void entero(int valor) throws IOException {
+            writeInt(valor);
+            escritos += Integer.BYTES;
+        }
+
+        void largo(long valor) throws IOException {
+            writeLong(valor);
+            escritos += Long.BYTES;
+        }
+
+        void varint(int valor) throws IOException {
+            while ((valor & ~0x7F) != 0) {
+                write((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+                escritos++;
+            }
+            write(valor);
+            escritos++;
+        }
+
+        void cadena(String valor) throws IOException {
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            write(bytes);
+            escritos += bytes.length;
+        }
+    }
+
+    private static final class Lector {
+
+        private final MappedByteBuffer datos;
+        private int posicion;
+        private byte[] copia = new byte[128];
+
+        Lector(MappedByteBuffer datos, int posicion) {
+            this.datos = datos;
+            this.posicion = posicion;
+        }
+
+        int varint() {
+            int valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = datos.get(posicion++);
+                valor |= (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while ((b & 0x80) != 0);
+            return valor;
+        }
+
+        String cadena() {
+            int longitud = varint();
+            if (longitud > copia.length) {
+                copia = new byte[Math.max(longitud, copia.length * 2)];
+            }
+            datos.position(posicion);
+            datos.get(copia, 0, longitud);
+            posicion += longitud;
+            return new String(copia, 0, longitud, StandardCharsets.UTF_8);
+        }
+
+        String[] diccionario() {
+            String[] valores = new String[varint()];
+            for (int i = 0; i < valores.length; i++) {
+                valores[i] = cadena();
+            }
+            return valores;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.company.infrastructure.adapter.snapshot;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Escritura periódica del snapshot de personas y arranque en caliente desde él
+ * Al arrancar, el filtro de emails se carga desde el snapshot mapeado y luego
+ * solo se piden a la base las filas con updated_at posterior a su marca. La
+ * marca se adelanta un margen respecto del inicio de la escritura para cubrir
+ * transacciones que estaban abiertas mientras se recorría la tabla. Solo las
+ * instancias con escritura habilitada escriben snapshots: con varias réplicas
+ * basta con que lo haga una y el resto lo lea. Un snapshot escrito desde otra
+ * base (otro perfil con la misma ruta, una base restaurada) se descarta al
+ * comprobar su persona de referencia.
+ */
+public class PersonaSnapshotManager {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonaSnapshotManager.class);
+
+    private final PersonaRepository personaRepository;
+    private final Path ruta;
+    private final Duration margen;
+    private final Duration intervalo;
+    private final boolean escritura;
+
+    private ScheduledExecutorService programador;
+
+    /**
+     * @param margen    cuánto se adelanta la marca respecto del inicio de cada escritura
+     * @param intervalo tiempo entre escrituras periódicas; cero para escribir solo al detenerse
+     * @param escritura si esta instancia escribe snapshots o solo los lee
+     */
+    public PersonaSnapshotManager(PersonaRepository personaRepository, Path ruta, Duration margen,
+                                  Duration intervalo, boolean escritura) {
+        this.personaRepository = personaRepository;
+        this.ruta = ruta;
+        this.margen = margen;
+        this.intervalo = intervalo;
+        this.escritura = escritura;
+    }
+
+    /**
+     * Programa las escrituras periódicas
+     */
+    public synchronized void iniciar() {
+        if (!escritura || intervalo.isZero() || intervalo.isNegative() || programador != null) {
+            return;
+        }
+        programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "persona-snapshot");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = intervalo.toMillis();
+        programador.scheduleWithFixedDelay(this::escribirSinFallar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancela las escrituras periódicas y escribe un último snapshot
+     */
+    public void detener() throws InterruptedException {
+        ScheduledExecutorService actual;
+        synchronized (this) {
+            actual = programador;
+            programador = null;
+        }
+        if (actual != null) {
+            actual.shutdown();
+            actual.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        if (escritura) {
+            escribirSinFallar();
+        }
+    }
+
+    /**
+     * Escribe un snapshot nuevo con todas las personas
+     *
+     * @return cantidad de personas escritas
+     */
+    public synchronized long escribir() throws IOException {
+        long inicio = System.nanoTime();
+        Instant marca = Instant.now().minus(margen);
+        Path directorio = ruta.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        long escritas = PersonaSnapshot.escribir(ruta, marca, personaRepository::forEachPersona);
+        log.info("Snapshot de personas escrito: {} personas, {} KB en {} ms",
+                escritas, Files.size(ruta) / 1024, (System.nanoTime() - inicio) / 1_000_000);
+        return escritas;
+    }
+
+    /**
+     * Escribe el snapshot sin propagar errores, para las tareas programadas y la parada
+     */
+    public void escribirSinFallar() {
+        try {
+            escribir();
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo escribir el snapshot de personas en {}", ruta, e);
+        }
+    }
+
+    /**
+     * Carga el filtro de emails desde el snapshot más los cambios posteriores
+     * Si no hay snapshot, no es válido o salió de otra base se recorre la tabla completa.
+     *
+     * @return cantidad de emails cargados
+     */
+    public long calentar(EmailUniquenessChecker checker) {
+        if (!Files.isRegularFile(ruta)) {
+            log.info("No hay snapshot de personas en {}; se carga el filtro desde la base", ruta);
+            return checker.reconstruir();
+        }
+        PersonaSnapshot snapshot;
+        try {
+            snapshot = PersonaSnapshot.abrir(ruta);
+        } catch (IOException e) {
+            log.warn("Snapshot de personas descartado: {}; se carga el filtro desde la base", e.getMessage());
+            return checker.reconstruir();
+        }
+        String distinto = diferenciaConLaBase(snapshot);
+        if (distinto != null) {
+            log.warn("Snapshot de personas descartado: {}; se carga el filtro desde la base", distinto);
+            return checker.reconstruir();
+        }
+        long[] posteriores = new long[1];
+        long cargados = checker.reconstruir(destino -> {
+            snapshot.forEach(registro -> aceptar(registro.getEmail(), destino));
+            personaRepository.forEachModifiedSince(snapshot.getMarca(), persona -> {
+                destino.accept(persona.getEmail());
+                posteriores[0]++;
+            });
+        });
+        log.info("Filtro de emails cargado desde el snapshot del {}: {} personas del snapshot y {} modificadas después",
+                snapshot.getMarca(), snapshot.getRegistros(), posteriores[0]);
+        return cargados;
+    }
+
+    /**
+     * Comprueba que la persona de referencia del snapshot siga en la base tal como se guardó o en una versión posterior
+     * Si fue eliminada también se descarta: la reconstrucción completa solo cuesta tiempo.
+     *
+     * @return el motivo para descartarlo, o null si es de esta base
+     */
+    private String diferenciaConLaBase(PersonaSnapshot snapshot) {
+        PersonaSnapshot.Registro referencia = snapshot.getReferencia();
+        if (referencia == null) {
+            return "está vacío";
+        }
+        Optional<Persona> actual = personaRepository.findById(new PersonaId(referencia.getId()));
+        if (actual.isEmpty()) {
+            return "la base no tiene su persona de referencia " + referencia.getId();
+        }
+        int version = actual.get().getVersion() != null ? actual.get().getVersion() : 0;
+        boolean mismoEmail = actual.get().getEmail().getValue().equals(referencia.getEmail());
+        // Las versiones solo crecen; con una posterior el email pudo cambiar después del snapshot
+        if (version < referencia.getVersion() || (version == referencia.getVersion() && !mismoEmail)) {
+            return "se escribió desde otra base";
+        }
+        return null;
+    }
+
+    private static void aceptar(String email, Consumer<Email> destino) {
+        if (Email.error(email) == null) {
+            destino.accept(new Email(email));
+        }
+    }
+}
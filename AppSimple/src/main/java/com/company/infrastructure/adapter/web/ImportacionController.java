@@ -0,0 +1,101 @@
+package com.company.infrastructure.adapter.web;
+
+import com.company.application.carga.ImportacionService;
+import com.company.domain.entity.Importacion;
+import com.company.infrastructure.adapter.web.dto.ImportacionRequest;
+import com.company.infrastructure.adapter.web.dto.ImportacionResponse;
+import com.company.infrastructure.adapter.web.mapper.ImportacionWebMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.Instant;
+
+/**
+ * Controlador REST de importaciones masivas
+ * Las importaciones se ejecutan en segundo plano; el cliente consulta su avance
+ * con GET hasta que terminan.
+ */
+@RestController
+@RequestMapping("/api/v1/imports")
+@Tag(name = "Importaciones", description = "API para importaciones masivas reanudables")
+public class ImportacionController {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionController.class);
+
+    private final ImportacionService importacionService;
+    private final ImportacionWebMapper webMapper;
+
+    public ImportacionController(ImportacionService importacionService, ImportacionWebMapper webMapper) {
+        this.importacionService = importacionService;
+        this.webMapper = webMapper;
+    }
+
+    @PostMapping
+    @Operation(summary = "Lanzar importación", description = "Importa un archivo CSV del directorio de importaciones del servidor")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Importación lanzada"),
+        @ApiResponse(responseCode = "400", description = "Archivo inexistente o parámetros inválidos")
+    })
+    public ResponseEntity<ImportacionResponse> iniciar(@Valid @RequestBody ImportacionRequest request) {
+        log.info("Lanzando importación de {}", request.getArchivo());
+
+        try {
+            Importacion importacion = importacionService.iniciar(
+                    request.getArchivo(), request.getParalelismo(), request.getTamanoLote());
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                            .path("/{id}").buildAndExpand(importacion.getId()).toUri())
+                    .body(toResponse(importacion));
+        } catch (IllegalArgumentException e) {
+            log.error("Error lanzando importación: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar importación", description = "Devuelve el estado, las filas por segundo, el tiempo restante y los errores")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importación encontrada"),
+        @ApiResponse(responseCode = "404", description = "Importación no encontrada")
+    })
+    public ResponseEntity<ImportacionResponse> obtener(
+            @Parameter(description = "ID de la importación") @PathVariable Long id) {
+        return importacionService.obtener(id)
+                .map(importacion -> ResponseEntity.ok(toResponse(importacion)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/resume")
+    @Operation(summary = "Reanudar importación", description = "Relanza una importación fallida desde su último punto de control")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Importación relanzada"),
+        @ApiResponse(responseCode = "400", description = "La importación ya está completada"),
+        @ApiResponse(responseCode = "404", description = "Importación no encontrada")
+    })
+    public ResponseEntity<ImportacionResponse> reanudar(
+            @Parameter(description = "ID de la importación") @PathVariable Long id) {
+        log.info("Reanudando importación con ID: {}", id);
+
+        try {
+            return importacionService.reanudar(id)
+                    .map(importacion -> ResponseEntity.accepted().body(toResponse(importacion)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.error("Error reanudando importación: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ImportacionResponse toResponse(Importacion importacion) {
+        return webMapper.toResponse(importacion, importacionService.informe(importacion.getId()), Instant.now());
+    }
+}
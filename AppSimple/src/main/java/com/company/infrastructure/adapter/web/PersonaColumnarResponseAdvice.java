@@ -0,0 +1,52 @@
+package com.company.infrastructure.adapter.web;
+
+import com.company.infrastructure.adapter.web.dto.PersonaColumnarResponse;
+import com.company.infrastructure.adapter.web.dto.PersonaResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * Codificación columnar de las listas de personas
+ * Si el cliente negocia application/vnd.personas.columnar+json, las respuestas
+ * List&lt;PersonaResponse&gt; de la API se transponen a {@link PersonaColumnarResponse}
+ * antes de serializarlas. El resto de respuestas no se modifica.
+ */
+@RestControllerAdvice(assignableTypes = PersonaController.class)
+public class PersonaColumnarResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final MediaType COLUMNAR_JSON = new MediaType("application", "vnd.personas.columnar+json");
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (!MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType)) {
+            return false;
+        }
+        ResolvableType body = ResolvableType.forMethodParameter(returnType.nestedIfOptional());
+        if (body.toClass() == ResponseEntity.class) {
+            body = body.getGeneric(0);
+        }
+        return List.class.isAssignableFrom(body.toClass())
+                && PersonaResponse.class.equals(body.getGeneric(0).resolve());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof List && COLUMNAR_JSON.equalsTypeAndSubtype(selectedContentType)) {
+            return PersonaColumnarResponse.de((List<PersonaResponse>) body);
+        }
+        return body;
+    }
+}
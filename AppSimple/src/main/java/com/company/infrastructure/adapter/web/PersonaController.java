@@ -1,7 +1,10 @@
 package com.company.infrastructure.adapter.web;
 
 import com.company.application.service.PersonaApplicationService;
+import com.company.application.usecase.ProcesarLoteUseCase;
 import com.company.domain.entity.Persona;
+import com.company.infrastructure.adapter.web.dto.PersonaBatchRequest;
+import com.company.infrastructure.adapter.web.dto.PersonaBatchResponse;
 import com.company.infrastructure.adapter.web.dto.PersonaCreateRequest;
 import com.company.infrastructure.adapter.web.dto.PersonaResponse;
 import com.company.infrastructure.adapter.web.dto.PersonaUpdateRequest;
@@ -18,7 +21,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -74,7 +79,8 @@ public class PersonaController {
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
     })
     public ResponseEntity<PersonaResponse> crearPersona(@Valid @RequestBody PersonaCreateRequest request) {
-        log.info("Creando nueva persona: {}", request);
+        log.info("Creando nueva persona");
+        log.debug("Datos de creación: {}", request);
         
         try {
             Persona persona = personaApplicationService.crearPersona(
@@ -102,7 +108,8 @@ public class PersonaController {
     public ResponseEntity<PersonaResponse> actualizarPersona(
             @Parameter(description = "ID de la persona") @PathVariable Integer id,
             @Valid @RequestBody PersonaUpdateRequest request) {
-        log.info("Actualizando persona con ID: {}, datos: {}", id, request);
+        log.info("Actualizando persona con ID: {}", id);
+        log.debug("Datos de actualización: {}", request);
         
         try {
             Optional<Persona> persona = personaApplicationService.actualizarPersona(
@@ -136,12 +143,63 @@ public class PersonaController {
         return eliminada ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Aplicar lote de operaciones",
+               description = "Aplica en orden altas, cambios y bajas con un resultado por operación; "
+                       + "cada tipo de operación viaja en un único lote de sentencias")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lote procesado; el resultado de cada operación indica si se aplicó"),
+        @ApiResponse(responseCode = "400", description = "Lote vacío, demasiado grande o con operaciones mal formadas"),
+        @ApiResponse(responseCode = "422", description = "Lote atómico con operaciones fallidas: no se aplicó ninguna")
+    })
+    public ResponseEntity<PersonaBatchResponse> procesarLote(@Valid @RequestBody PersonaBatchRequest request) {
+        log.info("Procesando lote de {} operaciones (atómico: {})", request.getOperaciones().size(), request.isAtomico());
+
+        List<ProcesarLoteUseCase.Resultado> resultados;
+        try {
+            List<ProcesarLoteUseCase.Operacion> operaciones = new ArrayList<>(request.getOperaciones().size());
+            for (PersonaBatchRequest.Operacion operacion : request.getOperaciones()) {
+                operaciones.add(new ProcesarLoteUseCase.Operacion(
+                        ProcesarLoteUseCase.TipoOperacion.valueOf(operacion.getTipo().toUpperCase(Locale.ROOT)),
+                        operacion.getId(), operacion.getNombre(), operacion.getApellido(), operacion.getEmail(),
+                        operacion.getTelefono(), operacion.getDireccion()));
+            }
+            resultados = personaApplicationService.procesarLote(operaciones, request.isAtomico());
+        } catch (IllegalArgumentException e) {
+            log.error("Error validando lote de personas: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        int aplicadas = 0;
+        // Todas las operaciones de un tramo fallido comparten la causa: se registra una vez
+        RuntimeException registrada = null;
+        List<PersonaBatchResponse.Resultado> response = new ArrayList<>(resultados.size());
+        for (ProcesarLoteUseCase.Resultado resultado : resultados) {
+            if (resultado.getEstado().isCorrecto()) {
+                aplicadas++;
+            }
+            if (resultado.getCausa() != null && resultado.getCausa() != registrada) {
+                registrada = resultado.getCausa();
+                log.error("No se pudo confirmar un tramo del lote de personas", registrada);
+            }
+            response.add(new PersonaBatchResponse.Resultado(resultado.getIndice(), resultado.getTipo().name(),
+                    resultado.getEstado().name(),
+                    resultado.getPersona() != null ? webMapper.toResponse(resultado.getPersona()) : null,
+                    resultado.getError()));
+        }
+        PersonaBatchResponse body = new PersonaBatchResponse(aplicadas, resultados.size() - aplicadas, response);
+        return request.isAtomico() && aplicadas < resultados.size()
+                ? ResponseEntity.unprocessableEntity().body(body)
+                : ResponseEntity.ok(body);
+    }
+
     @GetMapping("/buscar/nombre")
     @Operation(summary = "Buscar por nombre", description = "Busca personas por nombre (búsqueda parcial)")
     @ApiResponse(responseCode = "200", description = "Búsqueda completada")
     public ResponseEntity<List<PersonaResponse>> buscarPorNombre(
             @Parameter(description = "Nombre a buscar") @RequestParam String nombre) {
-        log.info("Buscando personas por nombre: {}", nombre);
+        log.info("Buscando personas por nombre");
+        log.debug("Nombre buscado: {}", nombre);
         
         List<Persona> personas = personaApplicationService.buscarPersonasPorNombre(nombre);
         List<PersonaResponse> response = webMapper.toResponseList(personas);
@@ -153,7 +211,8 @@ public class PersonaController {
     @ApiResponse(responseCode = "200", description = "Búsqueda completada")
     public ResponseEntity<List<PersonaResponse>> buscarPorApellido(
             @Parameter(description = "Apellido a buscar") @RequestParam String apellido) {
-        log.info("Buscando personas por apellido: {}", apellido);
+        log.info("Buscando personas por apellido");
+        log.debug("Apellido buscado: {}", apellido);
         
         List<Persona> personas = personaApplicationService.buscarPersonasPorApellido(apellido);
         List<PersonaResponse> response = webMapper.toResponseList(personas);
@@ -0,0 +1,175 @@
+package com.company.infrastructure.adapter.web;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.valueobject.PersonaId;
+import com.company.infrastructure.adapter.web.mapper.PersonaWebMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de filas HTML ya renderizadas y escapadas del listado de personas
+ * La clave es el ID más la versión de fila: una fila solo se vuelve a renderizar
+ * cuando la persona cambia. Los casos de uso de escritura la invalidan como
+ * {@link PersonaChangeNotifier}. Al llenarse descarta la fila usada hace más
+ * tiempo. Las filas se comparten entre sesiones, así que se renderizan sin
+ * codificar las URLs: un {@code ;jsessionid=} de quien la renderizó no debe
+ * acabar en las páginas de los demás.
+ */
+@Component
+public class PersonaRowFragmentCache implements PersonaChangeNotifier {
+
+    private static final String ROW_TEMPLATE = "fragments/persona-row";
+    private static final Set<String> ROW_SELECTOR = Set.of("row");
+
+    private final ITemplateEngine templateEngine;
+    private final PersonaWebMapper webMapper;
+    private final JakartaServletWebApplication webApplication;
+    private final int maxEntries;
+    // Orden de acceso: la primera entrada es la usada hace más tiempo
+    private final LinkedHashMap<Integer, CachedRow> rows;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PersonaRowFragmentCache(ITemplateEngine templateEngine, PersonaWebMapper webMapper,
+                                   ServletContext servletContext, MeterRegistry meterRegistry,
+                                   @Value("${personas.web.row-cache.max-entries:100000}") int maxEntries) {
+        this.templateEngine = templateEngine;
+        this.webMapper = webMapper;
+        this.webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        this.maxEntries = maxEntries;
+        this.rows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedRow> eldest) {
+                return size() > PersonaRowFragmentCache.this.maxEntries;
+            }
+        };
+
+        Gauge.builder("personas.web.row-cache.size", this, PersonaRowFragmentCache::size)
+                .description("Filas HTML en caché")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.web.row-cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.web.row-cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve el HTML de la fila de la persona, renderizándolo solo si no está en caché
+     */
+    public String render(Persona persona, HttpServletRequest request, HttpServletResponse response) {
+        Integer id = persona.getId().getValue();
+        Integer version = persona.getVersion();
+
+        CachedRow cached;
+        synchronized (rows) {
+            cached = rows.get(id);
+        }
+        if (cached != null && version != null && version.equals(cached.version)) {
+            hits.incrementAndGet();
+            return cached.html;
+        }
+
+        misses.incrementAndGet();
+        WebContext context = new WebContext(
+                webApplication.buildExchange(request, new SinCodificarUrls(response)), request.getLocale());
+        context.setVariable("persona", webMapper.toResponse(persona));
+        String html = templateEngine.process(ROW_TEMPLATE, ROW_SELECTOR, context);
+
+        if (version != null) {
+            synchronized (rows) {
+                rows.put(id, new CachedRow(version, html));
+            }
+        }
+        return html;
+    }
+
+    @Override
+    public void changed(Persona persona) {
+        if (persona.getId() != null) {
+            deleted(persona.getId());
+        }
+    }
+
+    @Override
+    public void deleted(PersonaId id) {
+        synchronized (rows) {
+            rows.remove(id.getValue());
+        }
+    }
+
+    @Override
+    public void changedElsewhere(PersonaId id, int version) {
+        synchronized (rows) {
+            rows.computeIfPresent(id.getValue(), (key, cached) -> cached.version < version ? null : cached);
+        }
+    }
+
+    @Override
+    public void resync() {
+        clear();
+    }
+
+    /**
+     * Vacía la caché completa
+     */
+    public void clear() {
+        synchronized (rows) {
+            rows.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (rows) {
+            return rows.size();
+        }
+    }
+
+    /**
+     * Respuesta que deja las URLs tal cual, sin el ID de sesión
+     */
+    private static final class SinCodificarUrls extends HttpServletResponseWrapper {
+
+        SinCodificarUrls(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+    }
+
+    private static final class CachedRow {
+
+        private final int version;
+        private final String html;
+
+        CachedRow(int version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
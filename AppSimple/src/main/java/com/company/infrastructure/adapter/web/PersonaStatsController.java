@@ -0,0 +1,105 @@
+package com.company.infrastructure.adapter.web;
+
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore;
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore.Agregado;
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore.Agrupacion;
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore.Resumen;
+import com.company.infrastructure.adapter.web.dto.PersonaStatsResponse;
+import com.company.infrastructure.adapter.web.dto.PersonaStatsSummaryResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Controlador REST de estadísticas de personas
+ * Responde desde la instantánea columnar en memoria, sin consultar la base; con
+ * personas.analytics.enabled=false devuelve 404 y mientras se hace la primera
+ * carga, 503.
+ */
+@RestController
+@RequestMapping("/api/v1/personas/stats")
+@Tag(name = "Estadísticas", description = "Agrupaciones de personas calculadas en memoria")
+public class PersonaStatsController {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonaStatsController.class);
+
+    private final ObjectProvider<PersonaColumnStore> columnStore;
+
+    public PersonaStatsController(ObjectProvider<PersonaColumnStore> columnStore) {
+        this.columnStore = columnStore;
+    }
+
+    @GetMapping
+    @Operation(summary = "Resumen de personas", description = "Personas, dominios y apellidos distintos, teléfonos con prefijo y rango de altas")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Resumen calculado"),
+        @ApiResponse(responseCode = "503", description = "La instantánea todavía se está cargando")
+    })
+    public ResponseEntity<PersonaStatsSummaryResponse> resumen() {
+        PersonaColumnStore store = columnStore.getIfAvailable();
+        if (store == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!store.isLista()) {
+            return noLista();
+        }
+        Resumen resumen = store.resumen();
+        return ResponseEntity.ok(new PersonaStatsSummaryResponse(resumen.getPersonas(), resumen.getDominios(),
+                resumen.getApellidos(), resumen.getConPrefijoPais(), resumen.getSinFechaAlta(),
+                resumen.getPrimeraAlta(), resumen.getUltimaAlta()));
+    }
+
+    @GetMapping(params = "groupBy")
+    @Operation(summary = "Agrupar personas", description = "Personas por dominio de email, apellido, prefijo de país o periodo de alta")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Agrupación calculada"),
+        @ApiResponse(responseCode = "400", description = "Agrupación o top inválidos"),
+        @ApiResponse(responseCode = "503", description = "La instantánea todavía se está cargando")
+    })
+    public ResponseEntity<PersonaStatsResponse> agrupar(
+            @Parameter(description = "dominio, apellido, pais, mes o dia") @RequestParam String groupBy,
+            @Parameter(description = "Grupos más numerosos o periodos más recientes a devolver (0 = todos)")
+            @RequestParam(defaultValue = "10") int top) {
+        PersonaColumnStore store = columnStore.getIfAvailable();
+        if (store == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!store.isLista()) {
+            return noLista();
+        }
+        try {
+            Agrupacion agrupacion = Agrupacion.valueOf(groupBy.toUpperCase(Locale.ROOT));
+            long inicio = System.nanoTime();
+            Agregado agregado = store.agrupar(agrupacion, top);
+            long tiempoMs = (System.nanoTime() - inicio) / 1_000_000;
+            List<PersonaStatsResponse.Grupo> grupos = agregado.getGrupos().stream()
+                    .map(grupo -> new PersonaStatsResponse.Grupo(grupo.getClave(), grupo.getCantidad(),
+                            grupo.getAcumulado()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new PersonaStatsResponse(agrupacion.name().toLowerCase(Locale.ROOT),
+                    agregado.getPersonas(), agregado.getDistintos(), grupos, tiempoMs));
+        } catch (IllegalArgumentException e) {
+            log.error("Error agrupando personas por {}: {}", groupBy, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static <T> ResponseEntity<T> noLista() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+    }
+}
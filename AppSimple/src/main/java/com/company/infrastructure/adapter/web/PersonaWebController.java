@@ -2,8 +2,10 @@ package com.company.infrastructure.adapter.web;
 
 import com.company.application.service.PersonaApplicationService;
 import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Pagina;
 import com.company.infrastructure.adapter.web.dto.PersonaCreateRequest;
-import com.company.infrastructure.adapter.web.dto.PersonaResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,8 +16,8 @@ import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Controlador web para vistas Thymeleaf
@@ -28,44 +30,70 @@ public class PersonaWebController {
     private static final Logger log = LoggerFactory.getLogger(PersonaWebController.class);
     private static final String INDEX_VIEW = "index";
     private static final String FORM_VIEW = "index2";
+    // Tamaño de bloque de consulta para páginas renderizadas en streaming
+    private static final int STREAMING_BLOCK_SIZE = 50;
 
     private final PersonaApplicationService personaApplicationService;
+    private final PersonaRowFragmentCache rowCache;
 
-    public PersonaWebController(PersonaApplicationService personaApplicationService) {
+    public PersonaWebController(PersonaApplicationService personaApplicationService, PersonaRowFragmentCache rowCache) {
         this.personaApplicationService = personaApplicationService;
+        this.rowCache = rowCache;
     }
 
     /**
      * Vuelve a la vista principal al cancelar
      */
     @GetMapping("/cancelar")
-    public ModelAndView cancelar() {
-        return listarPersonas();
+    public ModelAndView cancelar(HttpServletRequest request, HttpServletResponse response) {
+        return listarPersonas(null, null, null, null, request, response);
     }
 
     /**
-     * Lista todas las personas en la vista principal
+     * Lista una página de personas en la vista principal
+     * La paginación, el orden y el filtro se resuelven en la base de datos.
+     * Las páginas grandes se consultan por bloques mientras se renderizan y
+     * cada fila se sirve desde la caché de fragmentos HTML.
      */
     @GetMapping("/listado")
-    public ModelAndView listarPersonas() {
-        log.info("Listando todas las personas en vista web");
+    public ModelAndView listarPersonas(@RequestParam(value = "page", required = false) Integer page,
+                                       @RequestParam(value = "size", required = false) Integer size,
+                                       @RequestParam(value = "sort", required = false) String sort,
+                                       @RequestParam(value = "q", required = false) String q,
+                                       HttpServletRequest request, HttpServletResponse response) {
+        CriterioBusqueda criterio = CriterioBusqueda.de(page, size, sort, q);
+        log.info("Listando personas en vista web: página {}, tamaño {}", criterio.getPagina(), criterio.getTamano());
         ModelAndView mav = new ModelAndView(INDEX_VIEW);
-        List<Persona> personas = personaApplicationService.obtenerTodasLasPersonas();
-        
-        // Convertir las entidades de dominio a DTOs para la vista
-        List<PersonaResponse> personasResponse = personas.stream()
-                .map(persona -> new PersonaResponse(
-                    persona.getId() != null ? persona.getId().getValue() : null,
-                    persona.getNombre(),
-                    persona.getApellido(),
-                    persona.getEmail() != null ? persona.getEmail().getValue() : null,
-                    persona.getTelefono() != null ? persona.getTelefono().getValue() : null,
-                    persona.getDireccion(),
-                    persona.getNombreCompleto()
-                ))
-                .collect(java.util.stream.Collectors.toList());
-        
-        mav.addObject("personas", personasResponse);
+
+        Function<Persona, String> fila = persona -> rowCache.render(persona, request, response);
+        long totalRegistros;
+        Iterable<String> filas;
+        if (criterio.getTamano() > STREAMING_BLOCK_SIZE && criterio.getTamano() % STREAMING_BLOCK_SIZE == 0) {
+            // El primer bloque trae también el total; el resto se consulta durante el renderizado
+            int bloquesPorPagina = criterio.getTamano() / STREAMING_BLOCK_SIZE;
+            Pagina<Persona> primerBloque = personaApplicationService.obtenerPaginaPersonas(
+                    criterio.conPagina(criterio.getPagina() * bloquesPorPagina, STREAMING_BLOCK_SIZE));
+            totalRegistros = primerBloque.getTotalElementos();
+            filas = new StreamedPersonaRows<>(
+                    primerBloque.map(fila).getContenido(),
+                    criterio,
+                    STREAMING_BLOCK_SIZE,
+                    personaApplicationService::obtenerPorcionPersonas,
+                    fila);
+        } else {
+            Pagina<Persona> pagina = personaApplicationService.obtenerPaginaPersonas(criterio);
+            totalRegistros = pagina.getTotalElementos();
+            filas = pagina.map(fila).getContenido();
+        }
+
+        int totalPaginas = (int) ((totalRegistros + criterio.getTamano() - 1) / criterio.getTamano());
+        mav.addObject("personas", filas);
+        mav.addObject("totalRegistros", totalRegistros);
+        mav.addObject("paginaActual", criterio.getPagina());
+        mav.addObject("totalPaginas", totalPaginas);
+        mav.addObject("tamano", criterio.getTamano());
+        mav.addObject("orden", criterio.getOrden());
+        mav.addObject("q", criterio.getTexto());
         return mav;
     }
 
@@ -86,7 +114,8 @@ public class PersonaWebController {
     @PostMapping("/addpersona")
     public String agregarPersona(@ModelAttribute("person") PersonaCreateRequest personaRequest, 
                                 Model model, RedirectAttributes redirectAttributes) {
-        log.info("Procesando formulario para crear persona: {}", personaRequest);
+        log.info("Procesando formulario para crear persona");
+        log.debug("Datos del formulario: {}", personaRequest);
         
         try {
             model.addAttribute("person", personaRequest);
@@ -128,7 +157,8 @@ public class PersonaWebController {
      * Muestra formulario para editar persona
      */
     @GetMapping("/editarpersona")
-    public ModelAndView editarPersona(@RequestParam("id") Integer id, Model model) {
+    public ModelAndView editarPersona(@RequestParam("id") Integer id, Model model,
+                                      HttpServletRequest request, HttpServletResponse response) {
         log.info("Mostrando formulario para editar persona con ID: {}", id);
         
         Optional<Persona> personaOptional = personaApplicationService.obtenerPersonaPorId(id);
@@ -148,7 +178,7 @@ public class PersonaWebController {
             return new ModelAndView(FORM_VIEW);
         } else {
             log.warn("Persona con ID {} no encontrada", id);
-            ModelAndView mav = listarPersonas();
+            ModelAndView mav = listarPersonas(null, null, null, null, request, response);
             mav.addObject("error", "Persona no encontrada");
             return mav;
         }
@@ -161,7 +191,8 @@ public class PersonaWebController {
     public String actualizarPersona(@RequestParam(value = "id", required = false) Integer id,
                                    @ModelAttribute("person") PersonaCreateRequest personaRequest,
                                    Model model, RedirectAttributes redirectAttributes) {
-        log.info("Actualizando persona con ID: {}, datos: {}", id, personaRequest);
+        log.info("Actualizando persona con ID: {}", id);
+        log.debug("Datos del formulario: {}", personaRequest);
         
         if (id == null) {
             model.addAttribute("error", "ID de persona no proporcionado");
@@ -0,0 +1,77 @@
+package com.company.infrastructure.adapter.web;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.CriterioBusqueda;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filas de una página grande que se consultan por bloques mientras Thymeleaf las recorre
+ * Con la salida parcial de Thymeleaf activada, las primeras filas se escriben en la
+ * respuesta antes de que se consulten los bloques siguientes
+ */
+class StreamedPersonaRows<T> implements Iterable<T> {
+
+    private final List<T> primerBloque;
+    private final CriterioBusqueda criterio;
+    private final int tamanoBloque;
+    private final Function<CriterioBusqueda, List<Persona>> consultaBloque;
+    private final Function<Persona, T> conversion;
+
+    /**
+     * @param primerBloque   filas ya consultadas del primer bloque de la página
+     * @param criterio       criterio de la página completa
+     * @param tamanoBloque   tamaño de bloque; divide exactamente al tamaño de página
+     * @param consultaBloque consulta de un bloque sin conteo
+     */
+    StreamedPersonaRows(List<T> primerBloque, CriterioBusqueda criterio, int tamanoBloque,
+                        Function<CriterioBusqueda, List<Persona>> consultaBloque,
+                        Function<Persona, T> conversion) {
+        this.primerBloque = primerBloque;
+        this.criterio = criterio;
+        this.tamanoBloque = tamanoBloque;
+        this.consultaBloque = consultaBloque;
+        this.conversion = conversion;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private final int bloquesPorPagina = criterio.getTamano() / tamanoBloque;
+            private final int primerBloqueGlobal = criterio.getPagina() * bloquesPorPagina;
+            private int bloqueActual = 0;
+            private List<T> filas = primerBloque;
+            private int posicion = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (posicion >= filas.size()) {
+                    // Un bloque incompleto indica que no hay más resultados
+                    if (filas.size() < tamanoBloque || bloqueActual + 1 >= bloquesPorPagina) {
+                        return false;
+                    }
+                    bloqueActual++;
+                    CriterioBusqueda bloque = criterio.conPagina(primerBloqueGlobal + bloqueActual, tamanoBloque);
+                    filas = consultaBloque.apply(bloque).stream()
+                            .map(conversion)
+                            .collect(Collectors.toList());
+                    posicion = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return filas.get(posicion++);
+            }
+        };
+    }
+}
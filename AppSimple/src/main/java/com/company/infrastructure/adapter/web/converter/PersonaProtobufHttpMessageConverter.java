@@ -0,0 +1,95 @@
+package com.company.infrastructure.adapter.web.converter;
+
+import com.company.infrastructure.adapter.web.dto.PersonaResponse;
+import com.company.infrastructure.adapter.web.mapper.PersonaProtoMapper;
+import com.google.protobuf.Message;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Convertidor de respuestas de personas a Protobuf (Accept: application/x-protobuf)
+ * Escribe PersonaResponse como personas.v1.Persona y las listas como personas.v1.PersonaLista
+ * según el esquema src/main/proto/persona.proto. Solo escritura.
+ */
+public class PersonaProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    static final String MESSAGE_HEADER = "X-Protobuf-Message";
+    static final String SCHEMA_HEADER = "X-Protobuf-Schema";
+    private static final String SCHEMA = "persona.proto";
+
+    private final PersonaProtoMapper protoMapper;
+
+    public PersonaProtobufHttpMessageConverter(PersonaProtoMapper protoMapper) {
+        super(PROTOBUF);
+        this.protoMapper = protoMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PersonaResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (supports(clazz)) {
+            return true;
+        }
+        // Listas: el tipo de elemento sale del tipo genérico declarado en el controlador
+        ResolvableType coleccion = (type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz))
+                .asCollection();
+        Class<?> elemento = coleccion.resolveGeneric(0);
+        return coleccion != ResolvableType.NONE && elemento != null && PersonaResponse.class.isAssignableFrom(elemento);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // Para listas la clase sola no basta (falta el tipo de elemento); lo decide canWrite con el tipo genérico
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Message message = body instanceof PersonaResponse
+                ? protoMapper.toMessage((PersonaResponse) body)
+                : protoMapper.toMessage((Collection<PersonaResponse>) body);
+
+        outputMessage.getHeaders().set(MESSAGE_HEADER, message.getDescriptorForType().getFullName());
+        outputMessage.getHeaders().set(SCHEMA_HEADER, SCHEMA);
+        outputMessage.getHeaders().setContentLength(message.getSerializedSize());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Lectura Protobuf no soportada", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Lectura Protobuf no soportada", inputMessage);
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.infrastructure.adapter.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO para lanzar una importación
+ */
+@Schema(description = "Datos para lanzar una importación desde un archivo del servidor")
+public class ImportacionRequest {
+
+    @NotBlank(message = "El archivo es obligatorio")
+    @Schema(description = "Ruta del archivo CSV relativa al directorio de importaciones", example = "personas.csv", required = true)
+    private String archivo;
+
+    @Min(value = 1, message = "El paralelismo debe ser al menos 1")
+    @Max(value = 64, message = "El paralelismo no puede exceder 64")
+    @Schema(description = "Hilos de validación y deduplicación (por defecto el configurado)", example = "4")
+    private Integer paralelismo;
+
+    @Min(value = 100, message = "El lote debe tener al menos 100 filas")
+    @Max(value = 100000, message = "El lote no puede exceder 100000 filas")
+    @Schema(description = "Filas por transacción y punto de control (por defecto el configurado)", example = "5000")
+    private Integer tamanoLote;
+
+    // Constructor por defecto
+    public ImportacionRequest() {}
+
+    // Constructor completo
+    public ImportacionRequest(String archivo, Integer paralelismo, Integer tamanoLote) {
+        this.archivo = archivo;
+        this.paralelismo = paralelismo;
+        this.tamanoLote = tamanoLote;
+    }
+
+    // Getters y Setters
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public Integer getParalelismo() {
+        return paralelismo;
+    }
+
+    public void setParalelismo(Integer paralelismo) {
+        this.paralelismo = paralelismo;
+    }
+
+    public Integer getTamanoLote() {
+        return tamanoLote;
+    }
+
+    public void setTamanoLote(Integer tamanoLote) {
+        this.tamanoLote = tamanoLote;
+    }
+}
@@ -0,0 +1,266 @@
+package com.company.infrastructure.adapter.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * DTO de respuesta con el estado y el avance de una importación
+ */
+@Schema(description = "Estado y avance de una importación")
+public class ImportacionResponse {
+
+    @Schema(description = "ID de la importación", example = "1")
+    private Long id;
+
+    @Schema(description = "Archivo importado", example = "/datos/importaciones/personas.csv")
+    private String archivo;
+
+    @Schema(description = "PENDIENTE, EN_CURSO, COMPLETADA o FALLIDA", example = "EN_CURSO")
+    private String estado;
+
+    @Schema(description = "Hilos de validación y deduplicación", example = "4")
+    private Integer paralelismo;
+
+    @Schema(description = "Filas por transacción y punto de control", example = "5000")
+    private Integer tamanoLote;
+
+    @Schema(description = "Lotes confirmados", example = "120")
+    private Long lotes;
+
+    @Schema(description = "Filas leídas", example = "600000")
+    private Long leidos;
+
+    @Schema(description = "Personas insertadas", example = "590000")
+    private Long insertados;
+
+    @Schema(description = "Filas rechazadas por validación", example = "4000")
+    private Long invalidos;
+
+    @Schema(description = "Filas fusionadas como duplicados", example = "5000")
+    private Long fusionados;
+
+    @Schema(description = "Filas con un email ya registrado", example = "1000")
+    private Long existentes;
+
+    @Schema(description = "Filas con un email repetido en el mismo archivo (personas distintas)", example = "200")
+    private Long repetidos;
+
+    @Schema(description = "Filas rechazadas en total (inválidas, con email existente o repetido)", example = "5200")
+    private Long errores;
+
+    @Schema(description = "Bytes del archivo confirmados", example = "402653184")
+    private Long bytesProcesados;
+
+    @Schema(description = "Tamaño del archivo", example = "4294967296")
+    private Long bytesTotales;
+
+    @Schema(description = "Avance sobre el tamaño del archivo", example = "9.4")
+    private Double porcentaje;
+
+    @Schema(description = "Filas leídas por segundo en la ejecución actual", example = "25000.0")
+    private Double filasPorSegundo;
+
+    @Schema(description = "Tiempo restante estimado; null si aún no se puede estimar", example = "3520")
+    private Long segundosRestantes;
+
+    @Schema(description = "Fecha de creación")
+    private Instant creada;
+
+    @Schema(description = "Último punto de control")
+    private Instant actualizada;
+
+    @Schema(description = "Fecha de finalización")
+    private Instant finalizada;
+
+    @Schema(description = "Ruta del informe de errores (CSV linea,campo,mensaje)", example = "/datos/informes/importacion-1-errores.csv")
+    private String informeErrores;
+
+    @Schema(description = "Causa del fallo si la importación falló")
+    private String error;
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public Integer getParalelismo() {
+        return paralelismo;
+    }
+
+    public void setParalelismo(Integer paralelismo) {
+        this.paralelismo = paralelismo;
+    }
+
+    public Integer getTamanoLote() {
+        return tamanoLote;
+    }
+
+    public void setTamanoLote(Integer tamanoLote) {
+        this.tamanoLote = tamanoLote;
+    }
+
+    public Long getLotes() {
+        return lotes;
+    }
+
+    public void setLotes(Long lotes) {
+        this.lotes = lotes;
+    }
+
+    public Long getLeidos() {
+        return leidos;
+    }
+
+    public void setLeidos(Long leidos) {
+        this.leidos = leidos;
+    }
+
+    public Long getInsertados() {
+        return insertados;
+    }
+
+    public void setInsertados(Long insertados) {
+        this.insertados = insertados;
+    }
+
+    public Long getInvalidos() {
+        return invalidos;
+    }
+
+    public void setInvalidos(Long invalidos) {
+        this.invalidos = invalidos;
+    }
+
+    public Long getFusionados() {
+        return fusionados;
+    }
+
+    public void setFusionados(Long fusionados) {
+        this.fusionados = fusionados;
+    }
+
+    public Long getExistentes() {
+        return existentes;
+    }
+
+    public void setExistentes(Long existentes) {
+        this.existentes = existentes;
+    }
+
+    public Long getRepetidos() {
+        return repetidos;
+    }
+
+    public void setRepetidos(Long repetidos) {
+        this.repetidos = repetidos;
+    }
+
+    public Long getErrores() {
+        return errores;
+    }
+
+    public void setErrores(Long errores) {
+        this.errores = errores;
+    }
+
+    public Long getBytesProcesados() {
+        return bytesProcesados;
+    }
+
+    public void setBytesProcesados(Long bytesProcesados) {
+        this.bytesProcesados = bytesProcesados;
+    }
+
+    public Long getBytesTotales() {
+        return bytesTotales;
+    }
+
+    public void setBytesTotales(Long bytesTotales) {
+        this.bytesTotales = bytesTotales;
+    }
+
+    public Double getPorcentaje() {
+        return porcentaje;
+    }
+
+    public void setPorcentaje(Double porcentaje) {
+        this.porcentaje = porcentaje;
+    }
+
+    public Double getFilasPorSegundo() {
+        return filasPorSegundo;
+    }
+
+    public void setFilasPorSegundo(Double filasPorSegundo) {
+        this.filasPorSegundo = filasPorSegundo;
+    }
+
+    public Long getSegundosRestantes() {
+        return segundosRestantes;
+    }
+
+    public void setSegundosRestantes(Long segundosRestantes) {
+        this.segundosRestantes = segundosRestantes;
+    }
+
+    public Instant getCreada() {
+        return creada;
+    }
+
+    public void setCreada(Instant creada) {
+        this.creada = creada;
+    }
+
+    public Instant getActualizada() {
+        return actualizada;
+    }
+
+    public void setActualizada(Instant actualizada) {
+        this.actualizada = actualizada;
+    }
+
+    public Instant getFinalizada() {
+        return finalizada;
+    }
+
+    public void setFinalizada(Instant finalizada) {
+        this.finalizada = finalizada;
+    }
+
+    public String getInformeErrores() {
+        return informeErrores;
+    }
+
+    public void setInformeErrores(String informeErrores) {
+        this.informeErrores = informeErrores;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.infrastructure.adapter.web.dto;
+
+/**
+ * Enmascarado de datos personales para las representaciones de los DTOs en logs
+ */
+final class LogMasking {
+
+    private LogMasking() {}
+
+    /**
+     * Conserva el primer carácter y sustituye el resto por asteriscos
+     */
+    static String mask(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        return value.charAt(0) + "***";
+    }
+
+    /**
+     * Enmascara la parte local del email y conserva el dominio
+     */
+    static String maskEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at > 0 ? email.charAt(0) + "***" + email.substring(at) : mask(email);
+    }
+}
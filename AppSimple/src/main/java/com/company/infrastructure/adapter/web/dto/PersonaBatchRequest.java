@@ -0,0 +1,136 @@
+package com.company.infrastructure.adapter.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para aplicar un lote de operaciones sobre personas
+ */
+@Schema(description = "Lote ordenado de altas, cambios y bajas de personas")
+public class PersonaBatchRequest {
+
+    /**
+     * Una operación del lote; los campos que no aplican a su tipo se ignoran
+     */
+    @Schema(description = "Operación del lote")
+    public static class Operacion {
+
+        @NotNull(message = "El tipo de operación es obligatorio")
+        @Schema(description = "CREAR, ACTUALIZAR o ELIMINAR", example = "ACTUALIZAR", required = true)
+        private String tipo;
+
+        @Schema(description = "ID de la persona (ACTUALIZAR y ELIMINAR)", example = "1")
+        private Integer id;
+
+        @Size(max = 45, message = "El nombre no puede exceder 45 caracteres")
+        @Schema(description = "Nombre de la persona", example = "Juan")
+        private String nombre;
+
+        @Size(max = 45, message = "El apellido no puede exceder 45 caracteres")
+        @Schema(description = "Apellido de la persona", example = "Pérez")
+        private String apellido;
+
+        @Email(message = "El email debe tener un formato válido")
+        @Size(max = 45, message = "El email no puede exceder 45 caracteres")
+        @Schema(description = "Email de la persona", example = "juan.perez@email.com")
+        private String email;
+
+        @Schema(description = "Teléfono de la persona", example = "1234567890")
+        private String telefono;
+
+        @Size(max = 100, message = "La dirección no puede exceder 100 caracteres")
+        @Schema(description = "Dirección de la persona", example = "Calle Principal 123")
+        private String direccion;
+
+        public Operacion() {}
+
+        public String getTipo() {
+            return tipo;
+        }
+
+        public void setTipo(String tipo) {
+            this.tipo = tipo;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public void setNombre(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getApellido() {
+            return apellido;
+        }
+
+        public void setApellido(String apellido) {
+            this.apellido = apellido;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getTelefono() {
+            return telefono;
+        }
+
+        public void setTelefono(String telefono) {
+            this.telefono = telefono;
+        }
+
+        public String getDireccion() {
+            return direccion;
+        }
+
+        public void setDireccion(String direccion) {
+            this.direccion = direccion;
+        }
+    }
+
+    @Schema(description = "Si es true (por defecto) el lote se aplica entero o no se aplica", example = "true")
+    private boolean atomico = true;
+
+    @NotEmpty(message = "El lote debe tener al menos una operación")
+    @Valid
+    @Schema(description = "Operaciones en el orden en que deben aplicarse", required = true)
+    private List<Operacion> operaciones;
+
+    // Constructor por defecto
+    public PersonaBatchRequest() {}
+
+    public boolean isAtomico() {
+        return atomico;
+    }
+
+    public void setAtomico(boolean atomico) {
+        this.atomico = atomico;
+    }
+
+    public List<Operacion> getOperaciones() {
+        return operaciones;
+    }
+
+    public void setOperaciones(List<Operacion> operaciones) {
+        this.operaciones = operaciones;
+    }
+}
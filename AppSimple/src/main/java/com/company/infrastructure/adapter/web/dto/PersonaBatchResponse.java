@@ -0,0 +1,128 @@
+package com.company.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta con el resultado de cada operación de un lote
+ */
+@Schema(description = "Resultado de un lote de operaciones sobre personas")
+public class PersonaBatchResponse {
+
+    /**
+     * Resultado de una operación
+     */
+    @Schema(description = "Resultado de una operación del lote")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Resultado {
+
+        @Schema(description = "Posición de la operación en el lote", example = "0")
+        private int indice;
+
+        @Schema(description = "CREAR, ACTUALIZAR o ELIMINAR", example = "CREAR")
+        private String tipo;
+
+        @Schema(description = "CREADA, ACTUALIZADA, ELIMINADA, NO_ENCONTRADA, INVALIDA, FALLIDA o NO_APLICADA",
+                example = "CREADA")
+        private String estado;
+
+        @Schema(description = "Persona creada o actualizada")
+        private PersonaResponse persona;
+
+        @Schema(description = "Motivo del fallo", example = "Ya existe una persona con ese email")
+        private String error;
+
+        public Resultado() {}
+
+        public Resultado(int indice, String tipo, String estado, PersonaResponse persona, String error) {
+            this.indice = indice;
+            this.tipo = tipo;
+            this.estado = estado;
+            this.persona = persona;
+            this.error = error;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        public String getTipo() {
+            return tipo;
+        }
+
+        public void setTipo(String tipo) {
+            this.tipo = tipo;
+        }
+
+        public String getEstado() {
+            return estado;
+        }
+
+        public void setEstado(String estado) {
+            this.estado = estado;
+        }
+
+        public PersonaResponse getPersona() {
+            return persona;
+        }
+
+        public void setPersona(PersonaResponse persona) {
+            this.persona = persona;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+
+    @Schema(description = "Operaciones aplicadas", example = "98")
+    private int aplicadas;
+
+    @Schema(description = "Operaciones no aplicadas", example = "2")
+    private int fallidas;
+
+    @Schema(description = "Un resultado por operación, en el orden del lote")
+    private List<Resultado> resultados;
+
+    public PersonaBatchResponse() {}
+
+    public PersonaBatchResponse(int aplicadas, int fallidas, List<Resultado> resultados) {
+        this.aplicadas = aplicadas;
+        this.fallidas = fallidas;
+        this.resultados = resultados;
+    }
+
+    public int getAplicadas() {
+        return aplicadas;
+    }
+
+    public void setAplicadas(int aplicadas) {
+        this.aplicadas = aplicadas;
+    }
+
+    public int getFallidas() {
+        return fallidas;
+    }
+
+    public void setFallidas(int fallidas) {
+        this.fallidas = fallidas;
+    }
+
+    public List<Resultado> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<Resultado> resultados) {
+        this.resultados = resultados;
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.infrastructure.adapter.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO de respuesta columnar para listas grandes de personas
+ * Cada campo se envía una sola vez como array (sin repetir nombres de propiedad
+ * por elemento) y se omite nombreCompleto, que se deriva de nombre y apellido.
+ * La posición i de cada array corresponde a la misma persona.
+ */
+@Schema(description = "Lista de personas en formato columnar (Accept: application/vnd.personas.columnar+json)")
+public class PersonaColumnarResponse {
+
+    @Schema(description = "Cantidad de personas", example = "2")
+    private final int total;
+
+    @Schema(description = "IDs de las personas")
+    private final List<Integer> id;
+
+    @Schema(description = "Nombres de las personas")
+    private final List<String> nombre;
+
+    @Schema(description = "Apellidos de las personas")
+    private final List<String> apellido;
+
+    @Schema(description = "Emails de las personas")
+    private final List<String> email;
+
+    @Schema(description = "Teléfonos de las personas")
+    private final List<String> telefono;
+
+    @Schema(description = "Direcciones de las personas")
+    private final List<String> direccion;
+
+    private PersonaColumnarResponse(int total) {
+        this.total = total;
+        this.id = new ArrayList<>(total);
+        this.nombre = new ArrayList<>(total);
+        this.apellido = new ArrayList<>(total);
+        this.email = new ArrayList<>(total);
+        this.telefono = new ArrayList<>(total);
+        this.direccion = new ArrayList<>(total);
+    }
+
+    /**
+     * Transpone una lista de respuestas a columnas
+     */
+    public static PersonaColumnarResponse de(List<PersonaResponse> personas) {
+        PersonaColumnarResponse columnas = new PersonaColumnarResponse(personas.size());
+        for (PersonaResponse persona : personas) {
+            columnas.id.add(persona.getId());
+            columnas.nombre.add(persona.getNombre());
+            columnas.apellido.add(persona.getApellido());
+            columnas.email.add(persona.getEmail());
+            columnas.telefono.add(persona.getTelefono());
+            columnas.direccion.add(persona.getDireccion());
+        }
+        return columnas;
+    }
+
+    // Getters
+    public int getTotal() {
+        return total;
+    }
+
+    public List<Integer> getId() {
+        return id;
+    }
+
+    public List<String> getNombre() {
+        return nombre;
+    }
+
+    public List<String> getApellido() {
+        return apellido;
+    }
+
+    public List<String> getEmail() {
+        return email;
+    }
+
+    public List<String> getTelefono() {
+        return telefono;
+    }
+
+    public List<String> getDireccion() {
+        return direccion;
+    }
+}
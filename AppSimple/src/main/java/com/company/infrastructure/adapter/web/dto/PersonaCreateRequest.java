@@ -91,7 +91,8 @@ public class PersonaCreateRequest {
 
     @Override
     public String toString() {
-        return String.format("PersonaCreateRequest{nombre='%s', apellido='%s', email='%s', telefono='%s', direccion='%s'}", 
-                nombre, apellido, email, telefono, direccion);
+        // Sin String.format y con datos personales enmascarados: se usa en logs
+        return "PersonaCreateRequest{nombre='" + nombre + "', apellido='" + LogMasking.mask(apellido)
+                + "', email='" + LogMasking.maskEmail(email) + "', telefono='" + LogMasking.mask(telefono) + "'}";
     }
 }
\ No newline at end of file
@@ -103,7 +103,8 @@ public class PersonaResponse {
 
     @Override
     public String toString() {
-        return String.format("PersonaResponse{id=%d, nombre='%s', apellido='%s', email='%s', telefono='%s', direccion='%s', nombreCompleto='%s'}", 
-                id, nombre, apellido, email, telefono, direccion, nombreCompleto);
+        // Sin String.format y con datos personales enmascarados: se usa en logs
+        return "PersonaResponse{id=" + id + ", nombre='" + nombre + "', apellido='" + LogMasking.mask(apellido)
+                + "', email='" + LogMasking.maskEmail(email) + "', telefono='" + LogMasking.mask(telefono) + "'}";
     }
 }
\ No newline at end of file
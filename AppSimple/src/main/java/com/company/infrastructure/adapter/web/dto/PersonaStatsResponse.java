@@ -0,0 +1,127 @@
+package com.company.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta con una agrupación de personas
+ */
+@Schema(description = "Personas agrupadas por una columna")
+public class PersonaStatsResponse {
+
+    /**
+     * Un grupo de la respuesta
+     */
+    @Schema(description = "Grupo de personas")
+    public static class Grupo {
+
+        @Schema(description = "Dominio, apellido, prefijo de país, mes o día", example = "gmail.com")
+        private String clave;
+
+        @Schema(description = "Personas del grupo", example = "1250")
+        private long cantidad;
+
+        @Schema(description = "Personas dadas de alta hasta el periodo, incluido (solo mes y día)", example = "48200")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long acumulado;
+
+        public Grupo() {}
+
+        public Grupo(String clave, long cantidad, Long acumulado) {
+            this.clave = clave;
+            this.cantidad = cantidad;
+            this.acumulado = acumulado;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        public void setClave(String clave) {
+            this.clave = clave;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        public void setCantidad(long cantidad) {
+            this.cantidad = cantidad;
+        }
+
+        public Long getAcumulado() {
+            return acumulado;
+        }
+
+        public void setAcumulado(Long acumulado) {
+            this.acumulado = acumulado;
+        }
+    }
+
+    @Schema(description = "Columna de agrupación", example = "dominio")
+    private String groupBy;
+
+    @Schema(description = "Personas contadas en todos los grupos, no solo en los devueltos", example = "50000")
+    private long personas;
+
+    @Schema(description = "Grupos distintos, no solo los devueltos", example = "340")
+    private int distintos;
+
+    @Schema(description = "Grupos más numerosos, o periodos más recientes en orden cronológico")
+    private List<Grupo> grupos;
+
+    @Schema(description = "Milisegundos de cálculo en memoria", example = "3")
+    private long tiempoMs;
+
+    public PersonaStatsResponse() {}
+
+    public PersonaStatsResponse(String groupBy, long personas, int distintos, List<Grupo> grupos, long tiempoMs) {
+        this.groupBy = groupBy;
+        this.personas = personas;
+        this.distintos = distintos;
+        this.grupos = grupos;
+        this.tiempoMs = tiempoMs;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public long getPersonas() {
+        return personas;
+    }
+
+    public void setPersonas(long personas) {
+        this.personas = personas;
+    }
+
+    public int getDistintos() {
+        return distintos;
+    }
+
+    public void setDistintos(int distintos) {
+        this.distintos = distintos;
+    }
+
+    public List<Grupo> getGrupos() {
+        return grupos;
+    }
+
+    public void setGrupos(List<Grupo> grupos) {
+        this.grupos = grupos;
+    }
+
+    public long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public void setTiempoMs(long tiempoMs) {
+        this.tiempoMs = tiempoMs;
+    }
+}
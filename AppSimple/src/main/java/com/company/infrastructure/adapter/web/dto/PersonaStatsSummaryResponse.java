@@ -0,0 +1,102 @@
+package com.company.infrastructure.adapter.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta con las cifras generales de personas
+ */
+@Schema(description = "Cifras generales de personas")
+public class PersonaStatsSummaryResponse {
+
+    @Schema(description = "Personas registradas", example = "50000")
+    private long personas;
+
+    @Schema(description = "Dominios de email distintos", example = "340")
+    private int dominios;
+
+    @Schema(description = "Apellidos distintos", example = "2100")
+    private int apellidos;
+
+    @Schema(description = "Teléfonos con prefijo internacional", example = "12000")
+    private long conPrefijoPais;
+
+    @Schema(description = "Personas heredadas sin fecha de alta", example = "0")
+    private long sinFechaAlta;
+
+    @Schema(description = "Día de la primera alta", example = "2023-01-15")
+    private LocalDate primeraAlta;
+
+    @Schema(description = "Día de la última alta", example = "2024-06-30")
+    private LocalDate ultimaAlta;
+
+    public PersonaStatsSummaryResponse() {}
+
+    public PersonaStatsSummaryResponse(long personas, int dominios, int apellidos, long conPrefijoPais,
+                                       long sinFechaAlta, LocalDate primeraAlta, LocalDate ultimaAlta) {
+        this.personas = personas;
+        this.dominios = dominios;
+        this.apellidos = apellidos;
+        this.conPrefijoPais = conPrefijoPais;
+        this.sinFechaAlta = sinFechaAlta;
+        this.primeraAlta = primeraAlta;
+        this.ultimaAlta = ultimaAlta;
+    }
+
+    public long getPersonas() {
+        return personas;
+    }
+
+    public void setPersonas(long personas) {
+        this.personas = personas;
+    }
+
+    public int getDominios() {
+        return dominios;
+    }
+
+    public void setDominios(int dominios) {
+        this.dominios = dominios;
+    }
+
+    public int getApellidos() {
+        return apellidos;
+    }
+
+    public void setApellidos(int apellidos) {
+        this.apellidos = apellidos;
+    }
+
+    public long getConPrefijoPais() {
+        return conPrefijoPais;
+    }
+
+    public void setConPrefijoPais(long conPrefijoPais) {
+        this.conPrefijoPais = conPrefijoPais;
+    }
+
+    public long getSinFechaAlta() {
+        return sinFechaAlta;
+    }
+
+    public void setSinFechaAlta(long sinFechaAlta) {
+        this.sinFechaAlta = sinFechaAlta;
+    }
+
+    public LocalDate getPrimeraAlta() {
+        return primeraAlta;
+    }
+
+    public void setPrimeraAlta(LocalDate primeraAlta) {
+        this.primeraAlta = primeraAlta;
+    }
+
+    public LocalDate getUltimaAlta() {
+        return ultimaAlta;
+    }
+
+    public void setUltimaAlta(LocalDate ultimaAlta) {
+        this.ultimaAlta = ultimaAlta;
+    }
+}
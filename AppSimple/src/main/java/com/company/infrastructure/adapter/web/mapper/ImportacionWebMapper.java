@@ -0,0 +1,48 @@
+package com.company.infrastructure.adapter.web.mapper;
+
+import com.company.domain.entity.Importacion;
+import com.company.infrastructure.adapter.web.dto.ImportacionResponse;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Mapper de importaciones a DTOs web
+ */
+@Component
+public class ImportacionWebMapper {
+
+    /**
+     * Convierte una importación en su respuesta; las tasas y el ETA se calculan al instante dado
+     */
+    public ImportacionResponse toResponse(Importacion importacion, Path informeErrores, Instant ahora) {
+        ImportacionResponse response = new ImportacionResponse();
+        response.setId(importacion.getId());
+        response.setArchivo(importacion.getArchivo());
+        response.setEstado(importacion.getEstado().name());
+        response.setParalelismo(importacion.getParalelismo());
+        response.setTamanoLote(importacion.getTamanoLote());
+        response.setLotes(importacion.getLotes());
+        response.setLeidos(importacion.getLeidos());
+        response.setInsertados(importacion.getInsertados());
+        response.setInvalidos(importacion.getInvalidos());
+        response.setFusionados(importacion.getFusionados());
+        response.setExistentes(importacion.getExistentes());
+        response.setRepetidos(importacion.getRepetidos());
+        response.setErrores(importacion.getErrores());
+        response.setBytesProcesados(importacion.getPosicion());
+        response.setBytesTotales(importacion.getBytesTotales());
+        response.setPorcentaje(importacion.getBytesTotales() > 0
+                ? Math.round(importacion.getPosicion() * 1000.0 / importacion.getBytesTotales()) / 10.0
+                : 100.0);
+        response.setFilasPorSegundo(Math.round(importacion.getFilasPorSegundo(ahora) * 10) / 10.0);
+        response.setSegundosRestantes(importacion.getSegundosRestantes(ahora));
+        response.setCreada(importacion.getCreada());
+        response.setActualizada(importacion.getActualizada());
+        response.setFinalizada(importacion.getFinalizada());
+        response.setInformeErrores(informeErrores.toString());
+        response.setError(importacion.getError());
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.infrastructure.adapter.web.mapper;
+
+import com.company.domain.entity.Persona;
+import com.company.infrastructure.adapter.web.dto.PersonaResponse;
+import com.company.infrastructure.adapter.web.proto.PersonaProtos;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Mapper para convertir DTOs de respuesta a mensajes Protobuf
+ * nombreCompleto no forma parte del esquema: se deriva de nombre y apellido
+ */
+@Component
+public class PersonaProtoMapper {
+
+    /**
+     * Convierte un DTO de respuesta a mensaje Protobuf
+     */
+    public PersonaProtos.Persona toMessage(PersonaResponse response) {
+        PersonaProtos.Persona.Builder builder = PersonaProtos.Persona.newBuilder();
+        // proto3 no admite null: los campos ausentes quedan con su valor por defecto
+        if (response.getId() != null) {
+            builder.setId(response.getId());
+        }
+        if (response.getNombre() != null) {
+            builder.setNombre(response.getNombre());
+        }
+        if (response.getApellido() != null) {
+            builder.setApellido(response.getApellido());
+        }
+        if (response.getEmail() != null) {
+            builder.setEmail(response.getEmail());
+        }
+        if (response.getTelefono() != null) {
+            builder.setTelefono(response.getTelefono());
+        }
+        if (response.getDireccion() != null) {
+            builder.setDireccion(response.getDireccion());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Convierte una persona del dominio a mensaje Protobuf sin pasar por el DTO (servicio gRPC)
+     */
+    public PersonaProtos.Persona toMessage(Persona persona) {
+        PersonaProtos.Persona.Builder builder = PersonaProtos.Persona.newBuilder();
+        if (persona.getId() != null) {
+            builder.setId(persona.getId().getValue());
+        }
+        if (persona.getNombre() != null) {
+            builder.setNombre(persona.getNombre());
+        }
+        if (persona.getApellido() != null) {
+            builder.setApellido(persona.getApellido());
+        }
+        if (persona.getEmail() != null) {
+            builder.setEmail(persona.getEmail().getValue());
+        }
+        if (persona.getTelefono() != null) {
+            builder.setTelefono(persona.getTelefono().getValue());
+        }
+        if (persona.getDireccion() != null) {
+            builder.setDireccion(persona.getDireccion());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Convierte una lista de DTOs de respuesta a mensaje Protobuf
+     */
+    public PersonaProtos.PersonaLista toMessage(Collection<PersonaResponse> responses) {
+        PersonaProtos.PersonaLista.Builder builder = PersonaProtos.PersonaLista.newBuilder();
+        for (PersonaResponse response : responses) {
+            builder.addPersonas(toMessage(response));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.infrastructure.bulkhead;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compartimento de una clase de tráfico: como mucho {@code maximo} trabajos a la vez
+ * Un trabajo que no encuentra hueco espera como mucho {@code esperaMaxima} y
+ * después se rechaza, así una clase saturada no acapara los hilos del servidor
+ * que necesitan las demás. Con máximo cero el compartimento no limita.
+ */
+public class Bulkhead {
+
+    private final String nombre;
+    private final int maximo;
+    private final long esperaMaximaNanos;
+    private final Semaphore huecos;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicLong rechazados = new AtomicLong();
+    private final AtomicLong esperas = new AtomicLong();
+    private final AtomicLong esperaNanos = new AtomicLong();
+
+    public Bulkhead(String nombre, int maximo, Duration esperaMaxima) {
+        if (maximo < 0) {
+            throw new IllegalArgumentException("El máximo del compartimento " + nombre + " no puede ser negativo");
+        }
+        this.nombre = nombre;
+        this.maximo = maximo;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.huecos = maximo > 0 ? new Semaphore(maximo) : null;
+    }
+
+    /**
+     * Ocupa un hueco, esperando como mucho la espera máxima
+     *
+     * @return false si no hubo hueco; en ese caso no hay que llamar a {@link #salir()}
+     */
+    public boolean entrar() throws InterruptedException {
+        if (huecos == null || huecos.tryAcquire()) {
+            enCurso.incrementAndGet();
+            return true;
+        }
+        long inicio = System.nanoTime();
+        boolean dentro = esperaMaximaNanos > 0 && huecos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        esperas.incrementAndGet();
+        esperaNanos.addAndGet(System.nanoTime() - inicio);
+        if (dentro) {
+            enCurso.incrementAndGet();
+        } else {
+            rechazados.incrementAndGet();
+        }
+        return dentro;
+    }
+
+    public void salir() {
+        enCurso.decrementAndGet();
+        if (huecos != null) {
+            huecos.release();
+        }
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    public long getRechazados() {
+        return rechazados.get();
+    }
+
+    /**
+     * Trabajos que tuvieron que esperar hueco
+     */
+    public long getEsperas() {
+        return esperas.get();
+    }
+
+    public long getEsperaNanos() {
+        return esperaNanos.get();
+    }
+}
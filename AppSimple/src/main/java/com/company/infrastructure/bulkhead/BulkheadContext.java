@@ -0,0 +1,57 @@
+package com.company.infrastructure.bulkhead;
+
+/**
+ * Clase de tráfico del hilo actual
+ * La fija el {@link BulkheadFilter} para cada petición y los ejecutores de
+ * trabajos masivos para sus hilos; {@link BulkheadDataSource} la usa para
+ * elegir la partición del pool de conexiones.
+ */
+public final class BulkheadContext {
+
+    public static final String WEB = "web";
+    public static final String API = "api";
+    public static final String BULK = "bulk";
+
+    private static final ThreadLocal<String> CLASE = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    /**
+     * Ejecuta la tarea con la clase de tráfico indicada y luego restaura la anterior
+     */
+    public static void ejecutar(String clase, Runnable tarea) {
+        String anterior = fijar(clase);
+        try {
+            tarea.run();
+        } finally {
+            restaurar(anterior);
+        }
+    }
+
+    /**
+     * Fija la clase de tráfico del hilo
+     *
+     * @return la clase anterior, para {@link #restaurar(String)}
+     */
+    public static String fijar(String clase) {
+        String anterior = CLASE.get();
+        CLASE.set(clase);
+        return anterior;
+    }
+
+    public static void restaurar(String anterior) {
+        if (anterior == null) {
+            CLASE.remove();
+        } else {
+            CLASE.set(anterior);
+        }
+    }
+
+    /**
+     * Clase de tráfico del hilo, o null si no se fijó ninguna
+     */
+    public static String actual() {
+        return CLASE.get();
+    }
+}
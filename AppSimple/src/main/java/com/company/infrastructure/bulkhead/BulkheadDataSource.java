@@ -0,0 +1,57 @@
+package com.company.infrastructure.bulkhead;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DataSource partido en un pool por clase de tráfico
+ * Cada conexión sale de la partición de la clase del hilo
+ * ({@link BulkheadContext}); los hilos sin clase usan la partición por
+ * defecto. Una clase que agota su partición espera solo a sus propias
+ * conexiones y no a las de las demás.
+ */
+public class BulkheadDataSource extends AbstractDataSource implements Closeable {
+
+    private final Map<String, DataSource> particiones;
+    private final DataSource porDefecto;
+
+    public BulkheadDataSource(Map<String, DataSource> particiones, String porDefecto) {
+        if (!particiones.containsKey(porDefecto)) {
+            throw new IllegalArgumentException("La partición por defecto " + porDefecto + " no está configurada");
+        }
+        this.particiones = new LinkedHashMap<>(particiones);
+        this.porDefecto = particiones.get(porDefecto);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return particion().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return particion().getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource particion : particiones.values()) {
+            if (particion instanceof Closeable) {
+                ((Closeable) particion).close();
+            }
+        }
+    }
+
+    private DataSource particion() {
+        String clase = BulkheadContext.actual();
+        DataSource particion = clase != null ? particiones.get(clase) : null;
+        return particion != null ? particion : porDefecto;
+    }
+}
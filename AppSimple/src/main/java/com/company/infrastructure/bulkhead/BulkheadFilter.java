@@ -0,0 +1,74 @@
+package com.company.infrastructure.bulkhead;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Filtro que asigna cada petición a su compartimento
+ * Las rutas /api/ son de la API REST; el resto, salvo /actuator, de la interfaz
+ * web. La petición ocupa un hueco de su compartimento mientras dura y fija su
+ * clase de tráfico para que sus conexiones salgan de la partición del pool que
+ * le corresponde. Sin hueco tras la espera máxima se responde 503.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final byte[] SATURADO =
+            "{\"error\":\"Servicio saturado, reintente más tarde\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, Bulkhead> compartimentos;
+    private final String retryAfter;
+
+    public BulkheadFilter(Map<String, Bulkhead> compartimentos, Duration retryAfter) {
+        this.compartimentos = Map.copyOf(compartimentos);
+        this.retryAfter = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clase = clase(request.getRequestURI().substring(request.getContextPath().length()));
+        Bulkhead compartimento = clase != null ? compartimentos.get(clase) : null;
+        if (compartimento == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean dentro;
+        try {
+            dentro = compartimento.entrar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dentro = false;
+        }
+        if (!dentro) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", retryAfter);
+            response.setContentType("application/json");
+            response.setContentLength(SATURADO.length);
+            response.getOutputStream().write(SATURADO);
+            return;
+        }
+        String anterior = BulkheadContext.fijar(clase);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            BulkheadContext.restaurar(anterior);
+            compartimento.salir();
+        }
+    }
+
+    static String clase(String ruta) {
+        if (ruta.startsWith("/actuator")) {
+            return null;
+        }
+        return ruta.startsWith("/api/") ? BulkheadContext.API : BulkheadContext.WEB;
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.infrastructure.concurrency;
+
+import com.company.infrastructure.concurrency.GradientConcurrencyLimiter.Permiso;
+import com.company.infrastructure.concurrency.GradientConcurrencyLimiter.Prioridad;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Filtro que aplica el límite adaptativo de concurrencia a la API REST de personas
+ * Las operaciones sobre una sola persona (GET, PUT y DELETE por ID y las altas)
+ * tienen prioridad alta; los listados, búsquedas y lotes de operaciones, baja. Por encima del límite
+ * se responde 503 con Retry-After sin llegar al controlador ni pedir conexión.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern POR_ID = Pattern.compile(".*/personas/\\d+/?");
+    private static final Pattern LOTE = Pattern.compile(".*/personas/batch/?");
+    private static final byte[] SATURADO =
+            "{\"error\":\"Servicio saturado, reintente más tarde\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final GradientConcurrencyLimiter limiter;
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(GradientConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfter = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Permiso permiso = limiter.adquirir(prioridad(request));
+        if (permiso == null) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", retryAfter);
+            response.setContentType("application/json");
+            response.setContentLength(SATURADO.length);
+            response.getOutputStream().write(SATURADO);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permiso.liberar();
+        }
+    }
+
+    static Prioridad prioridad(HttpServletRequest request) {
+        // Un lote es un POST, pero puede llevar miles de operaciones
+        if (LOTE.matcher(request.getRequestURI()).matches()) {
+            return Prioridad.BAJA;
+        }
+        if (!"GET".equals(request.getMethod())) {
+            return Prioridad.ALTA;
+        }
+        return POR_ID.matcher(request.getRequestURI()).matches() ? Prioridad.ALTA : Prioridad.BAJA;
+    }
+}
@@ -0,0 +1,189 @@
+package com.company.infrastructure.concurrency;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite adaptativo de peticiones concurrentes por gradiente de latencia
+ * Compara la latencia reciente (media móvil rápida) con la de referencia (media
+ * móvil lenta): mientras coinciden el límite crece en raíz del límite por
+ * muestra, y cuando la reciente empeora se reduce en proporción al gradiente
+ * referencia / reciente (como mucho a la mitad por muestra). Así las peticiones
+ * que sobran se rechazan enseguida en lugar de hacer cola esperando conexiones.
+ * <p>
+ * Cada prioridad solo puede ocupar su fracción del límite: las de prioridad
+ * baja se rechazan antes y dejan hueco a las de prioridad alta.
+ */
+public class GradientConcurrencyLimiter {
+
+    /**
+     * Clases de prioridad de las peticiones
+     */
+    public enum Prioridad {
+        /** Lecturas y escrituras de una sola persona */
+        ALTA,
+        /** Listados, búsquedas y exportaciones */
+        BAJA
+    }
+
+    private static final double SUAVIZADO = 0.2;
+    private static final double GRADIENTE_MINIMO = 0.5;
+    private static final double TOLERANCIA = 1.5;
+
+    private final int minimo;
+    private final int maximo;
+    private final Map<Prioridad, Double> fracciones;
+    private final int muestrasReferencia;
+    private final LongSupplier reloj;
+
+    private final Object monitor = new Object();
+    private double limite;
+    private int enCurso;
+    private double latenciaReferencia;
+    private double latenciaReciente;
+    private long muestras;
+
+    private final Map<Prioridad, AtomicLong> rechazadas = new EnumMap<>(Prioridad.class);
+
+    /**
+     * @param inicial            límite con el que se arranca
+     * @param fraccionBaja       fracción del límite que pueden ocupar las peticiones de prioridad baja
+     * @param muestrasReferencia muestras que promedia la latencia de referencia
+     */
+    public GradientConcurrencyLimiter(int inicial, int minimo, int maximo, double fraccionBaja,
+                                      int muestrasReferencia) {
+        this(inicial, minimo, maximo, fraccionBaja, muestrasReferencia, System::nanoTime);
+    }
+
+    GradientConcurrencyLimiter(int inicial, int minimo, int maximo, double fraccionBaja, int muestrasReferencia,
+                               LongSupplier reloj) {
+        if (minimo < 1 || maximo < minimo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException("Debe cumplirse 1 <= mínimo <= inicial <= máximo");
+        }
+        if (fraccionBaja <= 0 || fraccionBaja > 1) {
+            throw new IllegalArgumentException("La fracción de prioridad baja debe estar en (0, 1]");
+        }
+        if (muestrasReferencia < 1) {
+            throw new IllegalArgumentException("Las muestras de referencia deben ser al menos 1");
+        }
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.muestrasReferencia = muestrasReferencia;
+        this.reloj = reloj;
+        this.fracciones = new EnumMap<>(Prioridad.class);
+        this.fracciones.put(Prioridad.ALTA, 1.0);
+        this.fracciones.put(Prioridad.BAJA, fraccionBaja);
+        for (Prioridad prioridad : Prioridad.values()) {
+            rechazadas.put(prioridad, new AtomicLong());
+        }
+    }
+
+    /**
+     * Reserva un hueco para una petición
+     *
+     * @return el permiso, que debe liberarse al terminar, o null si se supera el límite de su prioridad
+     */
+    public Permiso adquirir(Prioridad prioridad) {
+        synchronized (monitor) {
+            if (enCurso >= Math.max(1, (int) (limite * fracciones.get(prioridad)))) {
+                rechazadas.get(prioridad).incrementAndGet();
+                return null;
+            }
+            enCurso++;
+            return new Permiso(reloj.getAsLong(), enCurso);
+        }
+    }
+
+    /**
+     * Hueco reservado por una petición
+     */
+    public final class Permiso {
+
+        private final long inicio;
+        private final int enCursoAlAdquirir;
+        private boolean liberado;
+
+        private Permiso(long inicio, int enCursoAlAdquirir) {
+            this.inicio = inicio;
+            this.enCursoAlAdquirir = enCursoAlAdquirir;
+        }
+
+        /**
+         * Libera el hueco y usa la latencia de la petición para ajustar el límite
+         */
+        public void liberar() {
+            terminar(true);
+        }
+
+        /**
+         * Libera el hueco sin usar la latencia (la petición no llegó a hacer su trabajo)
+         */
+        public void descartar() {
+            terminar(false);
+        }
+
+        private void terminar(boolean medir) {
+            long latencia = reloj.getAsLong() - inicio;
+            synchronized (monitor) {
+                if (liberado) {
+                    return;
+                }
+                liberado = true;
+                enCurso--;
+                if (medir) {
+                    ajustar(Math.max(1, latencia), enCursoAlAdquirir);
+                }
+            }
+        }
+    }
+
+    // Debe llamarse con el monitor
+    private void ajustar(long latencia, int enCursoAlAdquirir) {
+        muestras++;
+        if (muestras == 1) {
+            latenciaReferencia = latencia;
+            latenciaReciente = latencia;
+            return;
+        }
+        latenciaReciente += (latencia - latenciaReciente) * SUAVIZADO;
+        // La referencia sigue despacio a la reciente: un cambio duradero de carga acaba siendo la nueva normalidad
+        latenciaReferencia += (latenciaReciente - latenciaReferencia) / Math.min(muestras, muestrasReferencia);
+
+        double gradiente = Math.max(GRADIENTE_MINIMO,
+                Math.min(1.0, TOLERANCIA * latenciaReferencia / latenciaReciente));
+        // Sin peticiones suficientes en curso la latencia no dice nada sobre un límite mayor
+        if (gradiente >= 1.0 && enCursoAlAdquirir < limite / 2) {
+            return;
+        }
+        double nuevo = limite * gradiente + Math.sqrt(limite);
+        limite = Math.max(minimo, Math.min(maximo, limite * (1 - SUAVIZADO) + nuevo * SUAVIZADO));
+    }
+
+    public int getLimite() {
+        synchronized (monitor) {
+            return (int) limite;
+        }
+    }
+
+    public int getEnCurso() {
+        synchronized (monitor) {
+            return enCurso;
+        }
+    }
+
+    /**
+     * Latencia reciente estimada, en nanosegundos
+     */
+    public long getLatenciaReciente() {
+        synchronized (monitor) {
+            return (long) latenciaReciente;
+        }
+    }
+
+    public long getRechazadas(Prioridad prioridad) {
+        return rechazadas.get(prioridad).get();
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.infrastructure.config;
+
+import com.company.domain.port.PersonaRepository;
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la instantánea columnar para las estadísticas de personas
+ * Como notificador de cambios se registra sola en los servicios que crean,
+ * modifican o eliminan personas y en la invalidación entre instancias.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.analytics.enabled", havingValue = "true")
+public class AnalyticsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsConfig.class);
+
+    @Bean
+    public PersonaColumnStore personaColumnStore(
+            PersonaRepository personaRepository,
+            MeterRegistry meterRegistry,
+            @Value("${personas.analytics.parallelism:0}") int parallelism,
+            @Value("${personas.analytics.min-chunk-rows:65536}") int minChunkRows) {
+        int hilos = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        PersonaColumnStore store = new PersonaColumnStore(personaRepository, hilos, minChunkRows);
+        Gauge.builder("personas.analytics.rows", store, PersonaColumnStore::getFilas)
+                .description("Personas en la instantánea columnar")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.analytics.reloads", store, PersonaColumnStore::getRecargas)
+                .description("Recargas completas de la instantánea columnar")
+                .register(meterRegistry);
+        return store;
+    }
+
+    /**
+     * Primera carga en un hilo aparte; hasta que termina las estadísticas responden 503
+     */
+    @Bean
+    public ApplicationRunner personaColumnStoreLoader(PersonaColumnStore store) {
+        return args -> {
+            Thread loader = new Thread(() -> {
+                long inicio = System.nanoTime();
+                try {
+                    long cargadas = store.recargar();
+                    log.info("Instantánea analítica cargada: {} personas en {} ms",
+                            cargadas, (System.nanoTime() - inicio) / 1_000_000);
+                } catch (RuntimeException e) {
+                    log.error("No se pudo cargar la instantánea analítica; las estadísticas no estarán disponibles", e);
+                }
+            }, "analytics-loader");
+            loader.setDaemon(true);
+            loader.start();
+        };
+    }
+}
@@ -1,13 +1,34 @@
 package com.company.infrastructure.config;
 
 import com.company.application.service.PersonaApplicationService;
+import com.company.application.usecase.AltaPersonas;
+import com.company.application.usecase.CrearPersonaGroupCommit;
+import com.company.application.usecase.CrearPersonaUseCase;
+import com.company.domain.port.PersonaChangeNotifier;
 import com.company.domain.port.PersonaRepository;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.infrastructure.adapter.memory.CachedPersonaRepository;
+import com.company.infrastructure.adapter.memory.CompactPersonaStore;
+import com.company.infrastructure.datasource.ReplicaRoutingContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 /**
  * Configuración de la aplicación
  * Configura la inyección de dependencias para la arquitectura hexagonal
@@ -17,10 +38,78 @@ public class ApplicationConfig {
 
     /**
      * Configuración del servicio de aplicación
+     * Con la copia compacta habilitada, sus lecturas por ID y el listado completo salen de memoria.
+     * Con {@code personas.group-commit.enabled}, las altas concurrentes comparten transacción;
+     * si no, cada alta confirma la suya.
      */
     @Bean
-    public PersonaApplicationService personaApplicationService(PersonaRepository personaRepository) {
-        return new PersonaApplicationService(personaRepository);
+    public PersonaApplicationService personaApplicationService(PersonaRepository personaRepository,
+                                                               ObjectProvider<PersonaChangeNotifier> changeNotifiers,
+                                                               ObjectProvider<EmailUniquenessChecker> emailChecker,
+                                                               UnidadDeTrabajo unidadDeTrabajo,
+                                                               ObjectProvider<CompactPersonaStore> compactStore,
+                                                               @Value("${personas.batch.chunk-size:500}") int batchChunkSize,
+                                                               @Value("${personas.batch.max-operations:5000}") int batchMaxOperations,
+                                                               @Value("${personas.group-commit.enabled:false}") boolean groupCommit,
+                                                               @Value("${personas.group-commit.max-wait:5ms}") Duration groupCommitMaxWait,
+                                                               @Value("${personas.group-commit.max-rows:200}") int groupCommitMaxRows,
+                                                               @Value("${personas.group-commit.max-groups:4}") int groupCommitMaxGroups,
+                                                               @Qualifier("groupCommitExecutor") ObjectProvider<ExecutorService> groupCommitExecutor,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        CompactPersonaStore store = compactStore.getIfAvailable();
+        PersonaRepository repositorio = store != null ? new CachedPersonaRepository(personaRepository, store)
+                : personaRepository;
+        PersonaChangeNotifier notifier =
+                PersonaChangeNotifier.composite(changeNotifiers.orderedStream().collect(Collectors.toList()));
+        EmailUniquenessChecker checker = emailChecker.getIfAvailable(() -> new EmailUniquenessChecker(personaRepository));
+        AltaPersonas altaPersonas;
+        if (groupCommit) {
+            // Quien espera un alta confirmada por otro hilo también debe leer después de la primaria
+            CrearPersonaGroupCommit altasAgrupadas = new CrearPersonaGroupCommit(repositorio, notifier, checker,
+                    unidadDeTrabajo, groupCommitMaxWait, groupCommitMaxRows, groupCommitMaxGroups,
+                    ReplicaRoutingContext::anotarEscritura, groupCommitExecutor.getObject());
+            registrarMetricas(altasAgrupadas, meterRegistry.getIfAvailable());
+            altaPersonas = altasAgrupadas;
+        } else {
+            altaPersonas = new CrearPersonaUseCase(repositorio, notifier, checker);
+        }
+        return new PersonaApplicationService(repositorio, notifier, checker, unidadDeTrabajo,
+                batchChunkSize, batchMaxOperations, altaPersonas);
+    }
+
+    /**
+     * Hilos propios para confirmar los grupos de altas
+     * No llevan el plazo, la contabilidad de consultas ni el compartimento de
+     * ninguna petición, así que el grupo usa el pool por defecto. Hay uno por
+     * grupo en curso: CrearPersonaGroupCommit nunca confirma más a la vez.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "personas.group-commit.enabled", havingValue = "true")
+    public ExecutorService groupCommitExecutor(@Value("${personas.group-commit.max-groups:4}") int maxGroups) {
+        if (maxGroups < 1) {
+            throw new IllegalArgumentException("personas.group-commit.max-groups debe ser positivo");
+        }
+        AtomicInteger hilos = new AtomicInteger();
+        return Executors.newFixedThreadPool(maxGroups, tarea -> {
+            Thread hilo = new Thread(tarea, "altas-agrupadas-" + hilos.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    private static void registrarMetricas(CrearPersonaGroupCommit altasAgrupadas, MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return;
+        }
+        FunctionCounter.builder("personas.group-commit.batches", altasAgrupadas, CrearPersonaGroupCommit::getGrupos)
+                .description("Transacciones de altas agrupadas")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.group-commit.rows", altasAgrupadas, CrearPersonaGroupCommit::getAgrupadas)
+                .description("Altas confirmadas o rechazadas dentro de un grupo")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.group-commit.retries", altasAgrupadas, CrearPersonaGroupCommit::getRepetidas)
+                .description("Altas repetidas de una en una porque su grupo no se confirmó")
+                .register(meterRegistry);
     }
 
     /**
@@ -0,0 +1,148 @@
+package com.company.infrastructure.config;
+
+import com.company.infrastructure.bulkhead.Bulkhead;
+import com.company.infrastructure.bulkhead.BulkheadDataSource;
+import com.company.infrastructure.bulkhead.BulkheadFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración de los compartimentos por clase de tráfico (web, api, bulk)
+ * Cada clase de personas.bulkheads.classes tiene su límite de peticiones a la
+ * vez y su propia partición del pool de spring.datasource. Los trabajos
+ * masivos ya corren en su ejecutor acotado (personas.carga.import.max-concurrent)
+ * y usan la partición bulk. Reemplaza el pool de spring.datasource, así que no
+ * se combina con las réplicas de lectura.
+ */
+@Configuration
+@ConditionalOnExpression("${personas.bulkheads.enabled:false} and !${personas.datasource.routing.enabled:false}")
+public class BulkheadConfig {
+
+    /**
+     * Parámetros de un compartimento
+     */
+    public static class Compartimento {
+
+        // 0 = sin límite de peticiones (los trabajos masivos se limitan en su ejecutor)
+        private int maxConcurrent;
+        private Duration maxWait = Duration.ZERO;
+        private int poolSize = 10;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+    }
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${personas.bulkheads.default-class:bulk}") String defaultClass) {
+        Binder binder = Binder.get(environment);
+        Map<String, DataSource> particiones = new LinkedHashMap<>();
+        compartimentos(binder).forEach((clase, compartimento) -> {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("bulkhead-" + clase);
+            pool.setMaximumPoolSize(compartimento.getPoolSize());
+            if (pool.getMinimumIdle() > compartimento.getPoolSize()) {
+                pool.setMinimumIdle(compartimento.getPoolSize());
+            }
+            // hikaricp.connections.* con la etiqueta pool=bulkhead-<clase>
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            particiones.put(clase, pool);
+        });
+        return new BulkheadDataSource(particiones, defaultClass);
+    }
+
+    /**
+     * Se ejecuta justo después de la contabilidad de consultas, antes que cualquier otro filtro
+     */
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${personas.bulkheads.retry-after:1s}") Duration retryAfter) {
+        Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+        compartimentos(Binder.get(environment)).forEach((clase, compartimento) -> {
+            Bulkhead bulkhead = new Bulkhead(clase, compartimento.getMaxConcurrent(), compartimento.getMaxWait());
+            registrarMetricas(bulkhead, meterRegistry);
+            bulkheads.put(clase, bulkhead);
+        });
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(bulkheads, retryAfter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private static Map<String, Compartimento> compartimentos(Binder binder) {
+        Map<String, Compartimento> compartimentos = binder
+                .bind("personas.bulkheads.classes", Bindable.mapOf(String.class, Compartimento.class))
+                .orElse(Map.of());
+        if (compartimentos.isEmpty()) {
+            throw new IllegalArgumentException("personas.bulkheads.classes no define ningún compartimento");
+        }
+        return compartimentos;
+    }
+
+    private static void registrarMetricas(Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        Gauge.builder("personas.bulkhead.active", bulkhead, Bulkhead::getEnCurso)
+                .description("Peticiones en curso en el compartimento")
+                .tag("bulkhead", bulkhead.getNombre())
+                .register(meterRegistry);
+        Gauge.builder("personas.bulkhead.max", bulkhead, Bulkhead::getMaximo)
+                .description("Peticiones admitidas a la vez en el compartimento (0 = sin límite)")
+                .tag("bulkhead", bulkhead.getNombre())
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.bulkhead.rejected", bulkhead, Bulkhead::getRechazados)
+                .description("Peticiones rechazadas con 503 por falta de hueco")
+                .tag("bulkhead", bulkhead.getNombre())
+                .register(meterRegistry);
+        FunctionTimer.builder("personas.bulkhead.wait", bulkhead, Bulkhead::getEsperas, Bulkhead::getEsperaNanos,
+                        TimeUnit.NANOSECONDS)
+                .description("Espera de las peticiones que no encontraron hueco al llegar")
+                .tag("bulkhead", bulkhead.getNombre())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,130 @@
+package com.company.infrastructure.config;
+
+import com.company.application.carga.ArchivosCarga;
+import com.company.application.carga.DeduplicationEngine;
+import com.company.application.carga.ImportacionService;
+import com.company.application.carga.ParametrosDeduplicacion;
+import com.company.application.carga.ParametrosImportacion;
+import com.company.application.carga.ValidationPipeline;
+import com.company.domain.port.ImportacionRepository;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.infrastructure.bulkhead.BulkheadContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Configuración del procesamiento de cargas masivas
+ * Las etapas de carga comparten un ForkJoinPool propio para no competir con el
+ * pool común (que usan los parallel streams del resto de la aplicación).
+ */
+@Configuration
+public class CargaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CargaConfig.class);
+
+    /**
+     * Pool de la carga; 0 usa un hilo por núcleo
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool cargaForkJoinPool(@Value("${personas.carga.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    public ParametrosDeduplicacion parametrosDeduplicacion(
+            @Value("${personas.carga.dedup.window:8}") int window,
+            @Value("${personas.carga.dedup.threshold:0.88}") double threshold,
+            @Value("${personas.carga.dedup.surname-prefix:4}") int surnamePrefix,
+            @Value("${personas.carga.dedup.phone-suffix:6}") int phoneSuffix) {
+        return new ParametrosDeduplicacion(window, threshold, surnamePrefix, phoneSuffix);
+    }
+
+    @Bean
+    public DeduplicationEngine deduplicationEngine(ForkJoinPool cargaForkJoinPool,
+                                                   ParametrosDeduplicacion parametrosDeduplicacion) {
+        return new DeduplicationEngine(cargaForkJoinPool, parametrosDeduplicacion);
+    }
+
+    @Bean
+    public ValidationPipeline validationPipeline(
+            ForkJoinPool cargaForkJoinPool,
+            @Value("${personas.carga.validation.chunk-size:10000}") int chunkSize) {
+        return new ValidationPipeline(cargaForkJoinPool, chunkSize);
+    }
+
+    @Bean
+    public ParametrosImportacion parametrosImportacion(
+            @Value("${personas.carga.import.directory:imports}") Path directory,
+            @Value("${personas.carga.import.report-directory:imports/informes}") Path reportDirectory,
+            @Value("${personas.carga.import.parallelism:0}") int parallelism,
+            @Value("${personas.carga.import.batch-size:5000}") int batchSize,
+            @Value("${personas.carga.validation.chunk-size:10000}") int chunkSize,
+            @Value("${personas.carga.import.node-id:}") String nodeId,
+            @Value("${personas.carga.import.lease:2m}") Duration lease,
+            ParametrosDeduplicacion parametrosDeduplicacion) {
+        // Por defecto "pid@host": distinto en cada arranque, así que tras una caída se espera a que venza el arriendo
+        return new ParametrosImportacion(directory, reportDirectory,
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                batchSize, chunkSize, parametrosDeduplicacion,
+                nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId, lease);
+    }
+
+    /**
+     * Importaciones reanudables; cada una usa su propio ForkJoinPool con el paralelismo pedido
+     */
+    @Bean(destroyMethod = "detener")
+    public ImportacionService importacionService(
+            ImportacionRepository importacionRepository,
+            PersonaRepository personaRepository,
+            ObjectProvider<EmailUniquenessChecker> emailChecker,
+            ObjectProvider<PersonaChangeNotifier> changeNotifiers,
+            UnidadDeTrabajo unidadDeTrabajo,
+            ArchivosCarga archivosCarga,
+            ParametrosImportacion parametrosImportacion,
+            @Value("${personas.carga.import.max-concurrent:2}") int maxConcurrent) {
+        AtomicInteger hilos = new AtomicInteger();
+        return new ImportacionService(importacionRepository, personaRepository,
+                emailChecker.getIfAvailable(() -> new EmailUniquenessChecker(personaRepository)),
+                PersonaChangeNotifier.composite(changeNotifiers.orderedStream().collect(Collectors.toList())),
+                unidadDeTrabajo, archivosCarga,
+                Executors.newFixedThreadPool(maxConcurrent, tarea -> {
+                    // Con compartimentos, las importaciones usan la partición del pool de los trabajos masivos
+                    Thread hilo = new Thread(() -> BulkheadContext.ejecutar(BulkheadContext.BULK, tarea),
+                            "importacion-" + hilos.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }),
+                parametrosImportacion);
+    }
+
+    /**
+     * Al arrancar continúa las importaciones que quedaron a medias sin dueño y
+     * después vigila las que deja un nodo caído
+     */
+    @Bean
+    public ApplicationRunner importacionesPendientes(ImportacionService importacionService) {
+        return args -> {
+            int reanudadas = importacionService.reanudarPendientes();
+            if (reanudadas > 0) {
+                log.info("Reanudando {} importaciones desde su último punto de control", reanudadas);
+            }
+            importacionService.vigilar();
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.infrastructure.config;
+
+import com.company.infrastructure.concurrency.ConcurrencyLimitFilter;
+import com.company.infrastructure.concurrency.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Configuración del límite adaptativo de concurrencia de la API REST de personas
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public GradientConcurrencyLimiter personaApiLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${personas.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${personas.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${personas.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${personas.concurrency-limit.low-priority-share:0.7}") double lowPriorityShare,
+            @Value("${personas.concurrency-limit.baseline-samples:500}") int baselineSamples) {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, lowPriorityShare, baselineSamples);
+        Gauge.builder("personas.api.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimite)
+                .description("Peticiones concurrentes admitidas en la API de personas")
+                .register(meterRegistry);
+        Gauge.builder("personas.api.concurrency.inflight", limiter, GradientConcurrencyLimiter::getEnCurso)
+                .description("Peticiones en curso en la API de personas")
+                .register(meterRegistry);
+        for (GradientConcurrencyLimiter.Prioridad prioridad : GradientConcurrencyLimiter.Prioridad.values()) {
+            FunctionCounter.builder("personas.api.concurrency.rejected", limiter, l -> l.getRechazadas(prioridad))
+                    .description("Peticiones rechazadas con 503 por superar el límite")
+                    .tag("priority", prioridad.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        return limiter;
+    }
+
+    /**
+     * Se ejecuta tras los compartimentos y antes del enrutado y el plazo: lo rechazado no llega a pedir conexión
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            GradientConcurrencyLimiter personaApiLimiter,
+            @Value("${personas.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(personaApiLimiter, retryAfter));
+        registration.addUrlPatterns("/api/v1/personas", "/api/v1/personas/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.infrastructure.config;
+
+import com.company.infrastructure.deadline.DeadlineDataSource;
+import com.company.infrastructure.deadline.DeadlineFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Configuración de los plazos por petición
+ * El plazo se aplica a las sentencias en un {@link DeadlineDataSource} que
+ * envuelve el DataSource principal; los pools de los shards los envuelve
+ * ShardingConfig con la misma propiedad.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.deadline.enabled", havingValue = "true")
+public class DeadlineConfig {
+
+    /**
+     * Envuelve cualquier DataSource para aplicar el plazo a sus sentencias
+     */
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Vence los plazos; las tareas de las peticiones que terminan a tiempo se retiran al cancelarlas
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService deadlineScheduler() {
+        ScheduledThreadPoolExecutor programador = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(1,
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "plazos");
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        programador.setRemoveOnCancelPolicy(true);
+        return programador;
+    }
+
+    /**
+     * Se ejecuta tras los filtros que rechazan peticiones, justo antes de llegar a los controladores
+     */
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(
+            ScheduledExecutorService deadlineScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${personas.deadline.default-timeout:0}") Duration defaultTimeout) {
+        FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(deadlineScheduler, defaultTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/*", "/personas/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+        return registration;
+    }
+}
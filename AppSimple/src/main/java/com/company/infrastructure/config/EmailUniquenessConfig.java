@@ -0,0 +1,90 @@
+package com.company.infrastructure.config;
+
+import com.company.domain.port.PersonaRepository;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.infrastructure.adapter.memory.ScalableBloomEmailFilter;
+import com.company.infrastructure.adapter.snapshot.PersonaSnapshotManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del control previo de emails duplicados
+ * El filtro de Bloom se carga en segundo plano al arrancar; hasta que termina,
+ * todas las comprobaciones van a la base de datos.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.email-filter.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailUniquenessConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailUniquenessConfig.class);
+
+    @Bean
+    public ScalableBloomEmailFilter emailFilter(
+            @Value("${personas.email-filter.initial-capacity:100000}") long initialCapacity,
+            @Value("${personas.email-filter.false-positive-rate:0.001}") double falsePositiveRate) {
+        return new ScalableBloomEmailFilter(initialCapacity, falsePositiveRate);
+    }
+
+    /**
+     * Control de unicidad; como PersonaChangeNotifier recibe las altas y cambios de email
+     */
+    @Bean
+    public EmailUniquenessChecker emailUniquenessChecker(PersonaRepository personaRepository,
+                                                         ScalableBloomEmailFilter emailFilter,
+                                                         MeterRegistry meterRegistry) {
+        EmailUniquenessChecker checker = new EmailUniquenessChecker(personaRepository, emailFilter);
+
+        FunctionCounter.builder("personas.email-filter.checks", checker, EmailUniquenessChecker::getDescartados)
+                .description("Emails descartados como nuevos sin consultar la base")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.email-filter.checks", checker, EmailUniquenessChecker::getVerificados)
+                .description("Posibles duplicados verificados en la base")
+                .tag("result", "verified")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.email-filter.checks", checker, EmailUniquenessChecker::getFalsosPositivos)
+                .description("Verificaciones en las que el email no existía")
+                .tag("result", "false-positive")
+                .register(meterRegistry);
+        Gauge.builder("personas.email-filter.size", emailFilter, ScalableBloomEmailFilter::size)
+                .register(meterRegistry);
+        Gauge.builder("personas.email-filter.bytes", emailFilter, ScalableBloomEmailFilter::getBytes)
+                .register(meterRegistry);
+        return checker;
+    }
+
+    /**
+     * Carga inicial del filtro en un hilo aparte para no retrasar el arranque
+     * Si el snapshot de personas está habilitado se parte de él y solo se leen de
+     * la base las filas modificadas después.
+     */
+    @Bean
+    public ApplicationRunner emailFilterLoader(EmailUniquenessChecker checker, ScalableBloomEmailFilter emailFilter,
+                                               ObjectProvider<PersonaSnapshotManager> snapshotManager) {
+        return args -> {
+            PersonaSnapshotManager snapshot = snapshotManager.getIfAvailable();
+            Thread loader = new Thread(() -> {
+                long inicio = System.nanoTime();
+                try {
+                    long cargados = snapshot != null ? snapshot.calentar(checker) : checker.reconstruir();
+                    log.info("Filtro de emails cargado: {} emails, {} tramos, {} KB en {} ms",
+                            cargados, emailFilter.getTramos(), emailFilter.getBytes() / 1024,
+                            (System.nanoTime() - inicio) / 1_000_000);
+                } catch (RuntimeException e) {
+                    log.error("No se pudo cargar el filtro de emails; se verificará cada email en la base", e);
+                }
+            }, "email-filter-loader");
+            loader.setDaemon(true);
+            loader.start();
+        };
+    }
+}
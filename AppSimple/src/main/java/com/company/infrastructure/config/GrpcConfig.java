@@ -0,0 +1,44 @@
+package com.company.infrastructure.config;
+
+import com.company.application.service.PersonaApplicationService;
+import com.company.infrastructure.adapter.grpc.PersonaGrpcServer;
+import com.company.infrastructure.adapter.grpc.PersonaGrpcService;
+import com.company.infrastructure.adapter.web.mapper.PersonaProtoMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración del servicio gRPC de personas para otros servicios internos
+ * Usa el mismo servicio de aplicación que la API REST en un puerto aparte.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.grpc.enabled", havingValue = "true")
+public class GrpcConfig {
+
+    /**
+     * Los bloques de la importación son lotes no atómicos: no pueden superar el máximo de un lote
+     */
+    @Bean
+    public PersonaGrpcService personaGrpcService(PersonaApplicationService personaApplicationService,
+                                                 PersonaProtoMapper protoMapper,
+                                                 @Value("${personas.grpc.ingest-chunk-size:500}") int ingestChunkSize,
+                                                 @Value("${personas.batch.max-operations:5000}") int batchMaxOperations) {
+        if (ingestChunkSize > batchMaxOperations) {
+            throw new IllegalArgumentException("personas.grpc.ingest-chunk-size no puede superar "
+                    + "personas.batch.max-operations (" + batchMaxOperations + ")");
+        }
+        return new PersonaGrpcService(personaApplicationService, protoMapper, ingestChunkSize);
+    }
+
+    @Bean(initMethod = "iniciar", destroyMethod = "detener")
+    public PersonaGrpcServer personaGrpcServer(PersonaGrpcService personaGrpcService,
+                                               @Value("${personas.grpc.port:9090}") int port,
+                                               @Value("${personas.grpc.threads:16}") int threads,
+                                               @Value("${personas.grpc.shutdown-grace:10s}") Duration shutdownGrace) {
+        return new PersonaGrpcServer(port, personaGrpcService, threads, shutdownGrace);
+    }
+}
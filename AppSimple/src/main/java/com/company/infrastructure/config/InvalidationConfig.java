@@ -0,0 +1,76 @@
+package com.company.infrastructure.config;
+
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.infrastructure.adapter.invalidation.PgNotifyInvalidationBus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Configuración del bus de invalidación entre instancias (solo PostgreSQL)
+ * El bus es un PersonaChangeNotifier más: los casos de uso de escritura le
+ * entregan sus cambios junto con el resto de notificadores, y él reparte los
+ * cambios de las demás instancias entre esos mismos notificadores locales.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.invalidation.enabled", havingValue = "true")
+public class InvalidationConfig {
+
+    /**
+     * La escucha abre su propia conexión con las credenciales de spring.datasource, fuera del pool
+     */
+    @Bean(initMethod = "iniciar", destroyMethod = "close")
+    public PgNotifyInvalidationBus pgNotifyInvalidationBus(
+            DataSource dataSource,
+            DataSourceProperties properties,
+            ObjectProvider<PersonaChangeNotifier> changeNotifiers,
+            MeterRegistry meterRegistry,
+            @Value("${personas.invalidation.channel:personas_cambios}") String channel,
+            @Value("${personas.invalidation.node-id:}") String nodeId,
+            @Value("${personas.invalidation.coalesce-window:5ms}") Duration coalesceWindow,
+            @Value("${personas.invalidation.keepalive-interval:30s}") Duration keepaliveInterval) {
+        PgNotifyInvalidationBus bus = new PgNotifyInvalidationBus(
+                new JdbcTemplate(dataSource),
+                () -> DriverManager.getConnection(properties.determineUrl(), properties.determineUsername(),
+                        properties.determinePassword()),
+                () -> changeNotifiers.orderedStream()
+                        .filter(notifier -> !(notifier instanceof PgNotifyInvalidationBus))
+                        .collect(Collectors.toList()),
+                channel,
+                nodeId.isBlank() ? PgNotifyInvalidationBus.nodoAleatorio() : nodeId,
+                coalesceWindow,
+                keepaliveInterval);
+
+        Gauge.builder("personas.invalidation.connected", bus, b -> b.isConectado() ? 1 : 0)
+                .description("Si la conexión de escucha de invalidaciones está activa")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.invalidation.notifications", bus,
+                        PgNotifyInvalidationBus::getAvisosPublicados)
+                .description("Avisos NOTIFY publicados")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.invalidation.changes", bus, PgNotifyInvalidationBus::getCambiosPublicados)
+                .description("Cambios de personas publicados, ya agrupados por ID")
+                .tag("direction", "out")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.invalidation.changes", bus, PgNotifyInvalidationBus::getCambiosRecibidos)
+                .description("Cambios de personas recibidos de otras instancias")
+                .tag("direction", "in")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.invalidation.resyncs", bus, PgNotifyInvalidationBus::getResincronizaciones)
+                .description("Resincronizaciones completas tras reconectar la escucha")
+                .register(meterRegistry);
+        return bus;
+    }
+}
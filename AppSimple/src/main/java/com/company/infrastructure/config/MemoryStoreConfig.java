@@ -0,0 +1,63 @@
+package com.company.infrastructure.config;
+
+import com.company.domain.port.PersonaRepository;
+import com.company.infrastructure.adapter.memory.CompactPersonaStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la copia compacta de personas en memoria
+ * Como notificador de cambios se registra sola en los servicios que crean,
+ * modifican o eliminan personas y en la invalidación entre instancias; el
+ * servicio de aplicación lee de ella las personas por ID y el listado completo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.memory-store.enabled", havingValue = "true")
+public class MemoryStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryStoreConfig.class);
+
+    @Bean
+    public CompactPersonaStore compactPersonaStore(PersonaRepository personaRepository, MeterRegistry meterRegistry) {
+        CompactPersonaStore store = new CompactPersonaStore(personaRepository);
+        Gauge.builder("personas.memory-store.rows", store, CompactPersonaStore::getFilas)
+                .description("Personas en la copia compacta")
+                .register(meterRegistry);
+        Gauge.builder("personas.memory-store.bytes", store, CompactPersonaStore::getBytes)
+                .description("Memoria reservada por la copia compacta")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("personas.memory-store.reloads", store, CompactPersonaStore::getRecargas)
+                .description("Recargas completas de la copia compacta")
+                .register(meterRegistry);
+        return store;
+    }
+
+    /**
+     * Primera carga en un hilo aparte; hasta que termina las lecturas van a la base
+     */
+    @Bean
+    public ApplicationRunner compactPersonaStoreLoader(CompactPersonaStore store) {
+        return args -> {
+            Thread loader = new Thread(() -> {
+                long inicio = System.nanoTime();
+                try {
+                    long cargadas = store.recargar();
+                    log.info("Copia compacta de personas cargada: {} personas, {} MB en {} ms", cargadas,
+                            store.getBytes() / (1024 * 1024), (System.nanoTime() - inicio) / 1_000_000);
+                } catch (RuntimeException e) {
+                    log.error("No se pudo cargar la copia compacta de personas; las lecturas seguirán yendo a la base", e);
+                }
+            }, "memory-store-loader");
+            loader.setDaemon(true);
+            loader.start();
+        };
+    }
+}
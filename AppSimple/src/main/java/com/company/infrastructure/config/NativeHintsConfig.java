@@ -0,0 +1,57 @@
+package com.company.infrastructure.config;
+
+import com.company.infrastructure.adapter.web.dto.PersonaCreateRequest;
+import com.company.infrastructure.adapter.web.dto.PersonaResponse;
+import com.company.infrastructure.adapter.web.dto.PersonaUpdateRequest;
+import com.company.infrastructure.logging.SamplingTurboFilter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Metadatos de alcanzabilidad para la imagen nativa de GraalVM
+ * Declara lo que el análisis AOT de Spring no puede deducir por sí solo
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.PersonaRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class PersonaRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Plantillas Thymeleaf y configuración de logback cargadas como recursos
+            hints.resources()
+                    .registerPattern("templates/*.html")
+                    .registerPattern("templates/fragments/*.html")
+                    .registerPattern("logback-spring.xml");
+
+            // Thymeleaf (SpEL) y el data binding de formularios acceden a los DTOs por reflexión
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    PersonaResponse.class, PersonaCreateRequest.class, PersonaUpdateRequest.class);
+
+            // Logback instancia y configura el filtro de muestreo desde el XML
+            hints.reflection().registerType(SamplingTurboFilter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Proxies JDK de la contabilidad de consultas
+            hints.proxies()
+                    .registerJdkProxy(Connection.class)
+                    .registerJdkProxy(Statement.class)
+                    .registerJdkProxy(PreparedStatement.class)
+                    .registerJdkProxy(CallableStatement.class)
+                    .registerJdkProxy(ResultSet.class);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.infrastructure.config;
+
+import com.company.infrastructure.monitoring.QueryAccountingDataSource;
+import com.company.infrastructure.monitoring.QueryAccountingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración de la contabilidad de consultas por petición
+ * Envuelve el DataSource y registra el filtro que publica las métricas
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.monitoring.query-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryAccountingConfig {
+
+    /**
+     * Envuelve cualquier DataSource para medir sus sentencias
+     */
+    @Bean
+    public static BeanPostProcessor queryAccountingDataSourcePostProcessor(
+            @Value("${personas.monitoring.query-accounting.slow-query-threshold-ms:200}") long slowQueryMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryAccountingDataSource)) {
+                    return new QueryAccountingDataSource((DataSource) bean, slowQueryMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Filtro de contabilidad; se ejecuta antes que el resto para medir la petición completa
+     */
+    @Bean
+    public FilterRegistrationBean<QueryAccountingFilter> queryAccountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${personas.monitoring.query-accounting.statement-budget:10}") int statementBudget,
+            @Value("${personas.monitoring.query-accounting.slow-query-threshold-ms:200}") long slowQueryMillis,
+            @Value("${personas.monitoring.query-accounting.debug-headers:false}") boolean debugHeaders) {
+        FilterRegistrationBean<QueryAccountingFilter> registration = new FilterRegistrationBean<>(
+                new QueryAccountingFilter(meterRegistry, statementBudget, slowQueryMillis, debugHeaders));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
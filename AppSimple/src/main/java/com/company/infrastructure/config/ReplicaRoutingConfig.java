@@ -0,0 +1,105 @@
+package com.company.infrastructure.config;
+
+import com.company.infrastructure.datasource.ReadYourWritesFilter;
+import com.company.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración de réplicas de lectura
+ * Sustituye el DataSource de spring.datasource por uno que envía las consultas
+ * de solo lectura a las réplicas de personas.datasource.replicas y el resto a
+ * la primaria. Cada réplica admite url, username, password, driver-class-name
+ * y un bloque hikari propio; sin credenciales usa las de la primaria.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${personas.datasource.routing.health-check-interval:10s}") Duration healthCheckInterval,
+            @Value("${personas.datasource.routing.health-check-timeout:2s}") Duration healthCheckTimeout) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primaria = pool(properties, "primaria");
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+
+        List<DataSourceProperties> configuradas = binder
+                .bind("personas.datasource.replicas", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < configuradas.size(); i++) {
+            DataSourceProperties replica = configuradas.get(i);
+            if (replica.getUsername() == null) {
+                replica.setUsername(properties.determineUsername());
+                replica.setPassword(properties.determinePassword());
+            }
+            String nombre = "replica-" + (i + 1);
+            HikariDataSource pool = pool(replica, nombre);
+            binder.bind("personas.datasource.replicas[" + i + "].hikari", Bindable.ofInstance(pool));
+            replicas.put(nombre, pool);
+        }
+
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primaria, replicas, healthCheckInterval, healthCheckTimeout);
+        for (ReplicaRoutingDataSource.Replica replica : dataSource.getReplicas()) {
+            Gauge.builder("personas.datasource.replica.up", replica, r -> r.isSana() ? 1 : 0)
+                    .description("Si la réplica participa en el reparto de lecturas")
+                    .tag("replica", replica.getNombre())
+                    .register(meterRegistry);
+            FunctionCounter.builder("personas.datasource.replica.connections", replica,
+                            ReplicaRoutingDataSource.Replica::getConexiones)
+                    .description("Conexiones de lectura entregadas por la réplica")
+                    .tag("replica", replica.getNombre())
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("personas.datasource.replica.fallbacks", dataSource,
+                        ReplicaRoutingDataSource::getLecturasEnPrimaria)
+                .description("Lecturas enviadas a la primaria por no haber réplicas sanas")
+                .register(meterRegistry);
+        dataSource.iniciar();
+        return dataSource;
+    }
+
+    /**
+     * Tras una escritura, la sesión lee de la primaria durante la ventana configurada
+     * Va después de los filtros que rechazan peticiones y antes del plazo.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "personas.datasource.routing.read-your-writes", matchIfMissing = true,
+            havingValue = "true")
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${personas.datasource.routing.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String nombre) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(nombre);
+        return pool;
+    }
+}
@@ -0,0 +1,86 @@
+package com.company.infrastructure.config;
+
+import com.company.domain.port.PersonaRepository;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import com.company.infrastructure.deadline.DeadlineDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuración del repositorio de personas repartido en shards
+ * Con personas.sharding.enabled las personas se guardan en las bases de
+ * personas.sharding.shards en lugar de en spring.datasource, que sigue
+ * guardando el resto de tablas (importaciones). Cada shard admite url,
+ * username, password, driver-class-name y un bloque hikari propio. El orden de
+ * la lista define el reparto: añadir o reordenar shards exige redistribuir.
+ * Los pools de los shards no son beans, así que con personas.deadline.enabled
+ * se envuelven aquí para que el plazo de la petición también corte sus sentencias.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Hilos de las consultas en paralelo a los shards
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService shardQueryExecutor(
+            @Value("${personas.sharding.query-threads:0}") int queryThreads,
+            Environment environment) {
+        int shards = shardProperties(environment).size();
+        AtomicInteger hilos = new AtomicInteger();
+        return Executors.newFixedThreadPool(queryThreads > 0 ? queryThreads : Math.max(2, shards * 2), tarea -> {
+            Thread hilo = new Thread(tarea, "shard-query-" + hilos.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @Bean
+    @Primary
+    public PersonaRepository shardedPersonaRepository(
+            Environment environment,
+            ExecutorService shardQueryExecutor,
+            @Value("${personas.sharding.initialize-schema:false}") boolean initializeSchema,
+            @Value("${personas.sharding.id-block-size:1000}") int idBlockSize,
+            @Value("${personas.deadline.enabled:false}") boolean deadlineEnabled) {
+        Binder binder = Binder.get(environment);
+        List<DataSourceProperties> configurados = shardProperties(environment);
+        if (configurados.isEmpty()) {
+            throw new IllegalArgumentException("personas.sharding.shards no puede estar vacío");
+        }
+        List<DataSource> shards = new ArrayList<>(configurados.size());
+        for (int i = 0; i < configurados.size(); i++) {
+            HikariDataSource pool = configurados.get(i).initializeDataSourceBuilder()
+                    .type(HikariDataSource.class).build();
+            pool.setPoolName("shard-" + i);
+            binder.bind("personas.sharding.shards[" + i + "].hikari", Bindable.ofInstance(pool));
+            if (initializeSchema) {
+                ShardedPersonaRepository.crearEsquema(pool);
+            }
+            shards.add(deadlineEnabled ? new DeadlineDataSource(pool) : pool);
+        }
+        return new ShardedPersonaRepository(shards, shardQueryExecutor, idBlockSize);
+    }
+
+    private static List<DataSourceProperties> shardProperties(Environment environment) {
+        return Binder.get(environment)
+                .bind("personas.sharding.shards", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+    }
+}
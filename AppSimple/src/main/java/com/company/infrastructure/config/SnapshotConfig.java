@@ -0,0 +1,34 @@
+package com.company.infrastructure.config;
+
+import com.company.domain.port.PersonaRepository;
+import com.company.infrastructure.adapter.snapshot.PersonaSnapshotManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuración del snapshot binario de personas
+ * El snapshot se escribe periódicamente y al detener la aplicación; al
+ * arrancar acelera la carga del filtro de emails.
+ */
+@Configuration
+@ConditionalOnProperty(name = "personas.snapshot.enabled", havingValue = "true")
+public class SnapshotConfig {
+
+    /**
+     * Se destruye antes que el repositorio del que depende, así que el último snapshot aún puede leer la base
+     */
+    @Bean(initMethod = "iniciar", destroyMethod = "detener")
+    public PersonaSnapshotManager personaSnapshotManager(
+            PersonaRepository personaRepository,
+            @Value("${personas.snapshot.path:snapshots/personas.snap}") Path path,
+            @Value("${personas.snapshot.catch-up-margin:5m}") Duration catchUpMargin,
+            @Value("${personas.snapshot.interval:1h}") Duration interval,
+            @Value("${personas.snapshot.write-enabled:true}") boolean writeEnabled) {
+        return new PersonaSnapshotManager(personaRepository, path, catchUpMargin, interval, writeEnabled);
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.infrastructure.config;
+
+import com.company.infrastructure.adapter.web.converter.PersonaProtobufHttpMessageConverter;
+import com.company.infrastructure.adapter.web.mapper.PersonaProtoMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuración de formatos de respuesta de la API
+ * JSON sigue siendo el formato por defecto. CBOR (application/cbor) y Smile
+ * (application/x-jackson-smile) los registra Spring MVC al estar sus módulos
+ * de Jackson en el classpath; aquí se añade Protobuf (application/x-protobuf).
+ * El formato columnar lo aplica PersonaColumnarResponseAdvice.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final PersonaProtoMapper protoMapper;
+
+    public WireFormatConfig(PersonaProtoMapper protoMapper) {
+        this.protoMapper = protoMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Al final de la lista: no compite con JSON cuando el cliente acepta */*
+        converters.add(new PersonaProtobufHttpMessageConverter(protoMapper));
+    }
+}
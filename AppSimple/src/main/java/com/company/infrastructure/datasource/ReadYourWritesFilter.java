@@ -0,0 +1,62 @@
+package com.company.infrastructure.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filtro de lectura de las propias escrituras por sesión
+ * Tras una petición que usó la primaria fuera de una lectura marcada (un
+ * alta, una edición o una baja, también las que redirigen a /personas/listado)
+ * la sesión lee de la primaria durante un tiempo, para no ver una réplica que
+ * aún no recibió el cambio. Solo actúa sobre sesiones existentes: no crea
+ * sesiones para los clientes de la API.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PRIMARIA_HASTA = ReadYourWritesFilter.class.getName() + ".primariaHasta";
+
+    private final long ventanaMillis;
+
+    public ReadYourWritesFilter(Duration ventana) {
+        this.ventanaMillis = ventana.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean primaria = leerDePrimaria(request.getSession(false));
+        if (primaria) {
+            ReplicaRoutingContext.forzarPrimaria();
+        }
+        ReplicaRoutingContext.reiniciarEscritura();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (primaria) {
+                ReplicaRoutingContext.liberarPrimaria();
+            }
+            if (ReplicaRoutingContext.huboEscritura()) {
+                ReplicaRoutingContext.reiniciarEscritura();
+                HttpSession sesion = request.getSession(false);
+                if (sesion != null) {
+                    sesion.setAttribute(PRIMARIA_HASTA, System.currentTimeMillis() + ventanaMillis);
+                }
+            }
+        }
+    }
+
+    private static boolean leerDePrimaria(HttpSession sesion) {
+        if (sesion == null) {
+            return false;
+        }
+        Object hasta = sesion.getAttribute(PRIMARIA_HASTA);
+        return hasta instanceof Long && (Long) hasta > System.currentTimeMillis();
+    }
+}
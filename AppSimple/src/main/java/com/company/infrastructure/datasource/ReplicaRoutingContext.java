@@ -0,0 +1,83 @@
+package com.company.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Destino de las conexiones del hilo actual para {@link ReplicaRoutingDataSource}
+ * Por defecto toda conexión va a la primaria. Las lecturas marcadas con
+ * {@link #enReplica(Supplier)} pueden ir a una réplica, salvo que el hilo
+ * atienda a una sesión que acaba de escribir y haya pedido leer lo escrito.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> LECTURA_EN_REPLICA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARIA_FORZADA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> ESCRITURA = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    /**
+     * Ejecuta la operación permitiendo que sus conexiones se abran contra una réplica
+     * Solo afecta a las conexiones que se abran dentro: si ya hay una transacción
+     * en curso, la operación sigue usando su conexión.
+     */
+    public static <T> T enReplica(Supplier<T> operacion) {
+        Boolean anterior = LECTURA_EN_REPLICA.get();
+        LECTURA_EN_REPLICA.set(Boolean.TRUE);
+        try {
+            return operacion.get();
+        } finally {
+            if (anterior == null) {
+                LECTURA_EN_REPLICA.remove();
+            } else {
+                LECTURA_EN_REPLICA.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * Envía a la primaria también las lecturas del hilo hasta {@link #liberarPrimaria()}
+     */
+    public static void forzarPrimaria() {
+        PRIMARIA_FORZADA.set(Boolean.TRUE);
+    }
+
+    public static void liberarPrimaria() {
+        PRIMARIA_FORZADA.remove();
+    }
+
+    /**
+     * Si la próxima conexión del hilo puede abrirse contra una réplica
+     */
+    public static boolean usarReplica() {
+        return LECTURA_EN_REPLICA.get() != null && PRIMARIA_FORZADA.get() == null;
+    }
+
+    /**
+     * Anota que el hilo abrió una conexión a la primaria fuera de una lectura marcada
+     */
+    static void anotarConexionPrimaria() {
+        if (LECTURA_EN_REPLICA.get() == null) {
+            ESCRITURA.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Anota como escritura del hilo un cambio que otro hilo confirmó en su nombre
+     */
+    public static void anotarEscritura() {
+        ESCRITURA.set(Boolean.TRUE);
+    }
+
+    /**
+     * Si el hilo usó la primaria para algo que no era una lectura marcada desde el último reinicio
+     */
+    public static boolean huboEscritura() {
+        return ESCRITURA.get() != null;
+    }
+
+    public static void reiniciarEscritura() {
+        ESCRITURA.remove();
+    }
+}
@@ -0,0 +1,204 @@
+package com.company.infrastructure.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource que reparte las lecturas entre réplicas y deja el resto en la primaria
+ * Las conexiones pedidas dentro de {@link ReplicaRoutingContext#enReplica} se
+ * reparten en turno rotativo entre las réplicas sanas. Una réplica que no da
+ * conexión se marca caída en el acto y se prueba la siguiente; si no queda
+ * ninguna, la lectura va a la primaria. Una verificación periódica con
+ * {@link Connection#isValid(int)} devuelve al reparto las réplicas recuperadas.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final Duration intervaloVerificacion;
+    private final int timeoutVerificacionSegundos;
+    private final AtomicInteger turno = new AtomicInteger();
+    private final AtomicLong lecturasEnPrimaria = new AtomicLong();
+
+    private ScheduledExecutorService verificador;
+
+    /**
+     * @param replicas              réplicas por nombre, en el orden del reparto
+     * @param intervaloVerificacion tiempo entre verificaciones de las réplicas; cero para no verificarlas
+     * @param timeoutVerificacion   espera máxima de cada verificación
+     */
+    public ReplicaRoutingDataSource(DataSource primaria, Map<String, DataSource> replicas,
+                                    Duration intervaloVerificacion, Duration timeoutVerificacion) {
+        this.primaria = primaria;
+        List<Replica> lista = new ArrayList<>(replicas.size());
+        replicas.forEach((nombre, dataSource) -> lista.add(new Replica(nombre, dataSource)));
+        this.replicas = Collections.unmodifiableList(lista);
+        this.intervaloVerificacion = intervaloVerificacion;
+        this.timeoutVerificacionSegundos = (int) Math.max(1, timeoutVerificacion.toSeconds());
+    }
+
+    /**
+     * Réplica del reparto con su estado y las conexiones que ha entregado
+     */
+    public static final class Replica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private final AtomicLong conexiones = new AtomicLong();
+        private volatile boolean sana = true;
+
+        Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public boolean isSana() {
+            return sana;
+        }
+
+        public long getConexiones() {
+            return conexiones.get();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReplicaRoutingContext.usarReplica() || replicas.isEmpty()) {
+            ReplicaRoutingContext.anotarConexionPrimaria();
+            return primaria.getConnection();
+        }
+        int cantidad = replicas.size();
+        int inicio = Math.floorMod(turno.getAndIncrement(), cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Replica replica = replicas.get((inicio + i) % cantidad);
+            if (!replica.sana) {
+                continue;
+            }
+            try {
+                Connection conexion = replica.dataSource.getConnection();
+                replica.conexiones.incrementAndGet();
+                return conexion;
+            } catch (SQLException e) {
+                marcarCaida(replica, e);
+            }
+        }
+        lecturasEnPrimaria.incrementAndGet();
+        return primaria.getConnection();
+    }
+
+    /**
+     * Las conexiones con credenciales explícitas van siempre a la primaria
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ReplicaRoutingContext.anotarConexionPrimaria();
+        return primaria.getConnection(username, password);
+    }
+
+    /**
+     * Comprueba cada réplica y actualiza su estado
+     */
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            boolean sana;
+            SQLException error = null;
+            try (Connection conexion = replica.dataSource.getConnection()) {
+                sana = conexion.isValid(timeoutVerificacionSegundos);
+            } catch (SQLException e) {
+                sana = false;
+                error = e;
+            }
+            if (sana && !replica.sana) {
+                log.info("Réplica {} recuperada; vuelve al reparto de lecturas", replica.nombre);
+                replica.sana = true;
+            } else if (!sana && replica.sana) {
+                marcarCaida(replica, error);
+            }
+        }
+    }
+
+    /**
+     * Programa la verificación periódica de las réplicas
+     */
+    public synchronized void iniciar() {
+        if (replicas.isEmpty() || intervaloVerificacion.isZero() || intervaloVerificacion.isNegative()
+                || verificador != null) {
+            return;
+        }
+        verificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "replica-health");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = intervaloVerificacion.toMillis();
+        verificador.scheduleWithFixedDelay(this::verificarReplicas, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene la verificación y cierra los pools de la primaria y las réplicas
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (verificador != null) {
+                verificador.shutdownNow();
+                verificador = null;
+            }
+        }
+        for (Replica replica : replicas) {
+            cerrar(replica.dataSource);
+        }
+        cerrar(primaria);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Lecturas enviadas a la primaria por no haber ninguna réplica sana
+     */
+    public long getLecturasEnPrimaria() {
+        return lecturasEnPrimaria.get();
+    }
+
+    private static void marcarCaida(Replica replica, SQLException causa) {
+        if (replica.sana) {
+            log.warn("Réplica {} fuera del reparto de lecturas: {}", replica.nombre,
+                    causa != null ? causa.getMessage() : "la conexión no es válida");
+        }
+        replica.sana = false;
+    }
+
+    private static void cerrar(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                log.warn("No se pudo cerrar el pool de conexiones", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.infrastructure.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource que aplica a cada sentencia JDBC el {@link RequestDeadline} del hilo actual
+ * Sin plazo en el hilo, las sentencias se ejecutan tal cual. Envuelve el
+ * DataSource principal y, uno a uno, los pools de los shards, que no son beans.
+ */
+public class DeadlineDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public DeadlineDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * Cierra el DataSource envuelto si es un pool; Spring lo invoca al detenerse
+     */
+    @Override
+    public void close() throws Exception {
+        DataSource target = getTargetDataSource();
+        if (target instanceof AutoCloseable) {
+            ((AutoCloseable) target).close();
+        }
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // Los proxies se comparan por identidad: Hibernate los usa como claves de sus registros
+    private static Object identityOrNull(Object proxy, Method method, Object[] args) {
+        if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    /**
+     * Envuelve las sentencias que crea la conexión
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identityOrNull(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = DeadlineDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrapStatement(Statement.class, (Statement) result);
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, (Statement) result);
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, (Statement) result);
+                default:
+                    return result;
+            }
+        }
+
+        private static Object wrapStatement(Class<?> type, Statement statement) {
+            return Proxy.newProxyInstance(
+                    type.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(statement));
+        }
+    }
+
+    /**
+     * Fija el timeout de los métodos execute* y los deja cancelables mientras se ejecutan
+     */
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identityOrNull(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            RequestDeadline deadline = RequestDeadline.actual();
+            if (deadline == null || !method.getName().startsWith("execute")) {
+                return DeadlineDataSource.invoke(target, method, args);
+            }
+            deadline.antesDeEjecutar(target);
+            try {
+                return DeadlineDataSource.invoke(target, method, args);
+            } finally {
+                deadline.despuesDeEjecutar(target);
+            }
+        }
+    }
+}
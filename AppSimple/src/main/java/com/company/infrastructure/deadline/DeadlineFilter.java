@@ -0,0 +1,109 @@
+package com.company.infrastructure.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que fija el plazo de cada petición a partir de sus cabeceras
+ * {@value #TIMEOUT_HEADER} indica los milisegundos que el cliente está
+ * dispuesto a esperar; {@value #DEADLINE_HEADER}, el instante límite en
+ * milisegundos desde epoch. Sin cabeceras se aplica el plazo por defecto, si
+ * lo hay. Al vencer se cancelan las sentencias en curso de la petición, y si la
+ * respuesta aún no empezó a enviarse se responde 504.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    private final ScheduledExecutorService programador;
+    private final Duration plazoPorDefecto;
+    private final Counter vencidas;
+
+    /**
+     * @param plazoPorDefecto plazo de las peticiones sin cabeceras; cero para no limitarlas
+     */
+    public DeadlineFilter(ScheduledExecutorService programador, Duration plazoPorDefecto,
+                          MeterRegistry meterRegistry) {
+        this.programador = programador;
+        this.plazoPorDefecto = plazoPorDefecto;
+        this.vencidas = Counter.builder("personas.deadline.exceeded")
+                .description("Peticiones cuyo plazo venció antes de terminar")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Duration restante;
+        try {
+            restante = restante(request);
+        } catch (IllegalArgumentException e) {
+            responder(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (restante == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (restante.isZero() || restante.isNegative()) {
+            vencidas.increment();
+            responder(response, HttpServletResponse.SC_GATEWAY_TIMEOUT, "El plazo de la petición ya venció");
+            return;
+        }
+
+        RequestDeadline plazo = RequestDeadline.iniciar(restante);
+        ScheduledFuture<?> vencimiento = programador.schedule(plazo::vencer, restante.toNanos(), TimeUnit.NANOSECONDS);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (!plazo.isVencido() || response.isCommitted()) {
+                throw e;
+            }
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "El plazo de la petición venció");
+        } finally {
+            vencimiento.cancel(false);
+            RequestDeadline.terminar();
+            if (plazo.isVencido()) {
+                vencidas.increment();
+            }
+        }
+    }
+
+    private Duration restante(HttpServletRequest request) {
+        String timeout = request.getHeader(TIMEOUT_HEADER);
+        String deadline = request.getHeader(DEADLINE_HEADER);
+        try {
+            if (timeout != null) {
+                return Duration.ofMillis(Long.parseLong(timeout.trim()));
+            }
+            if (deadline != null) {
+                return Duration.ofMillis(Long.parseLong(deadline.trim()) - System.currentTimeMillis());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Las cabeceras " + TIMEOUT_HEADER + " y " + DEADLINE_HEADER
+                    + " deben ser milisegundos");
+        }
+        return plazoPorDefecto.isZero() ? null : plazoPorDefecto;
+    }
+
+    private static void responder(HttpServletResponse response, int estado, String mensaje) throws IOException {
+        byte[] cuerpo = ("{\"error\":\"" + mensaje + "\"}").getBytes(StandardCharsets.UTF_8);
+        response.setStatus(estado);
+        response.setContentType("application/json");
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.infrastructure.deadline;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Plazo de la petición en curso
+ * Lo fija el {@link DeadlineFilter} y viaja en el hilo a través del servicio de
+ * aplicación hasta el adaptador de persistencia: cada sentencia JDBC recibe
+ * como timeout el tiempo restante, no se ejecuta si el plazo ya venció y se
+ * cancela si sigue en curso cuando vence. Los hilos que trabajan para la
+ * petición (consultas en paralelo a los shards) lo heredan con
+ * {@link #propagar(Supplier)}.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> ACTUAL = new ThreadLocal<>();
+
+    private final long venceNanos;
+    private final Set<Statement> enCurso = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final AtomicLong canceladas = new AtomicLong();
+    private boolean vencido;
+
+    private RequestDeadline(long venceNanos) {
+        this.venceNanos = venceNanos;
+    }
+
+    /**
+     * Fija para el hilo actual un plazo que vence dentro de {@code restante}
+     */
+    public static RequestDeadline iniciar(Duration restante) {
+        RequestDeadline plazo = new RequestDeadline(System.nanoTime() + restante.toNanos());
+        ACTUAL.set(plazo);
+        return plazo;
+    }
+
+    /**
+     * Plazo del hilo actual, o null si no hay ninguno
+     */
+    public static RequestDeadline actual() {
+        return ACTUAL.get();
+    }
+
+    public static void terminar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Envuelve la operación para que se ejecute, en cualquier hilo, con el plazo del hilo actual
+     */
+    public static <T> Supplier<T> propagar(Supplier<T> operacion) {
+        RequestDeadline plazo = ACTUAL.get();
+        if (plazo == null) {
+            return operacion;
+        }
+        return () -> {
+            RequestDeadline anterior = ACTUAL.get();
+            ACTUAL.set(plazo);
+            try {
+                return operacion.get();
+            } finally {
+                if (anterior == null) {
+                    ACTUAL.remove();
+                } else {
+                    ACTUAL.set(anterior);
+                }
+            }
+        };
+    }
+
+    public long restanteNanos() {
+        return venceNanos - System.nanoTime();
+    }
+
+    public synchronized boolean isVencido() {
+        return vencido || restanteNanos() <= 0;
+    }
+
+    /**
+     * Sentencias canceladas por vencer el plazo mientras se ejecutaban
+     */
+    public long getCanceladas() {
+        return canceladas.get();
+    }
+
+    /**
+     * Marca el plazo como vencido y cancela las sentencias que siguen ejecutándose
+     */
+    public synchronized void vencer() {
+        vencido = true;
+        for (Statement sentencia : enCurso) {
+            try {
+                sentencia.cancel();
+                canceladas.incrementAndGet();
+            } catch (SQLException e) {
+                // La sentencia terminó o la conexión se cerró mientras tanto
+            }
+        }
+        enCurso.clear();
+    }
+
+    /**
+     * Prepara una sentencia antes de ejecutarla: timeout con el tiempo restante y registro para cancelarla
+     *
+     * @throws SQLTimeoutException si el plazo ya venció
+     */
+    public synchronized void antesDeEjecutar(Statement sentencia) throws SQLException {
+        long restante = restanteNanos();
+        if (vencido || restante <= 0) {
+            throw new SQLTimeoutException("El plazo de la petición venció antes de ejecutar la sentencia");
+        }
+        // JDBC solo admite segundos: el corte preciso lo hace vencer()
+        sentencia.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(restante + 999_999_999L)));
+        enCurso.add(sentencia);
+    }
+
+    /**
+     * Retira la sentencia: a partir de aquí vencer() ya no la cancela
+     */
+    public synchronized void despuesDeEjecutar(Statement sentencia) {
+        enCurso.remove(sentencia);
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TurboFilter de muestreo por logger
+ * Deja pasar uno de cada N eventos INFO/DEBUG/TRACE de los loggers configurados.
+ * Se evalúa antes de construir el evento, así que los mensajes descartados
+ * no llegan a formatear sus argumentos. WARN, ERROR y eventos con excepción
+ * nunca se muestrean.
+ *
+ * Configuración en logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="com.company.infrastructure.logging.SamplingTurboFilter"&gt;
+ *     &lt;sample&gt;com.company.infrastructure.adapter.web=10&lt;/sample&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Sampler UNSAMPLED = new Sampler(1);
+
+    private final Map<String, Integer> rates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    /**
+     * Añade una regla con formato {@code prefijo.de.logger=N}
+     */
+    public void addSample(String rule) {
+        int separator = rule.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("Regla de muestreo inválida: " + rule);
+            return;
+        }
+        String prefix = rule.substring(0, separator).strip();
+        int rate = Integer.parseInt(rule.substring(separator + 1).strip());
+        rates.put(prefix, Math.max(1, rate));
+        samplers.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+                              Object[] params, Throwable t) {
+        // Las comprobaciones isXxxEnabled() llegan sin formato: no consumen muestra
+        if (format == null || level == null || t != null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::samplerFor);
+        return sampler.accept() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sampler samplerFor(String loggerName) {
+        String bestPrefix = null;
+        for (String prefix : rates.keySet()) {
+            boolean matches = loggerName.equals(prefix) || loggerName.startsWith(prefix + ".");
+            if (matches && (bestPrefix == null || prefix.length() > bestPrefix.length())) {
+                bestPrefix = prefix;
+            }
+        }
+        if (bestPrefix == null || rates.get(bestPrefix) <= 1) {
+            return UNSAMPLED;
+        }
+        return new Sampler(rates.get(bestPrefix));
+    }
+
+    /**
+     * Contador de muestreo 1 de cada N
+     */
+    private static final class Sampler {
+
+        private final int rate;
+        private final AtomicLong counter = new AtomicLong();
+
+        Sampler(int rate) {
+            this.rate = rate;
+        }
+
+        boolean accept() {
+            return rate <= 1 || counter.getAndIncrement() % rate == 0;
+        }
+    }
+}
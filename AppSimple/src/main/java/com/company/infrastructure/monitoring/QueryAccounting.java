@@ -0,0 +1,86 @@
+package com.company.infrastructure.monitoring;
+
+/**
+ * Contabilidad de consultas SQL de la petición en curso
+ * Acumula sentencias, filas leídas y tiempo de base de datos por hilo
+ */
+public final class QueryAccounting {
+
+    private static final ThreadLocal<QueryAccounting> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long dbNanos;
+    private int slowStatements;
+    private long slowestNanos;
+    private String slowestSql;
+
+    private QueryAccounting() {}
+
+    /**
+     * Inicia la contabilidad para el hilo actual
+     */
+    public static QueryAccounting start() {
+        QueryAccounting accounting = new QueryAccounting();
+        CURRENT.set(accounting);
+        return accounting;
+    }
+
+    /**
+     * Devuelve la contabilidad activa o null si el hilo no está siendo medido
+     */
+    public static QueryAccounting current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Finaliza la contabilidad del hilo actual
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql, long nanos, long slowThresholdNanos) {
+        statements++;
+        dbNanos += nanos;
+        if (nanos >= slowThresholdNanos) {
+            slowStatements++;
+        }
+        if (nanos > slowestNanos) {
+            slowestNanos = nanos;
+            slowestSql = sql;
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public double getDbMillis() {
+        return dbNanos / 1_000_000.0;
+    }
+
+    public int getSlowStatements() {
+        return slowStatements;
+    }
+
+    public long getSlowestNanos() {
+        return slowestNanos;
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+}
@@ -0,0 +1,190 @@
+package com.company.infrastructure.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource que mide cada sentencia JDBC ejecutada
+ * Registra tiempo y filas en la {@link QueryAccounting} del hilo actual
+ */
+public class QueryAccountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final long slowThresholdNanos;
+
+    public QueryAccountingDataSource(DataSource target, long slowThresholdMillis) {
+        super(target);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * Cierra el DataSource envuelto si es un pool; Spring lo invoca al detenerse
+     */
+    @Override
+    public void close() throws Exception {
+        DataSource target = getTargetDataSource();
+        if (target instanceof AutoCloseable) {
+            ((AutoCloseable) target).close();
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // Los proxies se comparan por identidad: Hibernate los usa como claves de sus registros
+    private static boolean isIdentityMethod(Method method) {
+        return ("equals".equals(method.getName()) && method.getParameterCount() == 1)
+                || ("hashCode".equals(method.getName()) && method.getParameterCount() == 0);
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+        }
+        return System.identityHashCode(proxy);
+    }
+
+    /**
+     * Intercepta la creación de sentencias para envolverlas
+     */
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = QueryAccountingDataSource.invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrapStatement(Statement.class, result, null);
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, result, sql);
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, result, sql);
+                default:
+                    return result;
+            }
+        }
+
+        private Object wrapStatement(Class<?> type, Object statement, String sql) {
+            return Proxy.newProxyInstance(
+                    type.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    /**
+     * Mide los métodos execute* y cuenta las filas de los ResultSet devueltos
+     */
+    private class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String preparedSql;
+
+        StatementHandler(Object target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            QueryAccounting accounting = QueryAccounting.current();
+            if (accounting == null) {
+                return QueryAccountingDataSource.invoke(target, method, args);
+            }
+
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = QueryAccountingDataSource.invoke(target, method, args);
+                } finally {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String
+                            ? (String) args[0] : preparedSql;
+                    accounting.recordStatement(sql, System.nanoTime() - start, slowThresholdNanos);
+                }
+            } else {
+                result = QueryAccountingDataSource.invoke(target, method, args);
+            }
+
+            if (result instanceof ResultSet) {
+                return Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class},
+                        new ResultSetHandler((ResultSet) result, accounting));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Cuenta las filas leídas de un ResultSet
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final QueryAccounting accounting;
+
+        ResultSetHandler(ResultSet target, QueryAccounting accounting) {
+            this.target = target;
+            this.accounting = accounting;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = QueryAccountingDataSource.invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                accounting.recordRow();
+            }
+            return result;
+        }
+    }
+}
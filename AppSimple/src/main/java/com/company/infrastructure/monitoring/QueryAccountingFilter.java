@@ -0,0 +1,170 @@
+package com.company.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que contabiliza las consultas SQL de cada petición HTTP
+ * Publica métricas, la cabecera de depuración X-Db-Time y avisa de peticiones
+ * que superan el presupuesto de sentencias o contienen consultas lentas
+ */
+public class QueryAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryAccountingFilter.class);
+
+    public static final String DB_TIME_HEADER = "X-Db-Time";
+    public static final String DB_STATEMENTS_HEADER = "X-Db-Statements";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final long slowQueryMillis;
+    private final boolean debugHeaders;
+
+    public QueryAccountingFilter(MeterRegistry meterRegistry, int statementBudget,
+                                 long slowQueryMillis, boolean debugHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.slowQueryMillis = slowQueryMillis;
+        this.debugHeaders = debugHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryAccounting accounting = QueryAccounting.start();
+        HttpServletResponse target = debugHeaders ? new DbTimeHeaderResponse(response, accounting) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            QueryAccounting.end();
+            record(request, accounting);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryAccounting accounting) {
+        if (accounting.getStatements() == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        Timer.builder("personas.db.request.time")
+                .description("Tiempo de base de datos por petición HTTP")
+                .tag("uri", uri).tag("method", method)
+                .register(meterRegistry)
+                .record(accounting.getDbNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("personas.db.request.statements")
+                .description("Sentencias SQL por petición HTTP")
+                .tag("uri", uri).tag("method", method)
+                .register(meterRegistry)
+                .record(accounting.getStatements());
+        DistributionSummary.builder("personas.db.request.rows")
+                .description("Filas leídas por petición HTTP")
+                .tag("uri", uri).tag("method", method)
+                .register(meterRegistry)
+                .record(accounting.getRows());
+
+        if (accounting.getStatements() > statementBudget) {
+            flag(uri, method, "statement-budget");
+            log.warn("{} {} ejecutó {} sentencias SQL (presupuesto: {}, tiempo BD: {} ms)",
+                    method, uri, accounting.getStatements(), statementBudget, formatMillis(accounting));
+        }
+        if (accounting.getSlowStatements() > 0) {
+            flag(uri, method, "slow-query");
+            log.warn("{} {} ejecutó {} consultas lentas (umbral: {} ms); la más lenta tardó {} ms: {}",
+                    method, uri, accounting.getSlowStatements(), slowQueryMillis,
+                    TimeUnit.NANOSECONDS.toMillis(accounting.getSlowestNanos()), accounting.getSlowestSql());
+        }
+    }
+
+    private void flag(String uri, String method, String reason) {
+        Counter.builder("personas.db.request.flagged")
+                .description("Peticiones que superan el presupuesto de sentencias o el umbral de consulta lenta")
+                .tag("uri", uri).tag("method", method).tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String formatMillis(QueryAccounting accounting) {
+        return String.format(Locale.ROOT, "%.3f", accounting.getDbMillis());
+    }
+
+    /**
+     * Añade las cabeceras de depuración justo antes de que se comprometa la respuesta,
+     * cuando ya se conocen las consultas del controlador
+     */
+    private static class DbTimeHeaderResponse extends HttpServletResponseWrapper {
+
+        private final QueryAccounting accounting;
+        private boolean headersWritten;
+
+        DbTimeHeaderResponse(HttpServletResponse response, QueryAccounting accounting) {
+            super(response);
+            this.accounting = accounting;
+        }
+
+        private void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(DB_TIME_HEADER, formatMillis(accounting));
+            setHeader(DB_STATEMENTS_HEADER, String.valueOf(accounting.getStatements()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Esquema de cada shard de personas (ver ShardedPersonaRepository)
+-- Compatible con PostgreSQL y H2. Los IDs los asigna la aplicación: no hay SERIAL.
+-- En PostgreSQL, crear las bases de los shards con LC_COLLATE 'C' para que el orden
+-- de texto de cada shard coincida con el de la mezcla en la aplicación.
+CREATE TABLE IF NOT EXISTS datospersonas (
+    idpersona INTEGER PRIMARY KEY,
+    nombre VARCHAR(45) NOT NULL,
+    apellido VARCHAR(45) NOT NULL,
+    email VARCHAR(45) NOT NULL UNIQUE,
+    tel VARCHAR(20) NOT NULL,
+    direccion VARCHAR(100) NOT NULL,
+    version INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_nombre ON datospersonas(nombre);
+CREATE INDEX IF NOT EXISTS idx_apellido ON datospersonas(apellido);
+CREATE INDEX IF NOT EXISTS idx_updated_at ON datospersonas(updated_at);
+
+-- Bloques de IDs repartidos entre instancias; solo se usa en el primer shard
+CREATE TABLE IF NOT EXISTS personas_id_bloques (
+    nombre VARCHAR(45) PRIMARY KEY,
+    siguiente BIGINT NOT NULL
+);
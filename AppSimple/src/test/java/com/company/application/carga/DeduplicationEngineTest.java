@@ -0,0 +1,56 @@
+package com.company.application.carga;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del motor de deduplicación de cargas
+ */
+class DeduplicationEngineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final DeduplicationEngine engine = new DeduplicationEngine(pool, ParametrosDeduplicacion.porDefecto());
+
+    @AfterEach
+    void cerrarPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void agrupaVariantesDeTildesTelefonoYEmail() {
+        List<RegistroCarga> registros = List.of(
+                new RegistroCarga(1, "José", "Pérez", "jose.perez@email.com", "11 2345-6789", "Calle Falsa 123"),
+                new RegistroCarga(2, "Jose", "Perez", "JOSE.PEREZ@EMAIL.COM", "(11) 2345 6789", "Calle Falsa 123"),
+                new RegistroCarga(3, "Jose", "Peres", "jperez@otro.com", "+54 11 2345 6789", "Calle Falsa 123"),
+                new RegistroCarga(4, "Ana", "Gómez", "ana.gomez@email.com", "1198765432", "Avenida 1"),
+                new RegistroCarga(5, "Juan", "Pérez", "juan.perez@email.com", "1100000000", "Otra calle 5"));
+
+        ResultadoDeduplicacion resultado = engine.deduplicar(registros);
+
+        assertThat(resultado.getRegistros()).extracting(RegistroCarga::getLinea).containsExactly(1L, 4L, 5L);
+        assertThat(resultado.getGrupos()).hasSize(1);
+        GrupoDuplicados grupo = resultado.getGrupos().get(0);
+        assertThat(grupo.getLineas()).containsExactly(1L, 2L, 3L);
+        assertThat(grupo.getFusionado().getNombre()).isEqualTo("José");
+        assertThat(grupo.getFusionado().getApellido()).isEqualTo("Pérez");
+        assertThat(grupo.getFusionado().getEmail()).isEqualTo("jose.perez@email.com");
+        assertThat(resultado.getInforme().getDuplicadosEliminados()).isEqualTo(2);
+    }
+
+    @Test
+    void cargaSinDuplicadosQuedaIgual() {
+        List<RegistroCarga> registros = List.of(
+                new RegistroCarga(1, "Ana", "Gómez", "ana@email.com", "1111111111", "Calle 1"),
+                new RegistroCarga(2, "Luis", "Martínez", "luis@email.com", "2222222222", "Calle 2"));
+
+        ResultadoDeduplicacion resultado = engine.deduplicar(registros);
+
+        assertThat(resultado.getRegistros()).containsExactlyElementsOf(registros);
+        assertThat(resultado.getGrupos()).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.application.carga;
+
+import com.company.infrastructure.adapter.carga.CsvErrorReportWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del pipeline de validación de cargas
+ */
+class ValidationPipelineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ValidationPipeline pipeline = new ValidationPipeline(pool, 7);
+
+    @AfterEach
+    void cerrarPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void entregaEnOrdenYReuneTodosLosErroresDeCadaFila() throws IOException {
+        // Cada quinta fila tiene nombre vacío y email inválido
+        List<RegistroCarga> registros = LongStream.rangeClosed(1, 100)
+                .mapToObj(linea -> linea % 5 == 0
+                        ? new RegistroCarga(linea, " ", "Pérez", "no-es-email", "1123456789", "Calle 1")
+                        : new RegistroCarga(linea, "Ana", "Pérez", "ana" + linea + "@email.com", "1123456789", "Calle 1"))
+                .collect(Collectors.toList());
+        List<RegistroCarga> validos = new ArrayList<>();
+        StringWriter informe = new StringWriter();
+
+        ResumenValidacion resumen;
+        try (CsvErrorReportWriter errores = new CsvErrorReportWriter(informe)) {
+            resumen = pipeline.validar(registros.iterator(), validos::add, errores);
+        }
+
+        assertThat(resumen.getLeidos()).isEqualTo(100);
+        assertThat(resumen.getValidos()).isEqualTo(80);
+        assertThat(resumen.getInvalidos()).isEqualTo(20);
+        assertThat(resumen.getErroresCampo()).isEqualTo(40);
+        assertThat(validos).extracting(RegistroCarga::getLinea)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 100).filter(l -> l % 5 != 0).boxed()
+                        .collect(Collectors.toList()));
+
+        String[] filas = informe.toString().split("\n");
+        assertThat(filas).hasSize(41);
+        assertThat(filas[0]).isEqualTo("linea,campo,mensaje");
+        assertThat(filas[1]).isEqualTo("5,nombre,Nombre no puede estar vacío");
+        assertThat(filas[2]).isEqualTo("5,email,Formato de email inválido: no-es-email");
+        assertThat(filas[40]).startsWith("100,email,");
+    }
+}
@@ -0,0 +1,171 @@
+package com.company.application.usecase;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de las altas agrupadas con muchas peticiones a la vez
+ */
+class CrearPersonaGroupCommitTest {
+
+    private static final int PETICIONES = 40;
+
+    private final ExecutorService peticiones = Executors.newFixedThreadPool(PETICIONES);
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService grupos = Executors.newCachedThreadPool(tarea -> new Thread(tarea, "grupo"));
+    private ShardedPersonaRepository repositorio;
+
+    @BeforeEach
+    void crearBase() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:group-commit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ShardedPersonaRepository.crearEsquema(h2);
+        repositorio = new ShardedPersonaRepository(List.of(h2), ejecutor, 16);
+    }
+
+    @AfterEach
+    void detener() {
+        peticiones.shutdownNow();
+        ejecutor.shutdownNow();
+        grupos.shutdownNow();
+    }
+
+    @Test
+    void agrupaLasAltasConcurrentesYDevuelveACadaUnaSuResultado() throws Exception {
+        AtomicInteger transacciones = new AtomicInteger();
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximoEnCurso = new AtomicInteger();
+        Set<String> hilos = ConcurrentHashMap.newKeySet();
+        // Cada transacción tarda como un commit con fsync
+        UnidadDeTrabajo lenta = new UnidadDeTrabajo() {
+            @Override
+            public <T> T ejecutar(Supplier<T> operacion) {
+                transacciones.incrementAndGet();
+                maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+                hilos.add(Thread.currentThread().getName());
+                try {
+                    T resultado = operacion.get();
+                    dormir(20);
+                    return resultado;
+                } finally {
+                    enCurso.decrementAndGet();
+                }
+            }
+        };
+        AtomicInteger escriturasAnotadas = new AtomicInteger();
+        CrearPersonaGroupCommit altas = new CrearPersonaGroupCommit(repositorio, PersonaChangeNotifier.NONE,
+                new EmailUniquenessChecker(repositorio), lenta, Duration.ofMillis(50), 16, 2,
+                escriturasAnotadas::incrementAndGet, grupos);
+
+        // Las dos últimas repiten emails de otras peticiones y la anterior tiene un teléfono inválido
+        List<Future<Object>> resultados = lanzar(i -> {
+            String email = i >= PETICIONES - 2 ? "persona0@email.com" : "persona" + i + "@email.com";
+            String telefono = i == PETICIONES - 3 ? "12" : "1122334455";
+            return altas.execute(new CrearPersonaUseCase.CrearPersonaCommand("Nombre", "Apellido", email,
+                    telefono, "Calle " + i));
+        });
+
+        List<Integer> ids = new ArrayList<>();
+        List<String> errores = new ArrayList<>();
+        for (Future<Object> resultado : resultados) {
+            Object valor = resultado.get(30, TimeUnit.SECONDS);
+            if (valor instanceof Persona) {
+                ids.add(((Persona) valor).getId().getValue());
+            } else {
+                errores.add((String) valor);
+            }
+        }
+        assertThat(ids).hasSize(PETICIONES - 3).doesNotHaveDuplicates();
+        assertThat(errores).containsExactlyInAnyOrder("Ya existe una persona con ese email",
+                "Ya existe una persona con ese email", "Formato de teléfono inválido: 12");
+        assertThat(repositorio.findAll()).hasSize(PETICIONES - 3);
+        assertThat(transacciones.get()).isLessThan(PETICIONES / 4);
+        assertThat(altas.getAgrupadas()).isEqualTo(PETICIONES);
+        assertThat(maximoEnCurso.get()).isLessThanOrEqualTo(2);
+        // Los grupos se confirman fuera de los hilos de las peticiones, que anotan cada una su alta.
+        // Un email repetido en dos grupos a la vez hace fallar uno de ellos, y sus altas se repiten solas
+        assertThat(hilos).containsOnly("grupo");
+        assertThat(escriturasAnotadas.get())
+                .isBetween(PETICIONES - 3 - (int) altas.getRepetidas(), PETICIONES - 3);
+    }
+
+    @Test
+    void siElGrupoNoSeConfirmaCadaAltaSeRepiteSola() throws Exception {
+        AtomicInteger fallos = new AtomicInteger(1);
+        // La primera transacción no llega a abrirse (plazo vencido, base caída)
+        UnidadDeTrabajo conUnFallo = new UnidadDeTrabajo() {
+            @Override
+            public <T> T ejecutar(Supplier<T> operacion) {
+                if (fallos.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Sin conexión");
+                }
+                return operacion.get();
+            }
+        };
+        CrearPersonaGroupCommit altas = new CrearPersonaGroupCommit(repositorio, PersonaChangeNotifier.NONE,
+                new EmailUniquenessChecker(repositorio), conUnFallo, Duration.ofMillis(50), PETICIONES, 2,
+                () -> { }, grupos);
+
+        List<Future<Object>> resultados = lanzar(i -> altas.execute(new CrearPersonaUseCase.CrearPersonaCommand(
+                "Nombre", "Apellido", "persona" + i + "@email.com", "1122334455", "Calle " + i)));
+        for (Future<Object> resultado : resultados) {
+            assertThat(resultado.get(30, TimeUnit.SECONDS)).isInstanceOf(Persona.class);
+        }
+        assertThat(repositorio.findAll()).hasSize(PETICIONES);
+        assertThat(altas.getRepetidas()).isPositive();
+    }
+
+    private interface Alta {
+        Persona crear(int i);
+    }
+
+    // Todas las peticiones salen a la vez; cada una devuelve su persona o su mensaje de error
+    private List<Future<Object>> lanzar(Alta alta) {
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Object>> resultados = new ArrayList<>();
+        for (int i = 0; i < PETICIONES; i++) {
+            int indice = i;
+            resultados.add(peticiones.submit(() -> {
+                salida.await();
+                try {
+                    return alta.crear(indice);
+                } catch (IllegalArgumentException e) {
+                    return e.getMessage();
+                }
+            }));
+        }
+        salida.countDown();
+        return resultados;
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
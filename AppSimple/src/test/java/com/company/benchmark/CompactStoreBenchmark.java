@@ -0,0 +1,173 @@
+package com.company.benchmark;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.memory.CompactPersonaTable;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Memoria y reservas de una copia completa de personas: objetos Persona frente a la tabla compacta
+ * Carga personas sintéticas en un HashMap&lt;Integer, Persona&gt; y en una
+ * {@link CompactPersonaTable}, y registra el heap retenido por fila, los bytes
+ * reservados por fila durante la carga y el tiempo y los bytes reservados de
+ * una búsqueda por ID. Uso: mvn -Pcompact-store-benchmark verify
+ * Argumentos opcionales: [csv de resultados] [registros]
+ * Para 10M registros hace falta un heap de unos 6 GB (MAVEN_OPTS=-Xmx6g).
+ */
+public final class CompactStoreBenchmark {
+
+    private static final String[] NOMBRES = {"José", "María", "Juan", "Ana", "Luis", "Lucía", "Carlos", "Sofía",
+            "Miguel", "Valentina", "Martín", "Camila", "Andrés", "Julieta", "Tomás", "Inés"};
+    private static final String[] APELLIDOS = {"Pérez", "González", "Rodríguez", "Fernández", "López", "Martínez",
+            "Sánchez", "Gómez", "Díaz", "Álvarez", "Romero", "Suárez", "Muñoz", "Benítez", "Acosta", "Giménez"};
+    private static final String[] DOMINIOS = {"gmail.com", "hotmail.com", "yahoo.com", "email.com", "outlook.com"};
+    private static final String[] CALLES = {"Av. Corrientes", "Calle Florida", "Av. Santa Fe", "Calle Mayor",
+            "Av. de Mayo", "Calle San Martín"};
+    private static final int BUSQUEDAS = 1_000_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORIA = ManagementFactory.getMemoryMXBean();
+
+    private CompactStoreBenchmark() {
+    }
+
+    /**
+     * Estructura medida: recibe las personas y resuelve búsquedas por ID
+     */
+    private interface Copia {
+
+        void poner(Persona persona);
+
+        default void terminarCarga() {
+        }
+
+        Persona buscar(int id);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resultados = Paths.get(args.length > 0 ? args[0] : "target/compact-store-benchmark.csv");
+        int cantidad = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        boolean nuevo = !Files.exists(resultados);
+        if (resultados.getParent() != null) {
+            Files.createDirectories(resultados.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(resultados, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (nuevo) {
+                out.println("registros,estructura,ms_carga,bytes_retenidos_por_fila,bytes_reservados_por_fila,"
+                        + "ns_por_busqueda,bytes_reservados_por_busqueda");
+            }
+            medir(out, "persona-hashmap", cantidad, () -> {
+                Map<Integer, Persona> mapa = new HashMap<>();
+                return new Copia() {
+                    @Override
+                    public void poner(Persona persona) {
+                        mapa.put(persona.getId().getValue(), persona);
+                    }
+
+                    @Override
+                    public Persona buscar(int id) {
+                        return mapa.get(id);
+                    }
+                };
+            });
+            medir(out, "compact-table", cantidad, () -> {
+                CompactPersonaTable tabla = new CompactPersonaTable(1024);
+                return new Copia() {
+                    @Override
+                    public void poner(Persona persona) {
+                        tabla.poner(persona);
+                    }
+
+                    // Como la copia de la aplicación tras cada carga completa
+                    @Override
+                    public void terminarCarga() {
+                        tabla.ajustar();
+                        System.out.printf(Locale.ROOT, "compact-table: %.1f B/fila según la propia tabla%n",
+                                (double) tabla.bytesOcupados() / tabla.getFilas());
+                    }
+
+                    @Override
+                    public Persona buscar(int id) {
+                        return tabla.buscar(id).orElse(null);
+                    }
+                };
+            });
+        }
+        System.out.println("Resultados en " + resultados);
+    }
+
+    private static void medir(PrintWriter out, String estructura, int cantidad, Supplier<Copia> fabrica) {
+        long antesHeap = heapTrasGc();
+        Copia copia = fabrica.get();
+        long inicio = System.nanoTime();
+        long antesBytes = reservados();
+        generar(cantidad, copia::poner);
+        copia.terminarCarga();
+        long bytesCarga = reservados() - antesBytes;
+        long msCarga = (System.nanoTime() - inicio) / 1_000_000;
+        long retenidos = heapTrasGc() - antesHeap;
+
+        SplittableRandom random = new SplittableRandom(7);
+        long control = 0;
+        // Calentamiento con la mitad de las búsquedas
+        for (int i = 0; i < BUSQUEDAS / 2; i++) {
+            control += copia.buscar(1 + random.nextInt(cantidad)).getNombre().length();
+        }
+        long antesBusquedas = reservados();
+        long inicioBusquedas = System.nanoTime();
+        for (int i = 0; i < BUSQUEDAS; i++) {
+            control += copia.buscar(1 + random.nextInt(cantidad)).getNombre().length();
+        }
+        double nsPorBusqueda = (double) (System.nanoTime() - inicioBusquedas) / BUSQUEDAS;
+        double bytesPorBusqueda = (double) (reservados() - antesBusquedas) / BUSQUEDAS;
+
+        out.printf(Locale.ROOT, "%d,%s,%d,%.1f,%.1f,%.0f,%.1f%n", cantidad, estructura, msCarga,
+                (double) retenidos / cantidad, (double) bytesCarga / cantidad, nsPorBusqueda, bytesPorBusqueda);
+        System.out.printf(Locale.ROOT, "%-16s carga %6d ms %8.1f B/fila retenidos %8.1f B/fila reservados "
+                        + "%6.0f ns/búsqueda %6.1f B/búsqueda (control %d)%n", estructura, msCarga,
+                (double) retenidos / cantidad, (double) bytesCarga / cantidad, nsPorBusqueda, bytesPorBusqueda, control);
+    }
+
+    private static void generar(int cantidad, Consumer<Persona> destino) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int id = 1; id <= cantidad; id++) {
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+            String email = nombre.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "") + "." + id + "@"
+                    + DOMINIOS[random.nextInt(DOMINIOS.length)];
+            String telefono = String.format(Locale.ROOT, "11%08d", random.nextInt(100_000_000));
+            String direccion = CALLES[random.nextInt(CALLES.length)] + " " + (1 + random.nextInt(9999));
+            destino.accept(new Persona(new PersonaId(id), 0, nombre, apellido, new Email(email),
+                    new Telefono(telefono), direccion));
+        }
+    }
+
+    private static long heapTrasGc() {
+        System.gc();
+        return MEMORIA.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long reservados() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.benchmark;
+
+import com.company.application.carga.DeduplicationEngine;
+import com.company.application.carga.InformeDeduplicacion;
+import com.company.application.carga.ParametrosDeduplicacion;
+import com.company.application.carga.RegistroCarga;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Escalado del motor de deduplicación con la cantidad de hilos
+ * Genera una carga sintética con un 20% de duplicados (variantes de tildes,
+ * mayúsculas, formato de teléfono y erratas) y la deduplica con paralelismo
+ * 1, 2, 4... hasta los núcleos disponibles. Uso: mvn -Pdedup-benchmark verify
+ * Argumentos opcionales: [csv de resultados] [registros]
+ * Para 10M registros hace falta un heap de unos 8 GB (MAVEN_OPTS=-Xmx8g).
+ */
+public final class DeduplicationBenchmark {
+
+    private static final String[] NOMBRES = {"José", "María", "Juan", "Ana", "Luis", "Lucía", "Carlos", "Sofía",
+            "Miguel", "Valentina", "Martín", "Camila", "Andrés", "Julieta", "Tomás", "Inés"};
+    private static final String[] APELLIDOS = {"Pérez", "González", "Rodríguez", "Fernández", "López", "Martínez",
+            "Sánchez", "Gómez", "Díaz", "Álvarez", "Romero", "Suárez", "Muñoz", "Benítez", "Acosta", "Giménez"};
+    private static final String[] DOMINIOS = {"gmail.com", "hotmail.com", "yahoo.com", "email.com", "outlook.com"};
+    private static final double PROPORCION_DUPLICADOS = 0.2;
+
+    private DeduplicationBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resultados = Paths.get(args.length > 0 ? args[0] : "target/dedup-benchmark.csv");
+        int cantidad = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        List<RegistroCarga> registros = generar(cantidad, new SplittableRandom(42));
+        int nucleos = Runtime.getRuntime().availableProcessors();
+
+        boolean nuevo = !Files.exists(resultados);
+        if (resultados.getParent() != null) {
+            Files.createDirectories(resultados.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(resultados, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (nuevo) {
+                out.println("registros,paralelismo,ms_total,ms_normalizacion,ms_comparacion,ms_agrupacion,"
+                        + "comparaciones,grupos,duplicados,speedup");
+            }
+            long msSecuencial = 0;
+            for (int paralelismo = 1; paralelismo <= nucleos; paralelismo = siguiente(paralelismo, nucleos)) {
+                ForkJoinPool pool = new ForkJoinPool(paralelismo);
+                try {
+                    DeduplicationEngine engine = new DeduplicationEngine(pool, ParametrosDeduplicacion.porDefecto());
+                    // Una ejecución de calentamiento con una parte de la carga
+                    engine.deduplicar(registros.subList(0, Math.min(registros.size(), 100_000)));
+                    InformeDeduplicacion informe = engine.deduplicar(registros).getInforme();
+
+                    if (paralelismo == 1) {
+                        msSecuencial = informe.getMsTotal();
+                    }
+                    double speedup = (double) msSecuencial / Math.max(1, informe.getMsTotal());
+                    out.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%d,%d,%.2f%n", cantidad, paralelismo,
+                            informe.getMsTotal(), informe.getMsNormalizacion(), informe.getMsComparacion(),
+                            informe.getMsAgrupacion(), informe.getComparaciones(), informe.getGrupos(),
+                            informe.getDuplicadosEliminados(), speedup);
+                    System.out.println(informe.resumen());
+                    System.out.printf(Locale.ROOT, "Speedup con %d hilos: %.2fx%n%n", paralelismo, speedup);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+        System.out.println("Resultados en " + resultados);
+    }
+
+    private static int siguiente(int paralelismo, int nucleos) {
+        return paralelismo < nucleos && paralelismo * 2 > nucleos ? nucleos : paralelismo * 2;
+    }
+
+    private static List<RegistroCarga> generar(int cantidad, SplittableRandom random) {
+        List<RegistroCarga> registros = new ArrayList<>(cantidad);
+        int originales = (int) (cantidad * (1 - PROPORCION_DUPLICADOS));
+        for (int i = 0; i < originales; i++) {
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)];
+            String email = quitarTildes(nombre + "." + apellido.replace(' ', '.')).toLowerCase(Locale.ROOT)
+                    + i + "@" + DOMINIOS[random.nextInt(DOMINIOS.length)];
+            String telefono = String.valueOf(1_100_000_000L + random.nextInt(900_000_000));
+            registros.add(new RegistroCarga(i + 1, nombre, apellido, email, telefono, "Calle " + random.nextInt(5_000)));
+        }
+        for (int i = originales; i < cantidad; i++) {
+            RegistroCarga original = registros.get(random.nextInt(originales));
+            registros.add(variante(original, i + 1, random));
+        }
+        return registros;
+    }
+
+    private static RegistroCarga variante(RegistroCarga original, long linea, SplittableRandom random) {
+        String nombre = random.nextBoolean() ? quitarTildes(original.getNombre()) : original.getNombre();
+        String apellido = random.nextInt(4) == 0 ? errata(original.getApellido(), random) : quitarTildes(original.getApellido());
+        String email = random.nextBoolean() ? original.getEmail().toUpperCase(Locale.ROOT)
+                : "otro" + linea + "@" + DOMINIOS[random.nextInt(DOMINIOS.length)];
+        String t = original.getTelefono();
+        String telefono = random.nextBoolean()
+                ? "(" + t.substring(0, 2) + ") " + t.substring(2, 6) + "-" + t.substring(6)
+                : "+54 " + t;
+        return new RegistroCarga(linea, nombre, apellido, email, telefono, original.getDireccion());
+    }
+
+    private static String errata(String texto, SplittableRandom random) {
+        int posicion = 1 + random.nextInt(texto.length() - 2);
+        char[] letras = texto.toCharArray();
+        char tmp = letras[posicion];
+        letras[posicion] = letras[posicion + 1];
+        letras[posicion + 1] = tmp;
+        return new String(letras);
+    }
+
+    private static String quitarTildes(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
@@ -0,0 +1,229 @@
+package com.company.benchmark;
+
+import com.company.application.carga.RegistroCarga;
+import com.company.infrastructure.adapter.carga.MappedRecordReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lector mapeado de cargas frente a la lectura convencional
+ * Genera un CSV y un NDJSON con las cinco columnas de persona más tres columnas
+ * que la carga no usa, y los lee con BufferedReader + String.split (CSV) o
+ * ObjectMapper.readTree (NDJSON), con el lector mapeado en un hilo y con el
+ * lector mapeado por segmentos en todos los núcleos. Registra filas/s, MB/s y
+ * bytes reservados por fila. Uso: mvn -Preader-benchmark verify
+ * Argumentos opcionales: [csv de resultados] [registros]
+ */
+public final class LoadReaderBenchmark {
+
+    private static final String[] NOMBRES = {"José", "María", "Juan", "Ana", "Luis", "Lucía", "Carlos", "Sofía"};
+    private static final String[] APELLIDOS = {"Pérez", "González", "Rodríguez", "Fernández", "López", "Martínez"};
+    private static final int REPETICIONES = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private LoadReaderBenchmark() {
+    }
+
+    @FunctionalInterface
+    private interface Lectura {
+        Resultado leer(Path archivo) throws Exception;
+    }
+
+    private static final class Resultado {
+
+        private long registros;
+        private long control;
+        private long bytesReservados;
+
+        void sumar(RegistroCarga registro) {
+            registros++;
+            control += registro.getNombre().length() + registro.getEmail().length() + registro.getDireccion().length();
+        }
+
+        void sumar(Resultado otro) {
+            registros += otro.registros;
+            control += otro.control;
+            bytesReservados += otro.bytesReservados;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path resultados = Paths.get(args.length > 0 ? args[0] : "target/reader-benchmark.csv");
+        int cantidad = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int nucleos = Runtime.getRuntime().availableProcessors();
+
+        Path directorio = resultados.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path csv = directorio.resolve("reader-benchmark-input.csv");
+        Path ndjson = directorio.resolve("reader-benchmark-input.ndjson");
+        generar(csv, ndjson, cantidad);
+
+        boolean nuevo = !Files.exists(resultados);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(resultados, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (nuevo) {
+                out.println("formato,lector,hilos,registros,mb,ms,filas_por_s,mb_por_s,bytes_reservados_por_fila");
+            }
+            medir(out, "csv", "bufferedreader-split", 1, csv, LoadReaderBenchmark::leerConSplit);
+            medir(out, "csv", "mapped", 1, csv, LoadReaderBenchmark::leerMapeado);
+            medir(out, "csv", "mapped-segmentos", nucleos, csv, archivo -> leerPorSegmentos(archivo, nucleos));
+            medir(out, "ndjson", "bufferedreader-jackson", 1, ndjson, LoadReaderBenchmark::leerConJackson);
+            medir(out, "ndjson", "mapped", 1, ndjson, LoadReaderBenchmark::leerMapeado);
+            medir(out, "ndjson", "mapped-segmentos", nucleos, ndjson, archivo -> leerPorSegmentos(archivo, nucleos));
+        }
+        System.out.println("Resultados en " + resultados);
+    }
+
+    private static void medir(PrintWriter out, String formato, String lector, int hilos, Path archivo, Lectura lectura)
+            throws Exception {
+        // Calentamiento y luego la mejor de varias repeticiones
+        lectura.leer(archivo);
+        long mejorNs = Long.MAX_VALUE;
+        Resultado resultado = null;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            Resultado actual = lectura.leer(archivo);
+            long ns = System.nanoTime() - inicio;
+            if (ns < mejorNs) {
+                mejorNs = ns;
+                resultado = actual;
+            }
+        }
+        double mb = Files.size(archivo) / (1024.0 * 1024.0);
+        double segundos = mejorNs / 1e9;
+        out.printf(Locale.ROOT, "%s,%s,%d,%d,%.1f,%d,%.0f,%.1f,%.1f%n", formato, lector, hilos, resultado.registros,
+                mb, mejorNs / 1_000_000, resultado.registros / segundos, mb / segundos,
+                (double) resultado.bytesReservados / resultado.registros);
+        System.out.printf(Locale.ROOT, "%-7s %-23s %2d hilos: %,12.0f filas/s %8.1f MB/s %8.1f B/fila (control %d)%n",
+                formato, lector, hilos, resultado.registros / segundos, mb / segundos,
+                (double) resultado.bytesReservados / resultado.registros, resultado.control);
+    }
+
+    private static Resultado leerConSplit(Path archivo) throws IOException {
+        Resultado resultado = new Resultado();
+        long antes = reservados();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String[] cabecera = lector.readLine().split(",");
+            int nombre = indice(cabecera, "nombre");
+            int apellido = indice(cabecera, "apellido");
+            int email = indice(cabecera, "email");
+            int telefono = indice(cabecera, "telefono");
+            int direccion = indice(cabecera, "direccion");
+            long linea = 1;
+            String texto;
+            while ((texto = lector.readLine()) != null) {
+                String[] campos = texto.split(",");
+                resultado.sumar(new RegistroCarga(++linea, campos[nombre], campos[apellido], campos[email],
+                        campos[telefono], campos[direccion]));
+            }
+        }
+        resultado.bytesReservados = reservados() - antes;
+        return resultado;
+    }
+
+    private static Resultado leerConJackson(Path archivo) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Resultado resultado = new Resultado();
+        long antes = reservados();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            long linea = 0;
+            String texto;
+            while ((texto = lector.readLine()) != null) {
+                JsonNode nodo = mapper.readTree(texto);
+                resultado.sumar(new RegistroCarga(++linea, nodo.path("nombre").asText(), nodo.path("apellido").asText(),
+                        nodo.path("email").asText(), nodo.path("telefono").asText(), nodo.path("direccion").asText()));
+            }
+        }
+        resultado.bytesReservados = reservados() - antes;
+        return resultado;
+    }
+
+    private static Resultado leerMapeado(Path archivo) throws IOException {
+        Resultado resultado = new Resultado();
+        long antes = reservados();
+        try (MappedRecordReader lector = new MappedRecordReader(archivo, 0, 0)) {
+            lector.forEachRemaining(resultado::sumar);
+        }
+        resultado.bytesReservados = reservados() - antes;
+        return resultado;
+    }
+
+    private static Resultado leerPorSegmentos(Path archivo, int hilos) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Resultado>> parciales = new ArrayList<>();
+            for (MappedRecordReader.Segmento segmento : MappedRecordReader.dividir(archivo, hilos)) {
+                parciales.add(ejecutor.submit(() -> {
+                    Resultado parcial = new Resultado();
+                    long antes = reservados();
+                    try (MappedRecordReader lector = new MappedRecordReader(archivo, segmento, 0)) {
+                        lector.forEachRemaining(parcial::sumar);
+                    }
+                    parcial.bytesReservados = reservados() - antes;
+                    return parcial;
+                }));
+            }
+            Resultado resultado = new Resultado();
+            for (Future<Resultado> parcial : parciales) {
+                resultado.sumar(parcial.get());
+            }
+            return resultado;
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    private static long reservados() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static int indice(String[] cabecera, String columna) {
+        for (int i = 0; i < cabecera.length; i++) {
+            if (cabecera[i].equals(columna)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Falta la columna " + columna);
+    }
+
+    private static void generar(Path csv, Path ndjson, int cantidad) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        try (Writer outCsv = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             Writer outJson = Files.newBufferedWriter(ndjson, StandardCharsets.UTF_8)) {
+            outCsv.write("id,nombre,apellido,email,telefono,direccion,fecha_alta,origen\n");
+            for (int i = 1; i <= cantidad; i++) {
+                String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+                String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+                String email = "persona" + i + "@email.com";
+                long telefono = 1_100_000_000L + random.nextInt(900_000_000);
+                String direccion = "Calle " + random.nextInt(5_000);
+                String fecha = String.format(Locale.ROOT, "2024-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+                outCsv.write(i + "," + nombre + "," + apellido + "," + email + "," + telefono + ","
+                        + direccion + "," + fecha + ",crm\n");
+                outJson.write("{\"id\":" + i + ",\"nombre\":\"" + nombre + "\",\"apellido\":\"" + apellido
+                        + "\",\"email\":\"" + email + "\",\"telefono\":\"" + telefono + "\",\"direccion\":\""
+                        + direccion + "\",\"fecha_alta\":\"" + fecha + "\",\"origen\":\"crm\"}\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.company.benchmark;
+
+import com.company.MainApplication;
+import com.company.domain.entity.Persona;
+import com.company.infrastructure.adapter.mapper.PersonaMapper;
+import com.company.infrastructure.adapter.persistence.PersonaJpaEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Coste de leer un listado grande en una transacción de lectura-escritura y de solo lectura
+ * Arranca la aplicación con el perfil smoke sobre H2, inserta las personas y las
+ * lee enteras con la misma consulta JPA en tres modos: transacción normal,
+ * transacción normal con la pista org.hibernate.readOnly (la de los listados del
+ * repositorio) y transacción de solo lectura (la de las consultas del servicio).
+ * Registra tiempo, CPU, tiempo del commit, bytes reservados y heap que retiene
+ * el contexto de persistencia. Uso: mvn -Pread-only-benchmark verify
+ * Argumentos opcionales: [csv de resultados] [registros]
+ */
+public final class ReadOnlyQueryBenchmark {
+
+    private static final String[] NOMBRES = {"José", "María", "Juan", "Ana", "Luis", "Lucía", "Carlos", "Sofía"};
+    private static final String[] APELLIDOS = {"Pérez", "González", "Rodríguez", "Fernández", "López", "Martínez"};
+    private static final String INSERT = "INSERT INTO datospersonas "
+            + "(nombre, apellido, email, tel, direccion, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final int FILAS_POR_LOTE = 5_000;
+    private static final int REPETICIONES = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORIA = ManagementFactory.getMemoryMXBean();
+
+    private ReadOnlyQueryBenchmark() {
+    }
+
+    private enum Modo {
+        LECTURA_ESCRITURA(false, false),
+        PISTA_READ_ONLY(false, true),
+        TRANSACCION_SOLO_LECTURA(true, false);
+
+        private final boolean transaccionSoloLectura;
+        private final boolean pista;
+
+        Modo(boolean transaccionSoloLectura, boolean pista) {
+            this.transaccionSoloLectura = transaccionSoloLectura;
+            this.pista = pista;
+        }
+    }
+
+    private static final class Medida {
+
+        private long ns;
+        private long cpuNs;
+        private long commitNs;
+        private long bytesReservados;
+        private long bytesRetenidos;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resultados = Paths.get(args.length > 0 ? args[0] : "target/read-only-benchmark.csv");
+        int cantidad = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MainApplication.class)
+                .profiles("smoke")
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:read-only-benchmark;DB_CLOSE_DELAY=-1",
+                        "personas.analytics.enabled=false",
+                        "personas.snapshot.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            insertar(contexto.getBean(JdbcTemplate.class), cantidad);
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                    contexto.getBean(EntityManagerFactory.class));
+            PlatformTransactionManager transactionManager = contexto.getBean(PlatformTransactionManager.class);
+            PersonaMapper mapper = contexto.getBean(PersonaMapper.class);
+
+            boolean nuevo = !Files.exists(resultados);
+            if (resultados.getParent() != null) {
+                Files.createDirectories(resultados.getParent());
+            }
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(resultados, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                if (nuevo) {
+                    out.println("registros,modo,ms,ms_cpu,ms_commit,bytes_reservados_por_fila,bytes_retenidos_por_fila");
+                }
+                for (Modo modo : Modo.values()) {
+                    medir(out, modo, cantidad, new TransactionTemplate(transactionManager), entityManager, mapper);
+                }
+            }
+            System.out.println("Resultados en " + resultados);
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private static void medir(PrintWriter out, Modo modo, int cantidad, TransactionTemplate transaccion,
+                              EntityManager entityManager, PersonaMapper mapper) {
+        transaccion.setReadOnly(modo.transaccionSoloLectura);
+        // Calentamiento y luego la mejor de varias repeticiones
+        leer(modo, transaccion, entityManager, mapper, false);
+        Medida mejor = null;
+        for (int i = 0; i < REPETICIONES; i++) {
+            Medida actual = leer(modo, transaccion, entityManager, mapper, false);
+            if (mejor == null || actual.ns < mejor.ns) {
+                mejor = actual;
+            }
+        }
+        long retenidos = leer(modo, transaccion, entityManager, mapper, true).bytesRetenidos;
+
+        out.printf(Locale.ROOT, "%d,%s,%d,%d,%d,%.1f,%.1f%n", cantidad, modo.name().toLowerCase(Locale.ROOT),
+                mejor.ns / 1_000_000, mejor.cpuNs / 1_000_000, mejor.commitNs / 1_000_000,
+                (double) mejor.bytesReservados / cantidad, (double) retenidos / cantidad);
+        System.out.printf(Locale.ROOT, "%-24s %6d ms %6d ms CPU %5d ms commit %8.1f B/fila reservados %8.1f B/fila retenidos%n",
+                modo.name().toLowerCase(Locale.ROOT), mejor.ns / 1_000_000, mejor.cpuNs / 1_000_000,
+                mejor.commitNs / 1_000_000, (double) mejor.bytesReservados / cantidad, (double) retenidos / cantidad);
+    }
+
+    /**
+     * Lee todas las personas y las convierte a dominio como el adaptador
+     * Con retención mide además el heap ocupado tras un GC con el contexto de
+     * persistencia todavía abierto; esa pasada no cuenta para los tiempos.
+     */
+    private static Medida leer(Modo modo, TransactionTemplate transaccion, EntityManager entityManager,
+                               PersonaMapper mapper, boolean retencion) {
+        Medida medida = new Medida();
+        long antesHeap = retencion ? heapTrasGc() : 0;
+        long inicio = System.nanoTime();
+        long inicioCpu = THREADS.getCurrentThreadCpuTime();
+        long antesBytes = reservados();
+        long[] finLectura = new long[1];
+        List<Persona> personas = transaccion.execute(status -> {
+            TypedQuery<PersonaJpaEntity> consulta = entityManager.createQuery(
+                    "SELECT p FROM PersonaJpaEntity p ORDER BY p.id", PersonaJpaEntity.class);
+            if (modo.pista) {
+                consulta.setHint(HibernateHints.HINT_READ_ONLY, true);
+            }
+            List<Persona> leidas = consulta.getResultList().stream()
+                    .map(mapper::toDomainEntity)
+                    .collect(Collectors.toList());
+            if (retencion) {
+                medida.bytesRetenidos = heapTrasGc() - antesHeap;
+            }
+            finLectura[0] = System.nanoTime();
+            return leidas;
+        });
+        long fin = System.nanoTime();
+        medida.ns = fin - inicio;
+        medida.cpuNs = THREADS.getCurrentThreadCpuTime() - inicioCpu;
+        medida.commitNs = fin - finLectura[0];
+        medida.bytesReservados = reservados() - antesBytes;
+        if (personas.isEmpty()) {
+            throw new IllegalStateException("No se leyó ninguna persona");
+        }
+        return medida;
+    }
+
+    private static void insertar(JdbcTemplate jdbcTemplate, int cantidad) {
+        Timestamp ahora = Timestamp.from(Instant.now());
+        List<Object[]> lote = new ArrayList<>(FILAS_POR_LOTE);
+        for (int i = 0; i < cantidad; i++) {
+            String nombre = NOMBRES[i % NOMBRES.length];
+            String apellido = APELLIDOS[(i / NOMBRES.length) % APELLIDOS.length];
+            lote.add(new Object[]{nombre, apellido, "persona" + i + "@email.com",
+                    String.format(Locale.ROOT, "11%08d", i), "Calle " + i, ahora, ahora});
+            if (lote.size() == FILAS_POR_LOTE || i == cantidad - 1) {
+                jdbcTemplate.batchUpdate(INSERT, lote);
+                lote.clear();
+            }
+        }
+    }
+
+    private static long heapTrasGc() {
+        System.gc();
+        return MEMORIA.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long reservados() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
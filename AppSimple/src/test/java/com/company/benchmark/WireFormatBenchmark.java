@@ -0,0 +1,124 @@
+package com.company.benchmark;
+
+import com.company.infrastructure.adapter.web.dto.PersonaColumnarResponse;
+import com.company.infrastructure.adapter.web.dto.PersonaResponse;
+import com.company.infrastructure.adapter.web.mapper.PersonaProtoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comparativa de formatos de respuesta para listas de personas
+ * Mide tiempo medio de codificación y tamaño del payload (plano y gzip) de
+ * JSON, JSON columnar, CBOR, Smile y Protobuf con los mismos ObjectMapper que
+ * usa Spring MVC. Uso: mvn -Pwire-format-benchmark verify
+ * Argumentos opcionales: [csv de resultados] [iteraciones]
+ */
+public final class WireFormatBenchmark {
+
+    private static final int[] TAMANOS = {100, 1_000, 10_000};
+    private static final int WARMUP = 200;
+
+    private WireFormatBenchmark() {
+    }
+
+    interface Codificador {
+        byte[] codificar(List<PersonaResponse> personas) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resultados = Paths.get(args.length > 0 ? args[0] : "target/wire-format-benchmark.csv");
+        int iteraciones = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        PersonaProtoMapper protoMapper = new PersonaProtoMapper();
+
+        Map<String, Codificador> formatos = new LinkedHashMap<>();
+        formatos.put("json", json::writeValueAsBytes);
+        formatos.put("json-columnar", personas -> json.writeValueAsBytes(PersonaColumnarResponse.de(personas)));
+        formatos.put("cbor", cbor::writeValueAsBytes);
+        formatos.put("smile", smile::writeValueAsBytes);
+        formatos.put("protobuf", personas -> protoMapper.toMessage(personas).toByteArray());
+
+        boolean nuevo = !Files.exists(resultados);
+        if (resultados.getParent() != null) {
+            Files.createDirectories(resultados.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(resultados, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (nuevo) {
+                out.println("formato,personas,encode_us,bytes,bytes_gzip,bytes_vs_json");
+            }
+            System.out.printf("%-14s %9s %12s %10s %11s %8s%n",
+                    "formato", "personas", "encode_us", "bytes", "bytes_gzip", "vs_json");
+
+            for (int tamano : TAMANOS) {
+                List<PersonaResponse> personas = generar(tamano);
+                int iteracionesTamano = Math.max(20, iteraciones * 100 / tamano);
+                long bytesJson = 0;
+
+                for (Map.Entry<String, Codificador> formato : formatos.entrySet()) {
+                    Codificador codificador = formato.getValue();
+                    for (int i = 0; i < WARMUP; i++) {
+                        codificador.codificar(personas);
+                    }
+
+                    long inicio = System.nanoTime();
+                    byte[] payload = null;
+                    for (int i = 0; i < iteracionesTamano; i++) {
+                        payload = codificador.codificar(personas);
+                    }
+                    double microsegundos = (System.nanoTime() - inicio) / 1_000.0 / iteracionesTamano;
+
+                    if (bytesJson == 0) {
+                        bytesJson = payload.length;
+                    }
+                    int gzip = gzip(payload);
+                    double relativo = (double) payload.length / bytesJson;
+
+                    out.printf(Locale.ROOT, "%s,%d,%.1f,%d,%d,%.3f%n",
+                            formato.getKey(), tamano, microsegundos, payload.length, gzip, relativo);
+                    System.out.printf(Locale.ROOT, "%-14s %9d %12.1f %10d %11d %8.3f%n",
+                            formato.getKey(), tamano, microsegundos, payload.length, gzip, relativo);
+                }
+            }
+        }
+        System.out.println("Resultados en " + resultados);
+    }
+
+    private static List<PersonaResponse> generar(int cantidad) {
+        List<PersonaResponse> personas = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            String nombre = "Nombre" + (i % 200);
+            String apellido = "Apellido" + (i % 500);
+            personas.add(new PersonaResponse(i, nombre, apellido, "persona" + i + "@email.com",
+                    String.valueOf(1_100_000_000L + i), "Calle " + (i % 1_000) + " Nº " + i,
+                    nombre + " " + apellido));
+        }
+        return personas;
+    }
+
+    private static int gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(payload.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(payload);
+        }
+        return buffer.size();
+    }
+}
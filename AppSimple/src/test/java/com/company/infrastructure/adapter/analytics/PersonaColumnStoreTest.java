@@ -0,0 +1,182 @@
+package com.company.infrastructure.adapter.analytics;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore.Agregado;
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore.Agrupacion;
+import com.company.infrastructure.adapter.analytics.PersonaColumnStore.Grupo;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests de la instantánea columnar de personas
+ */
+class PersonaColumnStoreTest {
+
+    private static final String[] DOMINIOS = {"gmail.com", "gmail.com", "gmail.com", "empresa.es", "uba.ar"};
+    private static final String[] TELEFONOS = {"+5491122334455", "+34911223344", "1122334455", "+12025550123"};
+
+    @Test
+    void agrupaEnParaleloYSigueLosCambios() {
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:analytics-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ShardedPersonaRepository.crearEsquema(h2);
+        ShardedPersonaRepository repositorio = new ShardedPersonaRepository(List.of(h2), ejecutor, 16);
+        // Tramos de 8 filas: 100 personas se reparten entre los 4 hilos
+        try (PersonaColumnStore store = new PersonaColumnStore(repositorio, 4, 8)) {
+            List<Persona> guardadas = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                guardadas.add(repositorio.save(persona(i, DOMINIOS[i % DOMINIOS.length], TELEFONOS[i % TELEFONOS.length])));
+            }
+            assertThat(store.recargar()).isEqualTo(100);
+
+            Agregado dominios = store.agrupar(Agrupacion.DOMINIO, 2);
+            assertThat(dominios.getPersonas()).isEqualTo(100);
+            assertThat(dominios.getDistintos()).isEqualTo(3);
+            assertThat(dominios.getGrupos()).extracting(Grupo::getClave).containsExactly("gmail.com", "empresa.es");
+            assertThat(dominios.getGrupos()).extracting(Grupo::getCantidad).containsExactly(60L, 20L);
+
+            assertThat(store.agrupar(Agrupacion.PAIS, 0).getGrupos())
+                    .extracting(Grupo::getClave, Grupo::getCantidad)
+                    .containsExactly(tuple("+1", 25L),
+                            tuple("+34", 25L),
+                            tuple("+54", 25L));
+
+            Persona nueva = repositorio.save(persona(100, "nuevo.com", "+442071234567"));
+            store.changed(nueva);
+            store.deleted(guardadas.get(3).getId());
+            Persona cambiada = guardadas.get(0);
+            store.changed(new Persona(cambiada.getId(), cambiada.getVersion() + 1, "Otro", "Sanz",
+                    new Email("otro@nuevo.com"), new Telefono("+442071234568"), "Calle 0"));
+
+            assertThat(store.agrupar(Agrupacion.DOMINIO, 0).getGrupos())
+                    .extracting(Grupo::getClave, Grupo::getCantidad)
+                    .contains(tuple("gmail.com", 59L),
+                            tuple("empresa.es", 19L),
+                            tuple("nuevo.com", 2L));
+            Agregado meses = store.agrupar(Agrupacion.MES, 0);
+            assertThat(meses.getGrupos()).hasSize(1);
+            assertThat(meses.getGrupos().get(0).getClave())
+                    .isEqualTo(YearMonth.now(ZoneOffset.UTC).toString());
+            assertThat(meses.getGrupos().get(0).getAcumulado()).isEqualTo(100);
+            assertThat(store.resumen().getUltimaAlta()).isEqualTo(LocalDate.now(ZoneOffset.UTC));
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void releeEnUnaConsultaLosCambiosDeOtrasInstancias() {
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:analytics-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ShardedPersonaRepository.crearEsquema(h2);
+        AtomicInteger porId = new AtomicInteger();
+        AtomicInteger porLotes = new AtomicInteger();
+        AtomicReference<Runnable> duranteLaLectura = new AtomicReference<>(() -> { });
+        ShardedPersonaRepository repositorio = new ShardedPersonaRepository(List.of(h2), ejecutor, 16) {
+            @Override
+            public Optional<Persona> findById(PersonaId id) {
+                porId.incrementAndGet();
+                return super.findById(id);
+            }
+
+            @Override
+            public List<Persona> findAllById(Collection<PersonaId> ids) {
+                porLotes.incrementAndGet();
+                List<Persona> leidas = super.findAllById(ids);
+                duranteLaLectura.get().run();
+                return leidas;
+            }
+        };
+        try (PersonaColumnStore store = new PersonaColumnStore(repositorio, 2, 8)) {
+            List<Persona> guardadas = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                guardadas.add(repositorio.save(persona(i, "gmail.com", TELEFONOS[0])));
+            }
+            store.recargar();
+
+            // Otra instancia cambia dos personas y elimina una tercera
+            Persona cambiada = repositorio.update(conDominio(guardadas.get(0), "nuevo.com"));
+            Persona eliminadaAqui = repositorio.update(conDominio(guardadas.get(1), "nuevo.com"));
+            repositorio.deleteById(guardadas.get(2).getId());
+            // Mientras se relee llega la baja local de una de ellas: la relectura no debe resucitarla
+            duranteLaLectura.set(() -> store.deleted(eliminadaAqui.getId()));
+            porId.set(0);
+
+            Map<PersonaId, Integer> versiones = new HashMap<>();
+            versiones.put(cambiada.getId(), cambiada.getVersion());
+            versiones.put(eliminadaAqui.getId(), eliminadaAqui.getVersion());
+            versiones.put(guardadas.get(2).getId(), guardadas.get(2).getVersion() + 1);
+            versiones.put(guardadas.get(3).getId(), guardadas.get(3).getVersion());
+            store.changedElsewhere(versiones);
+
+            assertThat(porLotes.get()).isEqualTo(1);
+            assertThat(porId.get()).isZero();
+            assertThat(store.agrupar(Agrupacion.DOMINIO, 0).getGrupos())
+                    .extracting(Grupo::getClave, Grupo::getCantidad)
+                    .containsExactly(tuple("gmail.com", 3L), tuple("nuevo.com", 1L));
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void elIndiceDeIdsCoincideConUnMapaTrasAltasYBajas() {
+        PersonaColumnStore.IndiceIds indice = new PersonaColumnStore.IndiceIds(4);
+        Map<Integer, Integer> esperado = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            int id = 1 + random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                indice.quitar(id);
+                esperado.remove(id);
+            } else {
+                indice.poner(id, i);
+                esperado.put(id, i);
+            }
+        }
+        for (int id = 1; id <= 3_000; id++) {
+            assertThat(indice.buscar(id)).isEqualTo(esperado.getOrDefault(id, -1));
+        }
+
+        assertThat(PersonaColumnStore.prefijoPais("+5491122334455")).isEqualTo(54);
+        assertThat(PersonaColumnStore.prefijoPais("+12025550123")).isEqualTo(1);
+        assertThat(PersonaColumnStore.prefijoPais("+35312345678")).isEqualTo(353);
+        assertThat(PersonaColumnStore.prefijoPais("1122334455")).isEqualTo(PersonaColumnStore.SIN_PREFIJO);
+    }
+
+    private static Persona conDominio(Persona persona, String dominio) {
+        return new Persona(persona.getId(), persona.getVersion(), persona.getNombre(), persona.getApellido(),
+                new Email(persona.getNombre().toLowerCase() + "@" + dominio), persona.getTelefono(),
+                persona.getDireccion());
+    }
+
+    private static Persona persona(int i, String dominio, String telefono) {
+        return new Persona("Nombre" + i, "Apellido" + (i % 7), new Email("persona" + i + "@" + dominio),
+                new Telefono(telefono), "Calle " + i);
+    }
+}
@@ -0,0 +1,136 @@
+package com.company.infrastructure.adapter.carga;
+
+import com.company.application.carga.RegistroCarga;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del lector mapeado de archivos de carga
+ */
+class MappedRecordReaderTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void reabreDesdeElPuntoDeControlSinRepetirNiSaltarRegistros() throws Exception {
+        Path archivo = directorio.resolve("carga.csv");
+        Files.writeString(archivo, "id,nombre,apellido,email,telefono,direccion,notas\r\n"
+                + "1,José,Pérez,jose@email.com,1122334455,\"Calle 1, \"\"A\"\"\",x\r\n"
+                + "\r\n"
+                + "2,Ana,Gómez,ana@email.com,1199887766,Calle 2,\"y, z\"\n"
+                + "3,Luis,Sanz,luis@email.com\n"
+                + "4,Eva,Ruiz,eva@email.com,1133221100,Calle 4", StandardCharsets.UTF_8);
+
+        long posicion;
+        long linea;
+        List<RegistroCarga> registros = new ArrayList<>();
+        // Ventanas de 64 bytes: las líneas cruzan el final de la ventana y se vuelve a mapear
+        try (MappedRecordReader lector = new MappedRecordReader(
+                archivo, MappedRecordReader.Formato.CSV, 0, Long.MAX_VALUE, 0, 64)) {
+            registros.add(lector.next());
+            registros.add(lector.next());
+            posicion = lector.posicion();
+            linea = lector.linea();
+        }
+        try (MappedRecordReader lector = new MappedRecordReader(archivo, posicion, linea)) {
+            lector.forEachRemaining(registros::add);
+        }
+
+        assertThat(registros).extracting(RegistroCarga::getLinea).containsExactly(2L, 4L, 5L, 6L);
+        assertThat(registros.get(0).getNombre()).isEqualTo("José");
+        assertThat(registros.get(0).getDireccion()).isEqualTo("Calle 1, \"A\"");
+        assertThat(registros.get(1).getDireccion()).isEqualTo("Calle 2");
+        assertThat(registros.get(2).getTelefono()).isNull();
+        assertThat(registros.get(3).getDireccion()).isEqualTo("Calle 4");
+    }
+
+    @Test
+    void leeNdjsonConValoresAnidadosYEscapes() throws Exception {
+        Path archivo = directorio.resolve("carga.ndjson");
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            contenido.append("{\"id\": ").append(i)
+                    .append(", \"nombre\": \"Ana\\u00ed\", \"apellido\": \"G\\\"o\", \"extra\": {\"a\": [1, \"}\"]}")
+                    .append(", \"email\": \"ana").append(i).append("@email.com\", \"tel\": 1122334455")
+                    .append(", \"direccion\": null}\n");
+        }
+        Files.writeString(archivo, contenido, StandardCharsets.UTF_8);
+
+        List<RegistroCarga> registros = new ArrayList<>();
+        try (MappedRecordReader lector = new MappedRecordReader(archivo, 0, 0)) {
+            lector.forEachRemaining(registros::add);
+        }
+
+        assertThat(registros).hasSize(1000);
+        assertThat(registros).extracting(RegistroCarga::getEmail).doesNotHaveDuplicates();
+        RegistroCarga primero = registros.get(0);
+        assertThat(primero.getNombre()).isEqualTo("Anaí");
+        assertThat(primero.getApellido()).isEqualTo("G\"o");
+        assertThat(primero.getEmail()).isEqualTo("ana1@email.com");
+        assertThat(primero.getTelefono()).isEqualTo("1122334455");
+        assertThat(primero.getDireccion()).isNull();
+    }
+
+    @Test
+    void leePorSegmentosEnParaleloSinPerderNiRepetirLineas() throws Exception {
+        Path archivo = directorio.resolve("carga.csv");
+        StringBuilder contenido = new StringBuilder("email,nombre,apellido,telefono,direccion\n");
+        for (int i = 1; i <= 5000; i++) {
+            // Líneas de largo variable y saltos mezclados para que los cortes caigan en cualquier punto
+            contenido.append("persona").append(i).append("@email.com,Nombre").append("x".repeat(i % 13))
+                    .append(",Apellido,1122334455,\"Calle ").append(i).append(", piso\"")
+                    .append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Files.writeString(archivo, contenido, StandardCharsets.UTF_8);
+
+        List<MappedRecordReader.Segmento> segmentos = MappedRecordReader.dividir(archivo, 8);
+        assertThat(segmentos).hasSize(8);
+        assertThat(segmentos.get(0).getInicio()).isZero();
+        assertThat(segmentos.get(segmentos.size() - 1).getFin()).isEqualTo(Files.size(archivo));
+        for (int i = 1; i < segmentos.size(); i++) {
+            assertThat(segmentos.get(i).getInicio()).isEqualTo(segmentos.get(i - 1).getFin());
+        }
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(segmentos.size());
+        List<RegistroCarga> registros = new ArrayList<>();
+        try {
+            List<Future<List<RegistroCarga>>> partes = new ArrayList<>();
+            for (MappedRecordReader.Segmento segmento : segmentos) {
+                partes.add(ejecutor.submit(() -> {
+                    List<RegistroCarga> leidos = new ArrayList<>();
+                    try (MappedRecordReader lector = new MappedRecordReader(archivo, segmento, 0)) {
+                        lector.forEachRemaining(leidos::add);
+                    }
+                    return leidos;
+                }));
+            }
+            for (Future<List<RegistroCarga>> parte : partes) {
+                registros.addAll(parte.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        assertThat(registros).extracting(RegistroCarga::getEmail)
+                .containsExactlyInAnyOrder(IntStream.rangeClosed(1, 5000)
+                        .mapToObj(i -> "persona" + i + "@email.com").toArray(String[]::new));
+        assertThat(registros).allSatisfy(registro -> {
+            assertThat(registro.getApellido()).isEqualTo("Apellido");
+            assertThat(registro.getDireccion()).startsWith("Calle ").endsWith(", piso");
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package com.company.infrastructure.adapter.grpc;
+
+import com.company.application.service.PersonaApplicationService;
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.grpc.proto.PersonaServiceGrpc;
+import com.company.infrastructure.adapter.grpc.proto.PersonaServiceProtos;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import com.company.infrastructure.adapter.web.mapper.PersonaProtoMapper;
+import com.company.infrastructure.adapter.web.proto.PersonaProtos;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests del servicio gRPC contra un servidor en proceso y una base H2
+ */
+class PersonaGrpcServiceTest {
+
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+    private ShardedPersonaRepository repositorio;
+    private Server server;
+    private ManagedChannel canal;
+
+    @BeforeEach
+    void iniciar() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:grpc-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ShardedPersonaRepository.crearEsquema(h2);
+        repositorio = new ShardedPersonaRepository(List.of(h2), ejecutor, 64);
+
+        String nombre = InProcessServerBuilder.generateName();
+        // Bloques de 3 altas para que la importación pase por varios
+        server = InProcessServerBuilder.forName(nombre)
+                .addService(new PersonaGrpcService(new PersonaApplicationService(repositorio),
+                        new PersonaProtoMapper(), 3))
+                .build()
+                .start();
+        canal = InProcessChannelBuilder.forName(nombre).build();
+    }
+
+    @AfterEach
+    void detener() throws Exception {
+        canal.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        ejecutor.shutdownNow();
+    }
+
+    @Test
+    void importaConUnAcusePorAltaYLasDevuelvePorId() throws Exception {
+        CompletableFuture<Void> fin = new CompletableFuture<>();
+        List<PersonaServiceProtos.AcuseAlta> acuses = new ArrayList<>();
+        StreamObserver<PersonaServiceProtos.AltaPersona> envio = PersonaServiceGrpc.newStub(canal)
+                .importarPersonas(new StreamObserver<>() {
+                    @Override
+                    public void onNext(PersonaServiceProtos.AcuseAlta acuse) {
+                        acuses.add(acuse);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        fin.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        fin.complete(null);
+                    }
+                });
+        for (int i = 0; i < 8; i++) {
+            // La 5 repite el email de la 1 y la 6 tiene un teléfono inválido
+            envio.onNext(PersonaServiceProtos.AltaPersona.newBuilder()
+                    .setSecuencia(100 + i)
+                    .setNombre("Nombre")
+                    .setApellido("Apellido")
+                    .setEmail("persona" + (i == 5 ? 1 : i) + "@email.com")
+                    .setTelefono(i == 6 ? "12" : "1122334455")
+                    .setDireccion("Calle " + i)
+                    .build());
+        }
+        envio.onCompleted();
+        fin.get(10, TimeUnit.SECONDS);
+
+        assertThat(acuses).extracting(PersonaServiceProtos.AcuseAlta::getSecuencia)
+                .containsExactly(100L, 101L, 102L, 103L, 104L, 105L, 106L, 107L);
+        assertThat(acuses).extracting(PersonaServiceProtos.AcuseAlta::getEstado).containsExactly(
+                PersonaServiceProtos.AcuseAlta.Estado.CREADA, PersonaServiceProtos.AcuseAlta.Estado.CREADA,
+                PersonaServiceProtos.AcuseAlta.Estado.CREADA, PersonaServiceProtos.AcuseAlta.Estado.CREADA,
+                PersonaServiceProtos.AcuseAlta.Estado.CREADA, PersonaServiceProtos.AcuseAlta.Estado.INVALIDA,
+                PersonaServiceProtos.AcuseAlta.Estado.INVALIDA, PersonaServiceProtos.AcuseAlta.Estado.CREADA);
+        assertThat(acuses.get(5).getError()).isEqualTo("Ya existe una persona con ese email");
+        assertThat(repositorio.findAll()).hasSize(6);
+
+        PersonaServiceGrpc.PersonaServiceBlockingStub stub = PersonaServiceGrpc.newBlockingStub(canal);
+        PersonaProtos.Persona leida = stub.obtenerPersona(PersonaServiceProtos.ObtenerPersonaRequest.newBuilder()
+                .setId(acuses.get(7).getId()).build());
+        assertThat(leida.getEmail()).isEqualTo("persona7@email.com");
+        assertThat(leida.getDireccion()).isEqualTo("Calle 7");
+        assertThatThrownBy(() -> stub.obtenerPersona(PersonaServiceProtos.ObtenerPersonaRequest.newBuilder()
+                .setId(999_999).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void listaYBuscaPorBloquesEnElOrdenPedido() {
+        List<Persona> personas = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            personas.add(new Persona("Nombre", i % 2 == 0 ? "Pérez" : "Gómez", new Email("persona" + i + "@email.com"),
+                    new Telefono("1122334455"), "Calle " + i));
+        }
+        List<Integer> ids = repositorio.saveAll(personas).stream()
+                .map(p -> p.getId().getValue()).sorted().collect(Collectors.toList());
+
+        PersonaServiceGrpc.PersonaServiceBlockingStub stub = PersonaServiceGrpc.newBlockingStub(canal);
+        // Más de un bloque de consulta y corte por límite
+        List<Integer> listadas = new ArrayList<>();
+        stub.listarPersonas(PersonaServiceProtos.ListarPersonasRequest.newBuilder()
+                .setOrden("id,desc").setLimite(700).build())
+                .forEachRemaining(p -> listadas.add(p.getId()));
+        assertThat(listadas).hasSize(700).isSortedAccordingTo((a, b) -> Integer.compare(b, a));
+        assertThat(listadas.get(0)).isEqualTo(ids.get(ids.size() - 1));
+
+        Iterator<PersonaProtos.Persona> todas = stub.listarPersonas(
+                PersonaServiceProtos.ListarPersonasRequest.getDefaultInstance());
+        List<Integer> todasLasIds = new ArrayList<>();
+        todas.forEachRemaining(p -> todasLasIds.add(p.getId()));
+        assertThat(todasLasIds).containsExactlyElementsOf(ids);
+
+        // persona11, persona110..119 y persona1100..1199
+        List<String> encontradas = new ArrayList<>();
+        stub.buscarPersonas(PersonaServiceProtos.BuscarPersonasRequest.newBuilder().setTexto("persona11").build())
+                .forEachRemaining(p -> encontradas.add(p.getEmail()));
+        assertThat(encontradas).hasSize(111).allMatch(email -> email.startsWith("persona11"));
+        assertThatThrownBy(() -> stub.buscarPersonas(PersonaServiceProtos.BuscarPersonasRequest.getDefaultInstance())
+                .hasNext())
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    void elListadoPorIdNoSaltaFilasSiSeBorranLasYaEnviadas() {
+        List<Persona> personas = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            personas.add(new Persona("Nombre", "Apellido", new Email("persona" + i + "@email.com"),
+                    new Telefono("1122334455"), "Calle " + i));
+        }
+        List<Integer> ids = repositorio.saveAll(personas).stream()
+                .map(p -> p.getId().getValue()).sorted().collect(Collectors.toList());
+
+        Iterator<PersonaProtos.Persona> listado = PersonaServiceGrpc.newBlockingStub(canal)
+                .listarPersonas(PersonaServiceProtos.ListarPersonasRequest.getDefaultInstance());
+        List<Integer> listadas = new ArrayList<>();
+        listadas.add(listado.next().getId());
+        // Con desplazamiento, el segundo bloque empezaría 300 filas más adelante
+        repositorio.deleteAllById(ids.subList(0, 300).stream()
+                .map(PersonaId::new).collect(Collectors.toList()));
+        listado.forEachRemaining(p -> listadas.add(p.getId()));
+
+        assertThat(listadas).containsSubsequence(ids.subList(500, 1_200)).endsWith(ids.get(ids.size() - 1));
+        assertThat(listadas).doesNotHaveDuplicates().isSorted();
+    }
+}
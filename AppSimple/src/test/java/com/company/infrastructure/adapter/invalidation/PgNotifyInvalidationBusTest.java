@@ -0,0 +1,106 @@
+package com.company.infrastructure.adapter.invalidation;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.valueobject.PersonaId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del formato de los avisos y del reparto de cambios del bus de invalidación
+ */
+class PgNotifyInvalidationBusTest {
+
+    @Test
+    void parteLosAvisosIgnoraLosPropiosYAgrupaPorId() {
+        Map<Integer, Integer> cambios = new LinkedHashMap<>();
+        for (int id = 1; id <= 2000; id++) {
+            cambios.put(id, id % 7 == 0 ? PgNotifyInvalidationBus.BORRADA : id % 5);
+        }
+
+        List<String> avisos = PgNotifyInvalidationBus.codificar("nodo-a", cambios, 1000);
+        assertThat(avisos).hasSizeGreaterThan(1)
+                .allSatisfy(aviso -> assertThat(aviso).startsWith("nodo-a|").hasSizeLessThanOrEqualTo(1000));
+
+        Map<Integer, Integer> recibidos = new LinkedHashMap<>();
+        avisos.forEach(aviso -> PgNotifyInvalidationBus.decodificar(aviso, "nodo-b", recibidos));
+        assertThat(recibidos).isEqualTo(cambios);
+
+        Map<Integer, Integer> propios = new LinkedHashMap<>();
+        avisos.forEach(aviso -> PgNotifyInvalidationBus.decodificar(aviso, "nodo-a", propios));
+        assertThat(propios).isEmpty();
+
+        // Ráfaga de varios nodos: gana la versión mayor y el borrado
+        Map<Integer, Integer> rafaga = new LinkedHashMap<>();
+        PgNotifyInvalidationBus.decodificar("nodo-c|1:4,2:1", "nodo-b", rafaga);
+        PgNotifyInvalidationBus.decodificar("nodo-d|1:2,2:-,3:0", "nodo-b", rafaga);
+        PgNotifyInvalidationBus.decodificar("nodo-d|roto", "nodo-b", rafaga);
+        assertThat(rafaga).containsExactly(Map.entry(1, 4), Map.entry(2, PgNotifyInvalidationBus.BORRADA),
+                Map.entry(3, 0));
+    }
+
+    @Test
+    void entregaLosCambiosYResincronizaAlNotificadorQueFalla() {
+        List<String> registro = new ArrayList<>();
+        PersonaChangeNotifier cache = new Registrador("cache", registro, false);
+        PersonaChangeNotifier roto = new Registrador("roto", registro, true);
+        PgNotifyInvalidationBus bus = new PgNotifyInvalidationBus(null, () -> null, () -> List.of(cache, roto),
+                "personas_cambios", "nodo-a", Duration.ofMillis(5), Duration.ofSeconds(30));
+
+        Map<Integer, Integer> cambios = new LinkedHashMap<>();
+        cambios.put(10, 3);
+        cambios.put(11, PgNotifyInvalidationBus.BORRADA);
+        cambios.put(12, 1);
+        bus.entregar(cambios);
+
+        // Los borrados llegan a todos antes que los cambios, que se entregan en una sola llamada
+        assertThat(registro).containsExactly("cache:-11", "roto:-11", "cache:10@3,12@1", "roto:10@3,12@1",
+                "roto:resync");
+    }
+
+    private static final class Registrador implements PersonaChangeNotifier {
+
+        private final String nombre;
+        private final List<String> registro;
+        private final boolean falla;
+
+        Registrador(String nombre, List<String> registro, boolean falla) {
+            this.nombre = nombre;
+            this.registro = registro;
+            this.falla = falla;
+        }
+
+        @Override
+        public void changed(Persona persona) {
+            registro.add(nombre + ":local");
+        }
+
+        @Override
+        public void deleted(PersonaId id) {
+            registro.add(nombre + ":-" + id.getValue());
+        }
+
+        @Override
+        public void changedElsewhere(Map<PersonaId, Integer> versiones) {
+            registro.add(nombre + ":" + versiones.entrySet().stream()
+                    .map(cambio -> cambio.getKey().getValue() + "@" + cambio.getValue())
+                    .collect(Collectors.joining(",")));
+            if (falla) {
+                throw new IllegalStateException("caído");
+            }
+        }
+
+        @Override
+        public void resync() {
+            registro.add(nombre + ":resync");
+        }
+    }
+}
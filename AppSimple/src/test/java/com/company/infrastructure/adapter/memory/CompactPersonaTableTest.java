@@ -0,0 +1,205 @@
+package com.company.infrastructure.adapter.memory;
+
+import com.company.application.service.PersonaApplicationService;
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.persistence.TransactionalUnidadDeTrabajo;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la tabla compacta de personas y de la copia que la mantiene al día
+ */
+class CompactPersonaTableTest {
+
+    private static final String[] APELLIDOS = {"Pérez", "Müller", "Łukasiewicz", "Gómez"};
+    private static final String[] TELEFONOS = {"0011223344", "+5491122334455", "1122334455", "+34911223344"};
+
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+    private JdbcDataSource h2;
+    private ShardedPersonaRepository repositorio;
+    private TransactionalUnidadDeTrabajo unidadDeTrabajo;
+
+    @Test
+    void conservaLasPersonasConAltasCambiosYBajas() {
+        CompactPersonaTable tabla = new CompactPersonaTable(16);
+        Map<Integer, Persona> esperadas = new HashMap<>();
+        Random random = new Random(7);
+        // Muchos cambios y bajas: los textos se compactan y el índice se redimensiona varias veces
+        for (int i = 0; i < 50_000; i++) {
+            int id = 1 + random.nextInt(5_000);
+            Persona actual = esperadas.get(id);
+            if (actual != null && random.nextInt(4) == 0) {
+                tabla.quitar(id);
+                esperadas.remove(id);
+                continue;
+            }
+            Persona persona = persona(id, actual == null ? 0 : actual.getVersion() + 1, random.nextInt(1000));
+            tabla.poner(persona);
+            esperadas.put(id, persona);
+        }
+        tabla.ajustar();
+
+        assertThat(tabla.getFilas()).isEqualTo(esperadas.size());
+        for (Persona esperada : esperadas.values()) {
+            Persona leida = tabla.buscar(esperada.getId().getValue()).orElseThrow();
+            assertThat(leida.getVersion()).isEqualTo(esperada.getVersion());
+            assertThat(leida.getNombre()).isEqualTo(esperada.getNombre());
+            assertThat(leida.getApellido()).isEqualTo(esperada.getApellido());
+            assertThat(leida.getEmail()).isEqualTo(esperada.getEmail());
+            assertThat(leida.getTelefono()).isEqualTo(esperada.getTelefono());
+            assertThat(leida.getDireccion()).isEqualTo(esperada.getDireccion());
+        }
+        assertThat(tabla.todas()).extracting(p -> p.getId().getValue())
+                .containsExactlyElementsOf(esperadas.keySet().stream().sorted()::iterator);
+
+        // Una versión anterior a la guardada no pisa la actual
+        Persona guardada = esperadas.values().iterator().next();
+        tabla.poner(persona(guardada.getId().getValue(), guardada.getVersion() - 1, 0));
+        assertThat(tabla.version(guardada.getId().getValue())).isEqualTo(guardada.getVersion());
+        assertThat(tabla.bytesOcupados() / tabla.getFilas()).isLessThan(80);
+    }
+
+    @BeforeEach
+    void iniciar() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:memory-store-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ShardedPersonaRepository.crearEsquema(h2);
+        repositorio = new ShardedPersonaRepository(List.of(h2), ejecutor, 16);
+        for (int i = 0; i < 20; i++) {
+            repositorio.save(new Persona("Nombre", APELLIDOS[i % APELLIDOS.length],
+                    new Email("persona" + i + "@email.com"), new Telefono(TELEFONOS[i % TELEFONOS.length]),
+                    "Calle " + i));
+        }
+        unidadDeTrabajo = new TransactionalUnidadDeTrabajo(new DataSourceTransactionManager(h2));
+    }
+
+    @AfterEach
+    void detener() {
+        ejecutor.shutdown();
+    }
+
+    @Test
+    void laCopiaSeCargaDeLaBaseYSigueLosCambiosDeOtrasInstancias() {
+        CompactPersonaStore store = new CompactPersonaStore(repositorio);
+        CachedPersonaRepository cacheado = new CachedPersonaRepository(repositorio, store);
+        Persona primera = repositorio.findAll().get(0);
+
+        // Sin cargar, las lecturas van a la base
+        assertThat(store.isLista()).isFalse();
+        assertThat(store.recargar()).isEqualTo(20);
+        assertThat(soloLectura(cacheado::findAll)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(repositorio.findAll());
+
+        // Otra instancia la cambia: se relee al llegar el aviso con una versión posterior
+        Persona cambiada = repositorio.update(new Persona(primera.getId(), primera.getVersion(), "Otro",
+                primera.getApellido(), primera.getEmail(), primera.getTelefono(), "Otra calle"));
+        assertThat(soloLectura(() -> cacheado.findById(primera.getId())).orElseThrow().getNombre())
+                .isEqualTo("Nombre");
+        store.changedElsewhere(cambiada.getId(), cambiada.getVersion());
+        assertThat(soloLectura(() -> cacheado.findById(primera.getId())).orElseThrow().getDireccion())
+                .isEqualTo("Otra calle");
+
+        store.deleted(primera.getId());
+        assertThat(soloLectura(() -> cacheado.existsById(primera.getId()))).isFalse();
+        assertThat(soloLectura(() -> cacheado.findById(new PersonaId(999_999)))).isEmpty();
+    }
+
+    @Test
+    void lasActualizacionesYBajasNoLeenLaCopiaAtrasada() {
+        CompactPersonaStore store = new CompactPersonaStore(repositorio);
+        CachedPersonaRepository cacheado = new CachedPersonaRepository(repositorio, store);
+        PersonaApplicationService servicio = new PersonaApplicationService(cacheado, PersonaChangeNotifier.NONE,
+                new EmailUniquenessChecker(cacheado), unidadDeTrabajo);
+        store.recargar();
+
+        // Cambios de otra instancia cuyo aviso todavía no llegó: la copia queda atrasada
+        Persona primera = repositorio.findAll().get(0);
+        repositorio.update(new Persona(primera.getId(), primera.getVersion(), "Otro", primera.getApellido(),
+                primera.getEmail(), primera.getTelefono(), primera.getDireccion()));
+        Persona nueva = repositorio.save(new Persona("Nueva", "Gómez", new Email("nueva@email.com"),
+                new Telefono("1122334455"), "Calle nueva"));
+        assertThat(servicio.obtenerPersonaPorId(primera.getId().getValue()).orElseThrow().getVersion())
+                .isEqualTo(primera.getVersion());
+        assertThat(servicio.obtenerPersonaPorId(nueva.getId().getValue())).isEmpty();
+
+        // Con la versión de la copia la actualización fallaría por bloqueo optimista
+        Persona actualizada = servicio.actualizarPersona(primera.getId().getValue(), null, null, null, null,
+                "Calle actualizada").orElseThrow();
+        assertThat(actualizada.getNombre()).isEqualTo("Otro");
+        assertThat(actualizada.getVersion()).isEqualTo(primera.getVersion() + 2);
+        // Con la existencia de la copia la baja contestaría 404
+        assertThat(servicio.eliminarPersona(nueva.getId().getValue())).isTrue();
+        assertThat(repositorio.existsById(nueva.getId())).isFalse();
+    }
+
+    @Test
+    void unaRelecturaNoResucitaUnaBajaQueLlegoMientrasLeia() throws Exception {
+        CountDownLatch leida = new CountDownLatch(1);
+        CountDownLatch seguir = new CountDownLatch(1);
+        // Relecturas que se quedan con la fila leída hasta que se les deja seguir
+        ShardedPersonaRepository lento = new ShardedPersonaRepository(List.of(h2), ejecutor, 16) {
+            @Override
+            public Optional<Persona> findById(PersonaId id) {
+                Optional<Persona> persona = super.findById(id);
+                leida.countDown();
+                try {
+                    seguir.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return persona;
+            }
+        };
+        CompactPersonaStore store = new CompactPersonaStore(lento);
+        store.recargar();
+        Persona primera = repositorio.findAll().get(0);
+        Persona cambiada = repositorio.update(new Persona(primera.getId(), primera.getVersion(), "Otro",
+                primera.getApellido(), primera.getEmail(), primera.getTelefono(), primera.getDireccion()));
+
+        Thread aviso = new Thread(() -> store.changedElsewhere(cambiada.getId(), cambiada.getVersion()));
+        aviso.start();
+        assertThat(leida.await(10, TimeUnit.SECONDS)).isTrue();
+        // La baja se confirma y se notifica después de que la relectura leyó la fila
+        repositorio.deleteById(primera.getId());
+        store.deleted(primera.getId());
+        seguir.countDown();
+        aviso.join(10_000);
+
+        assertThat(store.contiene(primera.getId())).isFalse();
+        assertThat(store.getFilas()).isEqualTo(19);
+    }
+
+    private <T> T soloLectura(Supplier<T> lectura) {
+        return unidadDeTrabajo.ejecutarSoloLectura(lectura);
+    }
+
+    private static Persona persona(int id, int version, int variante) {
+        String nombre = variante % 3 == 0 ? "Zoë" : variante % 3 == 1 ? "Ивана" : "Juan";
+        return new Persona(new PersonaId(id), version, nombre, APELLIDOS[variante % APELLIDOS.length],
+                new Email("p" + id + "." + variante + "@dominio" + (variante % 5) + ".com"),
+                new Telefono(TELEFONOS[variante % TELEFONOS.length]), "Calle " + variante + " nº " + id);
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.infrastructure.adapter.memory;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del filtro de Bloom escalable de emails
+ */
+class ScalableBloomEmailFilterTest {
+
+    @Test
+    void sinFalsosNegativosYTasaAcotadaAlCrecer() {
+        ScalableBloomEmailFilter filtro = new ScalableBloomEmailFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filtro.add(new Email("persona" + i + "@email.com"));
+        }
+
+        assertThat(filtro.getTramos()).isGreaterThan(1);
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filtro.mightContain(new Email("persona" + i + "@email.com"))).isTrue();
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (filtro.mightContain(new Email("otra" + i + "@email.com"))) {
+                falsosPositivos++;
+            }
+        }
+        assertThat(falsosPositivos / 20_000.0).isLessThan(0.01);
+    }
+
+    @Test
+    void clearVaciaElFiltro() {
+        ScalableBloomEmailFilter filtro = new ScalableBloomEmailFilter(100, 0.01);
+        Email email = new Email("ana@email.com");
+        filtro.add(email);
+
+        filtro.clear();
+
+        assertThat(filtro.mightContain(email)).isFalse();
+        assertThat(filtro.size()).isZero();
+    }
+
+    @Test
+    void soloCuentaFalsosPositivosCuandoElFiltroResponde() {
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        try {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:bloom-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            ShardedPersonaRepository.crearEsquema(h2);
+            ShardedPersonaRepository repositorio = new ShardedPersonaRepository(List.of(h2), ejecutor, 16);
+            repositorio.save(new Persona("Ana", "Pérez", new Email("ana@email.com"),
+                    new Telefono("1122334455"), "Calle 1"));
+            EmailUniquenessChecker checker = new EmailUniquenessChecker(
+                    repositorio, new ScalableBloomEmailFilter(100, 0.01));
+
+            // Sin filtro cargado todo va a la base, pero el filtro no dijo "quizá"
+            assertThat(checker.existe(new Email("luis@email.com"))).isFalse();
+            assertThat(checker.existentes(List.of(new Email("eva@email.com"), new Email("ana@email.com"))))
+                    .containsExactly(new Email("ana@email.com"));
+            assertThat(checker.getVerificados()).isEqualTo(3);
+            assertThat(checker.getFalsosPositivos()).isZero();
+
+            checker.reconstruir();
+            assertThat(checker.existe(new Email("ana@email.com"))).isTrue();
+            assertThat(checker.existe(new Email("luis@email.com"))).isFalse();
+            assertThat(checker.getFalsosPositivos()).isZero();
+            assertThat(checker.getDescartados()).isEqualTo(1);
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+}
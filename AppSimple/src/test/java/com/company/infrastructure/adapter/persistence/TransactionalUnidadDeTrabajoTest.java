@@ -0,0 +1,79 @@
+package com.company.infrastructure.adapter.persistence;
+
+import com.company.domain.port.UnidadDeTrabajo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de las transacciones de solo lectura y de las pistas de las consultas de listado
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:unidad-de-trabajo;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("smoke")
+class TransactionalUnidadDeTrabajoTest {
+
+    @Autowired
+    private UnidadDeTrabajo unidadDeTrabajo;
+
+    @Autowired
+    private PersonaJpaRepository jpaRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void laLecturaNoHaceFlushNiGuardaCopias() {
+        Integer id = jpaRepository.save(new PersonaJpaEntity(
+                "Lectura", "Pura", "lectura.pura@email.com", "1100000001", "Calle 1")).getId();
+
+        unidadDeTrabajo.ejecutarSoloLectura(() -> {
+            Session session = entityManager.unwrap(Session.class);
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(session.isDefaultReadOnly()).isTrue();
+            // H2 ignora Connection.setReadOnly; se comprueba la definición de la transacción
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+
+            PersonaJpaEntity entidad = jpaRepository.findById(id).orElseThrow();
+            assertThat(session.isReadOnly(entidad)).isTrue();
+            // Un cambio accidental sobre lo leído no llega a la base
+            entidad.setNombre("Cambiado");
+            return null;
+        });
+
+        assertThat(jpaRepository.findById(id).orElseThrow().getNombre()).isEqualTo("Lectura");
+    }
+
+    @Test
+    void losListadosSonDeSoloLecturaAunEnUnaTransaccionDeEscritura() {
+        Integer id = jpaRepository.save(new PersonaJpaEntity(
+                "Listado", "Escritura", "listado.escritura@email.com", "1100000002", "Calle 2")).getId();
+
+        unidadDeTrabajo.ejecutar(() -> {
+            Session session = entityManager.unwrap(Session.class);
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.AUTO);
+
+            List<PersonaJpaEntity> listado = jpaRepository.findAll();
+            assertThat(listado).isNotEmpty().allMatch(session::isReadOnly);
+            assertThat(jpaRepository.findByApellidoContainingIgnoreCase("escritura")).allMatch(session::isReadOnly);
+
+            // findById sigue devolviendo entidades gestionadas que se pueden modificar
+            session.clear();
+            PersonaJpaEntity entidad = jpaRepository.findById(id).orElseThrow();
+            assertThat(session.isReadOnly(entidad)).isFalse();
+            entidad.setNombre("Modificado");
+            return null;
+        });
+
+        assertThat(jpaRepository.findById(id).orElseThrow().getNombre()).isEqualTo("Modificado");
+    }
+}
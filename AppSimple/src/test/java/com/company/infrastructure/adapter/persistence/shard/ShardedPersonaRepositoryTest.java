@@ -0,0 +1,206 @@
+package com.company.infrastructure.adapter.persistence.shard;
+
+import com.company.application.usecase.ProcesarLoteUseCase;
+import com.company.domain.entity.Persona;
+import com.company.domain.port.PersonaChangeNotifier;
+import com.company.domain.port.UnidadDeTrabajo;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.CriterioBusqueda;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Pagina;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests del repositorio repartido con tres bases H2 locales
+ */
+class ShardedPersonaRepositoryTest {
+
+    private static final String[] APELLIDOS = {"Pérez", "Gómez", "Ruiz", "Sanz", "López"};
+
+    private final ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+    private List<DataSource> shards;
+    private ShardedPersonaRepository repositorio;
+
+    @BeforeEach
+    void crearShards() {
+        String prueba = UUID.randomUUID().toString();
+        shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:shard-" + i + "-" + prueba + ";DB_CLOSE_DELAY=-1");
+            ShardedPersonaRepository.crearEsquema(h2);
+            shards.add(h2);
+        }
+        repositorio = new ShardedPersonaRepository(shards, ejecutor, 7);
+    }
+
+    @AfterEach
+    void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    @Test
+    void repartePorShardYMezclaPaginasEnElOrdenGlobal() {
+        List<Persona> nuevas = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            nuevas.add(persona(i));
+        }
+        List<Persona> guardadas = repositorio.saveAll(nuevas.subList(0, 50));
+        for (Persona persona : nuevas.subList(50, 60)) {
+            guardadas.add(repositorio.save(persona));
+        }
+
+        assertThat(guardadas).extracting(persona -> persona.getId().getValue()).doesNotHaveDuplicates();
+        for (DataSource shard : shards) {
+            assertThat(new JdbcTemplate(shard).queryForObject("SELECT COUNT(*) FROM datospersonas", Integer.class))
+                    .isBetween(5, 40);
+        }
+        Persona una = guardadas.get(17);
+        assertThat(repositorio.findById(una.getId())).get()
+                .extracting(persona -> persona.getEmail().getValue()).isEqualTo(una.getEmail().getValue());
+
+        Comparator<Persona> apellidoDesc = Comparator.comparing(Persona::getApellido).reversed()
+                .thenComparing(persona -> persona.getId().getValue());
+        List<Integer> ordenGlobal = guardadas.stream().sorted(apellidoDesc)
+                .map(persona -> persona.getId().getValue()).collect(Collectors.toList());
+        Pagina<Persona> pagina = repositorio.findPage(new CriterioBusqueda(4, 5, "apellido", false, null));
+        assertThat(pagina.getTotalElementos()).isEqualTo(60);
+        assertThat(pagina.getContenido()).extracting(persona -> persona.getId().getValue())
+                .isEqualTo(ordenGlobal.subList(20, 25));
+        assertThat(repositorio.findSlice(new CriterioBusqueda(1, 20, "apellido", false, null)))
+                .extracting(persona -> persona.getId().getValue())
+                .isEqualTo(ordenGlobal.subList(20, 40));
+
+        Pagina<Persona> filtrada = repositorio.findPage(new CriterioBusqueda(0, 100, "id", true, "ruiz"));
+        assertThat(filtrada.getTotalElementos()).isEqualTo(12);
+        assertThat(filtrada.getContenido()).isSortedAccordingTo(Comparator.comparing(p -> p.getId().getValue()));
+
+        List<Integer> recorridos = new ArrayList<>();
+        repositorio.forEachPersona(persona -> recorridos.add(persona.getId().getValue()));
+        assertThat(recorridos).hasSize(60).isSorted();
+        assertThat(repositorio.findExistingEmails(List.of(una.getEmail(), new Email("nadie@email.com"))))
+                .containsExactly(una.getEmail());
+    }
+
+    @Test
+    void actualizaConControlDeVersionYAsignaIdsUnicosEntreInstancias() {
+        Persona guardada = repositorio.save(persona(1));
+        guardada.actualizarInformacionPersonal("Ana", guardada.getApellido(), guardada.getDireccion());
+        Persona actualizada = repositorio.update(guardada);
+        assertThat(actualizada.getVersion()).isEqualTo(1);
+        assertThat(actualizada.getNombre()).isEqualTo("Ana");
+        assertThatThrownBy(() -> repositorio.update(guardada)).isInstanceOf(OptimisticLockingFailureException.class);
+
+        // Otra instancia con el mismo coordinador reserva bloques distintos
+        ShardedPersonaRepository otra = new ShardedPersonaRepository(shards, ejecutor, 7);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(repositorio.save(persona(100 + i)).getId().getValue());
+            ids.add(otra.save(persona(200 + i)).getId().getValue());
+        }
+        assertThat(ids).doesNotHaveDuplicates().doesNotContain(guardada.getId().getValue());
+
+        repositorio.deleteById(new PersonaId(ids.get(0)));
+        assertThat(otra.existsById(new PersonaId(ids.get(0)))).isFalse();
+        assertThat(otra.existsById(new PersonaId(ids.get(1)))).isTrue();
+    }
+
+    @Test
+    void lasEscriturasSeUnenALaTransaccionDelLlamador() {
+        JdbcDataSource principal = new JdbcDataSource();
+        principal.setURL("jdbc:h2:mem:principal-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        TransactionTemplate transaccion = new TransactionTemplate(new DataSourceTransactionManager(principal));
+        Persona existente = repositorio.save(persona(0));
+
+        List<Integer> revertidos = transaccion.execute(status -> {
+            List<Persona> nuevas = repositorio.saveAll(List.of(persona(1), persona(2), persona(3), persona(4)));
+            repositorio.deleteAllById(List.of(existente.getId()));
+            // Dentro de la transacción se ven los cambios pendientes de todos los shards
+            assertThat(repositorio.findAllById(nuevas.stream().map(Persona::getId).collect(Collectors.toList())))
+                    .hasSize(4);
+            assertThat(repositorio.existsById(existente.getId())).isFalse();
+            status.setRollbackOnly();
+            return nuevas.stream().map(p -> p.getId().getValue()).collect(Collectors.toList());
+        });
+
+        assertThat(repositorio.findAll()).extracting(p -> p.getId().getValue())
+                .containsExactly(existente.getId().getValue());
+        // La reserva de IDs no se revirtió: otra instancia no recibe los mismos
+        ShardedPersonaRepository otra = new ShardedPersonaRepository(shards, ejecutor, 7);
+        assertThat(otra.save(persona(5)).getId().getValue()).isNotIn(revertidos);
+
+        transaccion.execute(status -> repositorio.saveAll(List.of(persona(6), persona(7))));
+        assertThat(repositorio.findAll()).hasSize(4);
+    }
+
+    @Test
+    void unaVersionAntiguaSoloDejaSinActualizarASuPersona() {
+        List<Persona> guardadas = repositorio.saveAll(List.of(persona(1), persona(2), persona(3)));
+        Persona cambiada = guardadas.get(1);
+        cambiada.actualizarInformacionPersonal("Otro", cambiada.getApellido(), cambiada.getDireccion());
+        repositorio.update(cambiada);
+
+        List<Persona> actualizadas = repositorio.updateAll(guardadas);
+
+        assertThat(actualizadas).hasSize(3);
+        assertThat(actualizadas.get(1)).isNull();
+        assertThat(actualizadas.get(0).getVersion()).isEqualTo(1);
+        assertThat(actualizadas.get(2).getVersion()).isEqualTo(1);
+        assertThat(repositorio.findById(cambiada.getId())).get()
+                .extracting(Persona::getNombre).isEqualTo("Otro");
+    }
+
+    @Test
+    void unLoteAtomicoInvalidoNoEscribeEnNingunShard() {
+        Persona existente = repositorio.save(persona(0));
+        // Sin transacción que revertir: solo la validación previa evita las escrituras
+        ProcesarLoteUseCase lote = new ProcesarLoteUseCase(repositorio, PersonaChangeNotifier.NONE,
+                new EmailUniquenessChecker(repositorio), UnidadDeTrabajo.DIRECTA, 2, 100);
+        List<ProcesarLoteUseCase.Operacion> operaciones = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            operaciones.add(new ProcesarLoteUseCase.Operacion(ProcesarLoteUseCase.TipoOperacion.CREAR, null,
+                    "Nombre", "Apellido", "lote" + i + "@email.com", "1122334455", "Calle " + i));
+        }
+        operaciones.add(new ProcesarLoteUseCase.Operacion(ProcesarLoteUseCase.TipoOperacion.ELIMINAR,
+                existente.getId().getValue(), null, null, null, null, null));
+        // Eliminada en un bloque anterior del mismo lote
+        operaciones.add(new ProcesarLoteUseCase.Operacion(ProcesarLoteUseCase.TipoOperacion.ACTUALIZAR,
+                existente.getId().getValue(), "Nuevo", null, null, null, null));
+
+        List<ProcesarLoteUseCase.Resultado> resultados = lote.execute(operaciones, true);
+
+        assertThat(resultados).extracting(ProcesarLoteUseCase.Resultado::getEstado).containsExactly(
+                ProcesarLoteUseCase.Estado.NO_APLICADA, ProcesarLoteUseCase.Estado.NO_APLICADA,
+                ProcesarLoteUseCase.Estado.NO_APLICADA, ProcesarLoteUseCase.Estado.NO_APLICADA,
+                ProcesarLoteUseCase.Estado.NO_APLICADA, ProcesarLoteUseCase.Estado.NO_APLICADA,
+                ProcesarLoteUseCase.Estado.NO_ENCONTRADA);
+        assertThat(repositorio.findAll()).extracting(p -> p.getId().getValue())
+                .containsExactly(existente.getId().getValue());
+    }
+
+    private static Persona persona(int i) {
+        return new Persona("Nombre" + i, APELLIDOS[i % APELLIDOS.length], new Email("persona" + i + "@email.com"),
+                new Telefono("1122334455"), "Calle " + i);
+    }
+}
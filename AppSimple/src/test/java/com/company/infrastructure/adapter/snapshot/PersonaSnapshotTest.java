@@ -0,0 +1,121 @@
+package com.company.infrastructure.adapter.snapshot;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.service.EmailUniquenessChecker;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests del snapshot binario de personas
+ */
+class PersonaSnapshotTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void conservaLosRegistrosYLaMarcaConDiccionarios() throws Exception {
+        Path archivo = directorio.resolve("personas.snap");
+        Instant marca = Instant.parse("2024-05-01T10:15:30.123Z");
+        List<Persona> personas = List.of(
+                persona(1, 0, "José", "Pérez", "jose@email.com"),
+                persona(2, 3, "Ana", "Pérez", "ana@email.com"),
+                persona(300, 1, "Luis", "Müller", "luis@otro.com.ar"));
+
+        long escritas = PersonaSnapshot.escribir(archivo, marca, destino -> personas.forEach(destino));
+        PersonaSnapshot snapshot = PersonaSnapshot.abrir(archivo);
+        List<PersonaSnapshot.Registro> registros = new ArrayList<>();
+        snapshot.forEach(registros::add);
+
+        assertThat(escritas).isEqualTo(3);
+        assertThat(snapshot.getRegistros()).isEqualTo(3);
+        assertThat(snapshot.getMarca()).isEqualTo(marca);
+        assertThat(registros).extracting(PersonaSnapshot.Registro::getId).containsExactly(1, 2, 300);
+        assertThat(registros).extracting(PersonaSnapshot.Registro::getVersion).containsExactly(0, 3, 1);
+        assertThat(registros).extracting(PersonaSnapshot.Registro::getApellido).containsExactly("Pérez", "Pérez", "Müller");
+        assertThat(registros).extracting(PersonaSnapshot.Registro::getEmail)
+                .containsExactly("jose@email.com", "ana@email.com", "luis@otro.com.ar");
+        assertThat(registros.get(2).getNombre()).isEqualTo("Luis");
+        assertThat(registros.get(2).getTelefono()).isEqualTo("1122334455");
+        assertThat(registros.get(2).getDireccion()).isEqualTo("Calle 300");
+        assertThat(snapshot.getReferencia().getId()).isEqualTo(300);
+        assertThat(snapshot.getReferencia().getEmail()).isEqualTo("luis@otro.com.ar");
+        assertThat(Files.exists(directorio.resolve("personas.snap.tmp"))).isFalse();
+    }
+
+    @Test
+    void rechazaUnSnapshotConUnByteAlterado() throws Exception {
+        Path archivo = directorio.resolve("personas.snap");
+        PersonaSnapshot.escribir(archivo, Instant.now(),
+                destino -> destino.accept(persona(1, 0, "José", "Pérez", "jose@email.com")));
+        byte[] bytes = Files.readAllBytes(archivo);
+        bytes[20] ^= 0x01;
+        Files.write(archivo, bytes);
+
+        assertThatThrownBy(() -> PersonaSnapshot.abrir(archivo))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("CRC");
+    }
+
+    @Test
+    void descartaElSnapshotDeOtraBaseYRecorreLaTabla() throws Exception {
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        try {
+            Path archivo = directorio.resolve("personas.snap");
+            ShardedPersonaRepository origen = repositorio(ejecutor, "origen", 5);
+            ShardedPersonaRepository otra = repositorio(ejecutor, "otra", 5);
+            new PersonaSnapshotManager(origen, archivo, Duration.ZERO, Duration.ZERO, true).escribir();
+            // Las altas posteriores a la marca se piden a la base, las anteriores salen del snapshot
+            Thread.sleep(20);
+            origen.save(persona("origen", 5));
+
+            // Mismos IDs en las dos bases: la referencia se reconoce por el email
+            assertThat(new PersonaSnapshotManager(otra, archivo, Duration.ZERO, Duration.ZERO, false)
+                    .calentar(new EmailUniquenessChecker(otra))).isEqualTo(5);
+            assertThat(new PersonaSnapshotManager(origen, archivo, Duration.ZERO, Duration.ZERO, false)
+                    .calentar(new EmailUniquenessChecker(origen))).isEqualTo(6);
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    private static ShardedPersonaRepository repositorio(ExecutorService ejecutor, String base, int personas) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:snapshot-" + base + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ShardedPersonaRepository.crearEsquema(h2);
+        ShardedPersonaRepository repositorio = new ShardedPersonaRepository(List.of(h2), ejecutor, 16);
+        for (int i = 0; i < personas; i++) {
+            repositorio.save(persona(base, i));
+        }
+        return repositorio;
+    }
+
+    private static Persona persona(String base, int numero) {
+        return new Persona("Nombre", "Apellido", new Email(base + numero + "@email.com"),
+                new Telefono("1122334455"), "Calle " + numero);
+    }
+
+    private static Persona persona(int id, int version, String nombre, String apellido, String email) {
+        return new Persona(new PersonaId(id), version, nombre, apellido, new Email(email),
+                new Telefono("1122334455"), "Calle " + id);
+    }
+}
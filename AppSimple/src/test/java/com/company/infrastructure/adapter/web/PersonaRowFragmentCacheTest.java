@@ -0,0 +1,111 @@
+package com.company.infrastructure.adapter.web;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.PersonaId;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.web.mapper.PersonaWebMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la caché de filas HTML del listado de personas
+ */
+class PersonaRowFragmentCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/personas");
+    // Como el contenedor con la sesión en la URL: cada enlace codificado lleva el ID de sesión
+    private final MockHttpServletResponse response = new MockHttpServletResponse() {
+        @Override
+        public String encodeURL(String url) {
+            return url + ";jsessionid=SESION";
+        }
+    };
+
+    @Test
+    void reutilizaLaFilaMientrasNoCambiaLaVersion() {
+        PersonaRowFragmentCache cache = cache(10);
+        Persona ana = persona(1, 0, "Ana");
+
+        String html = cache.render(ana, request, response);
+        assertThat(cache.render(ana, request, response)).isSameAs(html);
+        String cambiada = cache.render(persona(1, 1, "Anabel"), request, response);
+
+        assertThat(html).contains("Ana").doesNotContain("Anabel");
+        assertThat(cambiada).contains("Anabel");
+        assertThat(pedidas("hit")).isEqualTo(1);
+        assertThat(pedidas("miss")).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void descartaLaFilaUsadaHaceMasTiempo() {
+        PersonaRowFragmentCache cache = cache(2);
+        cache.render(persona(1, 0, "Ana"), request, response);
+        cache.render(persona(2, 0, "Luis"), request, response);
+        // Usar la 1 la deja como la más reciente: la tercera desplaza a la 2
+        cache.render(persona(1, 0, "Ana"), request, response);
+        cache.render(persona(3, 0, "Eva"), request, response);
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.render(persona(1, 0, "Ana"), request, response);
+        assertThat(pedidas("hit")).isEqualTo(2);
+        cache.render(persona(2, 0, "Luis"), request, response);
+        assertThat(pedidas("miss")).isEqualTo(4);
+    }
+
+    @Test
+    void unCambioEnOtraInstanciaSoloDescartaLasVersionesAnteriores() {
+        PersonaRowFragmentCache cache = cache(10);
+        Persona ana = persona(1, 3, "Ana");
+        cache.render(ana, request, response);
+
+        // Un aviso atrasado o repetido no descarta la fila vigente
+        cache.changedElsewhere(new PersonaId(1), 3);
+        cache.changedElsewhere(new PersonaId(2), 7);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.changedElsewhere(new PersonaId(1), 4);
+        assertThat(cache.size()).isZero();
+        cache.render(ana, request, response);
+        assertThat(pedidas("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void renderizaLosEnlacesSinElIdDeSesion() {
+        String html = cache(10).render(persona(7, 0, "Ana"), request, response);
+
+        assertThat(html).contains("/personas/editarpersona?id=7", "/personas/eliminarpersona?id=7")
+                .doesNotContain("jsessionid");
+        assertThat(response.encodeURL("/personas")).contains(";jsessionid=");
+    }
+
+    private PersonaRowFragmentCache cache(int maxEntries) {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        return new PersonaRowFragmentCache(templateEngine, new PersonaWebMapper(), new MockServletContext(),
+                registry, maxEntries);
+    }
+
+    private double pedidas(String resultado) {
+        return registry.get("personas.web.row-cache.requests").tag("result", resultado).functionCounter().count();
+    }
+
+    private static Persona persona(int id, int version, String nombre) {
+        return new Persona(new PersonaId(id), version, nombre, "Gómez", new Email(nombre.toLowerCase() + "@email.com"),
+                new Telefono("1122334455"), "Calle " + id);
+    }
+}
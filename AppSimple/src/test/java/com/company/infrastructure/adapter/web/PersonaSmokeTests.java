@@ -0,0 +1,228 @@
+package com.company.infrastructure.adapter.web;
+
+import com.company.domain.entity.Importacion;
+import com.company.domain.port.ImportacionRepository;
+import com.company.infrastructure.adapter.web.dto.ImportacionRequest;
+import com.company.infrastructure.adapter.web.dto.ImportacionResponse;
+import com.company.infrastructure.adapter.web.dto.PersonaBatchResponse;
+import com.company.infrastructure.adapter.web.dto.PersonaCreateRequest;
+import com.company.infrastructure.adapter.web.dto.PersonaResponse;
+import com.company.infrastructure.adapter.web.dto.PersonaUpdateRequest;
+import com.company.infrastructure.adapter.web.proto.PersonaProtos;
+import com.company.infrastructure.monitoring.QueryAccountingFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Smoke tests de los endpoints REST y web sobre H2
+ * Se ejecutan en la JVM con {@code mvn test} y contra la imagen nativa con {@code mvn -PnativeTest test}
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("smoke")
+class PersonaSmokeTests {
+
+    private static final String API = "/api/v1/personas";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ImportacionRepository importacionRepository;
+
+    @Test
+    void cicloCompletoApiRest() {
+        PersonaCreateRequest alta = new PersonaCreateRequest(
+                "Ana", "Gómez", "ana.gomez@email.com", "1234567890", "Calle Falsa 123");
+        ResponseEntity<PersonaResponse> creada = rest.postForEntity(API, alta, PersonaResponse.class);
+        assertThat(creada.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Integer id = creada.getBody().getId();
+        assertThat(id).isNotNull();
+
+        ResponseEntity<PersonaResponse> obtenida = rest.getForEntity(API + "/" + id, PersonaResponse.class);
+        assertThat(obtenida.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(obtenida.getBody().getNombreCompleto()).isEqualTo("Ana Gómez");
+        // Fuera de prod las respuestas llevan la contabilidad de consultas de la petición
+        assertThat(obtenida.getHeaders().getFirst(QueryAccountingFilter.DB_STATEMENTS_HEADER)).matches("\\d+");
+        assertThat(obtenida.getHeaders().getFirst(QueryAccountingFilter.DB_TIME_HEADER)).matches("\\d+\\.\\d{3}");
+
+        ResponseEntity<PersonaResponse[]> listado = rest.getForEntity(API, PersonaResponse[].class);
+        assertThat(listado.getBody()).extracting(PersonaResponse::getId).contains(id);
+
+        PersonaUpdateRequest cambio = new PersonaUpdateRequest(null, null, null, "0987654321", null);
+        ResponseEntity<PersonaResponse> actualizada = rest.exchange(
+                API + "/" + id, HttpMethod.PUT, new HttpEntity<>(cambio), PersonaResponse.class);
+        assertThat(actualizada.getBody().getTelefono()).isEqualTo("0987654321");
+
+        ResponseEntity<PersonaResponse[]> busqueda = rest.getForEntity(
+                API + "/buscar/apellido?apellido=góm", PersonaResponse[].class);
+        assertThat(busqueda.getBody()).extracting(PersonaResponse::getId).contains(id);
+
+        rest.delete(API + "/" + id);
+        assertThat(rest.getForEntity(API + "/" + id, PersonaResponse.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void loteDeOperacionesAtomicoYPorTramos() {
+        Integer uno = rest.postForEntity(API, new PersonaCreateRequest(
+                "Lote", "Uno", "lote.uno@email.com", "1000000001", "Calle 1"), PersonaResponse.class).getBody().getId();
+        Integer dos = rest.postForEntity(API, new PersonaCreateRequest(
+                "Lote", "Dos", "lote.dos@email.com", "1000000002", "Calle 2"), PersonaResponse.class).getBody().getId();
+
+        // Un email duplicado revierte el lote atómico entero
+        ResponseEntity<PersonaBatchResponse> rechazado = rest.postForEntity(API + "/batch", Map.of("operaciones", List.of(
+                Map.of("tipo", "ACTUALIZAR", "id", uno, "telefono", "1999999999"),
+                Map.of("tipo", "CREAR", "nombre", "Lote", "apellido", "Tres", "email", "lote.tres@email.com",
+                        "telefono", "1000000003", "direccion", "Calle 3"),
+                Map.of("tipo", "CREAR", "nombre", "Lote", "apellido", "Copia", "email", "lote.dos@email.com",
+                        "telefono", "1000000004", "direccion", "Calle 4"))), PersonaBatchResponse.class);
+        assertThat(rechazado.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(rechazado.getBody().getResultados()).extracting(PersonaBatchResponse.Resultado::getEstado)
+                .containsExactly("NO_APLICADA", "NO_APLICADA", "INVALIDA");
+        assertThat(rest.getForObject(API + "/" + uno, PersonaResponse.class).getTelefono()).isEqualTo("1000000001");
+
+        // Sin atomicidad: el email liberado por la baja se reutiliza y el segundo cambio ve el primero
+        ResponseEntity<PersonaBatchResponse> parcial = rest.postForEntity(API + "/batch", Map.of("atomico", false,
+                "operaciones", List.of(
+                        Map.of("tipo", "ELIMINAR", "id", dos),
+                        Map.of("tipo", "CREAR", "nombre", "Lote", "apellido", "Nueva", "email", "lote.dos@email.com",
+                                "telefono", "1000000005", "direccion", "Calle 5"),
+                        Map.of("tipo", "ACTUALIZAR", "id", uno, "email", "lote.cuatro@email.com"),
+                        Map.of("tipo", "ACTUALIZAR", "id", uno, "nombre", "Cambiado"),
+                        Map.of("tipo", "ELIMINAR", "id", Integer.MAX_VALUE))), PersonaBatchResponse.class);
+        assertThat(parcial.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(parcial.getBody().getAplicadas()).isEqualTo(4);
+        assertThat(parcial.getBody().getResultados()).extracting(PersonaBatchResponse.Resultado::getEstado)
+                .containsExactly("ELIMINADA", "CREADA", "ACTUALIZADA", "ACTUALIZADA", "NO_ENCONTRADA");
+        assertThat(parcial.getBody().getResultados().get(1).getPersona().getId()).isNotNull();
+        PersonaResponse cambiada = rest.getForObject(API + "/" + uno, PersonaResponse.class);
+        assertThat(cambiada.getEmail()).isEqualTo("lote.cuatro@email.com");
+        assertThat(cambiada.getNombre()).isEqualTo("Cambiado");
+        assertThat(rest.getForEntity(API + "/" + dos, PersonaResponse.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void negociacionDeFormatosBinariosYColumnar() throws Exception {
+        PersonaCreateRequest alta = new PersonaCreateRequest(
+                "Eva", "Ruiz", "eva.ruiz@email.com", "1112223334", "Avenida 9");
+        Integer id = rest.postForEntity(API, alta, PersonaResponse.class).getBody().getId();
+
+        HttpHeaders protobuf = new HttpHeaders();
+        protobuf.setAccept(List.of(MediaType.parseMediaType("application/x-protobuf")));
+        ResponseEntity<byte[]> binaria = rest.exchange(API, HttpMethod.GET, new HttpEntity<>(protobuf), byte[].class);
+        assertThat(binaria.getHeaders().getContentType().toString()).isEqualTo("application/x-protobuf");
+        assertThat(PersonaProtos.PersonaLista.parseFrom(binaria.getBody()).getPersonasList())
+                .extracting(PersonaProtos.Persona::getId).contains(id);
+
+        for (String formato : List.of("application/cbor", "application/x-jackson-smile")) {
+            HttpHeaders accept = new HttpHeaders();
+            accept.setAccept(List.of(MediaType.parseMediaType(formato)));
+            ResponseEntity<byte[]> respuesta = rest.exchange(API, HttpMethod.GET, new HttpEntity<>(accept), byte[].class);
+            assertThat(respuesta.getHeaders().getContentType().toString()).isEqualTo(formato);
+        }
+
+        HttpHeaders columnar = new HttpHeaders();
+        columnar.setAccept(List.of(MediaType.parseMediaType("application/vnd.personas.columnar+json")));
+        ResponseEntity<String> columnas = rest.exchange(API, HttpMethod.GET, new HttpEntity<>(columnar), String.class);
+        assertThat(columnas.getBody()).contains("\"email\":[").contains("eva.ruiz@email.com").doesNotContain("nombreCompleto");
+    }
+
+    @Test
+    void altaDesdeFormularioYListadoWeb() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        MultiValueMap<String, String> formulario = new LinkedMultiValueMap<>();
+        formulario.add("nombre", "Luis");
+        formulario.add("apellido", "Martínez");
+        formulario.add("email", "luis.martinez@email.com");
+        formulario.add("telefono", "5555555555");
+        formulario.add("direccion", "Plaza Mayor 1");
+
+        ResponseEntity<String> alta = rest.postForEntity(
+                "/personas/addpersona", new HttpEntity<>(formulario, headers), String.class);
+        assertThat(alta.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+
+        ResponseEntity<String> listado = rest.getForEntity("/personas/listado", String.class);
+        assertThat(listado.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(listado.getBody()).contains("luis.martinez@email.com");
+    }
+
+    @Test
+    void importacionPorLotesConInformeDeErrores() throws Exception {
+        rest.postForEntity(API, new PersonaCreateRequest(
+                "Rosa", "Díaz", "rosa.diaz@email.com", "1231231234", "Calle 2"), PersonaResponse.class);
+        Path directorio = Files.createDirectories(Path.of("target", "imports"));
+        Files.writeString(directorio.resolve("smoke.csv"), String.join("\n",
+                "nombre,apellido,email,telefono,direccion",
+                "Marta,López,marta.lopez@email.com,1144445555,\"Calle 3, piso 1\"",
+                "Marta,Lopez,MARTA.LOPEZ@email.com,11 4444-5555,\"Calle 3, piso 1\"",
+                "Pablo,Sanz,no-es-un-email,1166667777,Calle 4",
+                "Rosa,Díaz,rosa.diaz@email.com,1231231234,Calle 2",
+                "Irene,Vega,irene.vega@email.com,1188889999,Calle 5"), StandardCharsets.UTF_8);
+
+        ResponseEntity<ImportacionResponse> lanzada = rest.postForEntity(
+                "/api/v1/imports", new ImportacionRequest("smoke.csv", 2, 100), ImportacionResponse.class);
+        assertThat(lanzada.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+
+        ImportacionResponse importacion = lanzada.getBody();
+        for (int intento = 0; intento < 100 && !"COMPLETADA".equals(importacion.getEstado()); intento++) {
+            Thread.sleep(100);
+            importacion = rest.getForObject("/api/v1/imports/" + lanzada.getBody().getId(), ImportacionResponse.class);
+        }
+        assertThat(importacion.getEstado()).isEqualTo("COMPLETADA");
+        assertThat(importacion.getLeidos()).isEqualTo(5);
+        assertThat(importacion.getInsertados()).isEqualTo(2);
+        assertThat(importacion.getFusionados()).isEqualTo(1);
+        assertThat(importacion.getExistentes()).isEqualTo(1);
+        assertThat(importacion.getRepetidos()).isZero();
+        assertThat(importacion.getErrores()).isEqualTo(2);
+        assertThat(importacion.getPorcentaje()).isEqualTo(100.0);
+        assertThat(Files.readAllLines(Path.of(importacion.getInformeErrores())))
+                .contains("4,email,Formato de email inválido: no-es-un-email",
+                        "5,email,Ya existe una persona con ese email");
+
+        assertThat(rest.postForEntity("/api/v1/imports", new ImportacionRequest("../pom.xml", null, null),
+                ImportacionResponse.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void unaImportacionArrendadaSoloLaReclamaOtroNodoAlVencer() {
+        Importacion leida = importacionRepository.save(
+                new Importacion("target/imports/arriendo.csv", 1, 100, 0, Instant.now()));
+        Long id = leida.getId();
+        Instant ahora = Instant.now();
+
+        assertThat(importacionRepository.reclamar(id, "nodo-a", ahora, ahora.plusSeconds(60))).isTrue();
+        assertThat(importacionRepository.reclamar(id, "nodo-b", ahora, ahora.plusSeconds(60))).isFalse();
+        assertThat(importacionRepository.reclamar(id, "nodo-b", ahora.plusSeconds(61), ahora.plusSeconds(120)))
+                .isTrue();
+        assertThat(importacionRepository.findById(id).orElseThrow().getPropietario()).isEqualTo("nodo-b");
+
+        // Una copia leída antes de los reclamos ya no puede guardar su punto de control
+        assertThatThrownBy(() -> importacionRepository.save(leida))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+}
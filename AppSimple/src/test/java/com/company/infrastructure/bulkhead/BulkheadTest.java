@@ -0,0 +1,76 @@
+package com.company.infrastructure.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de los compartimentos y de la partición del pool por clase de tráfico
+ */
+class BulkheadTest {
+
+    @Test
+    void rechazaTrasLaEsperaMaximaYLiberaAlSalir() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("api", 2, Duration.ofMillis(20));
+
+        assertThat(bulkhead.entrar()).isTrue();
+        assertThat(bulkhead.entrar()).isTrue();
+        assertThat(bulkhead.entrar()).isFalse();
+        assertThat(bulkhead.getRechazados()).isEqualTo(1);
+        assertThat(bulkhead.getEsperaNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+
+        bulkhead.salir();
+        assertThat(bulkhead.entrar()).isTrue();
+        assertThat(bulkhead.getEnCurso()).isEqualTo(2);
+
+        Bulkhead sinLimite = new Bulkhead("bulk", 0, Duration.ZERO);
+        for (int i = 0; i < 100; i++) {
+            assertThat(sinLimite.entrar()).isTrue();
+        }
+        assertThat(sinLimite.getEnCurso()).isEqualTo(100);
+    }
+
+    @Test
+    void unaClaseQueAgotaSuParticionNoBloqueaALasDemas() throws Exception {
+        Map<String, DataSource> particiones = new LinkedHashMap<>();
+        particiones.put(BulkheadContext.API, pool("api"));
+        particiones.put(BulkheadContext.WEB, pool("web"));
+        try (BulkheadDataSource dataSource = new BulkheadDataSource(particiones, BulkheadContext.WEB)) {
+            String anterior = BulkheadContext.fijar(BulkheadContext.API);
+            try (Connection ocupada = dataSource.getConnection()) {
+                assertThat(ocupada.isValid(1)).isTrue();
+                assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+                BulkheadContext.restaurar(anterior);
+                try (Connection web = dataSource.getConnection()) {
+                    assertThat(web.isValid(1)).isTrue();
+                }
+                // Sin clase de tráfico se usa la partición por defecto
+                assertThat(BulkheadContext.actual()).isNull();
+                try (Connection sinClase = dataSource.getConnection()) {
+                    assertThat(sinClase.isValid(1)).isTrue();
+                }
+            } finally {
+                BulkheadContext.restaurar(anterior);
+            }
+        }
+    }
+
+    private static HikariDataSource pool(String nombre) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:bulkhead-" + nombre + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName("bulkhead-" + nombre);
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+}
@@ -0,0 +1,87 @@
+package com.company.infrastructure.concurrency;
+
+import com.company.infrastructure.concurrency.GradientConcurrencyLimiter.Permiso;
+import com.company.infrastructure.concurrency.GradientConcurrencyLimiter.Prioridad;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del límite adaptativo de concurrencia
+ */
+class GradientConcurrencyLimiterTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    @Test
+    void laPrioridadBajaSeRechazaAntesQueLaAlta() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 1, 10, 0.5, 100, reloj::get);
+
+        List<Permiso> permisos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permisos.add(limiter.adquirir(Prioridad.BAJA));
+        }
+        assertThat(permisos).doesNotContainNull();
+        assertThat(limiter.adquirir(Prioridad.BAJA)).isNull();
+        for (int i = 0; i < 5; i++) {
+            permisos.add(limiter.adquirir(Prioridad.ALTA));
+        }
+        assertThat(permisos).doesNotContainNull();
+        assertThat(limiter.adquirir(Prioridad.ALTA)).isNull();
+        assertThat(limiter.getRechazadas(Prioridad.BAJA)).isEqualTo(1);
+        assertThat(limiter.getRechazadas(Prioridad.ALTA)).isEqualTo(1);
+
+        permisos.forEach(Permiso::descartar);
+        assertThat(limiter.getEnCurso()).isZero();
+        assertThat(limiter.getLimite()).isEqualTo(10);
+    }
+
+    @Test
+    void losLotesYListadosTienenPrioridadBajaYLasOperacionesPorIdAlta() {
+        assertThat(ConcurrencyLimitFilter.prioridad(
+                new MockHttpServletRequest("POST", "/api/v1/personas/batch"))).isEqualTo(Prioridad.BAJA);
+        assertThat(ConcurrencyLimitFilter.prioridad(
+                new MockHttpServletRequest("GET", "/api/v1/personas"))).isEqualTo(Prioridad.BAJA);
+        assertThat(ConcurrencyLimitFilter.prioridad(
+                new MockHttpServletRequest("POST", "/api/v1/personas"))).isEqualTo(Prioridad.ALTA);
+        assertThat(ConcurrencyLimitFilter.prioridad(
+                new MockHttpServletRequest("GET", "/api/v1/personas/7"))).isEqualTo(Prioridad.ALTA);
+        assertThat(ConcurrencyLimitFilter.prioridad(
+                new MockHttpServletRequest("DELETE", "/api/v1/personas/7"))).isEqualTo(Prioridad.ALTA);
+    }
+
+    @Test
+    void elLimiteBajaCuandoLaLatenciaEmpeoraYVuelveASubir() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 2, 100, 1.0, 1000, reloj::get);
+
+        rondas(limiter, 50, 10);
+        int sano = limiter.getLimite();
+        assertThat(sano).isGreaterThan(20);
+
+        rondas(limiter, 30, 100);
+        int degradado = limiter.getLimite();
+        assertThat(degradado).isLessThan(sano / 2);
+
+        rondas(limiter, 50, 10);
+        assertThat(limiter.getLimite()).isGreaterThan(degradado);
+    }
+
+    // Llena el límite y libera todas las peticiones con la misma latencia
+    private void rondas(GradientConcurrencyLimiter limiter, int rondas, long latenciaMs) {
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            List<Permiso> permisos = new ArrayList<>();
+            Permiso permiso;
+            while ((permiso = limiter.adquirir(Prioridad.ALTA)) != null) {
+                permisos.add(permiso);
+            }
+            reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(latenciaMs));
+            permisos.forEach(Permiso::liberar);
+        }
+    }
+}
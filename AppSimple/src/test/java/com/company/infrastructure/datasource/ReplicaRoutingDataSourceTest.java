@@ -0,0 +1,99 @@
+package com.company.infrastructure.datasource;
+
+import com.company.infrastructure.adapter.persistence.TransactionalUnidadDeTrabajo;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del reparto de lecturas con dos bases H2: una primaria y una réplica
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicBoolean replicaCaida = new AtomicBoolean();
+    private ReplicaRoutingDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void crearBases() {
+        DataSource replica = new DelegatingDataSource(h2("replica")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaCaida.get()) {
+                    throw new SQLException("Conexión rechazada");
+                }
+                return super.getConnection();
+            }
+        };
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        dataSource = new ReplicaRoutingDataSource(h2("primaria"), replicas, Duration.ZERO, Duration.ofSeconds(1));
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void limpiar() {
+        ReplicaRoutingContext.liberarPrimaria();
+        ReplicaRoutingContext.reiniciarEscritura();
+    }
+
+    @Test
+    void enviaLasLecturasMarcadasALaReplicaYElRestoALaPrimaria() {
+        TransactionalUnidadDeTrabajo unidad =
+                new TransactionalUnidadDeTrabajo(new DataSourceTransactionManager(dataSource));
+
+        assertThat(unidad.ejecutar(this::origen)).isEqualTo("primaria");
+        assertThat(ReplicaRoutingContext.huboEscritura()).isTrue();
+
+        ReplicaRoutingContext.reiniciarEscritura();
+        assertThat(unidad.ejecutarSoloLectura(this::origen)).isEqualTo("replica");
+        assertThat(ReplicaRoutingContext.huboEscritura()).isFalse();
+
+        // Lectura de las propias escrituras: la sesión fuerza la primaria
+        ReplicaRoutingContext.forzarPrimaria();
+        assertThat(unidad.ejecutarSoloLectura(this::origen)).isEqualTo("primaria");
+        assertThat(ReplicaRoutingContext.huboEscritura()).isFalse();
+    }
+
+    @Test
+    void pasaALaPrimariaMientrasLaReplicaEstaCaidaYLaRecuperaAlVerificar() {
+        replicaCaida.set(true);
+        assertThat(ReplicaRoutingContext.enReplica(this::origen)).isEqualTo("primaria");
+        assertThat(dataSource.getReplicas().get(0).isSana()).isFalse();
+        assertThat(dataSource.getLecturasEnPrimaria()).isEqualTo(1);
+
+        replicaCaida.set(false);
+        assertThat(ReplicaRoutingContext.enReplica(this::origen)).isEqualTo("primaria");
+        dataSource.verificarReplicas();
+        assertThat(dataSource.getReplicas().get(0).isSana()).isTrue();
+        assertThat(ReplicaRoutingContext.enReplica(this::origen)).isEqualTo("replica");
+    }
+
+    private String origen() {
+        return jdbc.queryForObject("SELECT nombre FROM origen", String.class);
+    }
+
+    private static DataSource h2(String nombre) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:routing-" + nombre + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(h2);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(20))");
+        jdbc.execute("DELETE FROM origen");
+        jdbc.update("INSERT INTO origen VALUES (?)", nombre);
+        return h2;
+    }
+}
@@ -0,0 +1,122 @@
+package com.company.infrastructure.deadline;
+
+import com.company.domain.entity.Persona;
+import com.company.domain.valueobject.Email;
+import com.company.domain.valueobject.Telefono;
+import com.company.infrastructure.adapter.persistence.shard.ShardedPersonaRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests del plazo por petición aplicado a las sentencias JDBC
+ */
+class RequestDeadlineTest {
+
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void terminar() {
+        RequestDeadline.terminar();
+        programador.shutdownNow();
+    }
+
+    @Test
+    void cancelaLaSentenciaEnCursoAlVencerYNoEjecutaLasSiguientes() throws Exception {
+        DeadlineDataSource dataSource = new DeadlineDataSource(h2("cancelar"));
+        // La primera conexión a H2 puede tardar más que el plazo: se abre antes de fijarlo
+        try (Connection conexion = dataSource.getConnection(); Statement sentencia = conexion.createStatement()) {
+            RequestDeadline plazo = RequestDeadline.iniciar(Duration.ofMillis(300));
+            programador.schedule(plazo::vencer, 300, TimeUnit.MILLISECONDS);
+            long inicio = System.nanoTime();
+            assertThatThrownBy(() -> sentencia.executeQuery(
+                    "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 10000000000) WHERE MOD(X, 7) = 3"))
+                    .isInstanceOf(SQLException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(5_000);
+            assertThat(plazo.getCanceladas()).isEqualTo(1);
+
+            assertThatThrownBy(() -> sentencia.executeQuery("SELECT 1")).isInstanceOf(SQLTimeoutException.class);
+        }
+    }
+
+    @Test
+    void aplicaElTiempoRestanteComoTimeoutTambienEnOtrosHilos() throws Exception {
+        DeadlineDataSource dataSource = new DeadlineDataSource(h2("timeout"));
+        RequestDeadline.iniciar(Duration.ofMillis(2500));
+
+        Integer timeout = CompletableFuture.supplyAsync(RequestDeadline.propagar(() -> {
+            try (Connection conexion = dataSource.getConnection(); Statement sentencia = conexion.createStatement()) {
+                sentencia.execute("SELECT 1");
+                return sentencia.getQueryTimeout();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        })).get();
+        assertThat(timeout).isEqualTo(3);
+
+        RequestDeadline.terminar();
+        try (Connection conexion = dataSource.getConnection(); Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("SELECT 1");
+            assertThat(sentencia.getQueryTimeout()).isZero();
+        }
+    }
+
+    @Test
+    void cancelaLasSentenciasDeLosShardsEnOtrosHilos() throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+        try {
+            List<DataSource> shards = new ArrayList<>();
+            List<JdbcDataSource> bases = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                JdbcDataSource h2 = h2("shard-" + i + "-" + UUID.randomUUID());
+                ShardedPersonaRepository.crearEsquema(h2);
+                bases.add(h2);
+                shards.add(new DeadlineDataSource(h2));
+            }
+            ShardedPersonaRepository repositorio = new ShardedPersonaRepository(shards, ejecutor, 4);
+            for (int i = 0; i < 8; i++) {
+                repositorio.save(new Persona("Nombre", "Apellido", new Email("persona" + i + "@email.com"),
+                        new Telefono("1122334455"), "Calle " + i));
+            }
+            // El segundo shard contesta con una consulta interminable
+            new JdbcTemplate(bases.get(1)).execute("ALTER TABLE datospersonas RENAME TO datos");
+            new JdbcTemplate(bases.get(1)).execute("CREATE VIEW datospersonas AS SELECT d.* FROM datos d, "
+                    + "SYSTEM_RANGE(1, 10000000000) r");
+
+            RequestDeadline plazo = RequestDeadline.iniciar(Duration.ofMillis(300));
+            programador.schedule(plazo::vencer, 300, TimeUnit.MILLISECONDS);
+            long inicio = System.nanoTime();
+            assertThatThrownBy(repositorio::findAll).isInstanceOf(RuntimeException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(5_000);
+            assertThat(plazo.getCanceladas()).isEqualTo(1);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private static JdbcDataSource h2(String nombre) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:plazo-" + nombre + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
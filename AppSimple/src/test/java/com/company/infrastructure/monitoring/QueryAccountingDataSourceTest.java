@@ -0,0 +1,83 @@
+package com.company.infrastructure.monitoring;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la medición de sentencias JDBC sobre H2
+ */
+class QueryAccountingDataSourceTest {
+
+    @AfterEach
+    void terminar() {
+        QueryAccounting.end();
+    }
+
+    @Test
+    void cuentaSentenciasYFilasDeTodasLasFormasDeEjecutar() throws Exception {
+        QueryAccountingDataSource dataSource = new QueryAccountingDataSource(h2(), 60_000);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        QueryAccounting accounting = QueryAccounting.start();
+
+        // Statement, PreparedStatement y batch de PreparedStatement
+        jdbc.execute("CREATE TABLE personas (id INT PRIMARY KEY, nombre VARCHAR(50))");
+        jdbc.update("INSERT INTO personas VALUES (?, ?)", 1, "Ana");
+        jdbc.batchUpdate("INSERT INTO personas VALUES (?, ?)", List.of(
+                new Object[]{2, "Luis"}, new Object[]{3, "Eva"}));
+        assertThat(jdbc.queryForList("SELECT nombre FROM personas ORDER BY id", String.class))
+                .containsExactly("Ana", "Luis", "Eva");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM personas WHERE id > ?", Integer.class, 1))
+                .isEqualTo(2);
+
+        assertThat(accounting.getStatements()).isEqualTo(5);
+        assertThat(accounting.getRows()).isEqualTo(4);
+        assertThat(accounting.getDbNanos()).isPositive();
+        assertThat(accounting.getSlowStatements()).isZero();
+        assertThat(accounting.getSlowestSql()).isNotBlank();
+
+        // Los proxies se comparan por identidad, como espera Hibernate
+        try (Connection conexion = dataSource.getConnection()) {
+            assertThat(conexion).isEqualTo(conexion);
+            assertThat(conexion.hashCode()).isEqualTo(System.identityHashCode(conexion));
+        }
+    }
+
+    @Test
+    void marcaComoLentasLasSentenciasQueLleganAlUmbral() {
+        JdbcTemplate jdbc = new JdbcTemplate(new QueryAccountingDataSource(h2(), 0));
+        QueryAccounting accounting = QueryAccounting.start();
+
+        jdbc.queryForObject("SELECT 1", Integer.class);
+        jdbc.queryForObject("SELECT 2", Integer.class);
+
+        assertThat(accounting.getSlowStatements()).isEqualTo(2);
+        assertThat(accounting.getSlowestSql()).isIn("SELECT 1", "SELECT 2");
+        assertThat(accounting.getSlowestNanos()).isPositive();
+    }
+
+    @Test
+    void sinContabilidadEnElHiloSoloDelegaLasSentencias() {
+        JdbcTemplate jdbc = new JdbcTemplate(new QueryAccountingDataSource(h2(), 0));
+
+        assertThat(jdbc.queryForObject("SELECT 7", Integer.class)).isEqualTo(7);
+
+        // Lo ejecutado sin contabilidad no aparece en la siguiente
+        QueryAccounting accounting = QueryAccounting.start();
+        assertThat(accounting.getStatements()).isZero();
+        assertThat(accounting.getRows()).isZero();
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:accounting-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlProcessor;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del filtro que contabiliza las consultas de cada petición
+ */
+class QueryAccountingFilterTest {
+
+    private static final String URI = "/api/v1/personas";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbc = new JdbcTemplate(new QueryAccountingDataSource(h2(), 60_000));
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void marcaLasPeticionesQueSuperanElPresupuestoDeSentencias() throws Exception {
+        new QueryAccountingFilter(registry, 2, 60_000, false).doFilter(request, response, consultas(3));
+
+        assertThat(registry.get("personas.db.request.statements").tag("uri", URI).summary().totalAmount())
+                .isEqualTo(3);
+        assertThat(marcadas("statement-budget")).isEqualTo(1);
+        assertThat(registry.find("personas.db.request.flagged").tag("reason", "slow-query").counter()).isNull();
+        // La contabilidad termina con la petición
+        assertThat(QueryAccounting.current()).isNull();
+    }
+
+    @Test
+    void dentroDelPresupuestoNoMarcaNada() throws Exception {
+        new QueryAccountingFilter(registry, 10, 60_000, false).doFilter(request, response, consultas(3));
+
+        assertThat(registry.find("personas.db.request.flagged").counter()).isNull();
+        assertThat(registry.get("personas.db.request.rows").tag("uri", URI).summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void marcaLasPeticionesConConsultasLentas() throws Exception {
+        JdbcTemplate lenta = new JdbcTemplate(new QueryAccountingDataSource(h2(), 0));
+        FilterChain chain = (req, res) -> lenta.queryForObject("SELECT 1", Integer.class);
+
+        new QueryAccountingFilter(registry, 10, 0, false).doFilter(request, response, chain);
+
+        assertThat(marcadas("slow-query")).isEqualTo(1);
+        assertThat(registry.find("personas.db.request.flagged").tag("reason", "statement-budget").counter()).isNull();
+    }
+
+    @Test
+    void anadeLasCabecerasDeDepuracionAntesDeEscribirLaRespuesta() throws Exception {
+        FilterChain chain = (req, res) -> {
+            consultas(2).doFilter(req, res);
+            res.getWriter().write("[]");
+        };
+
+        new QueryAccountingFilter(registry, 10, 60_000, true).doFilter(request, response, chain);
+
+        assertThat(response.getHeader(QueryAccountingFilter.DB_STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(QueryAccountingFilter.DB_TIME_HEADER)).matches("\\d+\\.\\d{3}");
+    }
+
+    @Test
+    void sinCabecerasDeDepuracionNoLasAnade() throws Exception {
+        FilterChain chain = (req, res) -> {
+            consultas(2).doFilter(req, res);
+            res.getWriter().write("[]");
+        };
+
+        new QueryAccountingFilter(registry, 10, 60_000, false).doFilter(request, response, chain);
+
+        assertThat(response.getHeaderNames()).doesNotContain(
+                QueryAccountingFilter.DB_TIME_HEADER, QueryAccountingFilter.DB_STATEMENTS_HEADER);
+    }
+
+    @Test
+    void lasCabecerasDeDepuracionEstanApagadasEnProduccion() {
+        assertThat(propiedadesDelPerfil("prod").get("personas.monitoring.query-accounting.debug-headers"))
+                .isEqualTo(false);
+    }
+
+    // Ejecuta n consultas de una fila, como el controlador de la ruta
+    private FilterChain consultas(int n) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+            for (int i = 0; i < n; i++) {
+                jdbc.queryForObject("SELECT ?", Integer.class, i);
+            }
+        };
+    }
+
+    private double marcadas(String motivo) {
+        Counter marcadas = registry.get("personas.db.request.flagged").tag("reason", motivo).counter();
+        return marcadas.count();
+    }
+
+    // application.yml con los documentos comunes y los del perfil, en el orden en que Spring los aplica
+    private static Properties propiedadesDelPerfil(String perfil) {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        yaml.setDocumentMatchers(propiedades -> {
+            String activo = propiedades.getProperty("spring.config.activate.on-profile");
+            return activo == null || activo.equals(perfil)
+                    ? YamlProcessor.MatchStatus.FOUND : YamlProcessor.MatchStatus.NOT_FOUND;
+        });
+        return yaml.getObject();
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:accounting-filter-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -18,14 +18,51 @@ CREATE TABLE IF NOT EXISTS public.datospersonas (
     email VARCHAR(45) NOT NULL UNIQUE,
     tel VARCHAR(20) NOT NULL, -- Cambiado a VARCHAR para mayor flexibilidad
     direccion VARCHAR(100) NOT NULL, -- Aumentado el tamaño
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    version INTEGER NOT NULL DEFAULT 0, -- Bloqueo optimista y clave de la caché de filas
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Bases existentes: agregar la columna de versión
+ALTER TABLE public.datospersonas ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+
+-- Bases existentes: marcas de tiempo con zona, las compara el snapshot de personas al arrancar
+ALTER TABLE public.datospersonas ALTER COLUMN created_at TYPE TIMESTAMP WITH TIME ZONE;
+ALTER TABLE public.datospersonas ALTER COLUMN updated_at TYPE TIMESTAMP WITH TIME ZONE;
+
 -- Crear índices para mejorar el rendimiento
 CREATE INDEX IF NOT EXISTS idx_nombre ON public.datospersonas(nombre);
 CREATE INDEX IF NOT EXISTS idx_apellido ON public.datospersonas(apellido);
 CREATE INDEX IF NOT EXISTS idx_email ON public.datospersonas(email);
+-- Puesta al día tras cargar el snapshot de personas (filas modificadas desde su marca)
+CREATE INDEX IF NOT EXISTS idx_updated_at ON public.datospersonas(updated_at);
+
+-- Trabajos de importación masiva con su punto de control (ver ImportacionService)
+CREATE TABLE IF NOT EXISTS public.importaciones (
+    idimportacion BIGSERIAL PRIMARY KEY,
+    archivo VARCHAR(500) NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    paralelismo INTEGER NOT NULL,
+    tamano_lote INTEGER NOT NULL,
+    bytes_totales BIGINT NOT NULL,
+    posicion BIGINT NOT NULL, -- Bytes del archivo ya confirmados
+    linea BIGINT NOT NULL,
+    lotes BIGINT NOT NULL,
+    leidos BIGINT NOT NULL,
+    insertados BIGINT NOT NULL,
+    invalidos BIGINT NOT NULL,
+    fusionados BIGINT NOT NULL,
+    existentes BIGINT NOT NULL,
+    inicio_ejecucion TIMESTAMP WITH TIME ZONE,
+    posicion_inicio_ejecucion BIGINT NOT NULL,
+    leidos_inicio_ejecucion BIGINT NOT NULL,
+    creada TIMESTAMP WITH TIME ZONE NOT NULL,
+    actualizada TIMESTAMP WITH TIME ZONE,
+    finalizada TIMESTAMP WITH TIME ZONE,
+    error VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_importaciones_estado ON public.importaciones(estado);
 
 -- Crear trigger para actualizar updated_at automáticamente
 CREATE OR REPLACE FUNCTION public.update_updated_at_column()